@@ -1,7 +1,9 @@
 package com.example.taskapi;
 
+import com.example.taskapi.config.TaskRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 
 /**
@@ -9,9 +11,11 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
     - Enables component scanning
     - Enables auto-configuration
     - Starts the embedded server (when running java -jar)
+    - Registers the GraalVM native-image hints in TaskRuntimeHints
  */
 
 @SpringBootApplication
+@ImportRuntimeHints(TaskRuntimeHints.class)
 public class TaskApiApplication {
     public static void main(String[] args) {
         SpringApplication.run(TaskApiApplication.class, args);
@@ -0,0 +1,31 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.limiter.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(AdaptiveLimiterProperties.class)
+public class AdaptiveLimiterConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(AdaptiveLimiterProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            properties.initialLimit(), properties.minLimit(), properties.maxLimit(),
+            properties.readShare(), properties.probeInterval(),
+            TimeUnit.MICROSECONDS.toNanos(properties.rttFloorMicros()), System::nanoTime);
+
+        Gauge.builder("taskapi.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .description("Current adaptive in-flight limit for repository calls")
+            .register(meterRegistry);
+        Gauge.builder("taskapi.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .register(meterRegistry);
+        return limiter;
+    }
+}
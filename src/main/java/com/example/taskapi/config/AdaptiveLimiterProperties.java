@@ -0,0 +1,24 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the adaptive concurrency limit around TaskServiceImpl's repository calls.
+ *
+ * @param initialLimit  starting in-flight limit
+ * @param minLimit      lower bound the limit never drops below
+ * @param maxLimit      upper bound, normally the DB pool size or a small multiple of it
+ * @param readShare     fraction of the limit reads may use; the rest is reserved for writes
+ * @param probeInterval samples between resets of the no-load latency baseline
+ * @param rttFloorMicros latency below which a call is treated as unqueued, so sub-millisecond jitter is ignored
+ */
+@ConfigurationProperties(prefix = "taskapi.limiter")
+public record AdaptiveLimiterProperties(
+    @DefaultValue("10") int initialLimit,
+    @DefaultValue("2") int minLimit,
+    @DefaultValue("100") int maxLimit,
+    @DefaultValue("0.8") double readShare,
+    @DefaultValue("5000") int probeInterval,
+    @DefaultValue("1000") long rttFloorMicros
+) {}
@@ -0,0 +1,44 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.filter.AdmissionControlFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registers the admission-control filter for /api/tasks only (actuator and swagger are not throttled).
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdmissionControlProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+            properties, poolAcquireMaxMillis(meterRegistry), System::nanoTime, objectMapper, meterRegistry);
+
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/tasks", "/api/tasks/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Recent maximum HikariCP connection-acquire time, as published by the actuator's pool metrics.
+     */
+    static DoubleSupplier poolAcquireMaxMillis(MeterRegistry meterRegistry) {
+        return () -> meterRegistry.find("hikaricp.connections.acquire").timers().stream()
+            .mapToDouble(timer -> timer.max(TimeUnit.MILLISECONDS))
+            .max()
+            .orElse(0.0);
+    }
+}
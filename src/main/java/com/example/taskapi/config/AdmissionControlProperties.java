@@ -0,0 +1,36 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Settings for the admission-control filter in front of /api/tasks.
+ *
+ * @param enabled                  turns the filter on or off
+ * @param apiKeyHeader             header carrying the client's API key
+ * @param apiKeys                  keys that identify a client; requests without one of them are keyed by remote address
+ * @param expensivePerSecond       sustained rate per client for table-scanning endpoints
+ * @param expensiveBurst           burst size per client for table-scanning endpoints
+ * @param cheapPerSecond           sustained rate per client for single-row endpoints
+ * @param cheapBurst               burst size per client for single-row endpoints
+ * @param maxConcurrentRequests    hard cap on requests in flight across all clients
+ * @param poolWaitThresholdMillis  DB pool acquire time above which expensive requests are shed
+ * @param shedRetryAfterSeconds    Retry-After value sent with 503 responses
+ * @param maxTrackedClients        client buckets kept per budget; the least recently seen are dropped beyond it
+ */
+@ConfigurationProperties(prefix = "taskapi.admission")
+public record AdmissionControlProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("X-API-Key") String apiKeyHeader,
+    @DefaultValue List<String> apiKeys,
+    @DefaultValue("5") double expensivePerSecond,
+    @DefaultValue("10") int expensiveBurst,
+    @DefaultValue("100") double cheapPerSecond,
+    @DefaultValue("200") int cheapBurst,
+    @DefaultValue("200") int maxConcurrentRequests,
+    @DefaultValue("250") long poolWaitThresholdMillis,
+    @DefaultValue("1") long shedRetryAfterSeconds,
+    @DefaultValue("10000") int maxTrackedClients
+) {}
@@ -0,0 +1,28 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.filter.CompressionThresholdFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * With response compression on (see the "http2" profile), holds back small API responses so the
+ * container can honour the minimum compression size.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<CompressionThresholdFilter> compressionThresholdFilter(ServerProperties server) {
+        int threshold = Math.toIntExact(server.getCompression().getMinResponseSize().toBytes());
+        FilterRegistrationBean<CompressionThresholdFilter> registration =
+            new FilterRegistrationBean<>(new CompressionThresholdFilter(threshold));
+        registration.addUrlPatterns("/api/tasks", "/api/tasks/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 10);
+        return registration;
+    }
+}
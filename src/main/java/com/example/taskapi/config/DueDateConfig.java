@@ -0,0 +1,40 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.due.OverdueScheduler;
+import com.example.taskapi.recent.RecentTasksWindow;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.snapshot.ColumnarTaskSnapshot;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(DueDateProperties.class)
+public class DueDateConfig {
+
+    @Bean(destroyMethod = "close")
+    public OverdueScheduler overdueScheduler(DueDateProperties properties, TaskRepository taskRepository,
+                                             ColumnarTaskSnapshot snapshot, RecentTasksWindow recentTasks,
+                                             MeterRegistry meterRegistry) {
+        if (!properties.enabled()) {
+            return OverdueScheduler.disabled();
+        }
+        OverdueScheduler scheduler = new OverdueScheduler(taskRepository, Clock.systemDefaultZone(), properties.tick(),
+            properties.batchSize(), properties.reloadInterval(), properties.retryDelay(), (ids, now) -> {
+                snapshot.markOverdue(ids, now);
+                recentTasks.markOverdue(ids, now);
+            });
+        Gauge.builder("taskapi.due.pending", scheduler, OverdueScheduler::pending)
+            .description("Open tasks with a due date still to come, as timed by the overdue scheduler")
+            .register(meterRegistry);
+        FunctionCounter.builder("taskapi.due.marked", scheduler, OverdueScheduler::marked)
+            .description("Tasks flagged overdue")
+            .register(meterRegistry);
+        return scheduler;
+    }
+}
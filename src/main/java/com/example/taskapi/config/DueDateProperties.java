@@ -0,0 +1,25 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for flagging tasks overdue when their due date passes.
+ *
+ * @param enabled        time due dates and flag overdue tasks; when off, tasks are never flagged
+ * @param tick           resolution of the timing wheel; a task is flagged up to one tick after its due date
+ * @param batchSize      most task ids per UPDATE when many come due in the same tick
+ * @param reloadInterval how often every pending due date is re-read from the database, to pick up tasks
+ *                       created through other instances
+ * @param retryDelay     wait before a failed UPDATE is tried again
+ */
+@ConfigurationProperties(prefix = "taskapi.due")
+public record DueDateProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1s") Duration tick,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("10m") Duration reloadInterval,
+    @DefaultValue("30s") Duration retryDelay
+) {}
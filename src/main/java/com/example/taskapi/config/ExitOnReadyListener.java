@@ -0,0 +1,28 @@
+package com.example.taskapi.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shuts the application down as soon as it is ready.
+ *
+ * Used by the "cds" Maven profile: a training run with -XX:ArchiveClassesAtExit starts the app once,
+ * exits here, and the JVM writes every class loaded during startup into the CDS archive.
+ */
+@Component
+@ConditionalOnProperty(name = "taskapi.startup.exit-on-ready", havingValue = "true")
+public class ExitOnReadyListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExitOnReadyListener.class);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        logger.info("Application ready, exiting (taskapi.startup.exit-on-ready=true)");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
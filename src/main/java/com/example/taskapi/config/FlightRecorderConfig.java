@@ -0,0 +1,80 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.jfr.FlightRecorderFilter;
+import com.example.taskapi.jfr.FlightRecording;
+import com.example.taskapi.jfr.FlightRecordingEndpoint;
+import com.example.taskapi.jfr.RepositoryEventInterceptor;
+import com.example.taskapi.jfr.TimedJsonHttpMessageConverter;
+import com.example.taskapi.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.text.ParseException;
+
+/**
+ * JDK Flight Recorder events for requests, repository calls, DTO mapping and JSON serialization,
+ * plus an optional continuous recording and the endpoint that dumps it.
+ */
+@Configuration
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+@ConditionalOnProperty(name = "taskapi.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class FlightRecorderConfig {
+
+    @Bean
+    public FilterRegistrationBean<FlightRecorderFilter> flightRecorderFilter() {
+        FilterRegistrationBean<FlightRecorderFilter> registration = new FilterRegistrationBean<>(new FlightRecorderFilter());
+        registration.addUrlPatterns("/api/tasks", "/api/tasks/*");
+        // Outside admission control, so shed requests are recorded too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    // Takes the place of Boot's Jackson converter
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJsonHttpMessageConverter(objectMapper);
+    }
+
+    /**
+     * Adds the event advice last on the TaskRepository proxy, just ahead of query execution; under
+     * sharding it runs once per shard.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryEventPostProcessor() {
+        RepositoryEventInterceptor interceptor = new RepositoryEventInterceptor();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                        (proxyFactory, repository) -> {
+                            if (TaskRepository.class.isAssignableFrom(repository.getRepositoryInterface())) {
+                                proxyFactory.addAdvice(interceptor);
+                            }
+                        }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "taskapi.jfr.recording", havingValue = "true")
+    public FlightRecording flightRecording(FlightRecorderProperties properties) throws IOException, ParseException {
+        return new FlightRecording(properties.maxAge(), properties.maxSize().toBytes());
+    }
+
+    @Bean
+    public FlightRecordingEndpoint flightRecordingEndpoint() {
+        return new FlightRecordingEndpoint();
+    }
+}
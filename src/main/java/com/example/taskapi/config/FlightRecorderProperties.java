@@ -0,0 +1,23 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the JDK Flight Recorder events of the task API.
+ *
+ * @param enabled   emit the events; they cost next to nothing while no recording enables them
+ * @param recording start a continuous recording at startup, for {@code /actuator/flightrecording} to dump
+ * @param maxAge    oldest data the continuous recording keeps
+ * @param maxSize   most data the continuous recording keeps on disk
+ */
+@ConfigurationProperties(prefix = "taskapi.jfr")
+public record FlightRecorderProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("false") boolean recording,
+    @DefaultValue("1h") Duration maxAge,
+    @DefaultValue("250MB") DataSize maxSize
+) {}
@@ -0,0 +1,26 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.grpc.GrpcServer;
+import com.example.taskapi.grpc.TaskGrpcService;
+import com.example.taskapi.service.TaskService;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "taskapi.grpc.enabled", havingValue = "true")
+@EnableConfigurationProperties(GrpcProperties.class)
+public class GrpcConfig {
+
+    @Bean
+    public TaskGrpcService taskGrpcService(TaskService taskService, Validator validator, GrpcProperties properties) {
+        return new TaskGrpcService(taskService, validator, properties.pageSize());
+    }
+
+    @Bean
+    public GrpcServer grpcServer(TaskGrpcService taskGrpcService, GrpcProperties properties) {
+        return new GrpcServer(taskGrpcService, properties.port(), properties.shutdownGrace());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the gRPC front end (src/main/proto/tasks.proto).
+ *
+ * @param enabled       start the gRPC server next to the REST API
+ * @param port          port it listens on, plaintext (h2c); 0 picks a free one
+ * @param pageSize      tasks read per query while streaming ListTasks / SearchTasks
+ * @param shutdownGrace how long calls in flight may run on after shutdown starts
+ */
+@ConfigurationProperties(prefix = "taskapi.grpc")
+public record GrpcProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("9090") int port,
+    @DefaultValue("256") int pageSize,
+    @DefaultValue("10s") Duration shutdownGrace
+) {}
@@ -0,0 +1,27 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.idempotency.IdempotencyCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyCache<TaskResponseDTO> idempotencyCache(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.enabled()) {
+            return IdempotencyCache.disabled();
+        }
+        IdempotencyCache<TaskResponseDTO> cache = new IdempotencyCache<>(properties.stripes(), properties.maxKeys(),
+            properties.ttl(), properties.waitTimeout(), System::nanoTime);
+        Gauge.builder("taskapi.idempotency.keys", cache, IdempotencyCache::size)
+            .description("Idempotency keys remembered in memory")
+            .register(meterRegistry);
+        return cache;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory Idempotency-Key cache in front of task creation. The unique key column on
+ * the tasks table catches duplicates whatever these are set to; the cache saves the insert attempt and
+ * makes concurrent retries wait for the first one.
+ *
+ * @param enabled     remember keys in memory; when off, only the database catches duplicates
+ * @param ttl         how long a key is remembered after its first request
+ * @param maxKeys     keys remembered at most, oldest dropped first
+ * @param stripes     independently locked partitions of the cache
+ * @param waitTimeout how long a retry waits for the first request with its key before getting a 409
+ */
+@ConfigurationProperties(prefix = "taskapi.idempotency")
+public record IdempotencyProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("24h") Duration ttl,
+    @DefaultValue("100000") int maxKeys,
+    @DefaultValue("16") int stripes,
+    @DefaultValue("10s") Duration waitTimeout
+) {}
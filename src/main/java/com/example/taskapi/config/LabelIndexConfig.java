@@ -0,0 +1,44 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.labels.LabelIndex;
+import com.example.taskapi.labels.LabelIndexRefresher;
+import com.example.taskapi.sharding.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(LabelIndexProperties.class)
+public class LabelIndexConfig {
+
+    @Bean
+    public LabelIndex labelIndex(LabelIndexProperties properties, ObjectProvider<DataSource> dataSource,
+                                 ObjectProvider<ShardRouter> shardRouter, MeterRegistry meterRegistry) {
+        if (!properties.enabled() || dataSource.getIfAvailable() == null) {
+            return LabelIndex.disabled();
+        }
+        ShardRouter router = shardRouter.getIfAvailable();
+        LabelIndex index = new LabelIndex(dataSource.getObject(), router == null ? List.of() : router.shards());
+        Gauge.builder("taskapi.labels.index.labels", index, LabelIndex::labels)
+            .description("Distinct labels in the in-memory label index")
+            .register(meterRegistry);
+        Gauge.builder("taskapi.labels.index.bytes", index, LabelIndex::sizeInBytes)
+            .description("Memory held by the label index bitmaps")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        return index;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "taskapi.labels.index.enabled", havingValue = "true")
+    public LabelIndexRefresher labelIndexRefresher(LabelIndex index, LabelIndexProperties properties) {
+        return new LabelIndexRefresher(index, properties.refreshInterval());
+    }
+}
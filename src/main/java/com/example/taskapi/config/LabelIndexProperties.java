@@ -0,0 +1,19 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory bitmap index that answers label filters.
+ *
+ * @param enabled         load the index and evaluate label filters in memory; when off they run as SQL
+ * @param refreshInterval how often the index is reloaded from the database, which bounds how long a task
+ *                        written elsewhere can be missing from label filter results
+ */
+@ConfigurationProperties(prefix = "taskapi.labels.index")
+public record LabelIndexProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("5m") Duration refreshInterval
+) {}
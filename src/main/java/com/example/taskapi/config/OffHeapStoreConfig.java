@@ -0,0 +1,45 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.store.OffHeapTaskRepository;
+import com.example.taskapi.store.OffHeapTaskStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+
+/**
+ * DB-less mode: TaskRepository is served by the embedded OffHeapTaskStore. The "offheap" profile
+ * also switches off the DataSource and JPA auto-configuration, so no database is needed at all.
+ */
+@Configuration
+@EnableConfigurationProperties(OffHeapStoreProperties.class)
+@ConditionalOnProperty(name = "taskapi.store.offheap.enabled", havingValue = "true")
+public class OffHeapStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public OffHeapTaskStore offHeapTaskStore(OffHeapStoreProperties properties, MeterRegistry meterRegistry)
+            throws IOException {
+        int chunkSize = Math.toIntExact(properties.chunkSize().toBytes());
+        OffHeapTaskStore store = properties.directory() == null
+            ? OffHeapTaskStore.inMemory(chunkSize)
+            : OffHeapTaskStore.open(properties.directory(), chunkSize,
+                properties.checkpointLogBytes().toBytes(), properties.syncWrites());
+        Gauge.builder("taskapi.store.offheap.reserved", store, OffHeapTaskStore::reservedBytes)
+            .description("Direct memory reserved by the off-heap task store")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        return store;
+    }
+
+    @Bean
+    @Primary
+    public TaskRepository offHeapTaskRepository(OffHeapTaskStore store) {
+        return new OffHeapTaskRepository(store);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for the embedded off-heap task store that replaces the database (see the "offheap" profile).
+ *
+ * @param enabled            serve TaskRepository from the off-heap store instead of JPA
+ * @param directory          where the snapshot and log files are kept; unset keeps the tasks in memory only
+ * @param chunkSize          size of each direct buffer the records are packed into
+ * @param checkpointLogBytes log size at which the live tasks are written to a fresh snapshot and the
+ *                           log is emptied; bounds replay time at startup
+ * @param syncWrites         force every log entry to disk before the write returns, instead of leaving
+ *                           it to the OS (a crash of the machine, not the process, can lose recent writes)
+ */
+@ConfigurationProperties(prefix = "taskapi.store.offheap")
+public record OffHeapStoreProperties(
+    @DefaultValue("false") boolean enabled,
+    Path directory,
+    @DefaultValue("8MB") DataSize chunkSize,
+    @DefaultValue("64MB") DataSize checkpointLogBytes,
+    @DefaultValue("false") boolean syncWrites
+) {}
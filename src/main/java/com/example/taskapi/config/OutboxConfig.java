@@ -0,0 +1,73 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.outbox.FileOutboxSink;
+import com.example.taskapi.outbox.HttpOutboxSink;
+import com.example.taskapi.outbox.InMemoryOutboxSink;
+import com.example.taskapi.outbox.OutboxRelay;
+import com.example.taskapi.outbox.OutboxSink;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "taskapi.outbox.enabled", havingValue = "true")
+    public OutboxSink outboxSink(OutboxProperties properties, ObjectMapper objectMapper) throws IOException {
+        return switch (properties.sink()) {
+            case MEMORY -> new InMemoryOutboxSink(properties.memoryCapacity());
+            case FILE -> {
+                if (properties.file() == null) {
+                    throw new IllegalStateException("taskapi.outbox.sink=file needs taskapi.outbox.file");
+                }
+                yield new FileOutboxSink(properties.file(), objectMapper);
+            }
+            case HTTP -> {
+                if (properties.url() == null) {
+                    throw new IllegalStateException("taskapi.outbox.sink=http needs taskapi.outbox.url");
+                }
+                yield new HttpOutboxSink(properties.url(), properties.timeout(), objectMapper);
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    public OutboxRelay outboxRelay(OutboxProperties properties, ObjectProvider<DataSource> dataSource,
+                                   ObjectProvider<ShardRouter> shardRouter, TaskRepository taskRepository,
+                                   ObjectProvider<OutboxSink> sink, MeterRegistry meterRegistry) {
+        // Without a database (the off-heap store) no rows are written
+        if (!properties.enabled() || !properties.relay() || dataSource.getIfAvailable() == null) {
+            return OutboxRelay.disabled();
+        }
+        ShardRouter router = shardRouter.getIfAvailable();
+        OutboxRelay relay = new OutboxRelay(dataSource.getObject(), taskRepository, sink.getObject(),
+            router == null ? List.of() : router.shards(), properties.batchSize(), properties.minPollInterval(),
+            properties.maxPollInterval(), properties.retryDelay(), Clock.systemDefaultZone());
+        TimeGauge.builder("taskapi.outbox.lag", relay, TimeUnit.MILLISECONDS, OutboxRelay::lagMillis)
+            .description("Age of the oldest undelivered task change at the relay's last poll")
+            .register(meterRegistry);
+        FunctionCounter.builder("taskapi.outbox.delivered", relay, OutboxRelay::delivered)
+            .description("Task changes delivered by the outbox relay")
+            .register(meterRegistry);
+        FunctionCounter.builder("taskapi.outbox.failures", relay, OutboxRelay::failures)
+            .description("Outbox relay passes that failed and will be retried")
+            .register(meterRegistry);
+        return relay;
+    }
+}
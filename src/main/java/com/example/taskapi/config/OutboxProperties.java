@@ -0,0 +1,44 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the transactional outbox of task changes and the relay that delivers it.
+ *
+ * @param enabled         write a change row with every task write; needs a database
+ * @param relay           deliver the rows from this instance; leave it on for exactly one instance, as two
+ *                        relays would each deliver every row
+ * @param sink            where events go: memory (kept in this JVM, for tests), file or http
+ * @param file            file sink: NDJSON file appended to
+ * @param url             http sink: endpoint each batch is POSTed to as NDJSON
+ * @param timeout         http sink: time allowed for one batch
+ * @param batchSize       most rows read, delivered and deleted at once, per shard
+ * @param minPollInterval wait before the next poll while events keep arriving; after a full batch the
+ *                        relay polls again at once
+ * @param maxPollInterval longest wait while the outbox stays empty; the wait doubles from
+ *                        {@code minPollInterval} with every empty poll
+ * @param retryDelay      wait after a failed delivery before the batch is sent again
+ * @param memoryCapacity  memory sink: events kept, oldest dropped first
+ */
+@ConfigurationProperties(prefix = "taskapi.outbox")
+public record OutboxProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("true") boolean relay,
+    @DefaultValue("memory") Sink sink,
+    Path file,
+    URI url,
+    @DefaultValue("5s") Duration timeout,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("50ms") Duration minPollInterval,
+    @DefaultValue("5s") Duration maxPollInterval,
+    @DefaultValue("10s") Duration retryDelay,
+    @DefaultValue("10000") int memoryCapacity
+) {
+
+    public enum Sink { MEMORY, FILE, HTTP }
+}
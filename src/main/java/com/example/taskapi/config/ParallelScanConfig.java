@@ -0,0 +1,29 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.limiter.AdaptiveConcurrencyLimiter;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.service.ParallelScanPlanner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(ParallelScanProperties.class)
+public class ParallelScanConfig {
+
+    @Bean(destroyMethod = "close")
+    public ParallelScanPlanner parallelScanPlanner(ParallelScanProperties properties, TaskRepository taskRepository,
+                                                   AdaptiveConcurrencyLimiter limiter) {
+        if (!properties.enabled()) {
+            return ParallelScanPlanner.serial(limiter);
+        }
+        int parallelism = properties.effectiveParallelism();
+        // Unbounded queue: every queued slice already holds a limiter permit, so the limiter bounds it
+        return new ParallelScanPlanner(taskRepository, limiter,
+            Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("scan-slice-")),
+            parallelism, properties.minSliceSpan(), properties.slicesPerThread());
+    }
+}
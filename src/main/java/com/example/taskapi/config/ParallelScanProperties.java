@@ -0,0 +1,26 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for splitting filtered table scans into parallel id-range slices (see ParallelScanPlanner).
+ *
+ * @param enabled         false runs every filter as one query, as before
+ * @param parallelism     slices in flight per request and worker threads; 0 means one per CPU. Keep it
+ *                        below the connection pool size, each running slice holds a connection
+ * @param minSliceSpan    smallest id span worth a slice of its own; smaller tables are scanned in one query
+ * @param slicesPerThread slices planned per worker, so one slow slice does not leave the others idle
+ */
+@ConfigurationProperties(prefix = "taskapi.query.parallel-scan")
+public record ParallelScanProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("0") int parallelism,
+    @DefaultValue("50000") long minSliceSpan,
+    @DefaultValue("4") int slicesPerThread
+) {
+
+    public int effectiveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
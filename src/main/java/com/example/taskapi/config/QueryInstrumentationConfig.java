@@ -0,0 +1,74 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.instrumentation.EndpointStatementInspector;
+import com.example.taskapi.instrumentation.EntityLoadInterceptor;
+import com.example.taskapi.instrumentation.QueryStatsFilter;
+import com.example.taskapi.instrumentation.QueryStatsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL instrumentation: a datasource-proxy around the pool, Hibernate hooks for
+ * entity counts and endpoint comments, and the filter that attributes it all to the endpoint.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryInstrumentationProperties.class)
+@ConditionalOnProperty(name = "taskapi.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInstrumentationConfig {
+
+    @Bean
+    public QueryStatsListener queryStatsListener(QueryInstrumentationProperties properties) {
+        return new QueryStatsListener(properties.slowQueryThresholdMillis());
+    }
+
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourcePostProcessor(ObjectProvider<QueryStatsListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    QueryStatsListener queryStatsListener = listener.getObject();
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(queryStatsListener)
+                        .methodListener(queryStatsListener)
+                        .proxyResultSet()
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernateCustomizer(QueryInstrumentationProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.INTERCEPTOR, new EntityLoadInterceptor());
+            if (properties.sqlComments()) {
+                hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new EndpointStatementInspector());
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(QueryInstrumentationProperties properties,
+                                                                    MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryStatsFilter> registration =
+            new FilterRegistrationBean<>(new QueryStatsFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/api/tasks", "/api/tasks/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for per-request SQL instrumentation.
+ *
+ * @param enabled                    turns the datasource proxy and request attribution on or off
+ * @param slowQueryThresholdMillis   statements slower than this are logged (SQL only, bind values redacted)
+ * @param statementBudget            statements a single request may execute before it is flagged as N+1
+ * @param failOnBudgetExceeded       throw instead of logging when the budget is exceeded; buffers every
+ *                                   response to do so (for tests)
+ * @param sqlComments                prefix each statement with a comment naming the endpoint
+ */
+@ConfigurationProperties(prefix = "taskapi.instrumentation")
+public record QueryInstrumentationProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("200") long slowQueryThresholdMillis,
+    @DefaultValue("10") int statementBudget,
+    @DefaultValue("false") boolean failOnBudgetExceeded,
+    @DefaultValue("false") boolean sqlComments
+) {}
@@ -0,0 +1,38 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.recent.RecentTasksRefresher;
+import com.example.taskapi.recent.RecentTasksWindow;
+import com.example.taskapi.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(RecentTasksProperties.class)
+public class RecentTasksConfig {
+
+    @Bean
+    public RecentTasksWindow recentTasksWindow(RecentTasksProperties properties, TaskRepository taskRepository,
+                                               MeterRegistry meterRegistry) {
+        if (!properties.enabled()) {
+            return RecentTasksWindow.disabled();
+        }
+        RecentTasksWindow window = new RecentTasksWindow(properties.maxRows(), properties.window(),
+            Clock.systemDefaultZone(), taskRepository::findByCreatedAtAfter);
+        Gauge.builder("taskapi.recent-tasks.rows", window, RecentTasksWindow::size)
+            .description("Tasks held in the recent tasks window")
+            .register(meterRegistry);
+        return window;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "taskapi.recent-tasks.enabled", havingValue = "true")
+    public RecentTasksRefresher recentTasksRefresher(RecentTasksWindow window, RecentTasksProperties properties) {
+        return new RecentTasksRefresher(window, properties.refreshInterval());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory window of recently created tasks that serves recent created-after queries.
+ *
+ * @param enabled         keep the window and answer created-after queries inside it from memory
+ * @param window          how far back the window reaches
+ * @param maxRows         most tasks held; past it the oldest drop out and the window reaches back less far
+ * @param refreshInterval how often the window is reloaded from the database, to pick up tasks created
+ *                        through other instances
+ */
+@ConfigurationProperties(prefix = "taskapi.recent-tasks")
+public record RecentTasksProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("15m") Duration window,
+    @DefaultValue("50000") int maxRows,
+    @DefaultValue("1m") Duration refreshInterval
+) {}
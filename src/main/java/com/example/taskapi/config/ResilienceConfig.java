@@ -0,0 +1,48 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.resilience.CircuitBreaker;
+import com.example.taskapi.resilience.LastKnownGoodCache;
+import com.example.taskapi.resilience.QueryType;
+import com.example.taskapi.resilience.RepositoryGuard;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfig {
+
+    @Bean(destroyMethod = "close")
+    public RepositoryGuard repositoryGuard(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.enabled()) {
+            return RepositoryGuard.disabled();
+        }
+        CircuitBreaker breaker = new CircuitBreaker(properties.windowSize(), properties.minimumCalls(),
+            properties.failureRateThreshold(), properties.openDuration(), properties.halfOpenCalls(), System::nanoTime);
+        LastKnownGoodCache cache = new LastKnownGoodCache(properties.cacheMaxEntries(), properties.maxRowsPerEntry(),
+            properties.maxStaleness(), System::nanoTime);
+        RepositoryGuard guard = new RepositoryGuard(Map.of(
+            QueryType.BY_ID, new RepositoryGuard.Bulkhead(properties.byIdThreads(), properties.byIdQueue(),
+                properties.byIdTimeout()),
+            QueryType.FILTER, new RepositoryGuard.Bulkhead(properties.filterThreads(), properties.filterQueue(),
+                properties.filterTimeout()),
+            QueryType.COUNT, new RepositoryGuard.Bulkhead(properties.countThreads(), properties.countQueue(),
+                properties.countTimeout())),
+            breaker, cache);
+        Gauge.builder("taskapi.db.circuit.state", guard, g -> g.state().ordinal())
+            .description("Database circuit breaker: 0 closed, 1 open, 2 half-open")
+            .register(meterRegistry);
+        Gauge.builder("taskapi.db.fallback.entries", guard, RepositoryGuard::cachedResults)
+            .description("Results kept to answer from while the database is failing")
+            .register(meterRegistry);
+        FunctionCounter.builder("taskapi.db.fallback.stale.responses", guard, RepositoryGuard::staleResponses)
+            .description("Reads answered from the last-known-good cache")
+            .register(meterRegistry);
+        return guard;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the bulkheads, circuit breaker and last-known-good cache around the task repository
+ * (see RepositoryGuard).
+ *
+ * @param enabled              false runs every query on the request thread, with no timeout or fallback
+ * @param byIdTimeout          how long a single-task lookup may take before the cached answer is used
+ * @param filterTimeout        the same for listings and searches
+ * @param countTimeout         the same for counts
+ * @param byIdThreads          single-task lookups running at once
+ * @param filterThreads        listings and searches running at once
+ * @param countThreads         counts running at once
+ * @param byIdQueue            single-task lookups waiting for a thread; by default one per Tomcat request
+ *                             thread, as each waits no longer than byIdTimeout
+ * @param filterQueue          listings and searches waiting for a thread
+ * @param countQueue           counts waiting for a thread
+ * @param windowSize           recent calls the circuit breaker judges the failure rate over
+ * @param minimumCalls         calls in the window before the breaker may open
+ * @param failureRateThreshold share of failed calls in the window that opens the breaker
+ * @param openDuration         how long the breaker stays open before letting trial calls through
+ * @param halfOpenCalls        successful trial calls that close the breaker again
+ * @param cacheMaxEntries      results kept for fallback, least recently used dropped first
+ * @param maxRowsPerEntry      larger results are not kept
+ * @param maxStaleness         older results are not served; the request fails with a 503 instead
+ */
+@ConfigurationProperties(prefix = "taskapi.resilience")
+public record ResilienceProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("2s") Duration byIdTimeout,
+    @DefaultValue("10s") Duration filterTimeout,
+    @DefaultValue("10s") Duration countTimeout,
+    @DefaultValue("16") int byIdThreads,
+    @DefaultValue("8") int filterThreads,
+    @DefaultValue("4") int countThreads,
+    @DefaultValue("200") int byIdQueue,
+    @DefaultValue("100") int filterQueue,
+    @DefaultValue("50") int countQueue,
+    @DefaultValue("20") int windowSize,
+    @DefaultValue("10") int minimumCalls,
+    @DefaultValue("0.5") double failureRateThreshold,
+    @DefaultValue("10s") Duration openDuration,
+    @DefaultValue("3") int halfOpenCalls,
+    @DefaultValue("10000") int cacheMaxEntries,
+    @DefaultValue("1000") int maxRowsPerEntry,
+    @DefaultValue("1h") Duration maxStaleness
+) {}
@@ -0,0 +1,117 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.sharding.ConsistentHashRing;
+import com.example.taskapi.sharding.Resharder;
+import com.example.taskapi.sharding.ShardRouter;
+import com.example.taskapi.sharding.ShardRoutingDataSource;
+import com.example.taskapi.sharding.ShardRoutingInterceptor;
+import com.example.taskapi.sharding.ShardSchemaInitializer;
+import com.example.taskapi.sharding.ShardsEndpoint;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Owner-sharded storage: one connection pool per shard behind a routing DataSource, and an advice
+ * on the TaskRepository proxy that picks the shard(s) for each call. The service and controller
+ * are unaware of sharding.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(name = "taskapi.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public DataSource dataSource(ShardingProperties properties, MeterRegistry meterRegistry) {
+        if (properties.shards().isEmpty()) {
+            throw new IllegalStateException("taskapi.sharding.enabled=true needs taskapi.sharding.shards");
+        }
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("shard-" + shard.name());
+            pool.setJdbcUrl(shard.url());
+            pool.setUsername(shard.username());
+            pool.setPassword(shard.password());
+            pool.setMaximumPoolSize(shard.poolSize());
+            pool.setMetricRegistry(meterRegistry);
+            if (shard.url().startsWith("jdbc:mysql:")) {
+                // Interleaved id sequence, see ShardRouter
+                pool.setConnectionInitSql("SET SESSION auto_increment_increment = " + ShardRouter.ID_INTERLEAVE
+                    + ", auto_increment_offset = " + (shards.size() + 1));
+            }
+            if (shards.put(shard.name(), pool) != null) {
+                throw new IllegalStateException("Duplicate shard name " + shard.name());
+            }
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        List<String> shards = properties.shards().stream().map(ShardingProperties.Shard::name).toList();
+        List<String> ring = properties.ring().isEmpty() ? shards : properties.ring();
+        return new ShardRouter(shards, new ConsistentHashRing(ring, properties.virtualNodes()),
+            Executors.newFixedThreadPool(properties.scatterThreads(), new CustomizableThreadFactory("shard-scatter-")));
+    }
+
+    @Bean
+    public ShardRoutingInterceptor shardRoutingInterceptor(ShardRouter router) {
+        return new ShardRoutingInterceptor(router);
+    }
+
+    /**
+     * Puts the routing advice first on the TaskRepository proxy, ahead of the transaction
+     * interceptor, so the shard is chosen before a connection is. A repository method the advice
+     * cannot route fails startup rather than its first call.
+     */
+    @Bean
+    public static BeanPostProcessor shardRoutingRepositoryPostProcessor(ObjectProvider<ShardRoutingInterceptor> interceptor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                        (proxyFactory, repository) -> {
+                            if (TaskRepository.class.isAssignableFrom(repository.getRepositoryInterface())) {
+                                ShardRoutingInterceptor.checkRoutable(repository.getRepositoryInterface());
+                                proxyFactory.addAdvice(0, interceptor.getObject());
+                            }
+                        }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(ShardRouter router, EntityManagerFactory entityManagerFactory,
+                                                         DataSource dataSource, ShardingProperties properties) {
+        return new ShardSchemaInitializer(router, entityManagerFactory, dataSource, properties.createSchema());
+    }
+
+    @Bean
+    public Resharder resharder(ShardRouter router, DataSource dataSource, ShardingProperties properties) {
+        return new Resharder(router, dataSource, properties.reshardBatchSize(), properties.reshardSettleMillis());
+    }
+
+    @Bean
+    public ShardsEndpoint shardsEndpoint(ShardRouter router, Resharder resharder, DataSource dataSource) {
+        return new ShardsEndpoint(router, resharder, dataSource);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Settings for owner-sharded storage.
+ *
+ * @param enabled           route TaskRepository over {@code shards} instead of spring.datasource
+ * @param shards            shard connections; the list order fixes each shard's id sequence, so only append
+ * @param ring              shards on the hash ring at startup; empty means all of them
+ * @param virtualNodes      points per shard on the hash ring
+ * @param scatterThreads    threads running per-shard queries in parallel
+ * @param createSchema      create the tasks table on shards after the first (for H2 and tests)
+ * @param reshardBatchSize  rows copied per statement while resharding
+ * @param reshardSettleMillis pause after the ring flip for writes that were already in flight
+ */
+@ConfigurationProperties(prefix = "taskapi.sharding")
+public record ShardingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue List<Shard> shards,
+    @DefaultValue List<String> ring,
+    @DefaultValue("128") int virtualNodes,
+    @DefaultValue("16") int scatterThreads,
+    @DefaultValue("false") boolean createSchema,
+    @DefaultValue("1000") int reshardBatchSize,
+    @DefaultValue("500") long reshardSettleMillis
+) {
+
+    /**
+     * @param name     shard name used on the ring and in logs
+     * @param url      JDBC URL
+     * @param username database user
+     * @param password database password
+     * @param poolSize maximum connections to this shard
+     */
+    public record Shard(String name, String url, String username, String password,
+                        @DefaultValue("10") int poolSize) {}
+}
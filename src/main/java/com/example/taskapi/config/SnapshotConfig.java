@@ -0,0 +1,43 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.sharding.ShardRouter;
+import com.example.taskapi.snapshot.ColumnarTaskSnapshot;
+import com.example.taskapi.snapshot.SnapshotRefresher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotConfig {
+
+    @Bean
+    public ColumnarTaskSnapshot columnarTaskSnapshot(SnapshotProperties properties,
+                                                     ObjectProvider<DataSource> dataSource,
+                                                     ObjectProvider<ShardRouter> shardRouter,
+                                                     MeterRegistry meterRegistry) {
+        // Without a database (the off-heap store) there is nothing to snapshot
+        if (!properties.enabled() || dataSource.getIfAvailable() == null) {
+            return ColumnarTaskSnapshot.disabled();
+        }
+        ShardRouter router = shardRouter.getIfAvailable();
+        ColumnarTaskSnapshot snapshot = new ColumnarTaskSnapshot(dataSource.getObject(), router == null ? List.of() : router.shards());
+        Gauge.builder("taskapi.snapshot.rows", snapshot, ColumnarTaskSnapshot::size)
+            .description("Rows in the in-memory columnar task snapshot")
+            .register(meterRegistry);
+        return snapshot;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "taskapi.snapshot.enabled", havingValue = "true")
+    public SnapshotRefresher snapshotRefresher(ColumnarTaskSnapshot snapshot, SnapshotProperties properties) {
+        return new SnapshotRefresher(snapshot, properties.refreshInterval());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory columnar snapshot that serves the completed / created-after filters and counts.
+ *
+ * @param enabled         load the snapshot and answer those queries from memory
+ * @param refreshInterval how often the snapshot is reloaded from the database; bounds how stale it can
+ *                        be for writes that did not go through this instance
+ */
+@ConfigurationProperties(prefix = "taskapi.snapshot")
+public record SnapshotProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10m") Duration refreshInterval
+) {}
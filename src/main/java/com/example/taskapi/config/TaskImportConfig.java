@@ -0,0 +1,43 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.importer.ImportOnStartup;
+import com.example.taskapi.importer.TaskImportEndpoint;
+import com.example.taskapi.importer.TaskImporter;
+import com.example.taskapi.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(TaskImportProperties.class)
+public class TaskImportConfig {
+
+    @Bean
+    public TaskImporter taskImporter(TaskImportProperties properties, ObjectProvider<DataSource> dataSource,
+                                     ObjectProvider<ShardRouter> shardRouter, ObjectMapper objectMapper,
+                                     Validator validator, OutboxProperties outbox) {
+        if (dataSource.getIfAvailable() == null) {
+            return TaskImporter.disabled();
+        }
+        return new TaskImporter(dataSource.getObject(), shardRouter.getIfAvailable(), objectMapper, validator,
+            (int) Math.min(properties.chunkSize().toBytes(), Integer.MAX_VALUE), properties.parallelism(),
+            properties.batchSize(), properties.progressInterval(), outbox.enabled());
+    }
+
+    @Bean
+    public TaskImportEndpoint taskImportEndpoint(TaskImporter importer) {
+        return new TaskImportEndpoint(importer);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "taskapi.import.file")
+    public ImportOnStartup importOnStartup(TaskImporter importer, TaskImportProperties properties) {
+        return new ImportOnStartup(importer, properties.file(), properties.format());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.taskapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for bulk imports from CSV and NDJSON files.
+ *
+ * @param chunkSize        bytes mapped, parsed and committed as one unit; also the checkpoint granularity
+ * @param parallelism      chunks imported at once, each on its own connection; keep it below the pool size
+ * @param batchSize        rows per JDBC batch
+ * @param progressInterval how often progress is logged
+ * @param file             import this file at startup, then exit
+ * @param format           csv or ndjson, when the file's extension does not tell
+ */
+@ConfigurationProperties(prefix = "taskapi.import")
+public record TaskImportProperties(
+    @DefaultValue("16MB") DataSize chunkSize,
+    @DefaultValue("4") int parallelism,
+    @DefaultValue("1000") int batchSize,
+    @DefaultValue("10s") Duration progressInterval,
+    Path file,
+    String format
+) {}
@@ -0,0 +1,75 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.dto.TaskBatchResponseDTO;
+import com.example.taskapi.dto.TaskCountResponseDTO;
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.entity.OutboxEvent;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.exception.ErrorResponse;
+import com.example.taskapi.exception.GlobalExceptionHandler;
+import com.example.taskapi.outbox.TaskChangeEvent;
+import com.example.taskapi.repository.TaskRepository;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.interceptor.TransactionalProxy;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * GraalVM native-image hints that Spring AOT cannot infer on its own.
+ *
+ * - Task and OutboxEvent are instantiated and populated reflectively by Hibernate.
+ * - The record DTOs, ErrorResponse and the outbox's TaskChangeEvent are (de)serialized reflectively by Jackson.
+ * - TaskRepository is a JDK proxy whose derived-query methods are looked up by name.
+ * - GlobalExceptionHandler methods are invoked reflectively by Spring MVC.
+ * - The SQL instrumentation wraps JDBC objects in datasource-proxy JDK proxies.
+ */
+public class TaskRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : new Class<?>[] {Task.class, OutboxEvent.class}) {
+            hints.reflection().registerType(entity,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        for (Class<?> type : new Class<?>[] {TaskRequestDTO.class, TaskResponseDTO.class, TaskCountResponseDTO.class,
+            TaskBatchResponseDTO.class, ErrorResponse.class, TaskChangeEvent.class}) {
+            hints.reflection().registerType(type,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+        }
+
+        hints.reflection().registerType(TaskRepository.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.proxies().registerJdkProxy(
+            TaskRepository.class, Repository.class, TransactionalProxy.class,
+            Advised.class, DecoratingProxy.class);
+        hints.proxies().registerJdkProxy(
+            TaskRepository.class, Repository.class, TransactionalProxy.class,
+            SpringProxy.class, Advised.class, DecoratingProxy.class);
+
+        hints.reflection().registerType(GlobalExceptionHandler.class,
+            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+            MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        for (Class<?> jdbcType : new Class<?>[] {DataSource.class, Connection.class, Statement.class,
+                PreparedStatement.class, CallableStatement.class, ResultSet.class}) {
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbcType);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.taskapi.controller;
 
+import com.example.taskapi.dto.TaskBatchResponseDTO;
+import com.example.taskapi.dto.TaskCountResponseDTO;
 import com.example.taskapi.dto.TaskRequestDTO;
 import com.example.taskapi.dto.TaskResponseDTO;
 import com.example.taskapi.exception.ValidationException;
+import com.example.taskapi.labels.LabelFilter;
 import com.example.taskapi.service.TaskService;
+import com.example.taskapi.sorting.TaskSort;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 
@@ -14,11 +18,15 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final int MAX_BATCH_IDS = 1000;
+
     private final TaskService taskService;
 
     public TaskController(TaskService taskService) {
@@ -26,8 +34,17 @@ public class TaskController {
     }
 
     @PostMapping
-    public ResponseEntity<TaskResponseDTO> create(@Valid @RequestBody TaskRequestDTO request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTask(request));
+    public ResponseEntity<TaskResponseDTO> create(
+            @Valid @RequestBody TaskRequestDTO request,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTask(request));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > 128) {
+            throw new ValidationException("'" + IDEMPOTENCY_KEY + "' must be 1 to 128 characters.");
+        }
+        // A replayed create answers exactly like the original did
+        return ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTask(request, idempotencyKey));
     }
 
     @GetMapping
@@ -35,6 +52,18 @@ public class TaskController {
         return taskService.getAllTasks();
     }
 
+    // GET /api/tasks?ids=1,2,3
+    @GetMapping(params = "ids")
+    public ResponseEntity<TaskBatchResponseDTO> getByIds(@RequestParam("ids") List<Long> ids) {
+        return ResponseEntity.ok(taskService.getTasksByIds(validIds(ids)));
+    }
+
+    // Same as the GET, for id lists too long for a URL
+    @PostMapping("/batch-get")
+    public ResponseEntity<TaskBatchResponseDTO> batchGet(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(taskService.getTasksByIds(validIds(ids)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponseDTO> getById(@PathVariable Long id) {
         return ResponseEntity.ok(taskService.getTaskById(id));
@@ -43,43 +72,153 @@ public class TaskController {
     @GetMapping("/filter/created-after")
     public ResponseEntity<List<TaskResponseDTO>> getByCreatedAfter(
         @RequestParam("date") 
-        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date) {
-        return ResponseEntity.ok(taskService.getByCreatedAfter(date));
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime date,
+        @RequestParam(name = "limit", required = false) Integer limit,
+        @RequestParam(name = "sort", required = false) String sort) {
+        if (limit == null && sort == null) {
+            return ResponseEntity.ok(taskService.getByCreatedAfter(date));
+        }
+        return ResponseEntity.ok(taskService.getByCreatedAfter(date, validLimit(limit), validSort(sort)));
     }
 
     @GetMapping("/filter/title-and-completed")
     public ResponseEntity<List<TaskResponseDTO>> searchByTitleAndCompleted(
             @RequestParam(name = "keyword") @NotBlank String keyword,
-            @RequestParam(name = "completed") boolean completed) {
-
-        List<TaskResponseDTO> results = taskService.searchByTitleAndCompleted(keyword, completed);
+            @RequestParam(name = "completed") boolean completed,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "sort", required = false) String sort) {
+
+        List<TaskResponseDTO> results;
+        if (sort != null) {
+            results = taskService.searchByTitleAndCompleted(keyword, completed, validLimit(limit), validSort(sort));
+        } else if (limit != null) {
+            results = taskService.searchByTitleAndCompleted(keyword, completed, validLimit(limit));
+        } else {
+            results = taskService.searchByTitleAndCompleted(keyword, completed);
+        }
         return ResponseEntity.ok(results);
     }
 
     @GetMapping("/search")
     public ResponseEntity<List<TaskResponseDTO>> searchFlexible(
             @RequestParam(name = "keyword", required = false) String keyword,
-            @RequestParam(name = "completed", required = false) Boolean completed) {
+            @RequestParam(name = "completed", required = false) Boolean completed,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "sort", required = false) String sort) {
 
         // Optional: Add validation if both are null
         if ((keyword == null || keyword.trim().isEmpty()) && completed == null) {
             throw new ValidationException("At least one of 'keyword' or 'completed' must be provided.");
         }
 
-        List<TaskResponseDTO> results = taskService.search(keyword, completed);
+        List<TaskResponseDTO> results;
+        if (sort != null) {
+            results = taskService.search(keyword, completed, validLimit(limit), validSort(sort));
+        } else if (limit != null) {
+            results = taskService.search(keyword, completed, validLimit(limit));
+        } else {
+            results = taskService.search(keyword, completed);
+        }
         return ResponseEntity.ok(results);
     }
 
     @GetMapping("/filter/title")
-    public ResponseEntity<List<TaskResponseDTO>> searchByTitle(@RequestParam("keyword") String keyword) {
-        List<TaskResponseDTO> results = taskService.searchByTitle(keyword);
+    public ResponseEntity<List<TaskResponseDTO>> searchByTitle(
+            @RequestParam("keyword") String keyword,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "sort", required = false) String sort) {
+        List<TaskResponseDTO> results = limit == null && sort == null
+            ? taskService.searchByTitle(keyword)
+            : taskService.searchByTitle(keyword, validLimit(limit), validSort(sort));
         return ResponseEntity.ok(results);
     }
 
     @GetMapping("/filter/completed")
-    public ResponseEntity<List<TaskResponseDTO>> getByCompleted(@RequestParam("status") boolean completed) {
-        List<TaskResponseDTO> results = taskService.getByCompleted(completed);
+    public ResponseEntity<List<TaskResponseDTO>> getByCompleted(
+            @RequestParam("status") boolean completed,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "sort", required = false) String sort) {
+        List<TaskResponseDTO> results = limit == null && sort == null
+            ? taskService.getByCompleted(completed)
+            : taskService.getByCompleted(completed, validLimit(limit), validSort(sort));
         return ResponseEntity.ok(results);
     }
 
+    @GetMapping("/filter/overdue")
+    public ResponseEntity<List<TaskResponseDTO>> getOverdue(
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "sort", required = false) String sort) {
+        if (limit == null && sort == null) {
+            return ResponseEntity.ok(taskService.getOverdue());
+        }
+        return ResponseEntity.ok(taskService.getOverdue(validLimit(limit), validSort(sort)));
+    }
+
+    // GET /api/tasks/filter/labels?all=backend,urgent&none=blocked&completed=false
+    @GetMapping("/filter/labels")
+    public ResponseEntity<List<TaskResponseDTO>> filterByLabels(
+            @RequestParam(name = "all", required = false) List<String> all,
+            @RequestParam(name = "any", required = false) List<String> any,
+            @RequestParam(name = "none", required = false) List<String> none,
+            @RequestParam(name = "completed", required = false) Boolean completed,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "sort", required = false) String sort) {
+        LabelFilter filter = new LabelFilter(validLabels(all), validLabels(any), validLabels(none), completed);
+        if (!filter.hasLabels()) {
+            throw new ValidationException("At least one of 'all', 'any' or 'none' must list a label.");
+        }
+        if (sort == null) {
+            return ResponseEntity.ok(taskService.filterByLabels(filter, validLimit(limit)));
+        }
+        return ResponseEntity.ok(taskService.filterByLabels(filter, validLimit(limit), validSort(sort)));
+    }
+
+    @GetMapping("/count")
+    public ResponseEntity<TaskCountResponseDTO> count(
+            @RequestParam(name = "completed", required = false) Boolean completed,
+            @RequestParam(name = "createdAfter", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter) {
+        return ResponseEntity.ok(taskService.count(completed, createdAfter));
+    }
+
+    private static List<Long> validIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.contains(null)) {
+            throw new ValidationException("'ids' must list at least one task id.");
+        }
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new ValidationException("'ids' may list at most " + MAX_BATCH_IDS + " task ids.");
+        }
+        return ids;
+    }
+
+    private static Set<String> validLabels(List<String> labels) {
+        if (labels == null) {
+            return Set.of();
+        }
+        if (labels.stream().anyMatch(label -> label == null || label.isBlank())) {
+            throw new ValidationException("Labels must not be blank.");
+        }
+        return Set.copyOf(labels);
+    }
+
+    // Null means no limit
+    private static Integer validLimit(Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new ValidationException("'limit' must be at least 1.");
+        }
+        return limit;
+    }
+
+    // Null means the endpoint's own order
+    private static TaskSort validSort(String sort) {
+        if (sort == null) {
+            return null;
+        }
+        try {
+            return TaskSort.parse(sort);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(e.getMessage());
+        }
+    }
+
 }
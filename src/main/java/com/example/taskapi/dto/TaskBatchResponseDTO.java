@@ -0,0 +1,11 @@
+package com.example.taskapi.dto;
+
+import java.util.List;
+
+/**
+ * DTO for batch lookups by id: the tasks found, in request order, and the ids that matched no task.
+ */
+public record TaskBatchResponseDTO(
+    List<TaskResponseDTO> tasks,
+    List<Long> missing
+) {}
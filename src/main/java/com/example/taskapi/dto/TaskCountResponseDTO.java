@@ -0,0 +1,8 @@
+package com.example.taskapi.dto;
+
+/**
+ * DTO for count queries.
+ */
+public record TaskCountResponseDTO(
+    long count
+) {}
@@ -1,8 +1,35 @@
 package com.example.taskapi.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for creating a task. {@code owner} is optional and selects the shard the task is stored on.
+ * {@code labels} are optional tags, compared case-insensitively. A task with a {@code dueAt} is flagged
+ * overdue once that time passes while it is still open.
+ */
 public record TaskRequestDTO(
     @NotBlank(message = "title is mandatory") String title,
-    String description
-) {}
+    String description,
+    @Size(max = 64, message = "owner must be at most 64 characters") String owner,
+    @Size(max = 16, message = "at most 16 labels")
+    List<@NotBlank(message = "labels must not be blank")
+         @Size(max = 64, message = "labels must be at most 64 characters") String> labels,
+    LocalDateTime dueAt
+) {
+
+    public TaskRequestDTO(String title, String description) {
+        this(title, description, null);
+    }
+
+    public TaskRequestDTO(String title, String description, String owner) {
+        this(title, description, owner, null);
+    }
+
+    public TaskRequestDTO(String title, String description, String owner, List<String> labels) {
+        this(title, description, owner, labels, null);
+    }
+}
@@ -1,15 +1,31 @@
 package com.example.taskapi.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
- * DTO for sending Task information in response payloads.
+ * DTO for sending Task information in response payloads. {@code labels} are sorted; {@code dueAt} is
+ * null for tasks without a due date.
  */
 public record TaskResponseDTO(
     Long id,
+    String owner,
     String title,
     String description,
     boolean completed,
-    LocalDateTime createdAt
-) {}
+    LocalDateTime createdAt,
+    List<String> labels,
+    LocalDateTime dueAt,
+    boolean overdue
+) {
 
+    public TaskResponseDTO(Long id, String owner, String title, String description, boolean completed,
+                           LocalDateTime createdAt) {
+        this(id, owner, title, description, completed, createdAt, List.of());
+    }
+
+    public TaskResponseDTO(Long id, String owner, String title, String description, boolean completed,
+                           LocalDateTime createdAt, List<String> labels) {
+        this(id, owner, title, description, completed, createdAt, labels, null, false);
+    }
+}
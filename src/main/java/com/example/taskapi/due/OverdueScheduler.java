@@ -0,0 +1,205 @@
+package com.example.taskapi.due;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Flags tasks overdue when their dueAt passes, without polling the table for them.
+ *
+ * - Every open task with a due date has a timer in a TimingWheel. One thread advances the wheel every
+ *   {@code tick} and flags the tasks whose timers fired, {@code batchSize} ids per UPDATE.
+ * - The UPDATE skips tasks that are completed, already flagged or no longer due, so a task changed
+ *   elsewhere since its timer was set is left alone. A batch that fails is retried after
+ *   {@code retryDelay}.
+ * - The wheel is loaded from the database once the application is ready and reloaded every
+ *   {@code reloadInterval}. After a restart, timers that came due while the service was down fire on
+ *   the first tick. Tasks created by other instances get their timers at the next reload; tasks
+ *   created here get them at once.
+ * - After each UPDATE the batch is passed to {@code onFlagged}, so in-memory copies of the tasks
+ *   (the columnar snapshot, the recent tasks window) can flag the same rows.
+ */
+public class OverdueScheduler implements ApplicationListener<ApplicationReadyEvent>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueScheduler.class);
+
+    private final TaskRepository repository;
+    private final Clock clock;
+    private final Duration tick;
+    private final int batchSize;
+    private final Duration reloadInterval;
+    private final Duration retryDelay;
+    private final BiConsumer<List<Long>, LocalDateTime> onFlagged;
+    private final ScheduledExecutorService scheduler;
+    // Guarded by this
+    private final TimingWheel wheel;
+    private final AtomicLong marked = new AtomicLong();
+
+    public OverdueScheduler(TaskRepository repository, Clock clock, Duration tick, int batchSize,
+                            Duration reloadInterval, Duration retryDelay,
+                            BiConsumer<List<Long>, LocalDateTime> onFlagged) {
+        this.repository = repository;
+        this.clock = clock;
+        this.tick = tick;
+        this.batchSize = batchSize;
+        this.reloadInterval = reloadInterval;
+        this.retryDelay = retryDelay;
+        this.onFlagged = onFlagged;
+        this.wheel = new TimingWheel(tick, clock.millis(), 1_024);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("overdue-"));
+    }
+
+    private OverdueScheduler() {
+        this.repository = null;
+        this.clock = null;
+        this.tick = null;
+        this.batchSize = 0;
+        this.reloadInterval = null;
+        this.retryDelay = null;
+        this.onFlagged = null;
+        this.scheduler = null;
+        this.wheel = null;
+    }
+
+    /**
+     * A scheduler that times nothing: tasks are never flagged overdue.
+     */
+    public static OverdueScheduler disabled() {
+        return new OverdueScheduler();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (scheduler == null) {
+            return;
+        }
+        // One thread for both, so a reload never overlaps a tick
+        scheduler.scheduleWithFixedDelay(this::reloadSafely, 0, reloadInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(this::tickSafely, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sets, moves or clears the timer of a task just written through this instance.
+     */
+    public void schedule(Task task) {
+        if (wheel == null || task.getId() == null) {
+            return;
+        }
+        synchronized (this) {
+            if (task.getDueAt() == null || task.isCompleted() || task.isOverdue()) {
+                wheel.cancel(task.getId());
+            } else {
+                wheel.schedule(task.getId(), toMillis(task.getDueAt()));
+            }
+        }
+    }
+
+    /**
+     * Sets a timer for every open task with a due date, replacing the ones already set.
+     */
+    public void reload() {
+        List<Object[]> rows = repository.findPendingDueDates();
+        synchronized (this) {
+            for (Object[] row : rows) {
+                wheel.schedule(((Number) row[0]).longValue(), toMillis((LocalDateTime) row[1]));
+            }
+        }
+        logger.debug("Loaded {} due dates", rows.size());
+    }
+
+    /**
+     * Fires the timers that have come due and flags their tasks.
+     *
+     * @return how many tasks were flagged
+     */
+    public int tick() {
+        long now = clock.millis();
+        LongStream.Builder fired = LongStream.builder();
+        synchronized (this) {
+            wheel.advance(now, fired::add);
+        }
+        long[] ids = fired.build().toArray();
+        int flagged = 0;
+        for (int from = 0; from < ids.length; from += batchSize) {
+            flagged += mark(ids, from, Math.min(from + batchSize, ids.length), now);
+        }
+        return flagged;
+    }
+
+    public synchronized int pending() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    public long marked() {
+        return marked.get();
+    }
+
+    private int mark(long[] ids, int from, int to, long now) {
+        List<Long> batch = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            batch.add(ids[i]);
+        }
+        LocalDateTime at = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), clock.getZone());
+        int flagged;
+        try {
+            flagged = repository.markOverdue(batch, at);
+        } catch (RuntimeException e) {
+            logger.warn("Could not flag {} tasks overdue, retrying in {}", batch.size(), retryDelay, e);
+            synchronized (this) {
+                batch.forEach(id -> wheel.schedule(id, now + retryDelay.toMillis()));
+            }
+            return 0;
+        }
+        marked.addAndGet(flagged);
+        if (flagged > 0) {
+            onFlagged.accept(batch, at);
+        }
+        return flagged;
+    }
+
+    private void reloadSafely() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.warn("Due date reload failed, retrying in {}", reloadInterval, e);
+        }
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            logger.warn("Overdue tick failed", e);
+        }
+    }
+
+    // Rounded up, so a timer never fires while the database would still consider the task not yet due
+    private long toMillis(LocalDateTime time) {
+        Instant instant = time.atZone(clock.getZone()).toInstant();
+        return instant.toEpochMilli() + (instant.getNano() % 1_000_000 == 0 ? 0 : 1);
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.taskapi.due;
+
+import com.example.taskapi.store.LongLongHashMap;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel with one timer per task id.
+ *
+ * {@link #LEVELS} wheels of {@link #SLOTS} slots each. A slot on level {@code l} spans {@code SLOTS^l}
+ * ticks, so four levels of 64 slots reach 2^24 ticks (194 days at one second per tick). A timer goes
+ * into the lowest level whose current revolution contains its deadline. Each time a lower wheel wraps,
+ * the next slot of the wheel above is emptied and its timers are placed again, one or more levels down.
+ * Deadlines beyond the top wheel wait in an overflow list, which is re-examined whenever the top wheel
+ * wraps.
+ *
+ * Timers are rows of parallel primitive arrays, linked into a doubly linked list per slot. A task id to
+ * row map finds a timer again. Schedule and cancel are O(1), each timer is placed at most once per
+ * level, and a timer costs about 60 bytes with no object of its own. Not thread-safe.
+ */
+public final class TimingWheel {
+
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int LEVELS = 4;
+
+    private static final int OVERFLOW = LEVELS * SLOTS;
+    private static final int NONE = -1;
+
+    private final long tickMillis;
+    private final int[] heads = new int[OVERFLOW + 1];
+    private final LongLongHashMap rowsByTask;
+    private long[] taskIds;
+    private long[] deadlines;
+    private int[] next;
+    private int[] previous;
+    private int[] buckets;
+    private int freeRows = NONE;
+    private int usedRows;
+    private int size;
+    // The first tick whose timers have not fired yet
+    private long nextTick;
+
+    /**
+     * @param startMillis the wheel's starting time; timers due before it fire at the first tick
+     * @param expected    timers to size the arrays for; they grow as needed
+     */
+    public TimingWheel(Duration tick, long startMillis, int expected) {
+        if (tick.toMillis() < 1) {
+            throw new IllegalArgumentException("The tick must be at least a millisecond");
+        }
+        this.tickMillis = tick.toMillis();
+        this.nextTick = Math.floorDiv(startMillis, tickMillis) + 1;
+        Arrays.fill(heads, NONE);
+        int capacity = Math.max(16, expected);
+        taskIds = new long[capacity];
+        deadlines = new long[capacity];
+        next = new int[capacity];
+        previous = new int[capacity];
+        buckets = new int[capacity];
+        rowsByTask = new LongLongHashMap(expected);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sets the task's timer to {@code deadlineMillis}, replacing any timer it already had.
+     */
+    public void schedule(long taskId, long deadlineMillis) {
+        cancel(taskId);
+        int row = allocate();
+        taskIds[row] = taskId;
+        // A timer fires at the first tick boundary at or after its deadline, never before it
+        deadlines[row] = Math.floorDiv(deadlineMillis, tickMillis) + (Math.floorMod(deadlineMillis, tickMillis) == 0 ? 0 : 1);
+        rowsByTask.put(taskId, row);
+        place(row);
+        size++;
+    }
+
+    /**
+     * @return whether the task had a timer
+     */
+    public boolean cancel(long taskId) {
+        long row = rowsByTask.remove(taskId);
+        if (row == LongLongHashMap.MISSING) {
+            return false;
+        }
+        unlink((int) row);
+        release((int) row);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis}. Each timer that has come due is removed and its task
+     * id passed to {@code expired}, tick by tick in deadline order. {@code expired} must not call back
+     * into the wheel.
+     *
+     * @return how many timers fired
+     */
+    public int advance(long nowMillis, LongConsumer expired) {
+        long lastTick = Math.floorDiv(nowMillis, tickMillis);
+        int fired = 0;
+        while (nextTick <= lastTick) {
+            if (size == 0) {
+                // Nothing to cascade or fire; placement only depends on nextTick
+                nextTick = lastTick + 1;
+                break;
+            }
+            cascade(nextTick);
+            fired += fire(nextTick, expired);
+            nextTick++;
+        }
+        return fired;
+    }
+
+    // Refill lower levels from the slots that start at this tick, top level first
+    private void cascade(long tick) {
+        if ((tick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+            replace(OVERFLOW);
+        }
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                replace(level * SLOTS + slot(tick, level));
+            }
+        }
+    }
+
+    private int fire(long tick, LongConsumer expired) {
+        int row = detach(slot(tick, 0));
+        int fired = 0;
+        while (row != NONE) {
+            int following = next[row];
+            if (deadlines[row] <= tick) {
+                long taskId = taskIds[row];
+                rowsByTask.remove(taskId);
+                release(row);
+                size--;
+                fired++;
+                expired.accept(taskId);
+            } else {
+                place(row);
+            }
+            row = following;
+        }
+        return fired;
+    }
+
+    private void replace(int bucket) {
+        int row = detach(bucket);
+        while (row != NONE) {
+            int following = next[row];
+            place(row);
+            row = following;
+        }
+    }
+
+    private void place(int row) {
+        long deadline = Math.max(deadlines[row], nextTick);
+        for (int level = 0; level < LEVELS; level++) {
+            int above = SLOT_BITS * (level + 1);
+            if (deadline >> above == nextTick >> above) {
+                link(row, level * SLOTS + slot(deadline, level));
+                return;
+            }
+        }
+        link(row, OVERFLOW);
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) (tick >> (SLOT_BITS * level)) & (SLOTS - 1);
+    }
+
+    private void link(int row, int bucket) {
+        buckets[row] = bucket;
+        previous[row] = NONE;
+        next[row] = heads[bucket];
+        if (heads[bucket] != NONE) {
+            previous[heads[bucket]] = row;
+        }
+        heads[bucket] = row;
+    }
+
+    private void unlink(int row) {
+        if (previous[row] != NONE) {
+            next[previous[row]] = next[row];
+        } else {
+            heads[buckets[row]] = next[row];
+        }
+        if (next[row] != NONE) {
+            previous[next[row]] = previous[row];
+        }
+    }
+
+    // Empties the bucket and returns its first row; the rest follow through next[]
+    private int detach(int bucket) {
+        int first = heads[bucket];
+        heads[bucket] = NONE;
+        return first;
+    }
+
+    private int allocate() {
+        if (freeRows != NONE) {
+            int row = freeRows;
+            freeRows = next[row];
+            return row;
+        }
+        if (usedRows == taskIds.length) {
+            int capacity = taskIds.length << 1;
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            next = Arrays.copyOf(next, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+            buckets = Arrays.copyOf(buckets, capacity);
+        }
+        return usedRows++;
+    }
+
+    private void release(int row) {
+        next[row] = freeRows;
+        freeRows = row;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.taskapi.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change to a task, written in the same transaction as the change itself and deleted once
+ * OutboxRelay has delivered it. Rows hold no copy of the task; the relay reads the task when it
+ * delivers. There is no foreign key, so the row outlives a deleted task.
+ */
+@Entity
+@Table(name = "task_outbox")
+public class OutboxEvent {
+
+    public enum Type { CREATED, UPDATED, OVERDUE }
+
+    /** Delivery order; for any one task, also the order its changes committed in. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private long taskId;
+
+    @Column(nullable = false, length = 64)
+    private String owner;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    protected OutboxEvent() {}
+
+    public OutboxEvent(long taskId, String owner, Type type, LocalDateTime occurredAt) {
+        this.taskId = taskId;
+        this.owner = owner;
+        this.type = type;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -1,17 +1,33 @@
 package com.example.taskapi.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", uniqueConstraints =
+    @UniqueConstraint(name = "uk_tasks_idempotency_key", columnNames = "idempotency_key"),
+    indexes = {
+        @Index(name = "idx_tasks_overdue_due_at", columnList = "overdue, due_at"),
+        // For sort=createdAt: the newest tasks overall, and the newest open (or done) ones
+        @Index(name = "idx_tasks_created_at", columnList = "created_at"),
+        @Index(name = "idx_tasks_completed_created_at", columnList = "completed, created_at")
+    })
 public class Task {
 
+    /** Owner assigned to tasks created without one; also the shard key. */
+    public static final String DEFAULT_OWNER = "default";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(nullable = false, length = 64)
+    private String owner = DEFAULT_OWNER;
+
     @Column(nullable = false)
     private String title;
 
@@ -22,6 +38,32 @@ public class Task {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /** Idempotency-Key of the request that created the task, if it had one; unique. */
+    @Column(name = "idempotency_key", length = 128)
+    private String idempotencyKey;
+
+    /** When the task should be completed by, if ever. */
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    /**
+     * Set by OverdueScheduler once dueAt has passed while the task was still open. It is a flag rather
+     * than a comparison at read time so the overdue filter is an index lookup.
+     */
+    @Column(nullable = false)
+    private boolean overdue = false;
+
+    /**
+     * Lower-case tags, one row each in task_labels. TaskRepository's unpaged finders join them into the
+     * same statement; after a paged query they are loaded in batches, one extra statement per batch.
+     */
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "task_labels", joinColumns = @JoinColumn(name = "task_id"),
+        indexes = @Index(name = "idx_task_labels_label", columnList = "label"))
+    @Column(name = "label", nullable = false, length = 64)
+    @BatchSize(size = 500)
+    private Set<String> labels = new LinkedHashSet<>();
+
     // Constructors
     public Task() {}
 
@@ -34,6 +76,14 @@ public class Task {
         this.id = id;
     }
 
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -73,4 +123,36 @@ public class Task {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(LocalDateTime dueAt) {
+        this.dueAt = dueAt;
+    }
+
+    public boolean isOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(boolean overdue) {
+        this.overdue = overdue;
+    }
+
+    public Set<String> getLabels() {
+        return labels;
+    }
+
+    public void setLabels(Set<String> labels) {
+        this.labels = labels;
+    }
 }
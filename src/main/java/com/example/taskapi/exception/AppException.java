@@ -1,3 +1,9 @@
 package com.example.taskapi.exception;
 
-public sealed interface AppException permits TaskNotFoundException, ValidationException {}
+/**
+ * Expected, client-caused outcomes (404, 400, 409, 422, 503).
+ * Implementations are built without a stack trace: they are thrown on hot paths such as a burst of
+ * 404s, the handler never logs their trace, and filling it in is the dominant cost of throwing.
+ */
+public sealed interface AppException permits TaskNotFoundException, ValidationException, ServiceOverloadedException,
+    IdempotencyConflictException {}
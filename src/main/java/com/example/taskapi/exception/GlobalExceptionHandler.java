@@ -1,6 +1,7 @@
 package com.example.taskapi.exception;
 
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -17,9 +18,23 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    // Expected client errors: at most 10 lines per second per kind, then 1 in 100, never with a stack trace
+    private final LogSampler sampler;
+
+    public GlobalExceptionHandler() {
+        this(new LogSampler(10, 100, System::currentTimeMillis));
+    }
+
+    GlobalExceptionHandler(LogSampler sampler) {
+        this.sampler = sampler;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
-        logger.error("Validation failed for request: {}", ex.getBindingResult(), ex);
+        long suppressed = sampler.tryAcquire("validation");
+        if (suppressed >= 0) {
+            logger.warn("Validation failed for request: {} ({} similar suppressed)", ex.getBindingResult(), suppressed);
+        }
         String message = ex.getBindingResult().getFieldErrors().stream()
             .map(DefaultMessageSourceResolvable::getDefaultMessage)
             .collect(Collectors.joining(", "));
@@ -30,11 +45,41 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(TaskNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleTaskNotFound(TaskNotFoundException ex) {
-        logger.error("Task not found exception occurred", ex);
+        long suppressed = sampler.tryAcquire("not_found");
+        if (suppressed >= 0) {
+            logger.info("{} ({} similar suppressed)", ex.getMessage(), suppressed);
+        }
         ErrorResponse error = new ErrorResponse("Task not found", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloaded(ServiceOverloadedException ex) {
+        long suppressed = sampler.tryAcquire("overloaded");
+        if (suppressed >= 0) {
+            logger.warn("Request shed: {} ({} similar suppressed)",
+                ex.getMessage(), suppressed);
+        }
+        ErrorResponse error = new ErrorResponse("Service overloaded", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflict(IdempotencyConflictException ex) {
+        long suppressed = sampler.tryAcquire("idempotency");
+        if (suppressed >= 0) {
+            logger.info("{} ({} similar suppressed)", ex.getMessage(), suppressed);
+        }
+        if (ex.inProgress()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("Request in progress", ex.getMessage()));
+        }
+        return ResponseEntity.unprocessableEntity().body(new ErrorResponse("Idempotency-Key reused", ex.getMessage()));
+    }
+
     // (Optional) generic handler for other exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex) {
@@ -45,18 +90,18 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleAppExceptions(RuntimeException ex) {
-        logger.error("Unhandled exception in REST API", ex);
         if (ex instanceof AppException appEx) {
             if (appEx instanceof ValidationException ve) {
-                logger.warn("Validation error: {}", ve.getMessage(), ve);
-                return ResponseEntity.badRequest()
-                    .body(new ErrorResponse(
-                        "Validation Error: At least one of 'keyword' or 'completed' must be provided", ve.getMessage()));
+                long suppressed = sampler.tryAcquire("validation");
+                if (suppressed >= 0) {
+                    logger.warn("Validation error: {} ({} similar suppressed)", ve.getMessage(), suppressed);
+                }
+                return ResponseEntity.badRequest().body(new ErrorResponse("Validation Error", ve.getMessage()));
             }
         }
         logger.error("Unhandled RuntimeException in REST API", ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
             .body(new ErrorResponse("Unexpected error occurred", ex.getMessage()));
     }
-    
+
 }
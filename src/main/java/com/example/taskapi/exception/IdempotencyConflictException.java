@@ -0,0 +1,28 @@
+package com.example.taskapi.exception;
+
+/**
+ * Thrown when an Idempotency-Key cannot be honoured: reused with a different request (422), or the
+ * first request with it is still running after the wait (409).
+ * Implements sealed AppException interface.
+ */
+public final class IdempotencyConflictException extends RuntimeException implements AppException {
+
+    private final boolean inProgress;
+
+    private IdempotencyConflictException(String message, boolean inProgress) {
+        super(message, null, false, false);
+        this.inProgress = inProgress;
+    }
+
+    public static IdempotencyConflictException reused(String key) {
+        return new IdempotencyConflictException("Idempotency-Key '" + key + "' was already used for a different request", false);
+    }
+
+    public static IdempotencyConflictException inProgress(String key) {
+        return new IdempotencyConflictException("A request with Idempotency-Key '" + key + "' is still in progress", true);
+    }
+
+    public boolean inProgress() {
+        return inProgress;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.taskapi.exception;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate-limits and samples log lines for expected exceptions.
+ *
+ * Per key and per one-second window, the first {@code burstPerSecond} events are logged, then only
+ * every {@code sampleEvery}-th. The number of events dropped since the last logged one is reported
+ * with the next logged one, so totals can still be reconstructed from the log.
+ */
+public class LogSampler {
+
+    private static final long WINDOW_MILLIS = 1_000L;
+
+    private final int burstPerSecond;
+    private final int sampleEvery;
+    private final LongSupplier clockMillis;
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public LogSampler(int burstPerSecond, int sampleEvery, LongSupplier clockMillis) {
+        this.burstPerSecond = burstPerSecond;
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.clockMillis = clockMillis;
+    }
+
+    /**
+     * @return -1 if this event should not be logged, otherwise how many events were suppressed before it
+     */
+    public long tryAcquire(String key) {
+        Window window = windows.computeIfAbsent(key, k -> new Window(clockMillis.getAsLong()));
+        long now = clockMillis.getAsLong();
+        long start = window.start.get();
+        if (now - start >= WINDOW_MILLIS && window.start.compareAndSet(start, now)) {
+            window.count.set(0);
+        }
+        long n = window.count.incrementAndGet();
+        if (n <= burstPerSecond || n % sampleEvery == 0) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    private static final class Window {
+        final AtomicLong start;
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong suppressed = new AtomicLong();
+
+        Window(long start) {
+            this.start = new AtomicLong(start);
+        }
+    }
+}
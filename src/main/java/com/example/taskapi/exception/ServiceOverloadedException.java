@@ -0,0 +1,13 @@
+package com.example.taskapi.exception;
+
+/**
+ * Thrown when the adaptive concurrency limit rejects a call instead of queueing it, or when the task
+ * database is failing and RepositoryGuard has no cached answer to give instead.
+ * Implements sealed AppException interface.
+ */
+public final class ServiceOverloadedException extends RuntimeException implements AppException {
+
+    public ServiceOverloadedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -7,6 +7,6 @@ package com.example.taskapi.exception;
 public final class TaskNotFoundException extends RuntimeException implements AppException {
 
     public TaskNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
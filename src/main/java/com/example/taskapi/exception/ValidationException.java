@@ -7,6 +7,6 @@ package com.example.taskapi.exception;
 public final class ValidationException extends RuntimeException implements AppException {
 
     public ValidationException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
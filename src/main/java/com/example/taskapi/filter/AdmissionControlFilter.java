@@ -0,0 +1,137 @@
+package com.example.taskapi.filter;
+
+import com.example.taskapi.config.AdmissionControlProperties;
+import com.example.taskapi.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control in front of TaskController.
+ *
+ * 1. Per-client token buckets, with separate budgets for EXPENSIVE and CHEAP endpoints (429 + Retry-After).
+ *    A client is its API key if the key is one of the configured ones, otherwise its remote address;
+ *    an unknown key is ignored, so rotating made-up keys does not buy fresh buckets.
+ * 2. A global in-flight cap (503 + Retry-After).
+ * 3. Load shedding of EXPENSIVE requests while DB pool acquire time is above the threshold (503 + Retry-After).
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    static final String REJECTIONS_METRIC = "taskapi.admission.rejections";
+
+    private final AdmissionControlProperties properties;
+    private final DoubleSupplier poolWaitMillis;
+    private final LongSupplier clock;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final Set<String> apiKeys;
+    private final Map<EndpointCost, ClientBuckets> buckets = new EnumMap<>(EndpointCost.class);
+
+    public AdmissionControlFilter(AdmissionControlProperties properties,
+                                  DoubleSupplier poolWaitMillis,
+                                  LongSupplier clock,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.poolWaitMillis = poolWaitMillis;
+        this.clock = clock;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.inFlight = new Semaphore(properties.maxConcurrentRequests());
+        this.apiKeys = Set.copyOf(properties.apiKeys());
+        buckets.put(EndpointCost.EXPENSIVE, new ClientBuckets(properties.maxTrackedClients(),
+            () -> new TokenBucket(properties.expensivePerSecond(), properties.expensiveBurst(), clock)));
+        buckets.put(EndpointCost.CHEAP, new ClientBuckets(properties.maxTrackedClients(),
+            () -> new TokenBucket(properties.cheapPerSecond(), properties.cheapBurst(), clock)));
+        Gauge.builder("taskapi.admission.inflight", inFlight,
+                s -> properties.maxConcurrentRequests() - s.availablePermits())
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        EndpointCost cost = EndpointCost.classify(request.getMethod(), request.getRequestURI());
+
+        long waitNanos = buckets.get(cost).get(clientKey(request)).tryAcquire();
+        if (waitNanos > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "rate_limited", cost,
+                Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)),
+                "Rate limit exceeded for this client");
+            return;
+        }
+
+        if (cost == EndpointCost.EXPENSIVE && poolWaitMillis.getAsDouble() > properties.poolWaitThresholdMillis()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "db_pool_pressure", cost,
+                properties.shedRetryAfterSeconds(), "Database is saturated, try again later");
+            return;
+        }
+
+        if (!inFlight.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "concurrency", cost,
+                properties.shedRetryAfterSeconds(), "Too many concurrent requests, try again later");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.apiKeyHeader());
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    int trackedClients(EndpointCost cost) {
+        return buckets.get(cost).size();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String reason, EndpointCost cost,
+                        long retryAfterSeconds, String message) throws IOException {
+        rejectionCounter(reason, cost).increment();
+        logger.debug("Admission rejected: reason={}, cost={}", reason, cost);
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.getReasonPhrase(), message));
+    }
+
+    private Counter rejectionCounter(String reason, EndpointCost cost) {
+        return Counter.builder(REJECTIONS_METRIC)
+            .tag("reason", reason)
+            .tag("cost", cost.name().toLowerCase())
+            .register(meterRegistry);
+    }
+}
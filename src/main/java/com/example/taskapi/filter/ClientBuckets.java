@@ -0,0 +1,64 @@
+package com.example.taskapi.filter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Token buckets by client, at most {@code maxClients} of them.
+ *
+ * Clients are spread over independently locked stripes, each an access-ordered map that drops its
+ * least recently seen client when over its share. Finding or adding a bucket is O(1) however many
+ * clients come and go; a client dropped while idle starts again with a full bucket.
+ */
+final class ClientBuckets {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Supplier<TokenBucket> factory;
+
+    private static final class Stripe extends LinkedHashMap<String, TokenBucket> {
+        private final int maxClients;
+
+        Stripe(int maxClients) {
+            super(16, 0.75f, true);
+            this.maxClients = maxClients;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            return size() > maxClients;
+        }
+    }
+
+    ClientBuckets(int maxClients, Supplier<TokenBucket> factory) {
+        int perStripe = Math.max(1, maxClients / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.factory = factory;
+    }
+
+    TokenBucket get(String client) {
+        Stripe stripe = stripes[Math.floorMod(client.hashCode(), STRIPES)];
+        synchronized (stripe) {
+            TokenBucket bucket = stripe.get(client);
+            if (bucket == null) {
+                bucket = factory.get();
+                stripe.put(client, bucket);
+            }
+            return bucket;
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.taskapi.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Makes {@code server.compression.min-response-size} apply to JSON responses.
+ *
+ * Tomcat skips compression only for responses whose Content-Length is known and below the threshold,
+ * and Jackson streams its output without one, so every JSON body would be gzipped however small.
+ * This filter holds back the first {@code threshold} bytes: a body that ends within them is sent with
+ * its Content-Length (and goes out uncompressed), a longer one is passed through as it is written.
+ */
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+
+    private final int threshold;
+
+    public CompressionThresholdFilter(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ThresholdResponse wrapped = new ThresholdResponse(response, threshold);
+        chain.doFilter(request, wrapped);
+        wrapped.finish();
+    }
+
+    private static final class ThresholdResponse extends HttpServletResponseWrapper {
+
+        private final int threshold;
+        private ByteArrayOutputStream held = new ByteArrayOutputStream();
+        private ServletOutputStream passthrough;
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+
+        ThresholdResponse(HttpServletResponse response, int threshold) {
+            super(response);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (stream == null) {
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        write(new byte[] {(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) throws IOException {
+                        if (passthrough == null && held.size() + length >= threshold) {
+                            release();
+                        }
+                        if (passthrough != null) {
+                            passthrough.write(bytes, offset, length);
+                        } else {
+                            held.write(bytes, offset, length);
+                        }
+                    }
+
+                    // Jackson flushes when it is done; that must not commit a body we are still holding
+                    @Override
+                    public void flush() throws IOException {
+                        if (passthrough != null) {
+                            passthrough.flush();
+                        }
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        throw new UnsupportedOperationException("Asynchronous writes are not buffered");
+                    }
+                };
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (passthrough != null) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (held != null) {
+                held.reset();
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (held != null) {
+                held.reset();
+            }
+        }
+
+        private void release() throws IOException {
+            passthrough = super.getOutputStream();
+            held.writeTo(passthrough);
+            held = null;
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (passthrough != null || held.size() == 0) {
+                return;
+            }
+            if (!isCommitted()) {
+                setContentLength(held.size());
+            }
+            release();
+        }
+    }
+}
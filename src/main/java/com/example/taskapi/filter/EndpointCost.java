@@ -0,0 +1,26 @@
+package com.example.taskapi.filter;
+
+/**
+ * Cost class of a /api/tasks endpoint, used to pick the rate-limit budget.
+ *
+ * EXPENSIVE endpoints scan the tasks table (findAll, search, filters, count) or read many rows at
+ * once (batch get); CHEAP endpoints touch a single row (getById, create).
+ */
+public enum EndpointCost {
+    EXPENSIVE,
+    CHEAP;
+
+    static EndpointCost classify(String method, String path) {
+        String normalized = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        if (!"GET".equalsIgnoreCase(method)) {
+            return normalized.equals("/api/tasks/batch-get") ? EXPENSIVE : CHEAP;
+        }
+        if (normalized.equals("/api/tasks")
+            || normalized.equals("/api/tasks/search")
+            || normalized.equals("/api/tasks/count")
+            || normalized.startsWith("/api/tasks/filter/")) {
+            return EXPENSIVE;
+        }
+        return CHEAP;
+    }
+}
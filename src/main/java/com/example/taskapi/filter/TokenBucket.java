@@ -0,0 +1,49 @@
+package com.example.taskapi.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket.
+ *
+ * The bucket state is a single "theoretical arrival time" (GCRA form of a token bucket),
+ * so acquiring a token is one CAS on an AtomicLong instead of a lock around
+ * a (tokens, lastRefill) pair.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double tokensPerSecond, int burst, LongSupplier clock) {
+        if (tokensPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("tokensPerSecond and burst must be positive");
+        }
+        this.nanosPerToken = Math.max(1L, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = nanosPerToken * burst;
+        this.clock = clock;
+        this.theoreticalArrival = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 when the token was granted, otherwise the nanos until a token becomes available
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = clock.getAsLong();
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, now) + nanosPerToken;
+            long waitNanos = next - now - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0L;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.taskapi.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC server on its own port next to the servlet container, started and stopped with the
+ * application context. On shutdown, calls in flight get {@code shutdownGrace} to finish before they
+ * are cancelled.
+ */
+public class GrpcServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcServer.class);
+
+    private final BindableService service;
+    private final int port;
+    private final Duration shutdownGrace;
+    private volatile Server server;
+
+    /**
+     * @param port 0 for any free port
+     */
+    public GrpcServer(BindableService service, int port, Duration shutdownGrace) {
+        this.service = service;
+        this.port = port;
+        this.shutdownGrace = shutdownGrace;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+                .addService(service)
+                .build()
+                .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the gRPC server on port " + port, e);
+        }
+        logger.info("gRPC server started on port {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(shutdownGrace.toMillis(), TimeUnit.MILLISECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * The port the server listens on, once started.
+     */
+    public int getPort() {
+        Server running = server;
+        if (running == null) {
+            throw new IllegalStateException("The gRPC server is not running");
+        }
+        return running.getPort();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.taskapi.grpc;
+
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.exception.IdempotencyConflictException;
+import com.example.taskapi.exception.ServiceOverloadedException;
+import com.example.taskapi.exception.TaskNotFoundException;
+import com.example.taskapi.exception.ValidationException;
+import com.example.taskapi.grpc.proto.BulkCreateResponse;
+import com.example.taskapi.grpc.proto.CreateTaskRequest;
+import com.example.taskapi.grpc.proto.GetTaskRequest;
+import com.example.taskapi.grpc.proto.ListTasksRequest;
+import com.example.taskapi.grpc.proto.SearchTasksRequest;
+import com.example.taskapi.grpc.proto.Task;
+import com.example.taskapi.grpc.proto.TaskServiceGrpc;
+import com.example.taskapi.service.TaskService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC front end over the same TaskService as TaskController, with the same validation rules.
+ * Application exceptions map to status codes the way GlobalExceptionHandler maps them to HTTP ones.
+ */
+public class TaskGrpcService extends TaskServiceGrpc.TaskServiceImplBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskGrpcService.class);
+
+    private final TaskService taskService;
+    private final Validator validator;
+    private final int pageSize;
+
+    /**
+     * @param pageSize tasks read per query while streaming
+     */
+    public TaskGrpcService(TaskService taskService, Validator validator, int pageSize) {
+        this.taskService = taskService;
+        this.validator = validator;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void getTask(GetTaskRequest request, StreamObserver<Task> responseObserver) {
+        unary(responseObserver, () -> TaskMessages.toMessage(taskService.getTaskById(request.getId())));
+    }
+
+    @Override
+    public void createTask(CreateTaskRequest request, StreamObserver<Task> responseObserver) {
+        unary(responseObserver, () -> TaskMessages.toMessage(create(request)));
+    }
+
+    @Override
+    public StreamObserver<CreateTaskRequest> bulkCreate(StreamObserver<BulkCreateResponse> responseObserver) {
+        BulkCreateResponse.Builder created = BulkCreateResponse.newBuilder();
+        // Messages are delivered one at a time and the next is only requested once onNext returns,
+        // so a fast sender is held back by the creates themselves
+        return new StreamObserver<>() {
+            private boolean failed;
+
+            @Override
+            public void onNext(CreateTaskRequest request) {
+                if (failed) {
+                    return;
+                }
+                try {
+                    created.addIds(create(request).id());
+                } catch (RuntimeException e) {
+                    failed = true;
+                    Status status = toStatus(e);
+                    responseObserver.onError(status
+                        .withDescription("Task " + (created.getIdsCount() + 1) + ": " + status.getDescription()
+                            + " (" + created.getIdsCount() + " created before it)")
+                        .asRuntimeException());
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // The caller gave up; what was created so far stays
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!failed) {
+                    responseObserver.onNext(created.build());
+                    responseObserver.onCompleted();
+                }
+            }
+        };
+    }
+
+    @Override
+    public void listTasks(ListTasksRequest request, StreamObserver<Task> responseObserver) {
+        if (request.getLimit() < 0) {
+            responseObserver.onError(toStatus(new ValidationException("'limit' must be at least 1.")).asRuntimeException());
+            return;
+        }
+        TaskStreamer.stream((ServerCallStreamObserver<Task>) responseObserver,
+            (afterId, limit) -> taskService.searchAfterId(null, null, afterId, limit), pageSize, request.getLimit());
+    }
+
+    @Override
+    public void searchTasks(SearchTasksRequest request, StreamObserver<Task> responseObserver) {
+        String keyword = request.hasKeyword() ? request.getKeyword() : null;
+        Boolean completed = request.hasCompleted() ? request.getCompleted() : null;
+        if ((keyword == null || keyword.trim().isEmpty()) && completed == null) {
+            responseObserver.onError(toStatus(new ValidationException(
+                "At least one of 'keyword' or 'completed' must be provided.")).asRuntimeException());
+            return;
+        }
+        if (request.getLimit() < 0) {
+            responseObserver.onError(toStatus(new ValidationException("'limit' must be at least 1.")).asRuntimeException());
+            return;
+        }
+        TaskStreamer.stream((ServerCallStreamObserver<Task>) responseObserver,
+            (afterId, limit) -> taskService.searchAfterId(keyword, completed, afterId, limit), pageSize, request.getLimit());
+    }
+
+    private TaskResponseDTO create(CreateTaskRequest request) {
+        TaskRequestDTO dto = TaskMessages.toDTO(request);
+        Set<ConstraintViolation<TaskRequestDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations.stream()
+                .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", ")));
+        }
+        if (!request.hasIdempotencyKey()) {
+            return taskService.createTask(dto);
+        }
+        String key = request.getIdempotencyKey();
+        if (key.isBlank() || key.length() > 128) {
+            throw new ValidationException("'idempotency_key' must be 1 to 128 characters.");
+        }
+        return taskService.createTask(dto, key);
+    }
+
+    private static <T> void unary(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    static Status toStatus(RuntimeException e) {
+        if (e instanceof TaskNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage());
+        }
+        if (e instanceof ValidationException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+        }
+        if (e instanceof ServiceOverloadedException) {
+            return Status.UNAVAILABLE.withDescription(e.getMessage());
+        }
+        if (e instanceof IdempotencyConflictException conflict) {
+            return (conflict.inProgress() ? Status.ABORTED : Status.FAILED_PRECONDITION).withDescription(e.getMessage());
+        }
+        logger.error("Unhandled exception in gRPC API", e);
+        return Status.INTERNAL.withDescription("Unexpected error occurred");
+    }
+}
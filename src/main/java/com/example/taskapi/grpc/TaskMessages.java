@@ -0,0 +1,71 @@
+package com.example.taskapi.grpc;
+
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.grpc.proto.CreateTaskRequest;
+import com.example.taskapi.grpc.proto.Task;
+import com.google.protobuf.Timestamp;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Conversions between the Protobuf messages and the DTOs. Absent optional fields map to null and
+ * back; createdAt and dueAt travel as Timestamps read as UTC, so they come back as the same local
+ * date-times.
+ */
+final class TaskMessages {
+
+    private TaskMessages() {
+    }
+
+    static Task toMessage(TaskResponseDTO dto) {
+        Task.Builder task = Task.newBuilder()
+            .setId(dto.id())
+            .setTitle(dto.title())
+            .setCompleted(dto.completed())
+            .addAllLabels(dto.labels())
+            .setOverdue(dto.overdue());
+        if (dto.owner() != null) {
+            task.setOwner(dto.owner());
+        }
+        if (dto.description() != null) {
+            task.setDescription(dto.description());
+        }
+        if (dto.createdAt() != null) {
+            task.setCreatedAt(timestamp(dto.createdAt()));
+        }
+        if (dto.dueAt() != null) {
+            task.setDueAt(timestamp(dto.dueAt()));
+        }
+        return task.build();
+    }
+
+    static TaskResponseDTO toDTO(Task task) {
+        return new TaskResponseDTO(task.getId(), task.hasOwner() ? task.getOwner() : null, task.getTitle(),
+            task.hasDescription() ? task.getDescription() : null, task.getCompleted(),
+            task.hasCreatedAt() ? localDateTime(task.getCreatedAt()) : null,
+            List.copyOf(task.getLabelsList()),
+            task.hasDueAt() ? localDateTime(task.getDueAt()) : null, task.getOverdue());
+    }
+
+    static TaskRequestDTO toDTO(CreateTaskRequest request) {
+        return new TaskRequestDTO(request.getTitle(),
+            request.hasDescription() ? request.getDescription() : null,
+            request.hasOwner() ? request.getOwner() : null,
+            request.getLabelsCount() == 0 ? null : List.copyOf(request.getLabelsList()),
+            request.hasDueAt() ? localDateTime(request.getDueAt()) : null);
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return Timestamp.newBuilder()
+            .setSeconds(time.toEpochSecond(ZoneOffset.UTC))
+            .setNanos(time.getNano())
+            .build();
+    }
+
+    private static LocalDateTime localDateTime(Timestamp timestamp) {
+        return LocalDateTime.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos(), ZoneOffset.UTC);
+    }
+}
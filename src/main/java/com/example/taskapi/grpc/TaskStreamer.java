@@ -0,0 +1,87 @@
+package com.example.taskapi.grpc;
+
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.grpc.proto.Task;
+import io.grpc.stub.ServerCallStreamObserver;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Streams the tasks matching a search to one caller, with flow control.
+ *
+ * Rows are read a page at a time by id (each page a short query of its own, so no cursor or
+ * transaction stays open while a slow caller catches up), and a page is only read once the previous
+ * one has been sent. Sending pauses whenever the call stops being ready, i.e. the caller's flow-control
+ * window is full, and resumes from the onReady callback, so a slow reader holds at most a page in memory.
+ */
+final class TaskStreamer {
+
+    /**
+     * Reads the next page: up to {@code limit} matches with ids above {@code afterId}, lowest first.
+     */
+    @FunctionalInterface
+    interface PageReader {
+        List<TaskResponseDTO> read(long afterId, int limit);
+    }
+
+    private final ServerCallStreamObserver<Task> observer;
+    private final PageReader reader;
+    private final int pageSize;
+    private final Deque<TaskResponseDTO> page = new ArrayDeque<>();
+    private long afterId = 0;
+    // Left to send, or -1 for no limit
+    private long remaining;
+    private boolean exhausted;
+    private boolean done;
+
+    private TaskStreamer(ServerCallStreamObserver<Task> observer, PageReader reader, int pageSize, int limit) {
+        this.observer = observer;
+        this.reader = reader;
+        this.pageSize = pageSize;
+        this.remaining = limit > 0 ? limit : -1;
+    }
+
+    /**
+     * Starts streaming once the call is ready. {@code limit} of 0 streams every match.
+     */
+    static void stream(ServerCallStreamObserver<Task> observer, PageReader reader, int pageSize, int limit) {
+        TaskStreamer streamer = new TaskStreamer(observer, reader, pageSize, limit);
+        observer.setOnCancelHandler(() -> streamer.done = true);
+        // gRPC runs the handler once the method returns, and again whenever the call becomes ready
+        observer.setOnReadyHandler(streamer::drain);
+    }
+
+    private void drain() {
+        try {
+            while (!done && observer.isReady()) {
+                if (page.isEmpty() && !readPage()) {
+                    done = true;
+                    observer.onCompleted();
+                    return;
+                }
+                TaskResponseDTO next = page.poll();
+                afterId = next.id();
+                if (remaining > 0) {
+                    remaining--;
+                }
+                observer.onNext(TaskMessages.toMessage(next));
+            }
+        } catch (RuntimeException e) {
+            done = true;
+            observer.onError(TaskGrpcService.toStatus(e).asRuntimeException());
+        }
+    }
+
+    private boolean readPage() {
+        if (exhausted || remaining == 0) {
+            return false;
+        }
+        int size = remaining > 0 ? (int) Math.min(pageSize, remaining) : pageSize;
+        List<TaskResponseDTO> rows = reader.read(afterId, size);
+        exhausted = rows.size() < size;
+        page.addAll(rows);
+        return !page.isEmpty();
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.taskapi.idempotency;
+
+import com.example.taskapi.exception.IdempotencyConflictException;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of recent requests by Idempotency-Key, so a retried request gets the first
+ * one's result instead of running again.
+ *
+ * - The first request with a key runs; others with the same key arriving meanwhile wait for its result
+ *   (up to {@code waitTimeout}, then 409). If it fails, the key is forgotten and one waiter runs instead.
+ * - A key reused with a different request body is rejected (422).
+ * - Keys are spread over independently locked stripes. Each stripe keeps its keys in insertion order
+ *   and drops them once older than {@code ttl}, or oldest first when over its share of {@code maxKeys}.
+ *
+ * This only covers one instance and its uptime; callers still need a durable check (a unique key in
+ * the database) for retries that land elsewhere or after a restart.
+ */
+public class IdempotencyCache<T> {
+
+    private final Stripe<T>[] stripes;
+    private final long ttlNanos;
+    private final int maxKeysPerStripe;
+    private final long waitTimeoutNanos;
+    private final LongSupplier clock;
+
+    private static final class Stripe<T> {
+        final Map<String, Entry<T>> entries = new LinkedHashMap<>();
+    }
+
+    private record Entry<T>(Object request, long createdAt, CompletableFuture<T> result) {}
+
+    @SuppressWarnings("unchecked")
+    public IdempotencyCache(int stripes, int maxKeys, Duration ttl, Duration waitTimeout, LongSupplier clock) {
+        if (stripes < 1 || maxKeys < stripes) {
+            throw new IllegalArgumentException("Need at least one stripe and one key per stripe");
+        }
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe<>();
+        }
+        this.maxKeysPerStripe = maxKeys / stripes;
+        this.ttlNanos = ttl.toNanos();
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * A cache that remembers nothing: every call runs.
+     */
+    public static <T> IdempotencyCache<T> disabled() {
+        return new IdempotencyCache<>(1, 1, Duration.ZERO, Duration.ZERO, System::nanoTime);
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same key has already run (or is running), in which
+     * case its result is returned instead.
+     *
+     * @param request the request's fields, compared with equals to tell a retry from a different request
+     *                reusing the key
+     */
+    public T execute(String key, Object request, Supplier<T> action) {
+        while (true) {
+            Stripe<T> stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+            Entry<T> entry;
+            boolean first = false;
+            synchronized (stripe) {
+                long now = clock.getAsLong();
+                evict(stripe, now);
+                entry = stripe.entries.get(key);
+                if (entry == null && ttlNanos > 0) {
+                    entry = new Entry<>(request, now, new CompletableFuture<>());
+                    stripe.entries.put(key, entry);
+                    first = true;
+                }
+            }
+            if (entry == null) {
+                return action.get();
+            }
+            if (!entry.request().equals(request)) {
+                throw IdempotencyConflictException.reused(key);
+            }
+            if (first) {
+                return runFirst(stripe, key, entry, action);
+            }
+            try {
+                return entry.result().get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                // The first attempt failed and has been forgotten; compete to run it again
+            } catch (TimeoutException e) {
+                throw IdempotencyConflictException.inProgress(key);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw IdempotencyConflictException.inProgress(key);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<T> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.entries.size();
+            }
+        }
+        return size;
+    }
+
+    private T runFirst(Stripe<T> stripe, String key, Entry<T> entry, Supplier<T> action) {
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (stripe) {
+                stripe.entries.remove(key, entry);
+            }
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+        entry.result().complete(result);
+        return result;
+    }
+
+    // Caller holds the stripe lock
+    private void evict(Stripe<T> stripe, long now) {
+        Iterator<Entry<T>> oldestFirst = stripe.entries.values().iterator();
+        while (oldestFirst.hasNext()) {
+            Entry<T> oldest = oldestFirst.next();
+            if (now - oldest.createdAt() < ttlNanos && stripe.entries.size() < maxKeysPerStripe) {
+                break;
+            }
+            oldestFirst.remove();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.taskapi.importer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splits the lines of a buffer into CSV fields in place. {@link #next()} only records where each field
+ * starts and ends; a field is decoded into a String when asked for, so columns that are not used and
+ * lines that are rejected cost no allocation.
+ *
+ * Fields may be quoted, with "" standing for a quote inside one. A quoted field may not span lines:
+ * the file is split into chunks at line feeds, so every line has to be complete on its own.
+ */
+final class CsvTokenizer {
+
+    private static final byte QUOTE = '"';
+    private static final byte COMMA = ',';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private int position;
+    private int lineStart;
+    private int fields;
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private boolean[] quoted = new boolean[8];
+    private String error;
+    private byte[] scratch = new byte[256];
+
+    CsvTokenizer(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.position = buffer.position();
+        this.limit = buffer.limit();
+    }
+
+    /**
+     * Moves to the next line.
+     *
+     * @return false at the end of the buffer
+     */
+    boolean next() {
+        if (position >= limit) {
+            return false;
+        }
+        lineStart = position;
+        fields = 0;
+        error = null;
+        int p = position;
+        while (true) {
+            if (p < limit && buffer.get(p) == QUOTE) {
+                int close = closingQuote(p + 1);
+                if (close < 0) {
+                    return skipLine(p, "unterminated quoted field");
+                }
+                add(p + 1, close, true);
+                p = close + 1;
+            } else {
+                int end = p;
+                while (end < limit) {
+                    byte b = buffer.get(end);
+                    if (b == COMMA || b == LF || b == CR) {
+                        break;
+                    }
+                    end++;
+                }
+                add(p, end, false);
+                p = end;
+            }
+            if (p >= limit) {
+                position = limit;
+                return true;
+            }
+            byte b = buffer.get(p);
+            if (b == COMMA) {
+                p++;
+            } else if (b == LF || (b == CR && (p + 1 == limit || buffer.get(p + 1) == LF))) {
+                position = b == CR ? Math.min(p + 2, limit) : p + 1;
+                return true;
+            } else {
+                return skipLine(p, "unexpected character after a quoted field");
+            }
+        }
+    }
+
+    /**
+     * Why the current line could not be split, or null if it could.
+     */
+    String error() {
+        return error;
+    }
+
+    /**
+     * Offset of the current line from the start of the buffer.
+     */
+    int lineOffset() {
+        return lineStart;
+    }
+
+    boolean isBlankLine() {
+        return error == null && fields == 1 && starts[0] == ends[0];
+    }
+
+    int fields() {
+        return fields;
+    }
+
+    /**
+     * The field decoded as UTF-8, or null if it is missing or empty.
+     */
+    String string(int field) {
+        if (field < 0 || field >= fields || starts[field] == ends[field]) {
+            return null;
+        }
+        int length = ends[field] - starts[field];
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        int n = 0;
+        for (int i = starts[field]; i < ends[field]; i++) {
+            byte b = buffer.get(i);
+            scratch[n++] = b;
+            if (b == QUOTE && quoted[field]) {
+                // The second quote of an escaped pair
+                i++;
+            }
+        }
+        return new String(scratch, 0, n, StandardCharsets.UTF_8);
+    }
+
+    // Index of the quote that closes a field starting at from, or -1 if the line or buffer ends first
+    private int closingQuote(int from) {
+        int p = from;
+        while (p < limit) {
+            byte b = buffer.get(p);
+            if (b == QUOTE) {
+                if (p + 1 < limit && buffer.get(p + 1) == QUOTE) {
+                    p += 2;
+                    continue;
+                }
+                return p;
+            }
+            if (b == LF) {
+                return -1;
+            }
+            p++;
+        }
+        return -1;
+    }
+
+    private boolean skipLine(int from, String reason) {
+        int p = from;
+        while (p < limit && buffer.get(p) != LF) {
+            p++;
+        }
+        position = Math.min(p + 1, limit);
+        error = reason;
+        return true;
+    }
+
+    private void add(int start, int end, boolean isQuoted) {
+        if (fields == starts.length) {
+            starts = Arrays.copyOf(starts, fields * 2);
+            ends = Arrays.copyOf(ends, fields * 2);
+            quoted = Arrays.copyOf(quoted, fields * 2);
+        }
+        starts[fields] = start;
+        ends[fields] = end;
+        quoted[fields] = isQuoted;
+        fields++;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.taskapi.importer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The chunks of an import that have been committed, kept in a small text file: a first line
+ * identifying the input (size, modification time, format, chunk size), then one chunk index per line,
+ * forced to disk as each chunk commits. A sharded import commits a chunk once per shard, so each of
+ * those commits is also recorded, as the chunk index and the shard name. Reopened for the same input,
+ * it tells the import which chunks, and which shards of a partly committed chunk, to skip; for an
+ * input that has changed it is refused rather than trusted.
+ */
+final class ImportCheckpoint implements AutoCloseable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final BitSet done = new BitSet();
+    private final Set<String> doneOnShard = new HashSet<>();
+
+    private ImportCheckpoint(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    static ImportCheckpoint open(Path path, String input) throws IOException {
+        byte[] bytes = Files.exists(path) ? Files.readAllBytes(path) : new byte[0];
+        // A line cut short by a crash has no newline; it is dropped and its chunk or shard imported again
+        int complete = bytes.length;
+        while (complete > 0 && bytes[complete - 1] != '\n') {
+            complete--;
+        }
+        List<String> lines = new String(bytes, 0, complete, StandardCharsets.UTF_8).lines().toList();
+        if (!lines.isEmpty() && !lines.get(0).equals(input)) {
+            throw new IllegalStateException("Checkpoint " + path + " was written for a different input or chunk size ("
+                + lines.get(0) + "); delete it to import from the start");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(complete);
+        channel.position(complete);
+        ImportCheckpoint checkpoint = new ImportCheckpoint(path, channel);
+        if (lines.isEmpty()) {
+            checkpoint.write(input);
+        }
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+            int space = line.indexOf(' ');
+            String chunk = space < 0 ? line : line.substring(0, space);
+            if (chunk.isEmpty() || !chunk.chars().allMatch(Character::isDigit)) {
+                continue;
+            }
+            if (space < 0) {
+                checkpoint.done.set(Integer.parseInt(chunk));
+            } else {
+                checkpoint.doneOnShard.add(line);
+            }
+        }
+        return checkpoint;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    synchronized boolean isDone(int chunk) {
+        return done.get(chunk);
+    }
+
+    synchronized void markDone(int chunk) throws IOException {
+        write(Integer.toString(chunk));
+        done.set(chunk);
+    }
+
+    synchronized boolean isDone(int chunk, String shard) {
+        return done.get(chunk) || doneOnShard.contains(chunk + " " + shard);
+    }
+
+    synchronized void markDone(int chunk, String shard) throws IOException {
+        String line = chunk + " " + shard;
+        write(line);
+        doneOnShard.add(line);
+    }
+
+    private void write(String line) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.taskapi.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Input formats of TaskImporter. Both have one task per line.
+ *
+ * - CSV: a header line naming the columns (title, description, owner, labels, dueAt; any order, others
+ *   ignored), then one row per line. Fields may be quoted, with "" for a quote inside, but a field may
+ *   not span lines. Labels are separated by '|'.
+ * - NDJSON: one TaskRequestDTO JSON object per line.
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    /**
+     * The format named by {@code name}, or if that is null, by the file's extension.
+     */
+    public static ImportFormat of(String name, Path file) {
+        if (name != null && !name.isBlank()) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".csv")) {
+            return CSV;
+        }
+        if (fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the format of " + file + "; give it as csv or ndjson");
+    }
+}
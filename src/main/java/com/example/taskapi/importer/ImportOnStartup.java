@@ -0,0 +1,42 @@
+package com.example.taskapi.importer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.nio.file.Path;
+
+/**
+ * Command-line import: once the application is ready, imports {@code file} and exits, with status 0
+ * if the import finished and 1 if it failed. Run it again after a failure to resume from the
+ * checkpoint.
+ */
+public class ImportOnStartup implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportOnStartup.class);
+
+    private final TaskImporter importer;
+    private final Path file;
+    private final String format;
+
+    public ImportOnStartup(TaskImporter importer, Path file, String format) {
+        this.importer = importer;
+        this.file = file;
+        this.format = format;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        int status = 0;
+        try {
+            importer.importFile(file, ImportFormat.of(format, file));
+        } catch (Exception e) {
+            logger.error("Import of {} failed; run it again to resume from {}", file, TaskImporter.checkpointFor(file), e);
+            status = 1;
+        }
+        int exitCode = status;
+        System.exit(SpringApplication.exit(event.getApplicationContext(), () -> exitCode));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.taskapi.importer;
+
+import com.example.taskapi.entity.Task;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Inserts imported tasks and their labels with batched JDBC statements, all of one call in one
+ * transaction on its own connection. Generated ids are read back per batch to insert the labels, and
+ * the outbox rows when those are wanted.
+ */
+final class JdbcTaskWriter {
+
+    private static final String INSERT_TASK = "INSERT INTO tasks "
+        + "(owner, title, description, completed, created_at, updated_at, due_at, overdue) "
+        + "VALUES (?, ?, ?, FALSE, ?, ?, ?, FALSE)";
+    private static final String INSERT_LABEL = "INSERT INTO task_labels (task_id, label) VALUES (?, ?)";
+    private static final String INSERT_OUTBOX =
+        "INSERT INTO task_outbox (task_id, owner, type, occurred_at) VALUES (?, ?, 'CREATED', ?)";
+
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final boolean outbox;
+
+    JdbcTaskWriter(DataSource dataSource, int batchSize, boolean outbox) {
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+        this.outbox = outbox;
+    }
+
+    void insert(List<Task> tasks) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement insertTask = connection.prepareStatement(INSERT_TASK, new String[] {"id"});
+                 PreparedStatement insertLabel = connection.prepareStatement(INSERT_LABEL);
+                 PreparedStatement insertOutbox = outbox ? connection.prepareStatement(INSERT_OUTBOX) : null) {
+                for (int from = 0; from < tasks.size(); from += batchSize) {
+                    insertBatch(tasks.subList(from, Math.min(from + batchSize, tasks.size())), insertTask, insertLabel,
+                        insertOutbox);
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    // insertOutbox is null when no outbox rows are wanted
+    private static void insertBatch(List<Task> batch, PreparedStatement insertTask, PreparedStatement insertLabel,
+                                    PreparedStatement insertOutbox) throws SQLException {
+        for (Task task : batch) {
+            Timestamp createdAt = Timestamp.valueOf(task.getCreatedAt());
+            insertTask.setString(1, task.getOwner());
+            insertTask.setString(2, task.getTitle());
+            insertTask.setString(3, task.getDescription());
+            insertTask.setTimestamp(4, createdAt);
+            insertTask.setTimestamp(5, createdAt);
+            if (task.getDueAt() == null) {
+                insertTask.setNull(6, Types.TIMESTAMP);
+            } else {
+                insertTask.setTimestamp(6, Timestamp.valueOf(task.getDueAt()));
+            }
+            insertTask.addBatch();
+        }
+        insertTask.executeBatch();
+        boolean labels = false;
+        try (ResultSet ids = insertTask.getGeneratedKeys()) {
+            for (Task task : batch) {
+                if (!ids.next()) {
+                    throw new SQLException("The driver returned fewer generated ids than rows inserted");
+                }
+                long id = ids.getLong(1);
+                if (insertOutbox != null) {
+                    insertOutbox.setLong(1, id);
+                    insertOutbox.setString(2, task.getOwner());
+                    insertOutbox.setTimestamp(3, Timestamp.valueOf(task.getCreatedAt()));
+                    insertOutbox.addBatch();
+                }
+                for (String label : task.getLabels()) {
+                    insertLabel.setLong(1, id);
+                    insertLabel.setString(2, label);
+                    insertLabel.addBatch();
+                    labels = true;
+                }
+            }
+        }
+        if (labels) {
+            insertLabel.executeBatch();
+        }
+        if (insertOutbox != null) {
+            insertOutbox.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.taskapi.importer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a file into chunks of about {@code chunkSize} bytes that each end just after a line feed,
+ * so chunks can be mapped and parsed independently. For a given file and chunk size the chunks are
+ * always the same, which is what lets a checkpoint refer to them by index.
+ */
+final class LineChunks {
+
+    private static final int SCAN_BYTES = 8 * 1024;
+
+    record Chunk(int index, long start, long end) {
+
+        long length() {
+            return end - start;
+        }
+    }
+
+    private LineChunks() {}
+
+    static List<Chunk> split(FileChannel channel, long start, long size, int chunkSize) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BYTES);
+        long from = start;
+        while (from < size) {
+            long end = from + chunkSize >= size ? size : lineEnd(channel, from + chunkSize, size, scan);
+            if (end - from > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Line at offset " + from + " is longer than 2 GB");
+            }
+            chunks.add(new Chunk(chunks.size(), from, end));
+            from = end;
+        }
+        return chunks;
+    }
+
+    // Offset just after the first line feed at or after position, or size if there is none
+    static long lineEnd(FileChannel channel, long position, long size, ByteBuffer scan) throws IOException {
+        long offset = position;
+        while (offset < size) {
+            scan.clear();
+            int read = channel.read(scan, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+}
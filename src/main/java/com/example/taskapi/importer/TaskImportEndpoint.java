@@ -0,0 +1,28 @@
+package com.example.taskapi.importer;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.nio.file.Path;
+
+/**
+ * {@code /actuator/taskimport}: POST with {@code {"path": "/data/tasks.csv"}} imports a file on the
+ * server's disk and answers when it is done. {@code format} (csv or ndjson) is needed only when the
+ * file's extension does not tell.
+ */
+@Endpoint(id = "taskimport")
+public class TaskImportEndpoint {
+
+    private final TaskImporter importer;
+
+    public TaskImportEndpoint(TaskImporter importer) {
+        this.importer = importer;
+    }
+
+    @WriteOperation
+    public TaskImporter.Result importFile(String path, @Nullable String format) throws Exception {
+        Path file = Path.of(path);
+        return importer.importFile(file, ImportFormat.of(format, file));
+    }
+}
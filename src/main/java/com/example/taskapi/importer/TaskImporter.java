@@ -0,0 +1,312 @@
+package com.example.taskapi.importer;
+
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.labels.LabelFilter;
+import com.example.taskapi.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of tasks from a CSV or NDJSON file, for loading millions of rows without going through
+ * the API one task at a time.
+ *
+ * - The file is split into line-aligned chunks of about {@code chunkSize} bytes. Each chunk is
+ *   memory-mapped and parsed in place on a fork-join pool of {@code parallelism} threads.
+ * - Rows are checked against the TaskRequestDTO constraints. Invalid rows are counted and skipped,
+ *   and up to 20 of them are reported with their byte offset.
+ * - Each chunk's valid rows are inserted in one transaction, on the worker's own connection, in JDBC
+ *   batches of {@code batchSize}. Under sharding each owner's rows go to that owner's shard.
+ * - A committed chunk is recorded in a checkpoint file next to the input. Running the same import
+ *   again skips those chunks, so an interrupted import resumes where it stopped. Under sharding each
+ *   shard's part of a chunk is recorded as it commits, and a resumed import skips those parts.
+ * - Progress (rows and rows per second) is logged every {@code progressInterval}.
+ *
+ * Rows are written with JDBC, not through TaskServiceImpl, so the in-memory views (recent tasks, label
+ * index, columnar snapshot, overdue timers) see them at their next reload. With {@code outbox}, each
+ * chunk's transaction also adds a CREATED row to task_outbox per task.
+ */
+public class TaskImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskImporter.class);
+
+    static final int MAX_REPORTED_ERRORS = 20;
+
+    private final DataSource dataSource;
+    private final ShardRouter router;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int batchSize;
+    private final Duration progressInterval;
+    private final boolean outbox;
+
+    public TaskImporter(DataSource dataSource, ShardRouter router, ObjectMapper objectMapper, Validator validator,
+                        int chunkSize, int parallelism, int batchSize, Duration progressInterval) {
+        this(dataSource, router, objectMapper, validator, chunkSize, parallelism, batchSize, progressInterval, false);
+    }
+
+    /**
+     * @param router the shard router, or null without sharding
+     * @param outbox record each imported task in task_outbox
+     */
+    public TaskImporter(DataSource dataSource, ShardRouter router, ObjectMapper objectMapper, Validator validator,
+                        int chunkSize, int parallelism, int batchSize, Duration progressInterval, boolean outbox) {
+        this.dataSource = dataSource;
+        this.router = router;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.progressInterval = progressInterval;
+        this.outbox = outbox;
+    }
+
+    private TaskImporter() {
+        this(null, null, null, null, 0, 0, 0, null);
+    }
+
+    /**
+     * An importer for stores without a database, which refuses every import.
+     */
+    public static TaskImporter disabled() {
+        return new TaskImporter();
+    }
+
+    /**
+     * The checkpoint file kept for {@code file}.
+     */
+    public static Path checkpointFor(Path file) {
+        return file.resolveSibling(file.getFileName() + ".checkpoint");
+    }
+
+    public Result importFile(Path file, ImportFormat format) throws Exception {
+        if (dataSource == null) {
+            throw new IllegalStateException("Importing needs a database; the off-heap store is not supported");
+        }
+        long started = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            String input = String.format("size=%d modified=%d format=%s chunkSize=%d",
+                size, Files.getLastModifiedTime(file).toMillis(), format, chunkSize);
+            try (ImportCheckpoint checkpoint = ImportCheckpoint.open(checkpointFor(file), input)) {
+                long bodyStart = 0;
+                TaskRowParser parser;
+                if (format == ImportFormat.CSV) {
+                    bodyStart = LineChunks.lineEnd(channel, 0, size, ByteBuffer.allocate(8 * 1024));
+                    parser = TaskRowParser.csv(channel.map(FileChannel.MapMode.READ_ONLY, 0, bodyStart));
+                } else {
+                    parser = TaskRowParser.ndjson(objectMapper.readerFor(TaskRequestDTO.class));
+                }
+                List<LineChunks.Chunk> chunks = LineChunks.split(channel, bodyStart, size, chunkSize);
+                Progress progress = new Progress(size, started);
+                List<LineChunks.Chunk> pending = chunks.stream().filter(chunk -> !checkpoint.isDone(chunk.index())).toList();
+                logger.info("Importing {} ({} MB, {}): {} chunks, {} already done", file, size >> 20, format,
+                    chunks.size(), chunks.size() - pending.size());
+                run(pending, chunk -> {
+                    importChunk(channel, chunk, parser, checkpoint, progress);
+                    checkpoint.markDone(chunk.index());
+                });
+                Result result = progress.result(file, format, chunks.size(), chunks.size() - pending.size());
+                logger.info("Imported {}: {} rows, {} rejected, {} rows/s", file, result.imported(), result.rejected(),
+                    Math.round(result.rowsPerSecond()));
+                return result;
+            }
+        }
+    }
+
+    private interface ChunkTask {
+
+        void run(LineChunks.Chunk chunk) throws Exception;
+    }
+
+    private void run(List<LineChunks.Chunk> chunks, ChunkTask task) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("task-import-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        try {
+            List<ForkJoinTask<?>> submitted = new ArrayList<>(chunks.size());
+            for (LineChunks.Chunk chunk : chunks) {
+                submitted.add(pool.submit(() -> {
+                    task.run(chunk);
+                    return null;
+                }));
+            }
+            for (ForkJoinTask<?> chunk : submitted) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw (Exception) cause;
+        } finally {
+            // After a failure, chunks not yet started are dropped; the checkpoint has the ones that finished
+            pool.shutdownNow();
+        }
+    }
+
+    private void importChunk(FileChannel channel, LineChunks.Chunk chunk, TaskRowParser parser,
+                             ImportCheckpoint checkpoint, Progress progress) throws Exception {
+        MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.length());
+        List<Task> tasks = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        parser.parse(bytes, chunk.start(), new TaskRowParser.Sink() {
+            @Override
+            public void row(long offset, TaskRequestDTO row) {
+                String invalid = validate(row);
+                if (invalid != null) {
+                    reject(offset, invalid);
+                } else {
+                    tasks.add(newTask(row, now));
+                }
+            }
+
+            @Override
+            public void reject(long offset, String reason) {
+                progress.reject(offset, reason);
+            }
+        });
+        int inserted = tasks.size();
+        if (router == null) {
+            new JdbcTaskWriter(dataSource, batchSize, outbox).insert(tasks);
+        } else {
+            Map<String, List<Task>> byShard = new LinkedHashMap<>();
+            for (Task task : tasks) {
+                byShard.computeIfAbsent(router.shardForOwner(task.getOwner()), shard -> new ArrayList<>()).add(task);
+            }
+            for (Map.Entry<String, List<Task>> shard : byShard.entrySet()) {
+                if (checkpoint.isDone(chunk.index(), shard.getKey())) {
+                    inserted -= shard.getValue().size();
+                    continue;
+                }
+                router.callOn(shard.getKey(), () -> {
+                    new JdbcTaskWriter(dataSource, batchSize, outbox).insert(shard.getValue());
+                    return null;
+                });
+                checkpoint.markDone(chunk.index(), shard.getKey());
+            }
+        }
+        progress.chunkDone(chunk, inserted);
+    }
+
+    private String validate(TaskRequestDTO row) {
+        if (row == null) {
+            return "not a task object";
+        }
+        Set<ConstraintViolation<TaskRequestDTO>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+    }
+
+    // Same defaults and normalization as a task created through the API
+    private static Task newTask(TaskRequestDTO row, LocalDateTime now) {
+        Task task = new Task();
+        if (row.owner() != null && !row.owner().isBlank()) {
+            task.setOwner(row.owner().trim());
+        }
+        task.setTitle(row.title());
+        task.setDescription(row.description());
+        if (row.labels() != null) {
+            row.labels().forEach(label -> task.getLabels().add(LabelFilter.normalize(label)));
+        }
+        task.setDueAt(row.dueAt());
+        task.setCreatedAt(now);
+        task.setUpdatedAt(now);
+        return task;
+    }
+
+    private final class Progress {
+
+        private final long size;
+        private final long started;
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong lastReport;
+        private final List<RowError> errors = new ArrayList<>();
+
+        Progress(long size, long started) {
+            this.size = size;
+            this.started = started;
+            this.lastReport = new AtomicLong(started);
+        }
+
+        void reject(long offset, String reason) {
+            rejected.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new RowError(offset, reason));
+                }
+            }
+        }
+
+        void chunkDone(LineChunks.Chunk chunk, int rows) {
+            long done = bytes.addAndGet(chunk.length());
+            long total = imported.addAndGet(rows);
+            long now = System.nanoTime();
+            long last = lastReport.get();
+            if (now - last >= progressInterval.toNanos() && lastReport.compareAndSet(last, now)) {
+                logger.info("Import progress: {}% of bytes, {} rows, {} rejected, {} rows/s",
+                    size == 0 ? 100 : done * 100 / size, total, rejected.get(), Math.round(total / seconds(now)));
+            }
+        }
+
+        Result result(Path file, ImportFormat format, int chunks, int skipped) {
+            double seconds = seconds(System.nanoTime());
+            List<RowError> reported;
+            synchronized (errors) {
+                reported = errors.stream().sorted((a, b) -> Long.compare(a.offset(), b.offset())).toList();
+            }
+            return new Result(file.toString(), format, chunks, skipped, imported.get(), rejected.get(), reported,
+                Math.round(seconds * 1000), imported.get() / Math.max(seconds, 1e-9));
+        }
+
+        private double seconds(long now) {
+            return (now - started) / 1e9;
+        }
+    }
+
+    /**
+     * @param offset the byte offset of the rejected line in the file
+     */
+    public record RowError(long offset, String reason) {}
+
+    /**
+     * @param skippedChunks chunks already imported by an earlier run, per the checkpoint
+     * @param errors        up to 20 of the rejected rows, in file order
+     */
+    public record Result(String file, ImportFormat format, int chunks, int skippedChunks, long imported, long rejected,
+                         List<RowError> errors, long millis, double rowsPerSecond) {}
+}
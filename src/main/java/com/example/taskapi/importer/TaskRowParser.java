@@ -0,0 +1,137 @@
+package com.example.taskapi.importer;
+
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads the TaskRequestDTOs of one chunk of an import file, reading the mapped bytes directly. Lines
+ * that cannot be read are reported with their file offset and skipped; blank lines are ignored.
+ * Stateless, so one parser serves all chunks in parallel.
+ */
+abstract class TaskRowParser {
+
+    interface Sink {
+
+        void row(long offset, TaskRequestDTO row);
+
+        void reject(long offset, String reason);
+    }
+
+    /**
+     * @param chunk      the chunk's bytes, from position 0
+     * @param chunkStart the chunk's offset in the file, for error reports
+     */
+    abstract void parse(ByteBuffer chunk, long chunkStart, Sink sink);
+
+    /**
+     * A CSV parser for the columns named in {@code header}, the file's first line.
+     */
+    static TaskRowParser csv(ByteBuffer header) {
+        CsvTokenizer tokenizer = new CsvTokenizer(header);
+        if (!tokenizer.next() || tokenizer.error() != null) {
+            throw new IllegalArgumentException("The CSV header line is missing or malformed");
+        }
+        int[] columns = new int[Csv.COLUMNS.size()];
+        Arrays.fill(columns, -1);
+        for (int field = 0; field < tokenizer.fields(); field++) {
+            String name = tokenizer.string(field);
+            int column = name == null ? -1 : Csv.COLUMNS.indexOf(name.trim().replace("_", "").toLowerCase(Locale.ROOT));
+            if (column >= 0) {
+                columns[column] = field;
+            }
+        }
+        if (columns[Csv.TITLE] < 0) {
+            throw new IllegalArgumentException("The CSV header has no title column");
+        }
+        return new Csv(columns);
+    }
+
+    static TaskRowParser ndjson(ObjectReader reader) {
+        return new Ndjson(reader);
+    }
+
+    private static final class Csv extends TaskRowParser {
+
+        static final List<String> COLUMNS = List.of("title", "description", "owner", "labels", "dueat");
+        static final int TITLE = 0;
+        static final int DESCRIPTION = 1;
+        static final int OWNER = 2;
+        static final int LABELS = 3;
+        static final int DUE_AT = 4;
+
+        private final int[] columns;
+
+        Csv(int[] columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        void parse(ByteBuffer chunk, long chunkStart, Sink sink) {
+            CsvTokenizer tokenizer = new CsvTokenizer(chunk);
+            while (tokenizer.next()) {
+                long offset = chunkStart + tokenizer.lineOffset();
+                if (tokenizer.error() != null) {
+                    sink.reject(offset, tokenizer.error());
+                } else if (!tokenizer.isBlankLine()) {
+                    String labels = tokenizer.string(columns[LABELS]);
+                    String dueAt = tokenizer.string(columns[DUE_AT]);
+                    try {
+                        sink.row(offset, new TaskRequestDTO(
+                            tokenizer.string(columns[TITLE]),
+                            tokenizer.string(columns[DESCRIPTION]),
+                            tokenizer.string(columns[OWNER]),
+                            labels == null ? null : Arrays.asList(labels.split("\\|", -1)),
+                            dueAt == null ? null : LocalDateTime.parse(dueAt.trim())));
+                    } catch (DateTimeParseException e) {
+                        sink.reject(offset, "dueAt must be an ISO-8601 local date-time");
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Ndjson extends TaskRowParser {
+
+        private final ObjectReader reader;
+
+        Ndjson(ObjectReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        void parse(ByteBuffer chunk, long chunkStart, Sink sink) {
+            int limit = chunk.limit();
+            int start = 0;
+            while (start < limit) {
+                int end = start;
+                boolean blank = true;
+                while (end < limit && chunk.get(end) != '\n') {
+                    blank &= Character.isWhitespace(chunk.get(end));
+                    end++;
+                }
+                if (!blank) {
+                    try {
+                        // Reads the mapped bytes in place, without copying the line out first
+                        sink.row(chunkStart + start, reader.readValue(new ByteBufferBackedInputStream(chunk.slice(start, end - start))));
+                    } catch (JsonProcessingException e) {
+                        sink.reject(chunkStart + start, "invalid JSON: " + e.getOriginalMessage());
+                    } catch (IOException e) {
+                        // Not thrown for an in-memory buffer
+                        throw new IllegalStateException(e);
+                    }
+                }
+                start = end + 1;
+            }
+        }
+    }
+}
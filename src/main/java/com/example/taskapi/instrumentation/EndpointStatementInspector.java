@@ -0,0 +1,19 @@
+package com.example.taskapi.instrumentation;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Prefixes every Hibernate statement with a comment naming the endpoint that issued it,
+ * so DB-side slow logs and processlists can be attributed without access to application logs.
+ */
+public class EndpointStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStats stats = QueryStatsContext.current();
+        if (stats == null) {
+            return sql;
+        }
+        return "/* " + stats.getEndpoint().replace("*/", "") + " */ " + sql;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.taskapi.instrumentation;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Counts entities hydrated by Hibernate for the current request.
+ */
+public class EntityLoadInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestQueryStats stats = QueryStatsContext.current();
+        if (stats != null) {
+            stats.entityLoaded();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.taskapi.instrumentation;
+
+import java.util.function.Supplier;
+
+/**
+ * Binds RequestQueryStats to the request thread so JDBC and Hibernate callbacks can find it.
+ * Queries run outside a request (startup, schedulers, tests calling the repository) are not attributed.
+ */
+public final class QueryStatsContext {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryStatsContext() {}
+
+    public static RequestQueryStats begin(Supplier<String> endpoint) {
+        RequestQueryStats stats = new RequestQueryStats(endpoint);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wraps work handed to another thread so its queries are still attributed to the current request.
+     * The request thread must wait for the work (it owns the stats again afterwards); work it gave up
+     * waiting for may add to stats that have already been reported.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return work;
+        }
+        return () -> {
+            CURRENT.set(stats);
+            try {
+                return work.get();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+}
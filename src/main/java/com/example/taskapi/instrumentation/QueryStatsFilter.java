@@ -0,0 +1,91 @@
+package com.example.taskapi.instrumentation;
+
+import com.example.taskapi.config.QueryInstrumentationProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a QueryStatsContext for each /api/tasks request and, when it completes, publishes
+ * statement count, rows fetched, JDBC time and entities hydrated per endpoint.
+ *
+ * Requests above the statement budget are logged as likely N+1 patterns, or rejected with
+ * StatementBudgetExceededException when fail-on-budget-exceeded is set (test profile). The response
+ * is then held back until the budget has been checked, so a rejected request fails instead of
+ * having already been sent.
+ */
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    static final String UNMAPPED = "UNMAPPED";
+
+    private final QueryInstrumentationProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public QueryStatsFilter(QueryInstrumentationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        RequestQueryStats stats = QueryStatsContext.begin(() -> endpoint(request));
+        HttpServletResponse target = properties.failOnBudgetExceeded()
+            ? new ContentCachingResponseWrapper(response) : response;
+        try {
+            chain.doFilter(request, target);
+        } finally {
+            QueryStatsContext.end();
+        }
+        record(stats);
+        if (target instanceof ContentCachingResponseWrapper buffered) {
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    // Requests no handler matched (404s, bad ids) share one tag; their raw URIs would be unbounded tag values
+    static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : UNMAPPED;
+    }
+
+    private void record(RequestQueryStats stats) {
+        String endpoint = stats.getEndpoint();
+
+        DistributionSummary.builder("taskapi.request.sql.statements").tag("endpoint", endpoint)
+            .register(meterRegistry).record(stats.getStatements());
+        DistributionSummary.builder("taskapi.request.sql.rows").tag("endpoint", endpoint)
+            .register(meterRegistry).record(stats.getRowsFetched());
+        DistributionSummary.builder("taskapi.request.sql.entities").tag("endpoint", endpoint)
+            .register(meterRegistry).record(stats.getEntitiesLoaded());
+        Timer.builder("taskapi.request.sql.time").tag("endpoint", endpoint)
+            .register(meterRegistry).record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        logger.debug("{}: statements={}, rows={}, entities={}, jdbc={}us", endpoint, stats.getStatements(),
+            stats.getRowsFetched(), stats.getEntitiesLoaded(), TimeUnit.NANOSECONDS.toMicros(stats.getJdbcNanos()));
+
+        if (stats.getStatements() > properties.statementBudget()) {
+            String message = String.format("%s executed %d SQL statements (budget %d), possible N+1 query",
+                endpoint, stats.getStatements(), properties.statementBudget());
+            if (properties.failOnBudgetExceeded()) {
+                throw new StatementBudgetExceededException(message);
+            }
+            logger.warn(message);
+        }
+    }
+}
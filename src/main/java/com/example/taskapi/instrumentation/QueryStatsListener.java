@@ -0,0 +1,83 @@
+package com.example.taskapi.instrumentation;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * datasource-proxy listener: counts statements, JDBC time and fetched rows for the current request,
+ * and writes the slow-query log.
+ *
+ * Bind values are never logged, only their Java types, so the slow-query log is safe to ship.
+ */
+public class QueryStatsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final Logger slowQueryLogger = LoggerFactory.getLogger("com.example.taskapi.SLOW_QUERY");
+
+    private final long slowQueryThresholdNanos;
+
+    public QueryStatsListener(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueryStats stats = QueryStatsContext.current();
+        if (stats != null) {
+            stats.queryStarted(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueryStats stats = QueryStatsContext.current();
+        long elapsedNanos = stats != null
+            ? stats.queryFinished(System.nanoTime(), Math.max(1, execInfo.getBatchSize()))
+            : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+
+        if (elapsedNanos >= slowQueryThresholdNanos && slowQueryLogger.isWarnEnabled()) {
+            slowQueryLogger.warn("Slow query: {} ms, endpoint={}, sql=[{}], params={}",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                stats != null ? stats.getEndpoint() : "-",
+                queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")),
+                redactedParameters(queryInfoList));
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+        // nothing to do
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            RequestQueryStats stats = QueryStatsContext.current();
+            if (stats != null) {
+                stats.rowFetched();
+            }
+        }
+    }
+
+    static String redactedParameters(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+            .flatMap(queryInfo -> queryInfo.getParametersList().stream())
+            .map(parameters -> parameters.stream()
+                .map(ParameterSetOperation::getArgs)
+                .map(args -> args.length > 1 && args[1] != null ? args[1].getClass().getSimpleName() : "null")
+                .collect(Collectors.joining(", ", "[", "]")))
+            .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.taskapi.instrumentation;
+
+import java.util.function.Supplier;
+
+/**
+ * SQL work attributed to a single HTTP request.
+ * Owned by the request thread; see QueryStatsContext.
+ */
+public class RequestQueryStats {
+
+    private final Supplier<String> endpoint;
+
+    private int statements;
+    private long rowsFetched;
+    private long jdbcNanos;
+    private long entitiesLoaded;
+    private long queryStartNanos;
+
+    public RequestQueryStats(Supplier<String> endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Resolved lazily: the handler pattern is only known once the request has been mapped.
+     */
+    public String getEndpoint() {
+        return endpoint.get();
+    }
+
+    void queryStarted(long nanos) {
+        queryStartNanos = nanos;
+    }
+
+    long queryFinished(long nanos, int statementCount) {
+        long elapsed = nanos - queryStartNanos;
+        statements += statementCount;
+        jdbcNanos += elapsed;
+        return elapsed;
+    }
+
+    void rowFetched() {
+        rowsFetched++;
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public long getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.taskapi.instrumentation;
+
+/**
+ * Raised (when configured to fail) if a request executes more SQL statements than its budget,
+ * which almost always means an N+1 query pattern.
+ */
+public class StatementBudgetExceededException extends IllegalStateException {
+
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.taskapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Conversion of a list of Task entities into response DTOs in TaskServiceImpl.
+ */
+@Name("com.example.taskapi.DtoMapping")
+@Label("Task DTO Mapping")
+@Category("Task API")
+@StackTrace(false)
+public class DtoMappingEvent extends Event {
+
+    @Label("Tasks")
+    int tasks;
+
+    /**
+     * Maps every task, recording the time taken.
+     */
+    public static <T, R> List<R> map(List<T> tasks, Function<T, R> mapper) {
+        DtoMappingEvent event = new DtoMappingEvent();
+        event.begin();
+        List<R> mapped = tasks.stream().map(mapper).toList();
+        event.end();
+        if (event.shouldCommit()) {
+            event.tasks = mapped.size();
+            event.commit();
+        }
+        return mapped;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.taskapi.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Emits a TaskRequestEvent per request. The result size is left on the request by
+ * TimedJsonHttpMessageConverter as the body is written.
+ */
+public class FlightRecorderFilter extends OncePerRequestFilter {
+
+    static final String RESULT_SIZE = FlightRecorderFilter.class.getName() + ".resultSize";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TaskRequestEvent event = new TaskRequestEvent();
+        event.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                Object resultSize = request.getAttribute(RESULT_SIZE);
+                event.method = request.getMethod();
+                event.endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+                event.parameters = request.getQueryString();
+                event.status = response.getStatus();
+                event.resultSize = resultSize instanceof Integer size ? size : 0;
+                event.commit();
+            }
+        }
+    }
+}
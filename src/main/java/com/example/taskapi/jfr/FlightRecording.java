@@ -0,0 +1,52 @@
+package com.example.taskapi.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A continuous in-process recording: the JDK's "default" settings plus {@code jfr/taskapi.jfc}, kept
+ * on disk up to {@code maxAge} and {@code maxSize}, oldest data dropped first.
+ */
+public class FlightRecording implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecording.class);
+
+    static final String SETTINGS = "jfr/taskapi.jfc";
+
+    private final Recording recording;
+
+    public FlightRecording(Duration maxAge, long maxSizeBytes) throws IOException, ParseException {
+        recording = new Recording(settings());
+        recording.setName("taskapi");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        recording.start();
+        logger.info("Flight recording started, keeping up to {} / {} MB", maxAge, maxSizeBytes >> 20);
+    }
+
+    static Map<String, String> settings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (Reader reader = new InputStreamReader(
+                FlightRecording.class.getClassLoader().getResourceAsStream(SETTINGS), StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+        return settings;
+    }
+
+    @Override
+    public void close() {
+        recording.close();
+    }
+}
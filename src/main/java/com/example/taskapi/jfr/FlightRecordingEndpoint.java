@@ -0,0 +1,38 @@
+package com.example.taskapi.jfr;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@code /actuator/flightrecording}: GET returns a {@code .jfr} file with everything the running
+ * recordings hold (the in-process one, and any started with -XX:StartFlightRecording), or 404 when
+ * nothing is being recorded. Open it in JDK Mission Control or with {@code jfr print}.
+ */
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource dump() throws IOException {
+        if (!FlightRecorder.isAvailable() || FlightRecorder.getFlightRecorder().getRecordings().isEmpty()) {
+            return null;
+        }
+        Path file = Files.createTempFile("taskapi-", ".jfr");
+        try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            snapshot.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        // The file goes away once the response has been streamed
+        return new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+    }
+}
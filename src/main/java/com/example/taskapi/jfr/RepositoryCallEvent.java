@@ -0,0 +1,29 @@
+package com.example.taskapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One TaskRepository method call, including its transaction. Under sharding there is one per shard.
+ */
+@Name("com.example.taskapi.RepositoryCall")
+@Label("Task Repository Call")
+@Category("Task API")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Rows")
+    @Description("Rows returned, or updated by a modifying query")
+    long rows;
+
+    @Label("Failure")
+    @Description("Exception class, when the call threw")
+    String failure;
+}
@@ -0,0 +1,54 @@
+package com.example.taskapi.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.jpa.repository.Modifying;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Advice on the TaskRepository proxy that emits a RepositoryCallEvent per call.
+ */
+public class RepositoryEventInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = invocation.getMethod().getName();
+                event.rows = failure != null ? 0 : rows(result, invocation.getMethod().isAnnotationPresent(Modifying.class));
+                event.failure = failure == null ? null : failure.getClass().getName();
+                event.commit();
+            }
+        }
+    }
+
+    private static long rows(Object result, boolean modifying) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (modifying && result instanceof Number updated) {
+            return updated.longValue();
+        }
+        // An entity, a count or an existence check: one row
+        return 1;
+    }
+}
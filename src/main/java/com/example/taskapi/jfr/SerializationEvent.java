@@ -0,0 +1,28 @@
+package com.example.taskapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Writing one JSON response body, including the time spent blocked on the client.
+ */
+@Name("com.example.taskapi.Serialization")
+@Label("JSON Serialization")
+@Category("Task API")
+@StackTrace(false)
+public class SerializationEvent extends Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("Result Size")
+    int resultSize;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,38 @@
+package com.example.taskapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One HTTP request to the task API, from the servlet filter chain to the last byte of the response.
+ * Repository, mapping and serialization events on the same thread within its duration belong to it.
+ */
+@Name("com.example.taskapi.Request")
+@Label("Task API Request")
+@Category("Task API")
+@Description("An HTTP request to /api/tasks")
+@StackTrace(false)
+public class TaskRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("Matched URI pattern, e.g. /api/tasks/{id}; the raw URI when no handler matched")
+    String endpoint;
+
+    @Label("Parameters")
+    @Description("Query string with the filter parameters, as sent")
+    String parameters;
+
+    @Label("Status")
+    int status;
+
+    @Label("Result Size")
+    @Description("Tasks in the response body; 1 for a single task or a count, 0 for an error")
+    int resultSize;
+}
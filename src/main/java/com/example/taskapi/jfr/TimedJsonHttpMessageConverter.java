@@ -0,0 +1,102 @@
+package com.example.taskapi.jfr;
+
+import com.example.taskapi.dto.TaskBatchResponseDTO;
+import com.example.taskapi.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * The Jackson converter, emitting a SerializationEvent per body written and leaving the number of
+ * tasks in it on the request for FlightRecorderFilter.
+ */
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        int resultSize = resultSize(object);
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(FlightRecorderFilter.RESULT_SIZE, resultSize, RequestAttributes.SCOPE_REQUEST);
+        }
+        SerializationEvent event = new SerializationEvent();
+        if (!event.isEnabled()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        CountingOutputMessage counting = new CountingOutputMessage(outputMessage);
+        event.begin();
+        try {
+            super.writeInternal(object, type, counting);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.type = object.getClass().getSimpleName();
+                event.resultSize = resultSize;
+                event.bytes = counting.bytes;
+                event.commit();
+            }
+        }
+    }
+
+    static int resultSize(Object body) {
+        if (body instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (body instanceof TaskBatchResponseDTO batch) {
+            return batch.tasks().size();
+        }
+        return body == null || body instanceof ErrorResponse ? 0 : 1;
+    }
+
+    private static final class CountingOutputMessage implements HttpOutputMessage {
+
+        private final HttpOutputMessage delegate;
+        private long bytes;
+        private OutputStream body;
+
+        CountingOutputMessage(HttpOutputMessage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterOutputStream(delegate.getBody()) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        out.write(b);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                        bytes += len;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+}
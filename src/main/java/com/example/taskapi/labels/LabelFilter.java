@@ -0,0 +1,54 @@
+package com.example.taskapi.labels;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A boolean filter over task labels: every label in {@code all}, at least one in {@code any} (unless
+ * it is empty), none of {@code none}, and the given completed state (null for either).
+ *
+ * Labels are compared after {@link #normalize(String)}.
+ */
+public record LabelFilter(Set<String> all, Set<String> any, Set<String> none, Boolean completed) {
+
+    public LabelFilter {
+        all = normalize(all);
+        any = normalize(any);
+        none = normalize(none);
+    }
+
+    public static String normalize(String label) {
+        return label.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Whether the filter names any label at all.
+     */
+    public boolean hasLabels() {
+        return !all.isEmpty() || !any.isEmpty() || !none.isEmpty();
+    }
+
+    public boolean matches(Collection<String> labels, boolean isCompleted) {
+        if (completed != null && completed != isCompleted) {
+            return false;
+        }
+        if (!labels.containsAll(all)) {
+            return false;
+        }
+        if (!any.isEmpty() && any.stream().noneMatch(labels::contains)) {
+            return false;
+        }
+        return none.stream().noneMatch(labels::contains);
+    }
+
+    // Sorted, so equal filters have equal (cache) keys whatever order the labels came in
+    private static Set<String> normalize(Collection<String> labels) {
+        Set<String> normalized = new TreeSet<>();
+        if (labels != null) {
+            labels.forEach(label -> normalized.add(normalize(label)));
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.taskapi.labels;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.sharding.ShardContext;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of task labels: one compressed (Roaring) bitmap of task ids per label, plus bitmaps
+ * of all ids and of completed ids, so a LabelFilter is answered with bitmap AND / OR / AND NOT and only
+ * the matching tasks need to be read from the database.
+ *
+ * Like ColumnarTaskSnapshot, the index is loaded in full and then kept current by TaskServiceImpl,
+ * which appends every task it creates; other writes show up at the next rebuild. Callers must treat
+ * the ids as candidates and check the rows they read, since a task may have changed since.
+ */
+public class LabelIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LabelIndex.class);
+
+    private static final String SELECT_TASKS = "SELECT id, completed FROM tasks";
+    private static final String SELECT_LABELS = "SELECT task_id, label FROM task_labels";
+
+    private final JdbcTemplate jdbc;
+    private final List<String> shards;
+
+    private final Object rebuildLock = new Object();
+    // Roaring bitmaps are not safe for concurrent reads and writes; appends take the write lock. Queries
+    // share the read lock, so the bitmaps are built without the cardinality cache, which reads would fill in
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock; null until the first load completes
+    private Bitmaps bitmaps;
+    // Guarded by lock; non-null while a rebuild is loading
+    private List<Task> pending;
+
+    private static final class Bitmaps {
+        final Roaring64NavigableMap all = bitmap();
+        final Roaring64NavigableMap completed = bitmap();
+        final Map<String, Roaring64NavigableMap> byLabel = new HashMap<>();
+
+        void add(Task task) {
+            all.addLong(task.getId());
+            if (task.isCompleted()) {
+                completed.addLong(task.getId());
+            }
+            task.getLabels().forEach(label -> label(label).addLong(task.getId()));
+        }
+
+        Roaring64NavigableMap label(String label) {
+            return byLabel.computeIfAbsent(label, key -> bitmap());
+        }
+
+        void optimize() {
+            all.runOptimize();
+            completed.runOptimize();
+            byLabel.values().forEach(Roaring64NavigableMap::runOptimize);
+        }
+
+        long sizeInBytes() {
+            return all.getLongSizeInBytes() + completed.getLongSizeInBytes()
+                + byLabel.values().stream().mapToLong(Roaring64NavigableMap::getLongSizeInBytes).sum();
+        }
+    }
+
+    // Unsigned ids, as the default constructor; no cached cumulative cardinalities
+    private static Roaring64NavigableMap bitmap() {
+        return new Roaring64NavigableMap(false, false);
+    }
+
+    /**
+     * @param shards shards to load from, or empty for an unsharded DataSource
+     */
+    public LabelIndex(DataSource dataSource, List<String> shards) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(1_000);
+        this.shards = List.copyOf(shards);
+    }
+
+    private LabelIndex() {
+        this.jdbc = null;
+        this.shards = List.of();
+    }
+
+    /**
+     * An index that is never loaded, so every label filter goes to the database.
+     */
+    public static LabelIndex disabled() {
+        return new LabelIndex();
+    }
+
+    public boolean isServing() {
+        lock.readLock().lock();
+        try {
+            return bitmaps != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int labels() {
+        lock.readLock().lock();
+        try {
+            return bitmaps == null ? 0 : bitmaps.byLabel.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return bitmaps == null ? 0 : bitmaps.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records a task that has just been committed.
+     */
+    public void append(Task task) {
+        if (jdbc == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (bitmaps != null) {
+                bitmaps.add(task);
+            }
+            if (pending != null) {
+                pending.add(task);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the tasks matching {@code filter}, lowest first, at most {@code limit} of them.
+     */
+    public long[] matchingIds(LabelFilter filter, int limit) {
+        return matchingIds(filter, 0, limit);
+    }
+
+    /**
+     * Like {@link #matchingIds(LabelFilter, int)}, but only ids above {@code afterId}, to continue
+     * where an earlier call left off.
+     */
+    public long[] matchingIds(LabelFilter filter, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            if (bitmaps == null) {
+                throw new IllegalStateException("Label index is not loaded yet");
+            }
+            Roaring64NavigableMap matches = evaluate(bitmaps, filter);
+            if (afterId > 0) {
+                Roaring64NavigableMap upToAfter = bitmap();
+                upToAfter.addRange(0, afterId + 1);
+                matches.andNot(upToAfter);
+            }
+            long[] ids = new long[(int) Math.min(limit, matches.getLongCardinality())];
+            LongIterator iterator = matches.getLongIterator();
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = iterator.next();
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads every task and label from the database and swaps the result in. Concurrent calls run one
+     * at a time.
+     */
+    public void rebuild() {
+        if (jdbc == null) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            lock.writeLock().lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Bitmaps fresh = new Bitmaps();
+            try {
+                load(fresh);
+            } catch (Exception e) {
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw new IllegalStateException("Could not load the label index", e);
+            }
+            lock.writeLock().lock();
+            try {
+                // Tasks committed too late for the load to see
+                pending.stream().filter(task -> !fresh.all.contains(task.getId())).forEach(fresh::add);
+                pending = null;
+                bitmaps = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Label index loaded: {} tasks, {} labels, {} KiB in {} ms", fresh.all.getLongCardinality(),
+                fresh.byLabel.size(), fresh.sizeInBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    // The most selective bitmap goes first, so every later step works on the smallest set
+    private static Roaring64NavigableMap evaluate(Bitmaps bitmaps, LabelFilter filter) {
+        List<Roaring64NavigableMap> required = new ArrayList<>();
+        for (String label : filter.all()) {
+            Roaring64NavigableMap ids = bitmaps.byLabel.get(label);
+            if (ids == null) {
+                return bitmap();
+            }
+            required.add(ids);
+        }
+        if (!filter.any().isEmpty()) {
+            Roaring64NavigableMap anyOf = bitmap();
+            for (String label : filter.any()) {
+                Roaring64NavigableMap ids = bitmaps.byLabel.get(label);
+                if (ids != null) {
+                    anyOf.or(ids);
+                }
+            }
+            required.add(anyOf);
+        }
+        if (Boolean.TRUE.equals(filter.completed())) {
+            required.add(bitmaps.completed);
+        }
+        required.sort(Comparator.comparingLong(Roaring64NavigableMap::getLongCardinality));
+
+        Roaring64NavigableMap result = bitmap();
+        result.or(required.isEmpty() ? bitmaps.all : required.get(0));
+        for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+            result.and(required.get(i));
+        }
+        if (Boolean.FALSE.equals(filter.completed())) {
+            result.andNot(bitmaps.completed);
+        }
+        for (String label : filter.none()) {
+            Roaring64NavigableMap ids = bitmaps.byLabel.get(label);
+            if (ids != null) {
+                result.andNot(ids);
+            }
+        }
+        return result;
+    }
+
+    private void load(Bitmaps into) throws Exception {
+        if (shards.isEmpty()) {
+            loadShard(into);
+        }
+        for (String shard : shards) {
+            ShardContext.callOn(shard, () -> {
+                loadShard(into);
+                return null;
+            });
+        }
+        into.optimize();
+    }
+
+    private void loadShard(Bitmaps into) {
+        jdbc.query(SELECT_TASKS, (RowCallbackHandler) rs -> {
+            into.all.addLong(rs.getLong(1));
+            if (rs.getBoolean(2)) {
+                into.completed.addLong(rs.getLong(1));
+            }
+        });
+        jdbc.query(SELECT_LABELS, (RowCallbackHandler) rs -> into.label(rs.getString(2)).addLong(rs.getLong(1)));
+    }
+}
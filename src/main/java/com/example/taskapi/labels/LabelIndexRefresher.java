@@ -0,0 +1,50 @@
+package com.example.taskapi.labels;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the label index in the background once the application is ready and reloads it every
+ * {@code interval}. A failed load is logged and retried at the next interval.
+ */
+public class LabelIndexRefresher implements ApplicationListener<ApplicationReadyEvent>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LabelIndexRefresher.class);
+
+    private final LabelIndex index;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("label-index-"));
+
+    public LabelIndexRefresher(LabelIndex index, Duration interval) {
+        this.index = index;
+        this.interval = interval;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void refresh() {
+        try {
+            index.rebuild();
+        } catch (RuntimeException e) {
+            logger.warn("Label index refresh failed, {}", index.isServing()
+                ? "still serving the previous one" : "label filters keep using the database", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.taskapi.limiter;
+
+import com.example.taskapi.exception.ServiceOverloadedException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Vegas-style adaptive concurrency limit for repository calls.
+ *
+ * The limiter keeps the lowest observed latency (minRtt) as the no-queueing baseline and
+ * estimates how many calls are queued as {@code limit * (1 - minRtt / rtt)}. A small queue grows
+ * the limit, a large one shrinks it, so the limit settles just above what the database can
+ * serve without queueing. minRtt is re-probed periodically so a lasting latency shift
+ * does not pin the limit at its floor. Latencies below rttFloor count as "no queueing": on a fast
+ * database, microsecond jitter would otherwise look like a deep queue and collapse the limit.
+ *
+ * A call that fails with a query or lock timeout or without getting a connection is a drop: the
+ * database is past saturation, so the limit is cut by a factor rather than stepped down. Other
+ * failures (constraint violations, bad input) leave the limit alone.
+ *
+ * Acquiring a permit is a CAS on the in-flight counter; only latency samples are serialized.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double readShare;
+    private final int probeInterval;
+    private final long rttFloorNanos;
+    private final LongSupplier clock;
+
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by "this"
+    private long minRttNanos = Long.MAX_VALUE;
+    private double estimatedLimit;
+    private int samplesSinceProbe;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double readShare,
+                                      int probeInterval, long rttFloorNanos, LongSupplier clock) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Require 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (readShare <= 0 || readShare > 1) {
+            throw new IllegalArgumentException("readShare must be in (0, 1]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.readShare = readShare;
+        this.probeInterval = probeInterval;
+        this.rttFloorNanos = Math.max(1L, rttFloorNanos);
+        this.clock = clock;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * A limiter that never rejects, for callers constructed outside the Spring context.
+     */
+    public static AdaptiveConcurrencyLimiter unlimited() {
+        return new AdaptiveConcurrencyLimiter(
+            Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, 1.0, Integer.MAX_VALUE, 0L, System::nanoTime);
+    }
+
+    /**
+     * Runs the call under a permit, recording its latency.
+     *
+     * @throws ServiceOverloadedException when no permit is available for this priority
+     */
+    public <T> T execute(Priority priority, Supplier<T> call) {
+        Permit permit = tryAcquire(priority);
+        if (permit == null) {
+            throw new ServiceOverloadedException("Service is overloaded, try again later");
+        }
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            if (isOverload(e)) {
+                permit.releaseDropped();
+            } else {
+                permit.releaseWithoutSample();
+            }
+            throw e;
+        } catch (Error e) {
+            permit.releaseWithoutSample();
+            throw e;
+        }
+        permit.release();
+        return result;
+    }
+
+    /**
+     * @return a permit, or null when the in-flight count is at the limit for this priority
+     */
+    public Permit tryAcquire(Priority priority) {
+        int allowed = allowedFor(priority);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(clock.getAsLong(), current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    int allowedFor(Priority priority) {
+        int current = limit;
+        return priority == Priority.WRITE ? current : Math.max(1, (int) (current * readShare));
+    }
+
+    static boolean isOverload(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+            || e instanceof DataAccessResourceFailureException
+            || e instanceof CannotCreateTransactionException;
+    }
+
+    synchronized void onDrop() {
+        estimatedLimit = Math.max(minLimit, estimatedLimit * DROP_BACKOFF);
+        limit = (int) estimatedLimit;
+    }
+
+    synchronized void onSample(long measuredRttNanos, int inFlightAtStart) {
+        if (measuredRttNanos <= 0) {
+            return;
+        }
+        long rttNanos = Math.max(measuredRttNanos, rttFloorNanos);
+        if (++samplesSinceProbe >= probeInterval) {
+            samplesSinceProbe = 0;
+            minRttNanos = Long.MAX_VALUE;
+        }
+        if (rttNanos < minRttNanos) {
+            minRttNanos = rttNanos;
+        }
+
+        double current = estimatedLimit;
+        double queue = current * (1.0 - (double) minRttNanos / rttNanos);
+        double step = Math.max(1.0, Math.log10(current));
+        double alpha = 3 * step;
+        double beta = 6 * step;
+
+        double next;
+        if (queue <= alpha) {
+            // Only grow when the limit is actually being used.
+            next = inFlightAtStart * 2 >= current ? current + step : current;
+        } else if (queue >= beta) {
+            next = current - step;
+        } else {
+            next = current;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * A granted slot; must be released exactly once.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release() {
+            inFlight.decrementAndGet();
+            onSample(clock.getAsLong() - startNanos, inFlightAtStart);
+        }
+
+        /**
+         * Failed calls (e.g. exceptions thrown before reaching the DB) say nothing about DB latency.
+         */
+        public void releaseWithoutSample() {
+            inFlight.decrementAndGet();
+        }
+
+        /**
+         * For calls that timed out or found the database unreachable.
+         */
+        public void releaseDropped() {
+            inFlight.decrementAndGet();
+            onDrop();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.taskapi.limiter;
+
+/**
+ * Admission priority for repository work.
+ * WRITE may use the whole concurrency limit; READ only its configured share of it.
+ */
+public enum Priority {
+    WRITE,
+    READ
+}
@@ -0,0 +1,79 @@
+package com.example.taskapi.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to an NDJSON file. Each batch is forced to disk before deliver returns, since the
+ * relay deletes the rows right after. A batch that fails part way is cut off again. A line left
+ * incomplete by a crash is trimmed when the file is next opened; its batch is then written again.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final FileChannel channel;
+    private final ObjectWriter writer;
+
+    public FileOutboxSink(Path file, ObjectMapper objectMapper) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.writer = objectMapper.writer();
+        channel.truncate(endOfLastLine());
+        channel.position(channel.size());
+    }
+
+    @Override
+    public synchronized void deliver(List<TaskChangeEvent> events) throws IOException {
+        ByteBuffer lines = ByteBuffer.wrap(Ndjson.encode(writer, events));
+        long start = channel.position();
+        try {
+            while (lines.hasRemaining()) {
+                channel.write(lines);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    // Size of the file up to and including its last newline
+    private long endOfLastLine() throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(8_192);
+        long end = channel.size();
+        while (end > 0) {
+            long start = Math.max(0, end - block.capacity());
+            block.clear().limit((int) (end - start));
+            while (block.hasRemaining() && channel.read(block, start + block.position()) >= 0) {
+                // Read the whole block
+            }
+            for (int i = block.position() - 1; i >= 0; i--) {
+                if (block.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.taskapi.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch to a URL as NDJSON, standing in for a message broker's producer. A 2xx answer
+ * means delivered; anything else, or no answer within {@code timeout}, fails the batch.
+ */
+public class HttpOutboxSink implements OutboxSink {
+
+    private final HttpClient client;
+    private final URI url;
+    private final Duration timeout;
+    private final ObjectWriter writer;
+
+    public HttpOutboxSink(URI url, Duration timeout, ObjectMapper objectMapper) {
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.url = url;
+        this.timeout = timeout;
+        this.writer = objectMapper.writer();
+    }
+
+    @Override
+    public void deliver(List<TaskChangeEvent> events) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+            .timeout(timeout)
+            .header("Content-Type", "application/x-ndjson")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(Ndjson.encode(writer, events)))
+            .build();
+        HttpResponse<Void> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while delivering to " + url);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(url + " answered " + response.statusCode());
+        }
+    }
+}
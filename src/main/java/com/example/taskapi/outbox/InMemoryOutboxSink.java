@@ -0,0 +1,41 @@
+package com.example.taskapi.outbox;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Keeps the last {@code capacity} events in memory; for tests and local runs.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final ArrayDeque<TaskChangeEvent> events = new ArrayDeque<>();
+
+    public InMemoryOutboxSink(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1");
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void deliver(List<TaskChangeEvent> batch) {
+        for (TaskChangeEvent event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    /**
+     * The events kept, oldest first.
+     */
+    public synchronized List<TaskChangeEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
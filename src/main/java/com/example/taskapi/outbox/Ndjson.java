@@ -0,0 +1,22 @@
+package com.example.taskapi.outbox;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+// One JSON object per line, the wire format of the file and HTTP sinks
+final class Ndjson {
+
+    private Ndjson() {}
+
+    static byte[] encode(ObjectWriter writer, List<TaskChangeEvent> events) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(events.size() * 256);
+        for (TaskChangeEvent event : events) {
+            out.write(writer.writeValueAsBytes(event));
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+}
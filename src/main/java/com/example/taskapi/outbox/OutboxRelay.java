@@ -0,0 +1,240 @@
+package com.example.taskapi.outbox;
+
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.entity.OutboxEvent;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.sharding.ShardContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the task_outbox rows written by TaskRepository to an OutboxSink, at least once.
+ *
+ * - Each pass reads up to {@code batchSize} rows per shard in id order, loads their tasks in a few IN
+ *   queries, hands the batch to the sink and deletes exactly the rows delivered. A failure anywhere
+ *   leaves the rows in place and the batch is sent again after {@code retryDelay}, so an event can
+ *   arrive twice but is never lost.
+ * - Per task, ids follow commit order (see TaskOutboxWritesImpl), so a task's events arrive in the order
+ *   its changes happened. Across tasks, a row whose transaction commits late is delivered after rows
+ *   with higher ids.
+ * - Polling adapts to the load: straight back after a full batch, {@code minPollInterval} while events
+ *   trickle in, and a wait that doubles up to {@code maxPollInterval} while the outbox stays empty.
+ *
+ * A single thread drains every shard; run one relay per deployment.
+ */
+public class OutboxRelay implements ApplicationListener<ApplicationReadyEvent>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String SELECT_BATCH =
+        "SELECT id, task_id, owner, type, occurred_at FROM task_outbox ORDER BY id LIMIT ?";
+    private static final String DELETE = "DELETE FROM task_outbox WHERE id IN (:ids)";
+    // Ids per IN list, for both the task lookup and the delete
+    private static final int IN_LIST_SIZE = 500;
+
+    private static final RowMapper<OutboxRow> ROWS = (rs, rowNum) -> new OutboxRow(rs.getLong(1), rs.getLong(2),
+        rs.getString(3), OutboxEvent.Type.valueOf(rs.getString(4)), rs.getObject(5, LocalDateTime.class));
+
+    private record OutboxRow(long id, long taskId, String owner, OutboxEvent.Type type, LocalDateTime occurredAt) {}
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+    private final TaskRepository repository;
+    private final OutboxSink sink;
+    private final List<String> shards;
+    private final int batchSize;
+    private final long minPollMillis;
+    private final long maxPollMillis;
+    private final Duration retryDelay;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lagMillis;
+    // Guarded by this
+    private long passLagMillis;
+    private boolean fullBatch;
+    // Only used on the scheduler thread
+    private long idleMillis;
+
+    /**
+     * @param shards shards to drain, or empty for an unsharded DataSource
+     */
+    public OutboxRelay(DataSource dataSource, TaskRepository repository, OutboxSink sink, List<String> shards,
+                       int batchSize, Duration minPollInterval, Duration maxPollInterval, Duration retryDelay,
+                       Clock clock) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1");
+        }
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.named = new NamedParameterJdbcTemplate(jdbc);
+        this.repository = repository;
+        this.sink = sink;
+        this.shards = List.copyOf(shards);
+        this.batchSize = batchSize;
+        this.minPollMillis = Math.max(1, minPollInterval.toMillis());
+        this.maxPollMillis = Math.max(minPollMillis, maxPollInterval.toMillis());
+        this.retryDelay = retryDelay;
+        this.clock = clock;
+        this.idleMillis = minPollMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("outbox-relay-"));
+    }
+
+    private OutboxRelay() {
+        this.jdbc = null;
+        this.named = null;
+        this.repository = null;
+        this.sink = null;
+        this.shards = List.of();
+        this.batchSize = 0;
+        this.minPollMillis = 0;
+        this.maxPollMillis = 0;
+        this.retryDelay = null;
+        this.clock = null;
+        this.scheduler = null;
+    }
+
+    /**
+     * A relay that delivers nothing: rows, if any are written, stay in the table.
+     */
+    public static OutboxRelay disabled() {
+        return new OutboxRelay();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.execute(this::poll);
+    }
+
+    /**
+     * Delivers the oldest {@code batchSize} rows of each shard and deletes them.
+     *
+     * @return how many events were delivered
+     */
+    public synchronized int drain() throws Exception {
+        if (jdbc == null) {
+            return 0;
+        }
+        passLagMillis = 0;
+        fullBatch = false;
+        try {
+            if (shards.isEmpty()) {
+                return drainShard();
+            }
+            int count = 0;
+            for (String shard : shards) {
+                count += ShardContext.callOn(shard, this::drainShard);
+            }
+            return count;
+        } finally {
+            lagMillis = passLagMillis;
+        }
+    }
+
+    /**
+     * Age of the oldest undelivered change at the last pass; 0 if there was none.
+     */
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    public long delivered() {
+        return delivered.get();
+    }
+
+    public long failures() {
+        return failures.get();
+    }
+
+    // Caller holds the lock
+    private int drainShard() throws Exception {
+        List<OutboxRow> rows = jdbc.query(SELECT_BATCH, ROWS, batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        fullBatch |= rows.size() == batchSize;
+        passLagMillis = Math.max(passLagMillis,
+            Duration.between(rows.get(0).occurredAt(), LocalDateTime.now(clock)).toMillis());
+
+        List<Long> taskIds = rows.stream().map(OutboxRow::taskId).distinct().toList();
+        Map<Long, TaskResponseDTO> tasks = new HashMap<>();
+        for (int from = 0; from < taskIds.size(); from += IN_LIST_SIZE) {
+            repository.findAllById(taskIds.subList(from, Math.min(from + IN_LIST_SIZE, taskIds.size())))
+                .forEach(task -> tasks.put(task.getId(), toDTO(task)));
+        }
+        sink.deliver(rows.stream().map(row -> new TaskChangeEvent(row.id(), row.taskId(), row.owner(), row.type(),
+            row.occurredAt(), tasks.get(row.taskId()))).toList());
+
+        // From here on a failure only means the batch is delivered again
+        List<Long> ids = rows.stream().map(OutboxRow::id).toList();
+        for (int from = 0; from < ids.size(); from += IN_LIST_SIZE) {
+            named.update(DELETE, Map.of("ids", ids.subList(from, Math.min(from + IN_LIST_SIZE, ids.size()))));
+        }
+        delivered.addAndGet(rows.size());
+        return rows.size();
+    }
+
+    private void poll() {
+        long delay;
+        try {
+            int count = drain();
+            boolean more;
+            synchronized (this) {
+                more = fullBatch;
+            }
+            if (more) {
+                delay = 0;
+            } else if (count > 0) {
+                delay = idleMillis = minPollMillis;
+            } else {
+                delay = idleMillis = Math.min(idleMillis * 2, maxPollMillis);
+            }
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            logger.warn("Outbox delivery failed, retrying in {}", retryDelay, e);
+            delay = retryDelay.toMillis();
+        }
+        try {
+            scheduler.schedule(this::poll, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Closed
+        }
+    }
+
+    private static TaskResponseDTO toDTO(Task task) {
+        return new TaskResponseDTO(task.getId(), task.getOwner(), task.getTitle(), task.getDescription(),
+            task.isCompleted(), task.getCreatedAt(), task.getLabels().stream().sorted().toList(), task.getDueAt(),
+            task.isOverdue());
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
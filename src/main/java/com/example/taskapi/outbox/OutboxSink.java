@@ -0,0 +1,18 @@
+package com.example.taskapi.outbox;
+
+import java.util.List;
+
+/**
+ * Where OutboxRelay sends task changes.
+ */
+public interface OutboxSink extends AutoCloseable {
+
+    /**
+     * Delivers a batch in order. Returning means every event in it is delivered; the relay then deletes
+     * the batch's rows. Throwing means none can be counted on, and the whole batch is sent again later.
+     */
+    void deliver(List<TaskChangeEvent> events) throws Exception;
+
+    @Override
+    default void close() throws Exception {}
+}
@@ -0,0 +1,23 @@
+package com.example.taskapi.outbox;
+
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task change as delivered to an OutboxSink.
+ *
+ * @param sequence increases with each change to the same task; with at-least-once delivery an event may
+ *                 arrive twice, and (taskId, sequence) tells a repeat from a new change
+ * @param task     the task as read at delivery, so at least as new as the change; null once the task is
+ *                 deleted
+ */
+public record TaskChangeEvent(
+    long sequence,
+    long taskId,
+    String owner,
+    OutboxEvent.Type type,
+    LocalDateTime occurredAt,
+    TaskResponseDTO task
+) {}
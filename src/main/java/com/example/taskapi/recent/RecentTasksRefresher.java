@@ -0,0 +1,50 @@
+package com.example.taskapi.recent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the recent tasks window once the application is ready and reloads it every {@code interval},
+ * which bounds how long a task created through another instance can be missing from it.
+ * A failed load is logged and retried at the next interval.
+ */
+public class RecentTasksRefresher implements ApplicationListener<ApplicationReadyEvent>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentTasksRefresher.class);
+
+    private final RecentTasksWindow window;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("recent-tasks-"));
+
+    public RecentTasksRefresher(RecentTasksWindow window, Duration interval) {
+        this.window = window;
+        this.interval = interval;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        scheduler.scheduleWithFixedDelay(this::reload, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void reload() {
+        try {
+            window.reload();
+        } catch (RuntimeException e) {
+            logger.warn("Recent tasks window reload failed", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.taskapi.recent;
+
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.sorting.TopK;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The most recently created tasks, kept in memory in createdAt order so that created-after queries
+ * for the last few minutes do not need the database.
+ *
+ * The window holds every task created after its horizon. A query for tasks created after T is
+ * answered from memory when T is at or after the horizon, and left to the database otherwise.
+ * The horizon moves forward as the oldest rows fall out, either because they are older than
+ * {@code window} or because the ring is full.
+ *
+ * It is loaded from the database (the tasks created in the last {@code window}) and then fed by
+ * TaskServiceImpl with every task it creates, and by OverdueScheduler with the tasks it flags. Tasks
+ * created through other instances show up at the next reload. A reload keeps the current rows
+ * serving while it runs; tasks created and flagged meanwhile are queued and merged into the loaded
+ * rows.
+ */
+public class RecentTasksWindow {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentTasksWindow.class);
+
+    private static final Comparator<TaskResponseDTO> CREATION_ORDER =
+        Comparator.comparing(TaskResponseDTO::createdAt).thenComparing(TaskResponseDTO::id);
+
+    private final TaskResponseDTO[] ring;
+    private final Duration window;
+    private final Clock clock;
+    private final Function<LocalDateTime, List<Task>> loader;
+
+    private final Object reloadLock = new Object();
+    // Guarded by this
+    private int head;
+    private int size;
+    private LocalDateTime horizon;
+    private List<TaskResponseDTO> pending;
+    private List<OverdueMark> pendingMarks;
+
+    private record OverdueMark(Collection<Long> ids, LocalDateTime now) {}
+
+    /**
+     * @param loader tasks created after the given time, from the database
+     */
+    public RecentTasksWindow(int maxRows, Duration window, Clock clock, Function<LocalDateTime, List<Task>> loader) {
+        if (maxRows < 1) {
+            throw new IllegalArgumentException("The window needs room for at least one task");
+        }
+        this.ring = new TaskResponseDTO[maxRows];
+        this.window = window;
+        this.clock = clock;
+        this.loader = loader;
+    }
+
+    /**
+     * A window that is never loaded, so every query goes to the database.
+     */
+    public static RecentTasksWindow disabled() {
+        return new RecentTasksWindow(1, Duration.ZERO, Clock.systemDefaultZone(), null);
+    }
+
+    public synchronized boolean isServing() {
+        return horizon != null;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Records a task that has just been committed.
+     */
+    public void append(Task task) {
+        if (loader == null || task.getCreatedAt() == null) {
+            return;
+        }
+        TaskResponseDTO row = toDTO(task);
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(row);
+            }
+            if (horizon != null) {
+                insert(row);
+                evictExpired();
+            }
+        }
+    }
+
+    /**
+     * Flags the given tasks overdue, as OverdueScheduler has just done in the database. Only tasks
+     * open and due by {@code now} are flagged, as in the UPDATE.
+     */
+    public void markOverdue(Collection<Long> ids, LocalDateTime now) {
+        if (loader == null) {
+            return;
+        }
+        Set<Long> flagged = new HashSet<>(ids);
+        synchronized (this) {
+            if (pendingMarks != null) {
+                pendingMarks.add(new OverdueMark(flagged, now));
+            }
+            for (int i = 0; i < size; i++) {
+                TaskResponseDTO row = at(i);
+                if (flagged.contains(row.id()) && isDue(row, now)) {
+                    set(i, overdue(row));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tasks created after {@code timestamp} in createdAt order, or empty if the window does not reach
+     * back that far.
+     */
+    public synchronized Optional<List<TaskResponseDTO>> findCreatedAfter(LocalDateTime timestamp) {
+        int first = firstCreatedAfter(timestamp);
+        if (first < 0) {
+            return Optional.empty();
+        }
+        List<TaskResponseDTO> result = new ArrayList<>(size - first);
+        for (int i = first; i < size; i++) {
+            result.add(at(i));
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * The first {@code limit} tasks created after {@code timestamp} in {@code order}, or empty if the
+     * window does not reach back that far. Only {@code limit} rows are collected, whatever the order.
+     */
+    public synchronized Optional<List<TaskResponseDTO>> findCreatedAfter(LocalDateTime timestamp,
+                                                                         Comparator<TaskResponseDTO> order, int limit) {
+        int first = firstCreatedAfter(timestamp);
+        if (first < 0) {
+            return Optional.empty();
+        }
+        TopK<TaskResponseDTO> top = new TopK<>(order, limit);
+        for (int i = first; i < size; i++) {
+            top.offer(at(i));
+        }
+        return Optional.of(top.toList());
+    }
+
+    // Index of the first row created after the timestamp, or -1 if the window does not reach back that far
+    private int firstCreatedAfter(LocalDateTime timestamp) {
+        if (horizon == null) {
+            return -1;
+        }
+        evictExpired();
+        if (timestamp.isBefore(horizon)) {
+            return -1;
+        }
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (at(mid).createdAt().isAfter(timestamp)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Reloads the last {@code window} of tasks from the database and swaps them in. Concurrent calls
+     * run one at a time.
+     */
+    public void reload() {
+        if (loader == null) {
+            return;
+        }
+        synchronized (reloadLock) {
+            LocalDateTime cut = LocalDateTime.now(clock).minus(window);
+            synchronized (this) {
+                pending = new ArrayList<>();
+                pendingMarks = new ArrayList<>();
+            }
+            List<Task> loaded;
+            try {
+                loaded = loader.apply(cut);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pending = null;
+                    pendingMarks = null;
+                }
+                throw e;
+            }
+            Map<Long, TaskResponseDTO> rows = new HashMap<>();
+            for (Task task : loaded) {
+                if (task.getCreatedAt() != null) {
+                    rows.put(task.getId(), toDTO(task));
+                }
+            }
+            synchronized (this) {
+                // Tasks committed too late for the load to see
+                for (TaskResponseDTO row : pending) {
+                    if (row.createdAt().isAfter(cut)) {
+                        rows.putIfAbsent(row.id(), row);
+                    }
+                }
+                // Tasks flagged too late for the load to see
+                for (OverdueMark mark : pendingMarks) {
+                    for (Long id : mark.ids()) {
+                        rows.computeIfPresent(id, (key, row) -> isDue(row, mark.now()) ? overdue(row) : row);
+                    }
+                }
+                pending = null;
+                pendingMarks = null;
+                List<TaskResponseDTO> sorted = new ArrayList<>(rows.values());
+                sorted.sort(CREATION_ORDER);
+                int dropped = Math.max(0, sorted.size() - ring.length);
+                horizon = dropped == 0 ? cut : sorted.get(dropped - 1).createdAt();
+                head = 0;
+                size = sorted.size() - dropped;
+                for (int i = 0; i < size; i++) {
+                    ring[i] = sorted.get(dropped + i);
+                }
+                Arrays.fill(ring, size, ring.length, null);
+                logger.debug("Recent tasks window loaded: {} tasks created after {}", size, horizon);
+            }
+        }
+    }
+
+    // Caller holds the lock. Creates arrive nearly in createdAt order, so the slot is found from the tail.
+    private void insert(TaskResponseDTO row) {
+        if (!row.createdAt().isAfter(horizon)) {
+            return;
+        }
+        if (size == ring.length) {
+            dropOldest();
+            if (!row.createdAt().isAfter(horizon)) {
+                return;
+            }
+        }
+        int position = size;
+        while (position > 0 && CREATION_ORDER.compare(at(position - 1), row) > 0) {
+            set(position, at(position - 1));
+            position--;
+        }
+        set(position, row);
+        size++;
+    }
+
+    // Caller holds the lock
+    private void evictExpired() {
+        LocalDateTime oldest = LocalDateTime.now(clock).minus(window);
+        while (size > 0 && at(0).createdAt().isBefore(oldest)) {
+            dropOldest();
+        }
+    }
+
+    // Caller holds the lock
+    private void dropOldest() {
+        TaskResponseDTO oldest = ring[head];
+        ring[head] = null;
+        head = (head + 1) % ring.length;
+        size--;
+        if (oldest.createdAt().isAfter(horizon)) {
+            horizon = oldest.createdAt();
+        }
+    }
+
+    private TaskResponseDTO at(int index) {
+        return ring[(head + index) % ring.length];
+    }
+
+    private void set(int index, TaskResponseDTO row) {
+        ring[(head + index) % ring.length] = row;
+    }
+
+    private static TaskResponseDTO toDTO(Task task) {
+        return new TaskResponseDTO(task.getId(), task.getOwner(), task.getTitle(), task.getDescription(),
+            task.isCompleted(), task.getCreatedAt(), task.getLabels().stream().sorted().toList(), task.getDueAt(),
+            task.isOverdue());
+    }
+
+    private static boolean isDue(TaskResponseDTO row, LocalDateTime now) {
+        return !row.overdue() && !row.completed() && row.dueAt() != null && !row.dueAt().isAfter(now);
+    }
+
+    private static TaskResponseDTO overdue(TaskResponseDTO row) {
+        return new TaskResponseDTO(row.id(), row.owner(), row.title(), row.description(), row.completed(),
+            row.createdAt(), row.labels(), row.dueAt(), true);
+    }
+}
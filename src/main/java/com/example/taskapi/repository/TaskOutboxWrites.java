@@ -0,0 +1,25 @@
+package com.example.taskapi.repository;
+
+import com.example.taskapi.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * TaskRepository's writes, replacing the Spring Data defaults. With {@code taskapi.outbox.enabled} each
+ * write also adds an OutboxEvent per task in its own transaction, so a change and its event commit or
+ * roll back together. Because they keep the usual method names, sharding and the other repository
+ * advice route them as before.
+ */
+public interface TaskOutboxWrites {
+
+    <S extends Task> S save(S task);
+
+    <S extends Task> S saveAndFlush(S task);
+
+    <S extends Task> List<S> saveAll(Iterable<S> tasks);
+
+    // Flags the given tasks, skipping any completed, already flagged or no longer due by now
+    int markOverdue(Collection<Long> ids, LocalDateTime now);
+}
@@ -0,0 +1,103 @@
+package com.example.taskapi.repository;
+
+import com.example.taskapi.config.OutboxProperties;
+import com.example.taskapi.entity.OutboxEvent;
+import com.example.taskapi.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Picked up by Spring Data as the implementation of {@link TaskOutboxWrites}.
+ *
+ * Per task, change rows must be numbered in the order the changes commit, or the relay could deliver
+ * them out of order. So each write takes the task's row lock before it inserts a change row. A new
+ * row is locked by its own insert; an update is flushed first; markOverdue selects its rows FOR
+ * UPDATE.
+ */
+class TaskOutboxWritesImpl implements TaskOutboxWrites {
+
+    private static final String FLAG_OVERDUE = "UPDATE Task t SET t.overdue = true WHERE t.id IN :ids "
+        + "AND t.overdue = false AND t.completed = false AND t.dueAt <= :now";
+    private static final String DUE = "SELECT t.id, t.owner FROM Task t WHERE t.id IN :ids "
+        + "AND t.overdue = false AND t.completed = false AND t.dueAt <= :now";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final boolean outbox;
+
+    // Absent in slices that load only the JPA layer, where nothing is relayed anyway
+    TaskOutboxWritesImpl(ObjectProvider<OutboxProperties> outbox) {
+        OutboxProperties properties = outbox.getIfAvailable();
+        this.outbox = properties != null && properties.enabled();
+    }
+
+    @Override
+    @Transactional
+    public <S extends Task> S save(S task) {
+        boolean created = task.getId() == null;
+        S saved;
+        if (created) {
+            entityManager.persist(task);
+            saved = task;
+        } else {
+            saved = entityManager.merge(task);
+        }
+        if (outbox) {
+            if (!created) {
+                entityManager.flush();
+            }
+            entityManager.persist(new OutboxEvent(saved.getId(), saved.getOwner(),
+                created ? OutboxEvent.Type.CREATED : OutboxEvent.Type.UPDATED, LocalDateTime.now()));
+        }
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public <S extends Task> S saveAndFlush(S task) {
+        S saved = save(task);
+        entityManager.flush();
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public <S extends Task> List<S> saveAll(Iterable<S> tasks) {
+        List<S> saved = new ArrayList<>();
+        for (S task : tasks) {
+            saved.add(save(task));
+        }
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public int markOverdue(Collection<Long> ids, LocalDateTime now) {
+        if (!outbox) {
+            return entityManager.createQuery(FLAG_OVERDUE).setParameter("ids", ids).setParameter("now", now).executeUpdate();
+        }
+        List<Object[]> due = entityManager.createQuery(DUE, Object[].class)
+            .setParameter("ids", ids)
+            .setParameter("now", now)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .getResultList();
+        if (due.isEmpty()) {
+            return 0;
+        }
+        List<Long> locked = due.stream().map(row -> (Long) row[0]).toList();
+        int flagged = entityManager.createQuery(FLAG_OVERDUE).setParameter("ids", locked).setParameter("now", now).executeUpdate();
+        for (Object[] row : due) {
+            entityManager.persist(new OutboxEvent((Long) row[0], (String) row[1], OutboxEvent.Type.OVERDUE, now));
+        }
+        return flagged;
+    }
+}
@@ -1,32 +1,174 @@
 package com.example.taskapi.repository;
 
 import com.example.taskapi.entity.Task;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Unpaged finders fetch each task's labels in the same statement ({@code @EntityGraph}); paged ones
+ * leave them to batch fetching, since a collection join would make the database page over label rows.
+ * Writes are implemented in {@link TaskOutboxWrites}.
+ */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskOutboxWrites {
 
+    // Declared by both parents; implemented by TaskOutboxWritesImpl
+    @Override
+    <S extends Task> S save(S task);
+
+    @Override
+    <S extends Task> S saveAndFlush(S task);
+
+    @Override
+    <S extends Task> List<S> saveAll(Iterable<S> tasks);
+
+
+    @Override
+    @EntityGraph(attributePaths = "labels")
+    Optional<Task> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "labels")
+    List<Task> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "labels")
+    List<Task> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = "labels")
     List<Task> findByTitleContainingIgnoreCase(String keyword);
 
-    List<Task> findByCompleted(boolean completed);
+    // Id order spelled out: with the created_at indexes the database may otherwise return these by date
+    @EntityGraph(attributePaths = "labels")
+    @Query("SELECT t FROM Task t WHERE t.completed = :completed ORDER BY t.id")
+    List<Task> findByCompleted(@Param("completed") boolean completed);
 
-    List<Task> findByCreatedAtAfter(LocalDateTime timestamp);
+    @EntityGraph(attributePaths = "labels")
+    @Query("SELECT t FROM Task t WHERE t.createdAt > :timestamp ORDER BY t.id")
+    List<Task> findByCreatedAtAfter(@Param("timestamp") LocalDateTime timestamp);
 
+    @EntityGraph(attributePaths = "labels")
     List<Task> findByTitleContainingIgnoreCaseAndCompleted(String keyword, boolean completed);
 
+    @EntityGraph(attributePaths = "labels")
     List<Task> findByTitleOrDescriptionContainingIgnoreCase(String title, String description);
 
+    @EntityGraph(attributePaths = "labels")
     List<Task> findByCompletedTrue();
 
+    @EntityGraph(attributePaths = "labels")
     @Query("SELECT t FROM Task t WHERE " +
            "(:keyword IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
            "AND (:completed IS NULL OR t.completed = :completed)")
     List<Task> searchTasks(@Param("keyword") String keyword,
                            @Param("completed") Boolean completed);
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE " +
+           "(:completed IS NULL OR t.completed = :completed) " +
+           "AND (:createdAfter IS NULL OR t.createdAt > :createdAfter)")
+    long countTasks(@Param("completed") Boolean completed,
+                    @Param("createdAfter") LocalDateTime createdAfter);
+
+    // Backed by the unique index; a list so sharded lookups can merge across shards
+    @EntityGraph(attributePaths = "labels")
+    List<Task> findByIdempotencyKey(String idempotencyKey);
+
+    // SQL form of a LabelFilter, for when the label index is off or not loaded yet. The count
+    // parameters say whether each list applies, since an empty IN list is not valid SQL everywhere
+    @Query("SELECT t FROM Task t WHERE " +
+           "(:allCount = 0 OR t.id IN (SELECT a.id FROM Task a JOIN a.labels l WHERE l IN :all " +
+           "GROUP BY a.id HAVING COUNT(l) = :allCount)) " +
+           "AND (:anyCount = 0 OR t.id IN (SELECT o.id FROM Task o JOIN o.labels l WHERE l IN :any)) " +
+           "AND (:noneCount = 0 OR t.id NOT IN (SELECT n.id FROM Task n JOIN n.labels l WHERE l IN :none)) " +
+           "AND (:completed IS NULL OR t.completed = :completed) " +
+           "ORDER BY t.id")
+    List<Task> findByLabels(@Param("all") Collection<String> all,
+                            @Param("allCount") long allCount,
+                            @Param("any") Collection<String> any,
+                            @Param("anyCount") long anyCount,
+                            @Param("none") Collection<String> none,
+                            @Param("noneCount") long noneCount,
+                            @Param("completed") Boolean completed,
+                            Pageable page);
+
+    @EntityGraph(attributePaths = "labels")
+    List<Task> findByOverdueTrue();
+
+    // Sorted and limited by the Pageable, for sort= and limit= requests; the sort is a TaskSort's, so
+    // the database can stop after the first rows of an index or a top-N sort
+    List<Task> findByTitleContainingIgnoreCase(String keyword, Pageable page);
+
+    List<Task> findByCompleted(boolean completed, Pageable page);
+
+    List<Task> findByCreatedAtAfter(LocalDateTime timestamp, Pageable page);
+
+    List<Task> findByOverdueTrue(Pageable page);
+
+    List<Task> findByTitleContainingIgnoreCaseAndCompleted(String keyword, boolean completed, Pageable page);
+
+    @Query("SELECT t FROM Task t WHERE " +
+           "(:keyword IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+           "AND (:completed IS NULL OR t.completed = :completed)")
+    List<Task> searchTasks(@Param("keyword") String keyword,
+                           @Param("completed") Boolean completed,
+                           Pageable page);
+
+    // findByLabels without its fixed id order
+    @Query("SELECT t FROM Task t WHERE " +
+           "(:allCount = 0 OR t.id IN (SELECT a.id FROM Task a JOIN a.labels l WHERE l IN :all " +
+           "GROUP BY a.id HAVING COUNT(l) = :allCount)) " +
+           "AND (:anyCount = 0 OR t.id IN (SELECT o.id FROM Task o JOIN o.labels l WHERE l IN :any)) " +
+           "AND (:noneCount = 0 OR t.id NOT IN (SELECT n.id FROM Task n JOIN n.labels l WHERE l IN :none)) " +
+           "AND (:completed IS NULL OR t.completed = :completed)")
+    List<Task> findByLabelsSorted(@Param("all") Collection<String> all,
+                                  @Param("allCount") long allCount,
+                                  @Param("any") Collection<String> any,
+                                  @Param("anyCount") long anyCount,
+                                  @Param("none") Collection<String> none,
+                                  @Param("noneCount") long noneCount,
+                                  @Param("completed") Boolean completed,
+                                  Pageable page);
+
+    // (id, dueAt) of every task OverdueScheduler has to time; no entities, the wheel only needs these
+    @Query("SELECT t.id, t.dueAt FROM Task t WHERE t.overdue = false AND t.completed = false AND t.dueAt IS NOT NULL")
+    List<Object[]> findPendingDueDates();
+
+    // Id-range slices of the filters above, for ParallelScanPlanner
+    @Query("SELECT MIN(t.id), MAX(t.id) FROM Task t")
+    List<Object[]> findIdBounds();
+
+    List<Task> findByTitleContainingIgnoreCaseAndCompletedAndIdBetweenOrderByIdAsc(
+        String keyword, boolean completed, Long fromId, Long toId, Pageable page);
+
+    @Query("SELECT t FROM Task t WHERE t.id BETWEEN :fromId AND :toId " +
+           "AND (:keyword IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+           "AND (:completed IS NULL OR t.completed = :completed) " +
+           "ORDER BY t.id")
+    List<Task> searchTasksInIdRange(@Param("keyword") String keyword,
+                                    @Param("completed") Boolean completed,
+                                    @Param("fromId") Long fromId,
+                                    @Param("toId") Long toId,
+                                    Pageable page);
+
+    // The slices again, ordered by the Pageable's sort instead of by id
+    List<Task> findByTitleContainingIgnoreCaseAndCompletedAndIdBetween(
+        String keyword, boolean completed, Long fromId, Long toId, Pageable page);
+
+    @Query("SELECT t FROM Task t WHERE t.id BETWEEN :fromId AND :toId " +
+           "AND (:keyword IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+           "AND (:completed IS NULL OR t.completed = :completed)")
+    List<Task> searchTasksInIdRangeSorted(@Param("keyword") String keyword,
+                                          @Param("completed") Boolean completed,
+                                          @Param("fromId") Long fromId,
+                                          @Param("toId") Long toId,
+                                          Pageable page);
 }
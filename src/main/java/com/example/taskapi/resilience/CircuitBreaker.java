@@ -0,0 +1,149 @@
+package com.example.taskapi.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for database calls.
+ *
+ * - CLOSED: calls go through. Once at least {@code minimumCalls} of the last {@code windowSize}
+ *   outcomes are known and {@code failureRateThreshold} of them were failures, the breaker opens.
+ * - OPEN: calls are refused without touching the database, for {@code openDuration}.
+ * - HALF_OPEN: up to {@code trialCalls} calls are let through. One failure reopens the breaker;
+ *   {@code trialCalls} successes close it again.
+ *
+ * Every permitted call must end in exactly one of {@link #onSuccess()}, {@link #onFailure()} or
+ * {@link #release()} (no verdict, e.g. the call was never started).
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int trialCalls;
+    private final LongSupplier clock;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialSuccesses;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration,
+                          int trialCalls, LongSupplier clock) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || trialCalls < 1) {
+            throw new IllegalArgumentException("Require 1 <= minimumCalls <= windowSize and trialCalls >= 1");
+        }
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("failureRateThreshold must be in (0, 1]");
+        }
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.trialCalls = trialCalls;
+        this.clock = clock;
+    }
+
+    /**
+     * @return whether the call may go to the database
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= trialCalls) {
+                return false;
+            }
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    /**
+     * @return true if this success closed the breaker, i.e. the database has just recovered
+     */
+    public synchronized boolean onSuccess() {
+        switch (state) {
+            case CLOSED -> record(false);
+            case HALF_OPEN -> {
+                if (++trialSuccesses >= trialCalls) {
+                    logger.info("Circuit breaker closed after {} successful trial calls", trialSuccesses);
+                    state = State.CLOSED;
+                    recorded = 0;
+                    next = 0;
+                    failures = 0;
+                    return true;
+                }
+            }
+            case OPEN -> {
+                // A call that started before the breaker opened; its outcome no longer matters
+            }
+        }
+        return false;
+    }
+
+    public synchronized void onFailure() {
+        switch (state) {
+            case CLOSED -> {
+                record(true);
+                if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+                    open();
+                }
+            }
+            case HALF_OPEN -> open();
+            case OPEN -> {
+                // Already open
+            }
+        }
+    }
+
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && trialsStarted > 0) {
+            trialsStarted--;
+        }
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            failures -= window[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        failures += failure ? 1 : 0;
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        if (state == State.CLOSED) {
+            logger.warn("Circuit breaker opened: {} of the last {} calls failed", failures, recorded);
+        }
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.taskapi.resilience;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The last successful result of each cached read, kept to answer in its place while the database
+ * is failing. Least recently used entries are dropped beyond {@code maxEntries}; results with more
+ * than {@code maxRowsPerEntry} rows are not kept at all, so one large listing cannot crowd out the
+ * rest. Entries older than {@code maxStaleness} are never served.
+ *
+ * Each entry also remembers the query that produced it, so it can be re-read once the database is back.
+ * Writes do not touch the entries: a stale answer shows the tasks as they were read, including
+ * their overdue flags.
+ */
+public class LastKnownGoodCache {
+
+    private final int maxEntries;
+    private final int maxRowsPerEntry;
+    private final long maxStalenessNanos;
+    private final LongSupplier clock;
+    // Access order, guarded by this
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param storedAt when the result was read, on the cache's clock
+     */
+    public record Entry(Object key, Object value, long storedAt, Supplier<?> query) {}
+
+    public LastKnownGoodCache(int maxEntries, int maxRowsPerEntry, Duration maxStaleness, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.maxRowsPerEntry = maxRowsPerEntry;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.clock = clock;
+    }
+
+    public void put(Object key, Object value, Supplier<?> query) {
+        if (!fits(value)) {
+            return;
+        }
+        synchronized (this) {
+            store(new Entry(key, value, clock.getAsLong(), query));
+        }
+    }
+
+    /**
+     * Replaces a stale entry with a fresh result, unless a newer one has been stored meanwhile.
+     */
+    public void refresh(Entry stale, Object value) {
+        if (!fits(value)) {
+            return;
+        }
+        synchronized (this) {
+            if (entries.get(stale.key()) == stale) {
+                store(new Entry(stale.key(), value, clock.getAsLong(), stale.query()));
+            }
+        }
+    }
+
+    /**
+     * The cached result for {@code key}, or null if there is none or it is too old to serve.
+     */
+    public synchronized Entry get(Object key) {
+        Entry entry = entries.get(key);
+        if (entry != null && ageNanos(entry) > maxStalenessNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long ageNanos(Entry entry) {
+        return clock.getAsLong() - entry.storedAt();
+    }
+
+    private boolean fits(Object value) {
+        return maxEntries > 0 && !(value instanceof Collection<?> rows && rows.size() > maxRowsPerEntry);
+    }
+
+    // Caller holds the lock
+    private void store(Entry entry) {
+        entries.put(entry.key(), entry);
+        if (entries.size() > maxEntries) {
+            entries.remove(entries.keySet().iterator().next());
+        }
+    }
+}
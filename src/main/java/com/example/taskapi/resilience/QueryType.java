@@ -0,0 +1,11 @@
+package com.example.taskapi.resilience;
+
+/**
+ * Kinds of repository read, each with its own bulkhead and timeout so that slow scans cannot starve
+ * the single-row lookups.
+ */
+public enum QueryType {
+    BY_ID,
+    FILTER,
+    COUNT
+}
@@ -0,0 +1,278 @@
+package com.example.taskapi.resilience;
+
+import com.example.taskapi.exception.ServiceOverloadedException;
+import com.example.taskapi.instrumentation.QueryStatsContext;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a failing or stalled database from taking the API down with it.
+ *
+ * - Each read runs on the bulkhead for its QueryType (a few threads and a bounded queue) and is given
+ *   up on after that type's timeout, so slow scans cannot tie up every request thread. The timeout
+ *   covers the time spent queued, so the queue can be deep enough to absorb a burst of requests.
+ * - A CircuitBreaker counts timeouts and database errors; while it is open, reads are not attempted.
+ * - A read that is not attempted or does not succeed is answered from the LastKnownGoodCache if it
+ *   holds a result for the same key (and the HTTP response is marked stale), or fails with a 503.
+ * - When the breaker closes again, every entry that was served stale is re-read in the background.
+ *
+ * Only database trouble counts against the breaker: a constraint violation or a TaskNotFoundException
+ * means the database answered.
+ */
+public class RepositoryGuard implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryGuard.class);
+
+    /**
+     * @param threads queries of this type running at once
+     * @param queue   queries that may wait for a thread; more than that fall back at once
+     * @param timeout how long a caller waits for the query, queued or running, before falling back
+     */
+    public record Bulkhead(int threads, int queue, Duration timeout) {}
+
+    private final Map<QueryType, ThreadPoolExecutor> bulkheads = new EnumMap<>(QueryType.class);
+    private final Map<QueryType, Long> timeoutNanos = new EnumMap<>(QueryType.class);
+    private final CircuitBreaker breaker;
+    private final LastKnownGoodCache cache;
+    private final Set<Object> servedStale = ConcurrentHashMap.newKeySet();
+    private final ExecutorService revalidator;
+    private final AtomicLong staleResponses = new AtomicLong();
+
+    public RepositoryGuard(Map<QueryType, Bulkhead> bulkheads, CircuitBreaker breaker, LastKnownGoodCache cache) {
+        for (QueryType type : QueryType.values()) {
+            Bulkhead bulkhead = bulkheads.get(type);
+            if (bulkhead == null) {
+                throw new IllegalArgumentException("No bulkhead for " + type);
+            }
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(bulkhead.threads(), bulkhead.threads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(bulkhead.queue()),
+                new CustomizableThreadFactory("db-" + type.name().toLowerCase().replace('_', '-') + "-"));
+            executor.allowCoreThreadTimeOut(true);
+            this.bulkheads.put(type, executor);
+            this.timeoutNanos.put(type, bulkhead.timeout().toNanos());
+        }
+        this.breaker = breaker;
+        this.cache = cache;
+        this.revalidator = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("db-revalidate-"));
+    }
+
+    private RepositoryGuard() {
+        this.breaker = null;
+        this.cache = null;
+        this.revalidator = null;
+    }
+
+    /**
+     * A guard that runs everything on the caller's thread, unprotected.
+     */
+    public static RepositoryGuard disabled() {
+        return new RepositoryGuard();
+    }
+
+    /**
+     * Runs a read against the database, or answers it from the cache if the database is failing.
+     *
+     * @param key identifies the read for the cache (equal for reads with the same answer), or null to
+     *            not cache it
+     */
+    public <T> T read(QueryType type, Object key, Supplier<T> query) {
+        if (breaker == null) {
+            return query.get();
+        }
+        if (!breaker.tryAcquire()) {
+            return fallback(key, null, "the circuit breaker is open");
+        }
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(QueryStatsContext.propagate(query), bulkheads.get(type));
+        } catch (RejectedExecutionException e) {
+            breaker.release();
+            return fallback(key, null, "too many " + type + " queries are already waiting");
+        }
+        try {
+            T value = result.get(timeoutNanos.get(type), TimeUnit.NANOSECONDS);
+            succeeded(key, value, query);
+            return value;
+        } catch (TimeoutException e) {
+            breaker.onFailure();
+            // Nobody waits for it any more, but a late answer is still worth keeping
+            result.thenAccept(value -> remember(key, value, query));
+            return fallback(key, null, type + " query timed out after "
+                + TimeUnit.NANOSECONDS.toMillis(timeoutNanos.get(type)) + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            breaker.release();
+            return fallback(key, null, "interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error error) {
+                breaker.release();
+                throw error;
+            }
+            RuntimeException cause = (RuntimeException) e.getCause();
+            if (isDatabaseFailure(cause)) {
+                breaker.onFailure();
+                return fallback(key, cause, "query failed: " + cause.getMessage());
+            }
+            if (cause instanceof ServiceOverloadedException) {
+                // Shed by the concurrency limiter before reaching the database
+                breaker.release();
+                return fallback(key, cause, null);
+            }
+            if (breaker.onSuccess()) {
+                recovered();
+            }
+            throw cause;
+        }
+    }
+
+    /**
+     * Runs a call on the caller's thread behind the circuit breaker only: for writes, which are neither
+     * cached nor abandoned halfway.
+     */
+    public <T> T call(Supplier<T> action) {
+        if (breaker == null) {
+            return action.get();
+        }
+        if (!breaker.tryAcquire()) {
+            throw unavailable("the circuit breaker is open");
+        }
+        T value;
+        try {
+            value = action.get();
+        } catch (RuntimeException e) {
+            if (isDatabaseFailure(e)) {
+                breaker.onFailure();
+            } else if (e instanceof ServiceOverloadedException) {
+                breaker.release();
+            } else if (breaker.onSuccess()) {
+                recovered();
+            }
+            throw e;
+        } catch (Error e) {
+            breaker.release();
+            throw e;
+        }
+        if (breaker.onSuccess()) {
+            recovered();
+        }
+        return value;
+    }
+
+    public CircuitBreaker.State state() {
+        return breaker == null ? CircuitBreaker.State.CLOSED : breaker.state();
+    }
+
+    public int cachedResults() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    /**
+     * Responses answered from the cache since startup.
+     */
+    public long staleResponses() {
+        return staleResponses.get();
+    }
+
+    @Override
+    public void close() {
+        bulkheads.values().forEach(ExecutorService::shutdownNow);
+        if (revalidator != null) {
+            revalidator.shutdownNow();
+        }
+    }
+
+    static boolean isDatabaseFailure(RuntimeException e) {
+        if (e instanceof DataIntegrityViolationException || e instanceof InvalidDataAccessApiUsageException) {
+            return false;
+        }
+        return e instanceof DataAccessException || e instanceof TransactionException || e instanceof PersistenceException;
+    }
+
+    private void succeeded(Object key, Object value, Supplier<?> query) {
+        if (breaker.onSuccess()) {
+            recovered();
+        }
+        remember(key, value, query);
+    }
+
+    private void remember(Object key, Object value, Supplier<?> query) {
+        if (key != null) {
+            cache.put(key, value, query);
+            servedStale.remove(key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T fallback(Object key, RuntimeException cause, String reason) {
+        LastKnownGoodCache.Entry entry = key == null ? null : cache.get(key);
+        if (entry == null) {
+            if (cause != null && !isDatabaseFailure(cause)) {
+                throw cause;
+            }
+            throw unavailable(reason);
+        }
+        servedStale.add(key);
+        staleResponses.incrementAndGet();
+        StaleResponses.mark(TimeUnit.NANOSECONDS.toSeconds(cache.ageNanos(entry)));
+        return (T) entry.value();
+    }
+
+    private static ServiceOverloadedException unavailable(String reason) {
+        return new ServiceOverloadedException("Task database unavailable: " + reason);
+    }
+
+    private void recovered() {
+        logger.info("Task database recovered; revalidating {} stale results", servedStale.size());
+        revalidator.execute(this::revalidate);
+    }
+
+    private void revalidate() {
+        for (Object key : List.copyOf(servedStale)) {
+            LastKnownGoodCache.Entry entry = cache.get(key);
+            if (entry == null) {
+                servedStale.remove(key);
+                continue;
+            }
+            if (!breaker.tryAcquire()) {
+                return;
+            }
+            try {
+                cache.refresh(entry, entry.query().get());
+                breaker.onSuccess();
+                servedStale.remove(key);
+            } catch (RuntimeException e) {
+                if (isDatabaseFailure(e)) {
+                    breaker.onFailure();
+                    logger.warn("Revalidation stopped: {}", e.getMessage());
+                    return;
+                }
+                breaker.release();
+                servedStale.remove(key);
+            }
+        }
+    }
+}
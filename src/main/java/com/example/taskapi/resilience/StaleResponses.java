@@ -0,0 +1,27 @@
+package com.example.taskapi.resilience;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Marks the current HTTP request as answered (at least in part) from cached data, for
+ * StaleResponseAdvice to report. Outside an HTTP request (gRPC, schedulers) it does nothing.
+ */
+final class StaleResponses {
+
+    static final String AGE_ATTRIBUTE = StaleResponses.class.getName() + ".ageSeconds";
+
+    private StaleResponses() {}
+
+    static void mark(long ageSeconds) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return;
+        }
+        // A response built from several reads is as old as its oldest part
+        Object previous = request.getAttribute(AGE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (previous == null || (Long) previous < ageSeconds) {
+            request.setAttribute(AGE_ATTRIBUTE, ageSeconds, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
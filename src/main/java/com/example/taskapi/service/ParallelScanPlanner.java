@@ -0,0 +1,266 @@
+package com.example.taskapi.service;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.exception.ServiceOverloadedException;
+import com.example.taskapi.limiter.AdaptiveConcurrencyLimiter;
+import com.example.taskapi.limiter.AdaptiveConcurrencyLimiter.Permit;
+import com.example.taskapi.limiter.Priority;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.sorting.TaskSort;
+import com.example.taskapi.sorting.TopK;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Plans filtered scans of the tasks table (title keyword, completed flag) that cannot use an index.
+ *
+ * A large table is cut into contiguous id ranges. The slices run on a worker pool, each outside any
+ * request transaction and therefore on its own pooled connection, with at most {@code parallelism}
+ * in flight per request. Results are consumed strictly in slice order, so the output is ordered by id
+ * and a {@code limit} returns exactly what {@code ORDER BY id LIMIT n} would: as soon as enough rows
+ * have arrived the remaining slices are cancelled or never started.
+ *
+ * A scan in another order (a TaskSort) cannot stop early, since any slice may hold the first row. Each
+ * slice then returns its own first {@code limit} rows in that order, sorted and limited by the
+ * database, and the slices are merged through a bounded heap of {@code limit} rows.
+ *
+ * Every slice holds an adaptive limiter permit. A request that cannot get a permit for another slice
+ * carries on with the slices it already has, so under load a scan degrades towards serial instead of
+ * being shed; only a request that gets no permit at all is rejected.
+ */
+public class ParallelScanPlanner implements AutoCloseable {
+
+    /**
+     * The same filter as the whole-table query, restricted to ids in [fromId, toId] and ordered by id.
+     */
+    @FunctionalInterface
+    public interface SliceQuery {
+        List<Task> fetch(long fromId, long toId, Pageable page);
+    }
+
+    record IdSlice(long fromId, long toId) {}
+
+    private static final Comparator<Task> BY_ID = Comparator.comparing(Task::getId);
+
+    private final TaskRepository taskRepository;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final long minSliceSpan;
+    private final int slicesPerThread;
+
+    public ParallelScanPlanner(TaskRepository taskRepository, AdaptiveConcurrencyLimiter limiter, ExecutorService executor,
+                               int parallelism, long minSliceSpan, int slicesPerThread) {
+        if (parallelism < 1 || minSliceSpan < 1 || slicesPerThread < 1) {
+            throw new IllegalArgumentException("parallelism, minSliceSpan and slicesPerThread must be positive");
+        }
+        this.taskRepository = taskRepository;
+        this.limiter = limiter;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.minSliceSpan = minSliceSpan;
+        this.slicesPerThread = slicesPerThread;
+    }
+
+    /**
+     * A planner that always runs the whole-table query on the calling thread.
+     */
+    public static ParallelScanPlanner serial(AdaptiveConcurrencyLimiter limiter) {
+        return new ParallelScanPlanner(null, limiter, null, 1, Long.MAX_VALUE, 1);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param wholeTable the unsliced query, used when the planner is serial
+     * @param slice      the same filter over one id range
+     * @param limit      maximum number of rows to return, or null for all of them
+     */
+    public List<Task> scan(Supplier<List<Task>> wholeTable, SliceQuery slice, Integer limit) {
+        if (executor == null) {
+            // The whole-table query is unordered; keep the lowest ids, as the slices would
+            return TopK.select(limiter.execute(Priority.READ, wholeTable), BY_ID,
+                limit == null ? Integer.MAX_VALUE : limit);
+        }
+        List<IdSlice> slices = plan(limiter.execute(Priority.READ, taskRepository::findIdBounds));
+        if (slices.size() <= 1) {
+            return slices.isEmpty() ? List.of() : limiter.execute(Priority.READ,
+                () -> slice.fetch(slices.get(0).fromId(), slices.get(0).toId(), page(limit, 0)));
+        }
+        return gather(slices, slice, limit);
+    }
+
+    /**
+     * Like {@link #scan(Supplier, SliceQuery, Integer)}, but returns the first {@code limit} rows in
+     * {@code sort} order. The queries get a page carrying that order and limit.
+     *
+     * @param wholeTable the unsliced query, used when the planner is serial
+     * @param slice      the same filter over one id range
+     * @param limit      maximum number of rows to return, or null for all of them
+     */
+    public List<Task> scan(Function<Pageable, List<Task>> wholeTable, SliceQuery slice, Integer limit, TaskSort sort) {
+        Pageable page = sort.page(limit);
+        if (executor == null) {
+            return limiter.execute(Priority.READ, () -> wholeTable.apply(page));
+        }
+        List<IdSlice> slices = plan(limiter.execute(Priority.READ, taskRepository::findIdBounds));
+        if (slices.size() <= 1) {
+            return slices.isEmpty() ? List.of() : limiter.execute(Priority.READ,
+                () -> slice.fetch(slices.get(0).fromId(), slices.get(0).toId(), page));
+        }
+        TopK<Task> top = new TopK<>(sort.tasks(), limit == null ? Integer.MAX_VALUE : limit);
+        gather(slices, slice, () -> page, task -> {
+            top.offer(task);
+            return true;
+        });
+        return top.toList();
+    }
+
+    /**
+     * Splits [min(id), max(id)] into equal slices; rows come as one [min, max] pair per shard.
+     */
+    List<IdSlice> plan(List<Object[]> bounds) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (Object[] row : bounds) {
+            if (row[0] != null) {
+                min = Math.min(min, ((Number) row[0]).longValue());
+                max = Math.max(max, ((Number) row[1]).longValue());
+            }
+        }
+        if (min > max) {
+            return List.of();
+        }
+        long span = max - min + 1;
+        long count = parallelism == 1 ? 1 : Math.min((long) parallelism * slicesPerThread, Math.max(1, span / minSliceSpan));
+        long width = (span + count - 1) / count;
+        List<IdSlice> slices = new ArrayList<>((int) count);
+        for (long from = min; from <= max; from += width) {
+            slices.add(new IdSlice(from, Math.min(max, from + width - 1)));
+        }
+        return slices;
+    }
+
+    private List<Task> gather(List<IdSlice> slices, SliceQuery query, Integer limit) {
+        List<Task> merged = new ArrayList<>();
+        gather(slices, query, () -> page(limit, merged.size()), task -> {
+            merged.add(task);
+            return limit == null || merged.size() < limit;
+        });
+        return merged;
+    }
+
+    /**
+     * Runs the slices, at most {@code parallelism} at a time, and passes their rows to {@code rows} in
+     * slice order until it returns false.
+     */
+    private void gather(List<IdSlice> slices, SliceQuery query, Supplier<Pageable> page, Predicate<Task> rows) {
+        Deque<Future<List<Task>>> inFlight = new ArrayDeque<>(parallelism);
+        int next = 0;
+        try {
+            while (true) {
+                while (next < slices.size() && inFlight.size() < parallelism) {
+                    Permit permit = limiter.tryAcquire(Priority.READ);
+                    if (permit == null) {
+                        if (inFlight.isEmpty()) {
+                            throw new ServiceOverloadedException("Service is overloaded, try again later");
+                        }
+                        break;
+                    }
+                    inFlight.add(submit(query, slices.get(next++), page.get(), permit));
+                }
+                if (inFlight.isEmpty()) {
+                    return;
+                }
+                for (Task task : await(inFlight.poll())) {
+                    if (!rows.test(task)) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Runs one slice under {@code permit}. Whichever comes first, the slice starting or the slice
+     * being cancelled while still queued, releases the permit.
+     */
+    private Future<List<Task>> submit(SliceQuery query, IdSlice slice, Pageable page, Permit permit) {
+        AtomicBoolean claimed = new AtomicBoolean();
+        FutureTask<List<Task>> task = new FutureTask<>(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return List.of();
+            }
+            boolean success = false;
+            try {
+                List<Task> rows = query.fetch(slice.fromId(), slice.toId(), page);
+                success = true;
+                return rows;
+            } finally {
+                if (success) {
+                    permit.release();
+                } else {
+                    permit.releaseWithoutSample();
+                }
+            }
+        }) {
+            @Override
+            protected void done() {
+                if (isCancelled() && claimed.compareAndSet(false, true)) {
+                    permit.releaseWithoutSample();
+                }
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.cancel(false);
+            throw e;
+        }
+        return task;
+    }
+
+    private static List<Task> await(Future<List<Task>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a scan slice");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Pageable page(Integer limit, int alreadyFound) {
+        return limit == null ? Pageable.unpaged() : PageRequest.of(0, limit - alreadyFound);
+    }
+}
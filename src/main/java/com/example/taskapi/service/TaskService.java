@@ -1,7 +1,11 @@
 package com.example.taskapi.service;
 
+import com.example.taskapi.dto.TaskBatchResponseDTO;
+import com.example.taskapi.dto.TaskCountResponseDTO;
 import com.example.taskapi.dto.TaskRequestDTO;
 import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.labels.LabelFilter;
+import com.example.taskapi.sorting.TaskSort;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,18 +14,57 @@ public interface TaskService {
 
     TaskResponseDTO createTask(TaskRequestDTO request);
 
+    // A retry with the same key returns the task the first request created instead of a new one
+    TaskResponseDTO createTask(TaskRequestDTO request, String idempotencyKey);
+
     List<TaskResponseDTO> getAllTasks();
 
     TaskResponseDTO getTaskById(Long id);
 
+    // Found tasks in request order (each id once) plus the ids that do not exist
+    TaskBatchResponseDTO getTasksByIds(List<Long> ids);
+
     // Custom queries
     List<TaskResponseDTO> searchByTitle(String keyword);
 
     List<TaskResponseDTO> getByCompleted(boolean completed);
 
+    // Tasks flagged overdue, longest overdue first
+    List<TaskResponseDTO> getOverdue();
+
     List<TaskResponseDTO> getByCreatedAfter(LocalDateTime timestamp);
 
     List<TaskResponseDTO> searchByTitleAndCompleted(String keyword, boolean completed);
 
+    // At most limit results, lowest ids first
+    List<TaskResponseDTO> searchByTitleAndCompleted(String keyword, boolean completed, Integer limit);
+
     List<TaskResponseDTO> search(String keyword, Boolean completed);
+
+    List<TaskResponseDTO> search(String keyword, Boolean completed, Integer limit);
+
+    // Keyset page for streaming callers: up to limit matches with ids above afterId, lowest first
+    List<TaskResponseDTO> searchAfterId(String keyword, Boolean completed, long afterId, int limit);
+
+    // At most limit results (null for all), lowest ids first
+    List<TaskResponseDTO> filterByLabels(LabelFilter filter, Integer limit);
+
+    // The same filters sorted and limited: the first limit results (null for all) in sort order, or in
+    // the filter's own order when sort is null (id; dueAt for overdue, createdAt for created-after)
+    List<TaskResponseDTO> searchByTitle(String keyword, Integer limit, TaskSort sort);
+
+    List<TaskResponseDTO> getByCompleted(boolean completed, Integer limit, TaskSort sort);
+
+    List<TaskResponseDTO> getOverdue(Integer limit, TaskSort sort);
+
+    List<TaskResponseDTO> getByCreatedAfter(LocalDateTime timestamp, Integer limit, TaskSort sort);
+
+    List<TaskResponseDTO> searchByTitleAndCompleted(String keyword, boolean completed, Integer limit, TaskSort sort);
+
+    List<TaskResponseDTO> search(String keyword, Boolean completed, Integer limit, TaskSort sort);
+
+    List<TaskResponseDTO> filterByLabels(LabelFilter filter, Integer limit, TaskSort sort);
+
+    // Null filters match everything
+    TaskCountResponseDTO count(Boolean completed, LocalDateTime createdAfter);
 }
@@ -1,80 +1,380 @@
 package com.example.taskapi.service;
 
+import com.example.taskapi.dto.TaskBatchResponseDTO;
+import com.example.taskapi.dto.TaskCountResponseDTO;
 import com.example.taskapi.dto.TaskRequestDTO;
 import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.due.OverdueScheduler;
 import com.example.taskapi.entity.Task;
+import com.example.taskapi.exception.IdempotencyConflictException;
 import com.example.taskapi.exception.TaskNotFoundException;
+import com.example.taskapi.idempotency.IdempotencyCache;
+import com.example.taskapi.jfr.DtoMappingEvent;
+import com.example.taskapi.labels.LabelFilter;
+import com.example.taskapi.labels.LabelIndex;
+import com.example.taskapi.limiter.AdaptiveConcurrencyLimiter;
+import com.example.taskapi.limiter.Priority;
+import com.example.taskapi.recent.RecentTasksWindow;
 import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.resilience.QueryType;
+import com.example.taskapi.resilience.RepositoryGuard;
+import com.example.taskapi.snapshot.ColumnarTaskSnapshot;
+import com.example.taskapi.sorting.TaskSort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    // Ids per findAllById query, so a batch get never builds an unbounded IN list
+    static final int IN_LIST_SIZE = 500;
+
     private final TaskRepository taskRepository;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ParallelScanPlanner scanPlanner;
+    private final ColumnarTaskSnapshot snapshot;
+    private final IdempotencyCache<TaskResponseDTO> idempotency;
+    private final RecentTasksWindow recentTasks;
+    private final RepositoryGuard guard;
+    private final LabelIndex labelIndex;
+    private final OverdueScheduler overdue;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, AdaptiveConcurrencyLimiter limiter,
+                           ParallelScanPlanner scanPlanner, ColumnarTaskSnapshot snapshot,
+                           IdempotencyCache<TaskResponseDTO> idempotency, RecentTasksWindow recentTasks,
+                           RepositoryGuard guard, LabelIndex labelIndex, OverdueScheduler overdue) {
         this.taskRepository = taskRepository;
+        this.limiter = limiter;
+        this.scanPlanner = scanPlanner;
+        this.snapshot = snapshot;
+        this.idempotency = idempotency;
+        this.recentTasks = recentTasks;
+        this.guard = guard;
+        this.labelIndex = labelIndex;
+        this.overdue = overdue;
+    }
+
+    // Cache key for a read, from its kind and arguments (any of which may be null)
+    private static Object key(Object... parts) {
+        return Arrays.asList(parts);
     }
 
     private TaskResponseDTO toDTO(Task task) {
         return new TaskResponseDTO(
             task.getId(),
+            task.getOwner(),
             task.getTitle(),
             task.getDescription(),
             task.isCompleted(),
-            task.getCreatedAt()
+            task.getCreatedAt(),
+            task.getLabels().stream().sorted().toList(),
+            task.getDueAt(),
+            task.isOverdue()
         );
     }
 
+    private List<TaskResponseDTO> toDTOs(List<Task> tasks) {
+        return DtoMappingEvent.map(tasks, this::toDTO);
+    }
+
     @Override
     public TaskResponseDTO createTask(TaskRequestDTO request) {
+        return insert(newTask(request));
+    }
+
+    @Override
+    public TaskResponseDTO createTask(TaskRequestDTO request, String idempotencyKey) {
+        Task task = newTask(request);
+        task.setIdempotencyKey(idempotencyKey);
+        CreateRequest fields = CreateRequest.of(task);
+        return idempotency.execute(idempotencyKey, fields, () -> {
+            try {
+                return insert(task);
+            } catch (DataIntegrityViolationException e) {
+                // The key is already taken: a retry that reached another instance, or came after a restart
+                Task first = guard.call(() -> limiter.execute(Priority.READ, () -> taskRepository.findByIdempotencyKey(idempotencyKey)))
+                    .stream().findFirst().orElseThrow(() -> e);
+                if (!CreateRequest.of(first).equals(fields)) {
+                    throw IdempotencyConflictException.reused(idempotencyKey);
+                }
+                return toDTO(first);
+            }
+        });
+    }
+
+    private Task newTask(TaskRequestDTO request) {
         Task task = new Task();
+        if (request.owner() != null && !request.owner().isBlank()) {
+            task.setOwner(request.owner().trim());
+        }
         task.setTitle(request.title());
         task.setDescription(request.description());
+        if (request.labels() != null) {
+            request.labels().forEach(label -> task.getLabels().add(LabelFilter.normalize(label)));
+        }
+        task.setDueAt(request.dueAt());
         task.setCreatedAt(LocalDateTime.now());
         task.setUpdatedAt(LocalDateTime.now());
+        return task;
+    }
 
-        return toDTO(taskRepository.save(task));
+    private TaskResponseDTO insert(Task task) {
+        Task saved = guard.call(() -> limiter.execute(Priority.WRITE, () -> taskRepository.save(task)));
+        snapshot.append(saved);
+        recentTasks.append(saved);
+        labelIndex.append(saved);
+        overdue.schedule(saved);
+        return toDTO(saved);
     }
 
     @Override
     public List<TaskResponseDTO> getAllTasks() {
-        return taskRepository.findAll().stream().map(this::toDTO).toList();
+        return guard.read(QueryType.FILTER, key("all"), () ->
+            toDTOs(limiter.execute(Priority.READ, taskRepository::findAll)));
     }
 
     @Override
     public TaskResponseDTO getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
+        return guard.read(QueryType.BY_ID, key("id", id), () ->
+                limiter.execute(Priority.READ, () -> taskRepository.findById(id)).map(this::toDTO))
             .orElseThrow(() -> new TaskNotFoundException("Task not found: " + id));
-        return toDTO(task);
+    }
+
+    @Override
+    public TaskBatchResponseDTO getTasksByIds(List<Long> ids) {
+        List<Long> unique = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, TaskResponseDTO> found = findByIds(unique);
+
+        List<TaskResponseDTO> tasks = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : unique) {
+            TaskResponseDTO task = found.get(id);
+            if (task != null) {
+                tasks.add(task);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new TaskBatchResponseDTO(tasks, missing);
+    }
+
+    private Map<Long, TaskResponseDTO> findByIds(List<Long> unique) {
+        Map<Long, TaskResponseDTO> found = new HashMap<>();
+        if (snapshot.isServing()) {
+            found.putAll(snapshot.findByIds(unique));
+        }
+        List<Long> misses = unique.stream().filter(id -> !found.containsKey(id)).toList();
+        for (int from = 0; from < misses.size(); from += IN_LIST_SIZE) {
+            List<Long> chunk = misses.subList(from, Math.min(misses.size(), from + IN_LIST_SIZE));
+            guard.read(QueryType.FILTER, null, () -> limiter.execute(Priority.READ, () -> taskRepository.findAllById(chunk)))
+                .forEach(task -> found.put(task.getId(), toDTO(task)));
+        }
+        return found;
     }
 
     // Custom query implementations
     @Override
     public List<TaskResponseDTO> searchByTitle(String keyword) {
-        return taskRepository.findByTitleContainingIgnoreCase(keyword).stream().map(this::toDTO).toList();
+        return guard.read(QueryType.FILTER, key("title", keyword), () ->
+            toDTOs(limiter.execute(Priority.READ, () -> taskRepository.findByTitleContainingIgnoreCase(keyword))));
     }
 
     @Override
     public List<TaskResponseDTO> getByCompleted(boolean completed) {
-        return taskRepository.findByCompleted(completed).stream().map(this::toDTO).toList();
+        if (snapshot.isServing()) {
+            return snapshot.findByCompleted(completed);
+        }
+        return guard.read(QueryType.FILTER, key("completed", completed), () ->
+            toDTOs(limiter.execute(Priority.READ, () -> taskRepository.findByCompleted(completed))));
+    }
+
+    @Override
+    public List<TaskResponseDTO> getOverdue() {
+        return guard.read(QueryType.FILTER, key("overdue"), () ->
+            toDTOs(limiter.execute(Priority.READ, taskRepository::findByOverdueTrue).stream()
+                .sorted(Comparator.comparing(Task::getDueAt).thenComparing(Task::getId))
+                .toList()));
     }
 
     @Override
     public List<TaskResponseDTO> getByCreatedAfter(LocalDateTime timestamp) {
-        return taskRepository.findByCreatedAtAfter(timestamp).stream().map(this::toDTO).toList();
+        Optional<List<TaskResponseDTO>> recent = recentTasks.findCreatedAfter(timestamp);
+        if (recent.isPresent()) {
+            return recent.get();
+        }
+        if (snapshot.isServing()) {
+            return snapshot.findCreatedAfter(timestamp);
+        }
+        return guard.read(QueryType.FILTER, key("createdAfter", timestamp), () ->
+            toDTOs(limiter.execute(Priority.READ, () -> taskRepository.findByCreatedAtAfter(timestamp))));
     }
 
     @Override
     public List<TaskResponseDTO> searchByTitleAndCompleted(String keyword, boolean completed) {
-        return taskRepository.findByTitleContainingIgnoreCaseAndCompleted(keyword, completed).stream().map(this::toDTO).toList();
+        return searchByTitleAndCompleted(keyword, completed, null);
+    }
+
+    @Override
+    public List<TaskResponseDTO> searchByTitleAndCompleted(String keyword, boolean completed, Integer limit) {
+        return guard.read(QueryType.FILTER, key("titleAndCompleted", keyword, completed, limit), () -> toDTOs(scanPlanner.scan(
+            () -> taskRepository.findByTitleContainingIgnoreCaseAndCompleted(keyword, completed),
+            (fromId, toId, page) -> taskRepository.findByTitleContainingIgnoreCaseAndCompletedAndIdBetweenOrderByIdAsc(
+                keyword, completed, fromId, toId, page),
+            limit)));
     }
 
     @Override
     public List<TaskResponseDTO> search(String keyword, Boolean completed) {
-        return taskRepository.searchTasks(keyword, completed).stream().map(this::toDTO).toList();
+        return search(keyword, completed, null);
+    }
+
+    @Override
+    public List<TaskResponseDTO> search(String keyword, Boolean completed, Integer limit) {
+        return guard.read(QueryType.FILTER, key("search", keyword, completed, limit), () -> toDTOs(scanPlanner.scan(
+            () -> taskRepository.searchTasks(keyword, completed),
+            (fromId, toId, page) -> taskRepository.searchTasksInIdRange(keyword, completed, fromId, toId, page),
+            limit)));
+    }
+
+    @Override
+    public List<TaskResponseDTO> searchAfterId(String keyword, Boolean completed, long afterId, int limit) {
+        return guard.read(QueryType.FILTER, null, () -> toDTOs(limiter.execute(Priority.READ, () -> taskRepository.searchTasksInIdRange(
+            keyword, completed, afterId + 1, Long.MAX_VALUE, PageRequest.of(0, limit)))));
+    }
+
+    @Override
+    public List<TaskResponseDTO> filterByLabels(LabelFilter filter, Integer limit) {
+        int max = limit == null ? Integer.MAX_VALUE : limit;
+        if (labelIndex.isServing()) {
+            // The index may be behind the database; only rows that still match are returned, and the
+            // index is asked for more candidates until limit rows have been checked or it runs out
+            List<TaskResponseDTO> matching = new ArrayList<>();
+            long afterId = 0;
+            while (matching.size() < max) {
+                long[] ids = labelIndex.matchingIds(filter, afterId, max - matching.size());
+                if (ids.length == 0) {
+                    break;
+                }
+                List<Long> candidates = Arrays.stream(ids).boxed().toList();
+                Map<Long, TaskResponseDTO> found = findByIds(candidates);
+                candidates.stream().map(found::get)
+                    .filter(task -> task != null && filter.matches(task.labels(), task.completed()))
+                    .forEach(matching::add);
+                afterId = ids[ids.length - 1];
+            }
+            return matching;
+        }
+        return guard.read(QueryType.FILTER, key("labels", filter, limit), () -> toDTOs(limiter.execute(Priority.READ,
+                () -> taskRepository.findByLabels(filter.all(), filter.all().size(), filter.any(), filter.any().size(),
+                    filter.none(), filter.none().size(), filter.completed(),
+                    limit == null ? Pageable.unpaged() : PageRequest.of(0, limit)))));
+    }
+
+    @Override
+    public List<TaskResponseDTO> searchByTitle(String keyword, Integer limit, TaskSort sort) {
+        TaskSort order = sort == null ? TaskSort.ID : sort;
+        return guard.read(QueryType.FILTER, key("title", keyword, limit, order), () -> toDTOs(limiter.execute(
+            Priority.READ, () -> taskRepository.findByTitleContainingIgnoreCase(keyword, order.page(limit)))));
+    }
+
+    @Override
+    public List<TaskResponseDTO> getByCompleted(boolean completed, Integer limit, TaskSort sort) {
+        TaskSort order = sort == null ? TaskSort.ID : sort;
+        if (snapshot.isServing()) {
+            return snapshot.findByCompleted(completed, order.dtos(), max(limit));
+        }
+        return guard.read(QueryType.FILTER, key("completed", completed, limit, order), () -> toDTOs(limiter.execute(
+            Priority.READ, () -> taskRepository.findByCompleted(completed, order.page(limit)))));
+    }
+
+    @Override
+    public List<TaskResponseDTO> getOverdue(Integer limit, TaskSort sort) {
+        TaskSort order = sort == null ? TaskSort.DUE_AT : sort;
+        return guard.read(QueryType.FILTER, key("overdue", limit, order), () -> toDTOs(limiter.execute(
+            Priority.READ, () -> taskRepository.findByOverdueTrue(order.page(limit)))));
+    }
+
+    @Override
+    public List<TaskResponseDTO> getByCreatedAfter(LocalDateTime timestamp, Integer limit, TaskSort sort) {
+        TaskSort order = sort == null ? TaskSort.CREATED_AT : sort;
+        Optional<List<TaskResponseDTO>> recent = recentTasks.findCreatedAfter(timestamp, order.dtos(), max(limit));
+        if (recent.isPresent()) {
+            return recent.get();
+        }
+        if (snapshot.isServing()) {
+            return snapshot.findCreatedAfter(timestamp, order.dtos(), max(limit));
+        }
+        return guard.read(QueryType.FILTER, key("createdAfter", timestamp, limit, order), () -> toDTOs(limiter.execute(
+            Priority.READ, () -> taskRepository.findByCreatedAtAfter(timestamp, order.page(limit)))));
+    }
+
+    @Override
+    public List<TaskResponseDTO> searchByTitleAndCompleted(String keyword, boolean completed, Integer limit, TaskSort sort) {
+        if (sort == null) {
+            return searchByTitleAndCompleted(keyword, completed, limit);
+        }
+        return guard.read(QueryType.FILTER, key("titleAndCompleted", keyword, completed, limit, sort), () -> toDTOs(scanPlanner.scan(
+            page -> taskRepository.findByTitleContainingIgnoreCaseAndCompleted(keyword, completed, page),
+            (fromId, toId, page) -> taskRepository.findByTitleContainingIgnoreCaseAndCompletedAndIdBetween(
+                keyword, completed, fromId, toId, page),
+            limit, sort)));
+    }
+
+    @Override
+    public List<TaskResponseDTO> search(String keyword, Boolean completed, Integer limit, TaskSort sort) {
+        if (sort == null) {
+            return search(keyword, completed, limit);
+        }
+        return guard.read(QueryType.FILTER, key("search", keyword, completed, limit, sort), () -> toDTOs(scanPlanner.scan(
+            page -> taskRepository.searchTasks(keyword, completed, page),
+            (fromId, toId, page) -> taskRepository.searchTasksInIdRangeSorted(keyword, completed, fromId, toId, page),
+            limit, sort)));
+    }
+
+    @Override
+    public List<TaskResponseDTO> filterByLabels(LabelFilter filter, Integer limit, TaskSort sort) {
+        if (sort == null) {
+            return filterByLabels(filter, limit);
+        }
+        // The label index yields ids in id order, so any other order is left to the database
+        return guard.read(QueryType.FILTER, key("labels", filter, limit, sort), () -> toDTOs(limiter.execute(Priority.READ,
+            () -> taskRepository.findByLabelsSorted(filter.all(), filter.all().size(), filter.any(), filter.any().size(),
+                filter.none(), filter.none().size(), filter.completed(), sort.page(limit)))));
+    }
+
+    private static int max(Integer limit) {
+        return limit == null ? Integer.MAX_VALUE : limit;
+    }
+
+    @Override
+    public TaskCountResponseDTO count(Boolean completed, LocalDateTime createdAfter) {
+        if (snapshot.isServing()) {
+            return new TaskCountResponseDTO(snapshot.count(completed, createdAfter));
+        }
+        return new TaskCountResponseDTO(guard.read(QueryType.COUNT, key("count", completed, createdAfter), () ->
+            limiter.execute(Priority.READ, () -> taskRepository.countTasks(completed, createdAfter))));
+    }
+
+    // The fields of a create request that a retry must repeat, as normalized by newTask
+    private record CreateRequest(String owner, String title, String description, Set<String> labels,
+                                 LocalDateTime dueAt) {
+
+        static CreateRequest of(Task task) {
+            return new CreateRequest(task.getOwner(), task.getTitle(), task.getDescription(),
+                Set.copyOf(task.getLabels()), task.getDueAt());
+        }
     }
 }
@@ -0,0 +1,130 @@
+package com.example.taskapi.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent-hash ring over shard names.
+ *
+ * Each shard is placed at {@code virtualNodes} points on a 64-bit ring; a key belongs to the first
+ * point at or after its hash, wrapping around. Adding or removing a shard therefore only moves the
+ * arcs next to that shard's points, about 1/N of the keys, and virtual nodes keep the arcs small
+ * enough that load stays even.
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> members;
+    private final int virtualNodes;
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    public ConsistentHashRing(List<String> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A ring needs at least one shard");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.members = List.copyOf(members);
+        this.virtualNodes = virtualNodes;
+        for (String member : this.members) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                String previous = points.put(hash(member + "#" + replica), member);
+                if (previous != null && !previous.equals(member)) {
+                    throw new IllegalStateException("Hash collision between " + previous + " and " + member);
+                }
+            }
+        }
+    }
+
+    public String shardFor(String key) {
+        return shardAt(hash(key));
+    }
+
+    public List<String> members() {
+        return members;
+    }
+
+    public int virtualNodes() {
+        return virtualNodes;
+    }
+
+    public ConsistentHashRing withMembers(List<String> newMembers) {
+        return new ConsistentHashRing(newMembers, virtualNodes);
+    }
+
+    /**
+     * The arcs of the hash space whose shard differs between this ring and {@code target}.
+     */
+    public List<Move> movesTo(ConsistentHashRing target) {
+        TreeSet<Long> boundaries = new TreeSet<>(points.keySet());
+        boundaries.addAll(target.points.keySet());
+
+        // Between two consecutive boundaries both rings are constant, so each arc (previous, point]
+        // maps to the shard at "point" in either ring.
+        List<Move> moves = new ArrayList<>();
+        long previous = boundaries.last();
+        for (long point : boundaries) {
+            String from = shardAt(point);
+            String to = target.shardAt(point);
+            if (!from.equals(to)) {
+                moves.add(new Move(from, to, previous, point));
+            }
+            previous = point;
+        }
+        return moves;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so that keys
+     * differing only in their last characters still land far apart.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private String shardAt(long point) {
+        Map.Entry<Long, String> entry = points.ceilingEntry(point);
+        return entry != null ? entry.getValue() : points.firstEntry().getValue();
+    }
+
+    /**
+     * Keys hashing into the arc (startExclusive, endInclusive] move from {@code from} to {@code to};
+     * when startExclusive >= endInclusive the arc wraps around the end of the ring.
+     */
+    public record Move(String from, String to, long startExclusive, long endInclusive) {
+
+        private static final double RING_SIZE = Math.pow(2, 64);
+
+        public boolean contains(String key) {
+            long h = hash(key);
+            return startExclusive < endInclusive
+                ? h > startExclusive && h <= endInclusive
+                : h > startExclusive || h <= endInclusive;
+        }
+
+        /** Fraction of the whole hash space this arc covers. */
+        public double share() {
+            double width = unsigned(endInclusive - startExclusive);
+            return width == 0 ? 1.0 : width / RING_SIZE;
+        }
+
+        private static double unsigned(long value) {
+            return value >= 0 ? value : value + RING_SIZE;
+        }
+    }
+}
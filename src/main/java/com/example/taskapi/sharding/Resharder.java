@@ -0,0 +1,208 @@
+package com.example.taskapi.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Online resharding: moves the owners whose hash-ring arcs change between the live ring and a new
+ * member list, while the service keeps serving.
+ *
+ * 1. Copy: for every moving owner, copy its rows from the old shard to the new one in id order,
+ *    keeping their ids. Rows already present on the target are skipped, so a failed run can simply
+ *    be repeated.
+ * 2. Flip: switch the router to the new ring; new tasks for those owners now go to the new shard.
+ * 3. Catch up: copy rows written to the old shard between step 1 and the flip, twice, with a pause
+ *    in between for transactions that were still open during the flip.
+ * 4. Reconcile: re-copy rows that changed on the old shard after they were copied. The overdue
+ *    scheduler updates rows in place on every shard, so a task flagged while its copy was in
+ *    flight would otherwise lose the flag; rows are compared on updated_at and overdue.
+ * 5. Delete the copied rows from the old shard.
+ *
+ * Labels (task_labels rows) travel with their task in steps 1, 3 and 5.
+ *
+ * Until step 5 a moved row exists on both shards; list queries drop the duplicate and id lookups
+ * find either copy.
+ */
+public class Resharder {
+
+    private static final Logger logger = LoggerFactory.getLogger(Resharder.class);
+
+    private static final String COLUMNS =
+        "id, owner, title, description, completed, created_at, updated_at, due_at, overdue, idempotency_key";
+    private static final String INSERT = "INSERT INTO tasks (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE tasks SET owner = ?, title = ?, description = ?, completed = ?, "
+        + "created_at = ?, updated_at = ?, due_at = ?, overdue = ?, idempotency_key = ? WHERE id = ?";
+    private static final RowMapper<Object[]> ROW = (rs, i) -> new Object[] {
+        rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getBoolean(5), rs.getTimestamp(6),
+        rs.getTimestamp(7), rs.getTimestamp(8), rs.getBoolean(9), rs.getString(10)};
+
+    private final ShardRouter router;
+    private final JdbcTemplate jdbc;
+    private final int batchSize;
+    private final long settleMillis;
+
+    public Resharder(ShardRouter router, DataSource dataSource, int batchSize, long settleMillis) {
+        this.router = router;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.batchSize = batchSize;
+        this.settleMillis = settleMillis;
+    }
+
+    public synchronized Result reshard(List<String> newMembers) throws Exception {
+        ConsistentHashRing from = router.ring();
+        ConsistentHashRing to = from.withMembers(newMembers);
+        List<ConsistentHashRing.Move> moves = from.movesTo(to);
+        double movedShare = moves.stream().mapToDouble(ConsistentHashRing.Move::share).sum();
+        logger.info("Resharding {} -> {}: {} arcs, {}% of the key space",
+            from.members(), to.members(), moves.size(), String.format("%.1f", movedShare * 100));
+
+        List<OwnerMove> owners = movingOwners(from, to);
+        for (OwnerMove owner : owners) {
+            copy(owner);
+        }
+        router.useRing(to);
+        for (int pass = 0; pass < 2; pass++) {
+            Thread.sleep(settleMillis);
+            for (OwnerMove owner : owners) {
+                copy(owner);
+            }
+        }
+        for (OwnerMove owner : owners) {
+            reconcile(owner);
+        }
+        Map<String, Long> movedRows = new LinkedHashMap<>();
+        for (OwnerMove owner : owners) {
+            int deleted = router.callOn(owner.from(), () -> {
+                jdbc.update("DELETE FROM task_labels WHERE task_id IN "
+                    + "(SELECT id FROM tasks WHERE owner = ? AND id <= ?)", owner.owner(), owner.copiedUpTo);
+                return jdbc.update("DELETE FROM tasks WHERE owner = ? AND id <= ?", owner.owner(), owner.copiedUpTo);
+            });
+            movedRows.merge(owner.from() + "->" + owner.to(), (long) deleted, Long::sum);
+        }
+        logger.info("Resharding done: {}", movedRows);
+        return new Result(from.members(), to.members(), movedShare, owners.size(), movedRows);
+    }
+
+    private List<OwnerMove> movingOwners(ConsistentHashRing from, ConsistentHashRing to) throws Exception {
+        List<OwnerMove> owners = new ArrayList<>();
+        for (String shard : router.shards()) {
+            List<String> shardOwners = router.callOn(shard,
+                () -> jdbc.queryForList("SELECT DISTINCT owner FROM tasks", String.class));
+            for (String owner : shardOwners) {
+                String target = to.shardFor(owner);
+                if (!target.equals(shard)) {
+                    owners.add(new OwnerMove(owner, shard, target));
+                }
+            }
+        }
+        return owners;
+    }
+
+    private void copy(OwnerMove move) throws Exception {
+        while (true) {
+            long after = move.copiedUpTo;
+            List<Object[]> rows = router.callOn(move.from(), () -> jdbc.query(
+                "SELECT " + COLUMNS + " FROM tasks WHERE owner = ? AND id > ? ORDER BY id LIMIT " + batchSize, ROW,
+                move.owner(), after));
+            if (rows.isEmpty()) {
+                return;
+            }
+            move.copiedUpTo = (Long) rows.get(rows.size() - 1)[0];
+            Set<Long> present = new HashSet<>(router.callOn(move.to(), () -> jdbc.queryForList(
+                "SELECT id FROM tasks WHERE owner = ? AND id > ? AND id <= ?", Long.class,
+                move.owner(), after, move.copiedUpTo)));
+            rows.removeIf(row -> present.contains((Long) row[0]));
+            if (!rows.isEmpty()) {
+                List<Object[]> labels = router.callOn(move.from(), () -> jdbc.query(
+                    "SELECT l.task_id, l.label FROM task_labels l JOIN tasks t ON t.id = l.task_id "
+                        + "WHERE t.owner = ? AND t.id > ? AND t.id <= ?",
+                    (rs, i) -> new Object[] {rs.getLong(1), rs.getString(2)},
+                    move.owner(), after, move.copiedUpTo));
+                labels.removeIf(label -> present.contains((Long) label[0]));
+                router.callOn(move.to(), () -> {
+                    jdbc.batchUpdate(INSERT, rows);
+                    return jdbc.batchUpdate("INSERT INTO task_labels (task_id, label) VALUES (?, ?)", labels);
+                });
+            }
+        }
+    }
+
+    private void reconcile(OwnerMove move) throws Exception {
+        long after = 0;
+        while (after < move.copiedUpTo) {
+            long from = after;
+            List<Object[]> rows = router.callOn(move.from(), () -> jdbc.query(
+                "SELECT " + COLUMNS + " FROM tasks WHERE owner = ? AND id > ? AND id <= ? ORDER BY id LIMIT " + batchSize,
+                ROW, move.owner(), from, move.copiedUpTo));
+            if (rows.isEmpty()) {
+                return;
+            }
+            after = (Long) rows.get(rows.size() - 1)[0];
+            long upTo = after;
+            Map<Long, Object[]> copied = new HashMap<>();
+            for (Object[] target : router.callOn(move.to(), () -> jdbc.query(
+                    "SELECT id, updated_at, overdue FROM tasks WHERE owner = ? AND id > ? AND id <= ?",
+                    (rs, i) -> new Object[] {rs.getLong(1), rs.getTimestamp(2), rs.getBoolean(3)},
+                    move.owner(), from, upTo))) {
+                copied.put((Long) target[0], target);
+            }
+            List<Object[]> changed = new ArrayList<>();
+            for (Object[] row : rows) {
+                Object[] target = copied.get((Long) row[0]);
+                if (target != null && (!Objects.equals(target[1], row[6]) || !target[2].equals(row[8]))) {
+                    Object[] update = new Object[row.length];
+                    System.arraycopy(row, 1, update, 0, row.length - 1);
+                    update[row.length - 1] = row[0];
+                    changed.add(update);
+                }
+            }
+            if (!changed.isEmpty()) {
+                router.callOn(move.to(), () -> jdbc.batchUpdate(UPDATE, changed));
+            }
+        }
+    }
+
+    private static final class OwnerMove {
+
+        private final String owner;
+        private final String from;
+        private final String to;
+        private long copiedUpTo;
+
+        OwnerMove(String owner, String from, String to) {
+            this.owner = owner;
+            this.from = from;
+            this.to = to;
+        }
+
+        String owner() {
+            return owner;
+        }
+
+        String from() {
+            return from;
+        }
+
+        String to() {
+            return to;
+        }
+    }
+
+    /**
+     * @param movedRows rows deleted from each old shard, keyed "from->to"
+     */
+    public record Result(List<String> fromMembers, List<String> toMembers, double movedKeySpace,
+                         int movedOwners, Map<String, Long> movedRows) {}
+}
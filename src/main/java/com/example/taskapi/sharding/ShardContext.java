@@ -0,0 +1,32 @@
+package com.example.taskapi.sharding;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The shard the current thread's next connection should come from; read by ShardRoutingDataSource.
+ * No shard set means the default (first configured) shard.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {}
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callOn(String shard, Callable<T> call) throws Exception {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return call.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
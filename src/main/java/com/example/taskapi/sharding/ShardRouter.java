@@ -0,0 +1,110 @@
+package com.example.taskapi.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Knows the configured shards, the live hash ring, and runs calls on one or all shards.
+ *
+ * Task ids are interleaved across shards: shard number i (0-based, in configuration order) generates
+ * ids congruent to i + 1 modulo {@link #ID_INTERLEAVE}, so an id names the shard it was created on.
+ * Rows keep their id when resharding moves them, so the id is only a hint and lookups fall back to
+ * asking every shard.
+ */
+public class ShardRouter implements AutoCloseable {
+
+    /** Upper bound on the number of shards; ids advance by this much per insert on each shard. */
+    public static final int ID_INTERLEAVE = 64;
+
+    private final List<String> shards;
+    private final ExecutorService executor;
+    private volatile ConsistentHashRing ring;
+
+    public ShardRouter(List<String> shards, ConsistentHashRing ring, ExecutorService executor) {
+        if (shards.size() > ID_INTERLEAVE) {
+            throw new IllegalArgumentException("At most " + ID_INTERLEAVE + " shards are supported");
+        }
+        if (!shards.containsAll(ring.members())) {
+            throw new IllegalArgumentException("Ring members " + ring.members() + " must be configured shards " + shards);
+        }
+        this.shards = List.copyOf(shards);
+        this.ring = ring;
+        this.executor = executor;
+    }
+
+    /** All configured shards, including ones not (or no longer) on the ring. */
+    public List<String> shards() {
+        return shards;
+    }
+
+    public ConsistentHashRing ring() {
+        return ring;
+    }
+
+    /** Switches routing of new writes to {@code newRing}; existing rows are moved by the Resharder. */
+    public void useRing(ConsistentHashRing newRing) {
+        if (!shards.containsAll(newRing.members())) {
+            throw new IllegalArgumentException("Unknown shard in " + newRing.members());
+        }
+        this.ring = newRing;
+    }
+
+    public String shardForOwner(String owner) {
+        return ring.shardFor(owner);
+    }
+
+    public int indexOf(String shard) {
+        int index = shards.indexOf(shard);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown shard " + shard);
+        }
+        return index;
+    }
+
+    /**
+     * @return the shard that generated this id, or null if the id is outside every shard's sequence
+     */
+    public String homeShardOf(long id) {
+        int index = (int) Math.floorMod(id - 1, (long) ID_INTERLEAVE);
+        return index < shards.size() ? shards.get(index) : null;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    public <T> T callOn(String shard, Callable<T> call) throws Exception {
+        return ShardContext.callOn(shard, call);
+    }
+
+    /**
+     * Runs {@code call} once per shard in parallel and returns the results in shard order.
+     * The first failure cancels the remaining calls and is rethrown.
+     */
+    public <T> List<T> scatter(List<String> targets, Callable<T> call) throws Exception {
+        List<Future<T>> futures = new ArrayList<>(targets.size());
+        for (String shard : targets) {
+            futures.add(executor.submit(() -> ShardContext.callOn(shard, call)));
+        }
+        List<T> results = new ArrayList<>(targets.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw (Exception) cause;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.taskapi.sharding;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.sorting.TaskSort;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * First advice on the TaskRepository proxy when sharding is enabled; decides which shard(s) each
+ * repository method runs on, then lets the rest of the chain (transaction, query execution) proceed
+ * there.
+ *
+ * - save / saveAndFlush / saveAll / saveAllAndFlush: the owner's shard on the hash ring.
+ * - findById / existsById: the shard encoded in the id first, then all others in parallel.
+ * - everything else runs on every shard in parallel, the results combined by return type:
+ *   - lists of tasks (findAll, findBy..., searchTasks) are k-way merged and duplicates left behind
+ *     by an in-progress reshard are dropped. The order is that of a Pageable or Sort argument
+ *     (TaskSort's, so unsorted means by id), and (createdAt, id) without one. A paged call gets at
+ *     most the page size back, as from a single database. Other lists (projections such as
+ *     findIdBounds) are concatenated in shard order.
+ *   - numbers (counts, updated row counts such as markOverdue's) are summed; booleans are or-ed;
+ *     an Optional is the first one present; void methods (deletes) simply run everywhere.
+ *
+ * Other return types (Page, Stream, a bare entity) cannot be combined; {@link #checkRoutable} rejects
+ * them at startup when they are declared in the application's repository interfaces.
+ *
+ * A call that arrives while the thread already has transactional resources bound (open-in-view, or an
+ * outer transaction) runs on a shard worker instead, because a bound EntityManager would keep
+ * using the connection it already holds whatever the shard.
+ */
+public class ShardRoutingInterceptor implements MethodInterceptor {
+
+    static final Comparator<Task> CREATED_AT_THEN_ID = Comparator
+        .comparing(Task::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Task::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private enum Route { OWNER, SAVE_ALL, BY_ID, EVERY_SHARD, SUM, ANY, FIRST_PRESENT, MERGE, UNSUPPORTED }
+
+    private final ShardRouter router;
+    private final Map<Method, Route> routes = new ConcurrentHashMap<>();
+
+    public ShardRoutingInterceptor(ShardRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (ShardContext.current() != null || invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        Method method = invocation.getMethod();
+        Object[] args = invocation.getArguments();
+
+        return switch (routes.computeIfAbsent(method, ShardRoutingInterceptor::route)) {
+            case OWNER -> onShard(router.shardForOwner(((Task) args[0]).getOwner()), invocation);
+            case SAVE_ALL -> saveAll(invocation, (Iterable<?>) args[0]);
+            case BY_ID -> byId(invocation, (Long) args[0], method.getReturnType() == Optional.class
+                ? result -> ((Optional<?>) result).isPresent()
+                : result -> (Boolean) result);
+            case EVERY_SHARD -> {
+                everyShard(invocation);
+                yield null;
+            }
+            case SUM -> sum(everyShard(invocation), method.getReturnType());
+            case ANY -> everyShard(invocation).stream().anyMatch(result -> (Boolean) result);
+            case FIRST_PRESENT -> everyShard(invocation).stream().map(result -> (Optional<?>) result)
+                .filter(Optional::isPresent).findFirst().orElse(Optional.empty());
+            case MERGE -> merge(everyShard(invocation), args);
+            case UNSUPPORTED -> throw new UnsupportedOperationException(unsupported(method));
+        };
+    }
+
+    /**
+     * Fails if a method declared in {@code repositoryInterface} (or one of the application's interfaces
+     * it extends) returns a type whose per-shard results cannot be combined.
+     */
+    public static void checkRoutable(Class<?> repositoryInterface) {
+        for (Method method : repositoryInterface.getMethods()) {
+            if (!method.getDeclaringClass().getName().startsWith("org.springframework.")
+                    && route(method) == Route.UNSUPPORTED) {
+                throw new IllegalStateException(unsupported(method));
+            }
+        }
+    }
+
+    private static Route route(Method method) {
+        String name = method.getName();
+        Class<?> type = method.getReturnType();
+        if (name.equals("save") || name.equals("saveAndFlush")) {
+            return Route.OWNER;
+        }
+        if (name.equals("saveAll") || name.equals("saveAllAndFlush")) {
+            return Route.SAVE_ALL;
+        }
+        if (name.equals("findById") || name.equals("existsById")) {
+            return Route.BY_ID;
+        }
+        if (type == void.class) {
+            return Route.EVERY_SHARD;
+        }
+        if (type == long.class || type == Long.class || type == int.class || type == Integer.class) {
+            return Route.SUM;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return Route.ANY;
+        }
+        if (type == Optional.class) {
+            return Route.FIRST_PRESENT;
+        }
+        // Spring Data returns lists for Iterable and Collection too (covariant overrides leave such bridges)
+        if (List.class.isAssignableFrom(type) || type == Iterable.class || type == Collection.class) {
+            return Route.MERGE;
+        }
+        return Route.UNSUPPORTED;
+    }
+
+    private static String unsupported(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName() + " returns "
+            + method.getReturnType().getSimpleName() + ", which cannot be combined across shards";
+    }
+
+    private static Object sum(List<Object> perShard, Class<?> type) {
+        long total = perShard.stream().mapToLong(result -> ((Number) result).longValue()).sum();
+        return type == int.class || type == Integer.class ? (Object) Math.toIntExact(total) : (Object) total;
+    }
+
+    private Object saveAll(MethodInvocation invocation, Iterable<?> tasks) throws Throwable {
+        Map<String, List<Object>> byShard = new LinkedHashMap<>();
+        for (Object task : tasks) {
+            byShard.computeIfAbsent(router.shardForOwner(((Task) task).getOwner()), shard -> new ArrayList<>()).add(task);
+        }
+        List<Object> saved = new ArrayList<>();
+        for (Map.Entry<String, List<Object>> entry : byShard.entrySet()) {
+            MethodInvocation perShard = ((ProxyMethodInvocation) invocation).invocableClone(entry.getValue());
+            saved.addAll((List<?>) onShard(entry.getKey(), perShard));
+        }
+        return saved;
+    }
+
+    private Object byId(MethodInvocation invocation, Long id, Predicate<Object> found) throws Throwable {
+        String home = id == null ? null : router.homeShardOf(id);
+        Object result = null;
+        if (home != null) {
+            result = onShard(home, invocation);
+            if (found.test(result)) {
+                return result;
+            }
+        }
+        List<String> others = new ArrayList<>(router.shards());
+        others.remove(home);
+        if (others.isEmpty()) {
+            return result;
+        }
+        List<Object> results = router.scatter(others, proceedClone(invocation));
+        return results.stream().filter(found).findFirst().orElse(results.get(0));
+    }
+
+    private Object onShard(String shard, MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.getResourceMap().isEmpty()) {
+            return router.callOn(shard, proceedClone(invocation));
+        }
+        return router.scatter(List.of(shard), proceedClone(invocation)).get(0);
+    }
+
+    private List<Object> everyShard(MethodInvocation invocation) throws Exception {
+        return router.scatter(router.shards(), proceedClone(invocation));
+    }
+
+    private static Callable<Object> proceedClone(MethodInvocation invocation) {
+        return () -> {
+            try {
+                return ((ProxyMethodInvocation) invocation).invocableClone().proceed();
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        };
+    }
+
+    /**
+     * K-way merge of the per-shard lists in the order the call asks for; each list is sorted first,
+     * since a query without ORDER BY returns its rows in no particular order.
+     */
+    static List<?> merge(List<Object> perShard, Object[] args) {
+        if (perShard.stream().flatMap(result -> ((List<?>) result).stream()).anyMatch(row -> !(row instanceof Task))) {
+            return perShard.stream().flatMap(result -> ((List<?>) result).stream()).toList();
+        }
+        Comparator<Task> order = CREATED_AT_THEN_ID;
+        int limit = Integer.MAX_VALUE;
+        for (Object arg : args) {
+            if (arg instanceof Pageable page) {
+                if (page.isPaged()) {
+                    if (page.getOffset() != 0) {
+                        throw new UnsupportedOperationException("Only a first page can be combined across shards");
+                    }
+                    limit = page.getPageSize();
+                }
+                order = TaskSort.tasks(page.getSort());
+            } else if (arg instanceof Sort sort) {
+                order = TaskSort.tasks(sort);
+            }
+        }
+        Comparator<Task> byOrder = order;
+        PriorityQueue<Cursor> heads = new PriorityQueue<>((a, b) -> byOrder.compare(a.head(), b.head()));
+        int total = 0;
+        for (Object result : perShard) {
+            @SuppressWarnings("unchecked")
+            List<Task> tasks = new ArrayList<>((List<Task>) result);
+            tasks.sort(order);
+            total += tasks.size();
+            if (!tasks.isEmpty()) {
+                heads.add(new Cursor(tasks));
+            }
+        }
+        List<Task> merged = new ArrayList<>(Math.min(total, limit));
+        Set<Long> seen = new HashSet<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Cursor cursor = heads.poll();
+            Task task = cursor.head();
+            if (task.getId() == null || seen.add(task.getId())) {
+                merged.add(task);
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static final class Cursor {
+
+        private final List<Task> tasks;
+        private int position;
+
+        Cursor(List<Task> tasks) {
+            this.tasks = tasks;
+        }
+
+        Task head() {
+            return tasks.get(position);
+        }
+
+        boolean advance() {
+            return ++position < tasks.size();
+        }
+    }
+}
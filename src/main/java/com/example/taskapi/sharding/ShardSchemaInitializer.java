@@ -0,0 +1,92 @@
+package com.example.taskapi.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.tool.schema.spi.SchemaManagementException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Prepares every shard before the server starts taking requests:
+ *  - optionally creates the tasks table on shards other than the first (Hibernate's ddl-auto only
+ *    ever sees the default shard);
+ *  - on H2, switches the id column to the shard's interleaved sequence (see ShardRouter). MySQL
+ *    shards get the same effect from auto_increment_increment/offset, set per connection by
+ *    ShardingConfig.
+ */
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private final ShardRouter router;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbc;
+    private final boolean createSchema;
+
+    public ShardSchemaInitializer(ShardRouter router, EntityManagerFactory entityManagerFactory,
+                                  DataSource dataSource, boolean createSchema) {
+        this.router = router;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.createSchema = createSchema;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            for (String shard : router.shards()) {
+                int index = router.indexOf(shard);
+                router.callOn(shard, () -> {
+                    if (createSchema && index > 0) {
+                        createTables(shard);
+                    }
+                    interleaveIds(shard, index);
+                    return null;
+                });
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not prepare shards", e);
+        }
+    }
+
+    private void createTables(String shard) {
+        var schemaManager = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getSchemaManager();
+        try {
+            schemaManager.validateMappedObjects();
+        } catch (SchemaManagementException missing) {
+            logger.info("Creating tables on shard {}", shard);
+            schemaManager.exportMappedObjects(true);
+        }
+    }
+
+    private void interleaveIds(String shard, int index) {
+        String product = jdbc.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"H2".equals(product)) {
+            return;
+        }
+        Integer increment = jdbc.queryForObject(
+            "SELECT IDENTITY_INCREMENT FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME = 'TASKS' AND COLUMN_NAME = 'ID'", Integer.class);
+        if (increment != null && increment == ShardRouter.ID_INTERLEAVE) {
+            return;
+        }
+        long max = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tasks", Long.class);
+        long next = nextInSequence(max, index);
+        jdbc.execute("ALTER TABLE tasks ALTER COLUMN id RESTART WITH " + next
+            + " SET INCREMENT BY " + ShardRouter.ID_INTERLEAVE);
+        logger.info("Shard {} generates ids {} + {}k", shard, next, ShardRouter.ID_INTERLEAVE);
+    }
+
+    /** Smallest id above {@code max} that is congruent to index + 1 modulo the interleave. */
+    static long nextInSequence(long max, int index) {
+        long offset = index + 1;
+        long steps = Math.floorDiv(max - offset, ShardRouter.ID_INTERLEAVE) + 1;
+        return offset + Math.max(0, steps) * ShardRouter.ID_INTERLEAVE;
+    }
+}
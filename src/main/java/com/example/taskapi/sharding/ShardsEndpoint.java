@@ -0,0 +1,49 @@
+package com.example.taskapi.sharding;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/shards}: GET shows the ring and the row count per shard; POST with
+ * {@code {"members": "shard0,shard1,shard2"}} reshards online to that member list.
+ */
+@Endpoint(id = "shards")
+public class ShardsEndpoint {
+
+    private final ShardRouter router;
+    private final Resharder resharder;
+    private final JdbcTemplate jdbc;
+
+    public ShardsEndpoint(ShardRouter router, Resharder resharder, DataSource dataSource) {
+        this.router = router;
+        this.resharder = resharder;
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @ReadOperation
+    public Map<String, Object> shards() throws Exception {
+        Map<String, Long> rows = new LinkedHashMap<>();
+        for (String shard : router.shards()) {
+            rows.put(shard, router.callOn(shard, () -> jdbc.queryForObject("SELECT COUNT(*) FROM tasks", Long.class)));
+        }
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("ring", router.ring().members());
+        view.put("virtualNodes", router.ring().virtualNodes());
+        view.put("rows", rows);
+        return view;
+    }
+
+    @WriteOperation
+    public Resharder.Result reshard(String members) throws Exception {
+        List<String> newMembers = Arrays.stream(members.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+        return resharder.reshard(newMembers);
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.taskapi.snapshot;
+
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.sharding.ShardContext;
+import com.example.taskapi.sorting.TopK;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory columnar read model of the tasks table for the analytical filters (completed, created
+ * after) and counts, answered by scanning primitive columns instead of querying the database.
+ *
+ * The snapshot is loaded in full from the database and then kept current by TaskServiceImpl, which
+ * appends every task it creates, and by OverdueScheduler, which passes on the tasks it flags. Writes
+ * that bypass the service (another instance, a manual insert, a reshard) show up at the next rebuild.
+ * Until the first load completes, {@link #isServing()} is false and callers use the database.
+ *
+ * A rebuild loads into fresh columns while the current ones keep serving. Tasks created and flagged
+ * meanwhile are also queued; the tasks the load missed are appended and the flags applied again
+ * before the fresh columns replace the old.
+ */
+public class ColumnarTaskSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarTaskSnapshot.class);
+
+    // One row per label (or one with a null label), grouped back into tasks by id while loading
+    private static final String SELECT_ALL =
+        "SELECT t.id, t.owner, t.title, t.description, t.completed, t.created_at, t.due_at, t.overdue, l.label "
+            + "FROM tasks t LEFT JOIN task_labels l ON l.task_id = t.id ORDER BY t.id";
+
+    private final JdbcTemplate jdbc;
+    private final List<String> shards;
+
+    private final Object rebuildLock = new Object();
+    private final Object writeLock = new Object();
+    private volatile TaskColumns columns;
+    // Guarded by writeLock; non-null while a rebuild is loading
+    private List<Task> pending;
+    private List<OverdueMark> pendingMarks;
+
+    private record OverdueMark(Collection<Long> ids, LocalDateTime now) {}
+
+    /**
+     * @param shards shards to load from, or empty for an unsharded DataSource
+     */
+    public ColumnarTaskSnapshot(DataSource dataSource, List<String> shards) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(1_000);
+        this.shards = List.copyOf(shards);
+    }
+
+    private ColumnarTaskSnapshot() {
+        this.jdbc = null;
+        this.shards = List.of();
+    }
+
+    /**
+     * A snapshot that is never loaded, so every query goes to the database.
+     */
+    public static ColumnarTaskSnapshot disabled() {
+        return new ColumnarTaskSnapshot();
+    }
+
+    public boolean isServing() {
+        return columns != null;
+    }
+
+    public int size() {
+        TaskColumns current = columns;
+        return current == null ? 0 : current.size();
+    }
+
+    /**
+     * Records a task that has just been committed.
+     */
+    public void append(Task task) {
+        if (jdbc == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            TaskColumns current = columns;
+            if (current != null) {
+                appendTo(current, task);
+            }
+            if (pending != null) {
+                pending.add(task);
+            }
+        }
+    }
+
+    /**
+     * Flags the given tasks overdue, as OverdueScheduler has just done in the database. Only tasks
+     * open and due by {@code now} are flagged, as in the UPDATE.
+     */
+    public void markOverdue(Collection<Long> ids, LocalDateTime now) {
+        if (jdbc == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            TaskColumns current = columns;
+            if (current != null) {
+                current.markOverdue(ids, now);
+            }
+            if (pendingMarks != null) {
+                pendingMarks.add(new OverdueMark(ids, now));
+            }
+        }
+    }
+
+    /**
+     * Reloads every row from the database and swaps the result in. Concurrent calls run one at a time.
+     */
+    public void rebuild() {
+        if (jdbc == null) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            synchronized (writeLock) {
+                pending = new ArrayList<>();
+                pendingMarks = new ArrayList<>();
+            }
+            TaskColumns fresh = new TaskColumns();
+            try {
+                load(fresh);
+            } catch (Exception e) {
+                synchronized (writeLock) {
+                    pending = null;
+                    pendingMarks = null;
+                }
+                throw new IllegalStateException("Could not load the task snapshot", e);
+            }
+            synchronized (writeLock) {
+                catchUp(fresh, pending);
+                pendingMarks.forEach(mark -> fresh.markOverdue(mark.ids(), mark.now()));
+                pending = null;
+                pendingMarks = null;
+                columns = fresh;
+            }
+            logger.info("Task snapshot loaded: {} rows, {} distinct titles in {} ms",
+                fresh.size(), fresh.distinctTitles(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * The snapshot's copy of the tasks with the given ids, keyed by id. An id left out may still exist
+     * in the database (created by another instance since the last rebuild), so callers look it up there.
+     */
+    public Map<Long, TaskResponseDTO> findByIds(Collection<Long> ids) {
+        return serving().findByIds(ids);
+    }
+
+    public List<TaskResponseDTO> findByCompleted(boolean completed) {
+        return serving().findByCompleted(completed);
+    }
+
+    public List<TaskResponseDTO> findCreatedAfter(LocalDateTime timestamp) {
+        return serving().findCreatedAfter(timestamp);
+    }
+
+    /**
+     * The first {@code limit} matching tasks in {@code order}. Rows are picked out during the scan, so
+     * no more than {@code limit} are held at a time.
+     */
+    public List<TaskResponseDTO> findByCompleted(boolean completed, Comparator<TaskResponseDTO> order, int limit) {
+        TopK<TaskResponseDTO> top = new TopK<>(order, limit);
+        serving().findByCompleted(completed, top::offer);
+        return top.toList();
+    }
+
+    public List<TaskResponseDTO> findCreatedAfter(LocalDateTime timestamp, Comparator<TaskResponseDTO> order, int limit) {
+        TopK<TaskResponseDTO> top = new TopK<>(order, limit);
+        serving().findCreatedAfter(timestamp, top::offer);
+        return top.toList();
+    }
+
+    /**
+     * @param completed    null for either
+     * @param createdAfter null for any time
+     */
+    public long count(Boolean completed, LocalDateTime createdAfter) {
+        return serving().count(completed, createdAfter);
+    }
+
+    private TaskColumns serving() {
+        TaskColumns current = columns;
+        if (current == null) {
+            throw new IllegalStateException("Task snapshot is not loaded yet");
+        }
+        return current;
+    }
+
+    private void load(TaskColumns into) throws Exception {
+        if (shards.isEmpty()) {
+            loadShard(into);
+            return;
+        }
+        for (String shard : shards) {
+            ShardContext.callOn(shard, () -> {
+                loadShard(into);
+                return null;
+            });
+        }
+    }
+
+    private void loadShard(TaskColumns into) {
+        Task current = new Task();
+        jdbc.query(SELECT_ALL, (RowCallbackHandler) rs -> {
+            long id = rs.getLong(1);
+            if (current.getId() == null || current.getId() != id) {
+                if (current.getId() != null) {
+                    appendTo(into, current);
+                }
+                current.setId(id);
+                current.setOwner(rs.getString(2));
+                current.setTitle(rs.getString(3));
+                current.setDescription(rs.getString(4));
+                current.setCompleted(rs.getBoolean(5));
+                current.setCreatedAt(rs.getObject(6, LocalDateTime.class));
+                current.setDueAt(rs.getObject(7, LocalDateTime.class));
+                current.setOverdue(rs.getBoolean(8));
+                current.setLabels(new HashSet<>());
+            }
+            String label = rs.getString(9);
+            if (label != null) {
+                current.getLabels().add(label);
+            }
+        });
+        if (current.getId() != null) {
+            appendTo(into, current);
+        }
+    }
+
+    // Appends the queued tasks that committed too late for the load to see
+    private static void catchUp(TaskColumns fresh, List<Task> queued) {
+        if (queued.isEmpty()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>();
+        queued.forEach(task -> missing.add(task.getId()));
+        fresh.forEachId(missing::remove);
+        for (Task task : queued) {
+            if (missing.remove(task.getId())) {
+                appendTo(fresh, task);
+            }
+        }
+    }
+
+    private static void appendTo(TaskColumns columns, Task task) {
+        columns.append(task.getId(), task.getOwner(), task.getTitle(), task.getDescription(),
+            task.isCompleted(), task.getCreatedAt(), task.getLabels(), task.getDueAt(), task.isOverdue());
+    }
+}
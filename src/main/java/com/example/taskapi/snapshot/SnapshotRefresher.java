@@ -0,0 +1,51 @@
+package com.example.taskapi.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the snapshot in the background once the application is ready, so startup does not wait for a
+ * full table read, and reloads it every {@code interval} to pick up writes made outside this instance.
+ * A failed load is logged and retried at the next interval; the previous snapshot keeps serving.
+ */
+public class SnapshotRefresher implements ApplicationListener<ApplicationReadyEvent>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotRefresher.class);
+
+    private final ColumnarTaskSnapshot snapshot;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("task-snapshot-"));
+
+    public SnapshotRefresher(ColumnarTaskSnapshot snapshot, Duration interval) {
+        this.snapshot = snapshot;
+        this.interval = interval;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void refresh() {
+        try {
+            snapshot.rebuild();
+        } catch (RuntimeException e) {
+            logger.warn("Task snapshot refresh failed, {}", snapshot.isServing()
+                ? "still serving the previous one" : "queries keep using the database", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.taskapi.snapshot;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for a string column: each distinct value is stored once and rows keep an int code.
+ *
+ * Single writer (appends happen under the snapshot's lock), any number of readers. A reader only
+ * decodes codes it read from rows published through {@link TaskColumns}'s volatile size, and the
+ * value array is replaced before that size is written, so it always covers those codes.
+ */
+final class StringDictionary {
+
+    /** Code for null. */
+    static final int NULL = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private volatile String[] values = new String[64];
+
+    int encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = codes.size();
+            String[] current = values;
+            if (code == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[code] = value;
+            values = current;
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    String decode(int code) {
+        return code == NULL ? null : values[code];
+    }
+
+    int size() {
+        return codes.size();
+    }
+}
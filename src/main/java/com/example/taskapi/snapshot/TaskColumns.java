@@ -0,0 +1,325 @@
+package com.example.taskapi.snapshot;
+
+import com.example.taskapi.dto.TaskResponseDTO;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Column-per-field copy of the tasks table, stored in fixed-size segments of primitive arrays.
+ *
+ * Rows are append-only apart from the overdue flag. The single writer fills a row's slots and then
+ * bumps the volatile size; readers read the size once and scan only rows below it, so they never see
+ * a half-written row and never need a lock. Growing adds a segment instead of copying the existing
+ * columns. Flagging a row overdue rewrites the size after setting the bit, so readers that start
+ * afterwards see the flag.
+ *
+ * While every row has a higher id than the one before (a single-database load plus creates), rows
+ * are in id order and an id is found by binary search; after the first out-of-order append lookups
+ * by id fall back to a scan.
+ *
+ * createdAt and dueAt are kept as microseconds since the epoch (UTC), the precision of the timestamp(6) column,
+ * so rows read back from the snapshot compare equal to rows read from the database.
+ */
+final class TaskColumns {
+
+    static final int SEGMENT_BITS = 16;
+    static final int SEGMENT_ROWS = 1 << SEGMENT_BITS;
+
+    /** createdAt of rows whose timestamp is null; never "after" anything. */
+    static final long NO_TIME = Long.MIN_VALUE;
+
+    private final StringDictionary owners = new StringDictionary();
+    private final StringDictionary titles = new StringDictionary();
+    private final StringDictionary labels = new StringDictionary();
+    private volatile Segment[] segments = new Segment[0];
+    private volatile int size;
+    // Only ever goes from true to false, always before the size that exposes the offending row
+    private volatile boolean idOrdered = true;
+
+    private static final class Segment {
+        final long[] ids = new long[SEGMENT_ROWS];
+        final long[] createdAt = new long[SEGMENT_ROWS];
+        final BitSet completed = new BitSet(SEGMENT_ROWS);
+        final int[] owners = new int[SEGMENT_ROWS];
+        final int[] titles = new int[SEGMENT_ROWS];
+        final String[] descriptions = new String[SEGMENT_ROWS];
+        // Label codes per row, in label order; most rows share NO_LABELS
+        final int[][] labels = new int[SEGMENT_ROWS][];
+        final long[] dueAt = new long[SEGMENT_ROWS];
+        final BitSet overdue = new BitSet(SEGMENT_ROWS);
+    }
+
+    private static final int[] NO_LABELS = new int[0];
+
+    /**
+     * Writer only; callers serialize appends.
+     */
+    void append(long id, String owner, String title, String description, boolean completed, LocalDateTime createdAt,
+                Collection<String> taskLabels, LocalDateTime dueAt, boolean overdue) {
+        int row = size;
+        Segment[] current = segments;
+        if (row >>> SEGMENT_BITS == current.length) {
+            current = Arrays.copyOf(current, current.length + 1);
+            current[current.length - 1] = new Segment();
+            segments = current;
+        }
+        Segment segment = current[row >>> SEGMENT_BITS];
+        int slot = row & (SEGMENT_ROWS - 1);
+        segment.ids[slot] = id;
+        segment.createdAt[slot] = toMicros(createdAt);
+        if (completed) {
+            segment.completed.set(slot);
+        }
+        segment.owners[slot] = owners.encode(owner);
+        segment.titles[slot] = titles.encode(title);
+        segment.descriptions[slot] = description;
+        segment.labels[slot] = taskLabels.isEmpty() ? NO_LABELS
+            : taskLabels.stream().sorted().mapToInt(labels::encode).toArray();
+        segment.dueAt[slot] = toMicros(dueAt);
+        if (overdue) {
+            segment.overdue.set(slot);
+        }
+        if (idOrdered && row > 0 && id <= idAt(current, row - 1)) {
+            idOrdered = false;
+        }
+        size = row + 1;
+    }
+
+    /**
+     * Writer only. Flags the rows with the given ids that are open and due by {@code now}, the rows
+     * the database UPDATE flags.
+     */
+    void markOverdue(Collection<Long> ids, LocalDateTime now) {
+        int rows = size;
+        Segment[] current = segments;
+        long nowMicros = toMicros(now);
+        if (idOrdered) {
+            for (Long id : ids) {
+                int row = binarySearch(current, rows, id);
+                if (row >= 0) {
+                    markOverdue(current[row >>> SEGMENT_BITS], row & (SEGMENT_ROWS - 1), nowMicros);
+                }
+            }
+        } else {
+            Set<Long> wanted = new HashSet<>(ids);
+            for (int row = 0; row < rows; row++) {
+                if (wanted.contains(idAt(current, row))) {
+                    markOverdue(current[row >>> SEGMENT_BITS], row & (SEGMENT_ROWS - 1), nowMicros);
+                }
+            }
+        }
+        size = rows;
+    }
+
+    private static void markOverdue(Segment segment, int slot, long nowMicros) {
+        long dueAt = segment.dueAt[slot];
+        if (!segment.completed.get(slot) && dueAt != NO_TIME && dueAt <= nowMicros) {
+            segment.overdue.set(slot);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int distinctTitles() {
+        return titles.size();
+    }
+
+    void forEachId(LongConsumer action) {
+        int rows = size;
+        Segment[] current = segments;
+        for (int row = 0; row < rows; row++) {
+            action.accept(current[row >>> SEGMENT_BITS].ids[row & (SEGMENT_ROWS - 1)]);
+        }
+    }
+
+    /**
+     * The rows with the given ids, keyed by id; ids with no row are left out.
+     */
+    Map<Long, TaskResponseDTO> findByIds(Collection<Long> ids) {
+        int rows = size;
+        Segment[] current = segments;
+        Map<Long, TaskResponseDTO> result = new HashMap<>();
+        if (idOrdered) {
+            for (Long id : ids) {
+                int row = binarySearch(current, rows, id);
+                if (row >= 0) {
+                    result.put(id, row(current[row >>> SEGMENT_BITS], row & (SEGMENT_ROWS - 1)));
+                }
+            }
+            return result;
+        }
+        Set<Long> wanted = new HashSet<>(ids);
+        for (int row = 0; row < rows && result.size() < wanted.size(); row++) {
+            long id = idAt(current, row);
+            if (wanted.contains(id)) {
+                result.put(id, row(current[row >>> SEGMENT_BITS], row & (SEGMENT_ROWS - 1)));
+            }
+        }
+        return result;
+    }
+
+    List<TaskResponseDTO> findByCompleted(boolean completed) {
+        List<TaskResponseDTO> result = new ArrayList<>();
+        findByCompleted(completed, result::add);
+        return result;
+    }
+
+    void findByCompleted(boolean completed, Consumer<TaskResponseDTO> result) {
+        int rows = size;
+        Segment[] current = segments;
+        for (int s = 0; s < segmentsFor(rows); s++) {
+            int limit = rowsIn(s, rows);
+            BitSet bits = current[s].completed;
+            int slot = completed ? bits.nextSetBit(0) : bits.nextClearBit(0);
+            while (slot >= 0 && slot < limit) {
+                result.accept(row(current[s], slot));
+                slot = completed ? bits.nextSetBit(slot + 1) : bits.nextClearBit(slot + 1);
+            }
+        }
+    }
+
+    List<TaskResponseDTO> findCreatedAfter(LocalDateTime timestamp) {
+        List<TaskResponseDTO> result = new ArrayList<>();
+        findCreatedAfter(timestamp, result::add);
+        return result;
+    }
+
+    void findCreatedAfter(LocalDateTime timestamp, Consumer<TaskResponseDTO> result) {
+        long after = toMicros(timestamp);
+        int rows = size;
+        Segment[] current = segments;
+        int[] matches = new int[SEGMENT_ROWS];
+        for (int s = 0; s < segmentsFor(rows); s++) {
+            int limit = rowsIn(s, rows);
+            long[] createdAt = current[s].createdAt;
+            // Branch-free selection keeps the loop tight; materializing DTOs happens afterwards
+            int found = 0;
+            for (int slot = 0; slot < limit; slot++) {
+                matches[found] = slot;
+                found += createdAt[slot] > after ? 1 : 0;
+            }
+            for (int i = 0; i < found; i++) {
+                result.accept(row(current[s], matches[i]));
+            }
+        }
+    }
+
+    /**
+     * @param completed    null for either
+     * @param createdAfter null for any time
+     */
+    long count(Boolean completed, LocalDateTime createdAfter) {
+        int rows = size;
+        Segment[] current = segments;
+        long count = 0;
+        for (int s = 0; s < segmentsFor(rows); s++) {
+            int limit = rowsIn(s, rows);
+            Segment segment = current[s];
+            if (createdAfter == null) {
+                if (completed == null) {
+                    count += limit;
+                } else {
+                    int done = (limit == SEGMENT_ROWS ? segment.completed : segment.completed.get(0, limit)).cardinality();
+                    count += completed ? done : limit - done;
+                }
+                continue;
+            }
+            long after = toMicros(createdAfter);
+            long[] createdAt = segment.createdAt;
+            if (completed == null) {
+                for (int slot = 0; slot < limit; slot++) {
+                    count += createdAt[slot] > after ? 1 : 0;
+                }
+            } else {
+                BitSet bits = segment.completed;
+                for (int slot = 0; slot < limit; slot++) {
+                    count += createdAt[slot] > after && bits.get(slot) == completed ? 1 : 0;
+                }
+            }
+        }
+        return count;
+    }
+
+    // The segment array may already hold a segment for a row that is not published yet
+    private static int segmentsFor(int rows) {
+        return (rows + SEGMENT_ROWS - 1) >>> SEGMENT_BITS;
+    }
+
+    private static int rowsIn(int segment, int rows) {
+        return Math.min(SEGMENT_ROWS, rows - (segment << SEGMENT_BITS));
+    }
+
+    private static long idAt(Segment[] segments, int row) {
+        return segments[row >>> SEGMENT_BITS].ids[row & (SEGMENT_ROWS - 1)];
+    }
+
+    private static int binarySearch(Segment[] segments, int rows, long id) {
+        int low = 0;
+        int high = rows - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = idAt(segments, mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private TaskResponseDTO row(Segment segment, int slot) {
+        return new TaskResponseDTO(
+            segment.ids[slot],
+            owners.decode(segment.owners[slot]),
+            titles.decode(segment.titles[slot]),
+            segment.descriptions[slot],
+            segment.completed.get(slot),
+            fromMicros(segment.createdAt[slot]),
+            labels(segment.labels[slot]),
+            fromMicros(segment.dueAt[slot]),
+            segment.overdue.get(slot));
+    }
+
+    private List<String> labels(int[] codes) {
+        if (codes.length == 0) {
+            return List.of();
+        }
+        String[] decoded = new String[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            decoded[i] = labels.decode(codes[i]);
+        }
+        return List.of(decoded);
+    }
+
+    static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return NO_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        if (micros == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.taskapi.sorting;
+
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.entity.Task;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * A result order, as given by a {@code sort=property[,asc|desc]} request parameter.
+ *
+ * The same order is available as a Spring Data Sort, to push it into a query, and as comparators, to
+ * apply it in memory, and the two agree. Ties are broken by id, ascending. A missing dueAt sorts
+ * before any date, as NULL does in H2 and MySQL.
+ */
+public record TaskSort(Property property, boolean descending) {
+
+    public enum Property {
+        ID("id", Task::getId, TaskResponseDTO::id),
+        CREATED_AT("createdAt", Task::getCreatedAt, TaskResponseDTO::createdAt),
+        DUE_AT("dueAt", Task::getDueAt, TaskResponseDTO::dueAt);
+
+        private final String field;
+        private final Function<Task, Comparable<?>> ofTask;
+        private final Function<TaskResponseDTO, Comparable<?>> ofDto;
+
+        Property(String field, Function<Task, Comparable<?>> ofTask, Function<TaskResponseDTO, Comparable<?>> ofDto) {
+            this.field = field;
+            this.ofTask = ofTask;
+            this.ofDto = ofDto;
+        }
+
+        public String field() {
+            return field;
+        }
+
+        static Property of(String field) {
+            for (Property property : values()) {
+                if (property.field.equalsIgnoreCase(field)) {
+                    return property;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static final TaskSort ID = new TaskSort(Property.ID, false);
+    public static final TaskSort CREATED_AT = new TaskSort(Property.CREATED_AT, false);
+    public static final TaskSort DUE_AT = new TaskSort(Property.DUE_AT, false);
+
+    /**
+     * Parses {@code property}, {@code property,asc} or {@code property,desc}.
+     *
+     * @throws IllegalArgumentException for an unknown property or direction
+     */
+    public static TaskSort parse(String value) {
+        String[] parts = value.split(",", -1);
+        Property property = Property.of(parts[0].trim());
+        if (property == null || parts.length > 2) {
+            throw new IllegalArgumentException("'sort' must be one of id, createdAt or dueAt, optionally followed by ,asc or ,desc.");
+        }
+        String direction = parts.length == 2 ? parts[1].trim().toLowerCase(Locale.ROOT) : "asc";
+        if (!direction.equals("asc") && !direction.equals("desc")) {
+            throw new IllegalArgumentException("'sort' direction must be asc or desc.");
+        }
+        return new TaskSort(property, direction.equals("desc"));
+    }
+
+    public Sort toSort() {
+        Sort sort = Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, property.field);
+        return property == Property.ID ? sort : sort.and(Sort.by(Sort.Direction.ASC, Property.ID.field));
+    }
+
+    /**
+     * The first {@code limit} rows in this order, or all of them if limit is null.
+     */
+    public Pageable page(Integer limit) {
+        return PageRequest.of(0, limit == null ? Integer.MAX_VALUE : limit, toSort());
+    }
+
+    public Comparator<Task> tasks() {
+        return comparator(property.ofTask, Task::getId);
+    }
+
+    public Comparator<TaskResponseDTO> dtos() {
+        return comparator(property.ofDto, TaskResponseDTO::id);
+    }
+
+    /**
+     * The in-memory equivalent of a Sort built by {@link #toSort()}, for repositories that do not run
+     * SQL. Unsorted means id order.
+     */
+    public static Comparator<Task> tasks(Sort sort) {
+        Sort.Order first = sort.stream().findFirst().orElse(null);
+        if (first == null) {
+            return ID.tasks();
+        }
+        Property property = Property.of(first.getProperty());
+        if (property == null) {
+            throw new IllegalArgumentException("Cannot sort tasks by " + first.getProperty());
+        }
+        return new TaskSort(property, first.isDescending()).tasks();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> Comparator<T> comparator(Function<T, Comparable<?>> key, Function<T, Long> id) {
+        Comparator<Comparable> values = Comparator.nullsFirst(Comparator.naturalOrder());
+        Comparator<T> byProperty = Comparator.comparing(item -> (Comparable) key.apply(item), values);
+        return (descending ? byProperty.reversed() : byProperty).thenComparing(id, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+}
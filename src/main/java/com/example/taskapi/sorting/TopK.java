@@ -0,0 +1,61 @@
+package com.example.taskapi.sorting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The first {@code k} of a stream of items in a given order, without holding the rest. A max-heap of
+ * size k keeps the best items seen so far; a new item only displaces the heap's worst. Memory is O(k)
+ * and time O(n log k), against O(n) and O(n log n) for collecting and sorting everything.
+ *
+ * Not thread-safe.
+ */
+public final class TopK<T> {
+
+    private final Comparator<? super T> order;
+    private final int k;
+    // Head is the worst item kept
+    private final PriorityQueue<T> heap;
+
+    public TopK(Comparator<? super T> order, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        this.order = order;
+        this.k = k;
+        this.heap = new PriorityQueue<>(Math.min(k, 1_024) + 1, order.reversed());
+    }
+
+    /**
+     * The first {@code k} of {@code items} in {@code order}, in that order.
+     */
+    public static <T> List<T> select(Iterable<? extends T> items, Comparator<? super T> order, int k) {
+        TopK<T> top = new TopK<>(order, k);
+        items.forEach(top::offer);
+        return top.toList();
+    }
+
+    public void offer(T item) {
+        if (heap.size() < k) {
+            heap.add(item);
+        } else if (k > 0 && order.compare(item, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * The items kept, best first. The heap is left as it was.
+     */
+    public List<T> toList() {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(order);
+        return sorted;
+    }
+}
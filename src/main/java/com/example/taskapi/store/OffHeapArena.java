@@ -0,0 +1,60 @@
+package com.example.taskapi.store;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only off-heap memory made of direct ByteBuffer chunks. An address packs the chunk number in
+ * the high 32 bits and the offset in the low 32; an allocation never spans two chunks.
+ *
+ * Space is never reused in place: replaced and deleted records stay until the owner copies the live
+ * ones into a fresh arena. Writes need external synchronization; reads use absolute accessors only and
+ * may run concurrently with each other.
+ */
+final class OffHeapArena {
+
+    private final int chunkSize;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer current;
+    private long allocatedBytes;
+
+    OffHeapArena(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Copies {@code bytes} in and returns their address.
+     */
+    long append(ByteBuffer bytes) {
+        int length = bytes.remaining();
+        if (length > chunkSize) {
+            throw new IllegalArgumentException("Record of " + length + " bytes exceeds the chunk size " + chunkSize);
+        }
+        if (current == null || current.remaining() < length) {
+            current = ByteBuffer.allocateDirect(chunkSize);
+            chunks.add(current);
+        }
+        long address = ((long) (chunks.size() - 1) << 32) | current.position();
+        current.put(bytes);
+        allocatedBytes += length;
+        return address;
+    }
+
+    ByteBuffer chunk(long address) {
+        return chunks.get((int) (address >>> 32));
+    }
+
+    static int offset(long address) {
+        return (int) address;
+    }
+
+    /** Bytes handed out so far, live or not. */
+    long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    long reservedBytes() {
+        return (long) chunks.size() * chunkSize;
+    }
+}
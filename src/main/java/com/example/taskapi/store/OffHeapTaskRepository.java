@@ -0,0 +1,398 @@
+package com.example.taskapi.store;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.labels.LabelFilter;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.sorting.TaskSort;
+import com.example.taskapi.sorting.TopK;
+import com.example.taskapi.store.OffHeapTaskStore.RecordFilter;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * TaskRepository backed by the OffHeapTaskStore instead of JPA, with the same results as the derived
+ * and JPQL queries. List finders return tasks in id order; findByCreatedAtAfter returns them in
+ * createdAt order, which the JPA version does not guarantee either way.
+ *
+ * Query-by-example, sorting and paging of findAll are not used by the service and are not supported.
+ */
+public class OffHeapTaskRepository implements TaskRepository {
+
+    private final OffHeapTaskStore store;
+
+    public OffHeapTaskRepository(OffHeapTaskStore store) {
+        this.store = store;
+    }
+
+    // Derived and JPQL queries
+
+    @Override
+    public List<Task> findByTitleContainingIgnoreCase(String keyword) {
+        return store.find(RecordFilter.titleContains(keyword), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> findByCompleted(boolean completed) {
+        return store.find(RecordFilter.completed(completed), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> findByCreatedAtAfter(LocalDateTime timestamp) {
+        return store.findCreatedAfter(timestamp, RecordFilter.all());
+    }
+
+    @Override
+    public List<Task> findByTitleContainingIgnoreCaseAndCompleted(String keyword, boolean completed) {
+        return store.find(RecordFilter.titleContains(keyword).and(RecordFilter.completed(completed)), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> findByTitleOrDescriptionContainingIgnoreCase(String title, String description) {
+        // Same semantics as the derived query: exact title, or description containing the text
+        String needle = description == null ? null : description.toLowerCase();
+        List<Task> result = new ArrayList<>();
+        for (Task task : store.find(RecordFilter.all(), Integer.MAX_VALUE)) {
+            boolean descriptionMatches = needle != null && task.getDescription() != null
+                && task.getDescription().toLowerCase().contains(needle);
+            if (task.getTitle().equals(title) || descriptionMatches) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> findByCompletedTrue() {
+        return findByCompleted(true);
+    }
+
+    @Override
+    public List<Task> searchTasks(String keyword, Boolean completed) {
+        return store.find(searchFilter(keyword, completed), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> findByIdempotencyKey(String idempotencyKey) {
+        return store.findByIdempotencyKey(idempotencyKey).stream().toList();
+    }
+
+    @Override
+    public List<Task> findByLabels(Collection<String> all, long allCount, Collection<String> any, long anyCount,
+                                   Collection<String> none, long noneCount, Boolean completed, Pageable page) {
+        LabelFilter filter = new LabelFilter(Set.copyOf(all), Set.copyOf(any), Set.copyOf(none), completed);
+        int limit = limit(page);
+        List<Task> result = new ArrayList<>();
+        for (Task task : store.find(RecordFilter.all(), Integer.MAX_VALUE)) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (filter.matches(task.getLabels(), task.isCompleted())) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> findByOverdueTrue() {
+        List<Task> result = new ArrayList<>();
+        for (Task task : store.find(RecordFilter.all(), Integer.MAX_VALUE)) {
+            if (task.isOverdue()) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Task> findByTitleContainingIgnoreCase(String keyword, Pageable page) {
+        return sorted(findByTitleContainingIgnoreCase(keyword), page);
+    }
+
+    @Override
+    public List<Task> findByCompleted(boolean completed, Pageable page) {
+        return sorted(findByCompleted(completed), page);
+    }
+
+    @Override
+    public List<Task> findByCreatedAtAfter(LocalDateTime timestamp, Pageable page) {
+        return sorted(findByCreatedAtAfter(timestamp), page);
+    }
+
+    @Override
+    public List<Task> findByOverdueTrue(Pageable page) {
+        return sorted(findByOverdueTrue(), page);
+    }
+
+    @Override
+    public List<Task> findByTitleContainingIgnoreCaseAndCompleted(String keyword, boolean completed, Pageable page) {
+        return sorted(findByTitleContainingIgnoreCaseAndCompleted(keyword, completed), page);
+    }
+
+    @Override
+    public List<Task> searchTasks(String keyword, Boolean completed, Pageable page) {
+        return sorted(searchTasks(keyword, completed), page);
+    }
+
+    @Override
+    public List<Task> findByLabelsSorted(Collection<String> all, long allCount, Collection<String> any, long anyCount,
+                                         Collection<String> none, long noneCount, Boolean completed, Pageable page) {
+        return sorted(findByLabels(all, allCount, any, anyCount, none, noneCount, completed, Pageable.unpaged()), page);
+    }
+
+    @Override
+    public List<Object[]> findPendingDueDates() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Task task : store.find(RecordFilter.all(), Integer.MAX_VALUE)) {
+            if (!task.isOverdue() && !task.isCompleted() && task.getDueAt() != null) {
+                rows.add(new Object[] {task.getId(), task.getDueAt()});
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public int markOverdue(Collection<Long> ids, LocalDateTime now) {
+        int marked = 0;
+        for (Long id : ids) {
+            Task task = store.findById(id).orElse(null);
+            if (task != null && !task.isOverdue() && !task.isCompleted()
+                    && task.getDueAt() != null && !task.getDueAt().isAfter(now)) {
+                task.setOverdue(true);
+                store.save(task);
+                marked++;
+            }
+        }
+        return marked;
+    }
+
+    @Override
+    public long countTasks(Boolean completed, LocalDateTime createdAfter) {
+        return store.count(createdAfter, completed == null ? RecordFilter.all() : RecordFilter.completed(completed));
+    }
+
+    @Override
+    public List<Object[]> findIdBounds() {
+        long[] bounds = store.idBounds();
+        List<Object[]> rows = new ArrayList<>(1);
+        rows.add(bounds == null ? new Object[] {null, null} : new Object[] {bounds[0], bounds[1]});
+        return rows;
+    }
+
+    @Override
+    public List<Task> findByTitleContainingIgnoreCaseAndCompletedAndIdBetweenOrderByIdAsc(
+            String keyword, boolean completed, Long fromId, Long toId, Pageable page) {
+        return store.find(RecordFilter.idBetween(fromId, toId)
+            .and(RecordFilter.completed(completed))
+            .and(RecordFilter.titleContains(keyword)), limit(page));
+    }
+
+    @Override
+    public List<Task> searchTasksInIdRange(String keyword, Boolean completed, Long fromId, Long toId, Pageable page) {
+        return store.find(RecordFilter.idBetween(fromId, toId).and(searchFilter(keyword, completed)), limit(page));
+    }
+
+    @Override
+    public List<Task> findByTitleContainingIgnoreCaseAndCompletedAndIdBetween(
+            String keyword, boolean completed, Long fromId, Long toId, Pageable page) {
+        return sorted(findByTitleContainingIgnoreCaseAndCompletedAndIdBetweenOrderByIdAsc(
+            keyword, completed, fromId, toId, Pageable.unpaged()), page);
+    }
+
+    @Override
+    public List<Task> searchTasksInIdRangeSorted(String keyword, Boolean completed, Long fromId, Long toId, Pageable page) {
+        return sorted(searchTasksInIdRange(keyword, completed, fromId, toId, Pageable.unpaged()), page);
+    }
+
+    // CrudRepository
+
+    @Override
+    public <S extends Task> S save(S entity) {
+        store.save(entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends Task> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return store.findById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return store.findById(id).isPresent();
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return store.find(RecordFilter.all(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Task> findAllById(Iterable<Long> ids) {
+        List<Task> found = new ArrayList<>();
+        ids.forEach(id -> store.findById(id).ifPresent(found::add));
+        return found;
+    }
+
+    @Override
+    public long count() {
+        return store.count();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        store.delete(id);
+    }
+
+    @Override
+    public void delete(Task entity) {
+        store.delete(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(store::delete);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Task> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        store.deleteAll();
+    }
+
+    // JpaRepository
+
+    @Override
+    public void flush() {
+        // Every write is applied (and logged) immediately
+    }
+
+    @Override
+    public <S extends Task> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends Task> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Task> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public Task getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Task getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public Task getReferenceById(Long id) {
+        return store.findById(id).orElseThrow(() -> new IllegalArgumentException("No task with id " + id));
+    }
+
+    // Not supported
+
+    @Override
+    public List<Task> findAll(Sort sort) {
+        throw unsupported("findAll(Sort)");
+    }
+
+    @Override
+    public Page<Task> findAll(Pageable pageable) {
+        throw unsupported("findAll(Pageable)");
+    }
+
+    @Override
+    public <S extends Task> Optional<S> findOne(Example<S> example) {
+        throw unsupported("query by example");
+    }
+
+    @Override
+    public <S extends Task> List<S> findAll(Example<S> example) {
+        throw unsupported("query by example");
+    }
+
+    @Override
+    public <S extends Task> List<S> findAll(Example<S> example, Sort sort) {
+        throw unsupported("query by example");
+    }
+
+    @Override
+    public <S extends Task> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw unsupported("query by example");
+    }
+
+    @Override
+    public <S extends Task> long count(Example<S> example) {
+        throw unsupported("query by example");
+    }
+
+    @Override
+    public <S extends Task> boolean exists(Example<S> example) {
+        throw unsupported("query by example");
+    }
+
+    @Override
+    public <S extends Task, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupported("query by example");
+    }
+
+    private static RecordFilter searchFilter(String keyword, Boolean completed) {
+        RecordFilter filter = keyword == null ? RecordFilter.all() : RecordFilter.titleContains(keyword);
+        return completed == null ? filter : filter.and(RecordFilter.completed(completed));
+    }
+
+    // The in-memory form of ORDER BY ... LIMIT; the sort is always a TaskSort's
+    private static List<Task> sorted(List<Task> tasks, Pageable page) {
+        return TopK.select(tasks, TaskSort.tasks(page.getSort()), limit(page));
+    }
+
+    private static int limit(Pageable page) {
+        return page.isPaged() ? page.getPageSize() : Integer.MAX_VALUE;
+    }
+
+    private static UnsupportedOperationException unsupported(String what) {
+        return new UnsupportedOperationException(what + " is not supported by the off-heap task store");
+    }
+}
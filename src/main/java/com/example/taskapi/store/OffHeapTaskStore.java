@@ -0,0 +1,460 @@
+package com.example.taskapi.store;
+
+import com.example.taskapi.entity.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Embedded task store that keeps records outside the Java heap.
+ *
+ * - Records (TaskRecord layout) live in an append-only OffHeapArena.
+ * - A primitive id -> address hash map finds a record by id; a skip list of (createdAt, id) answers
+ *   "created after" as a range scan. Idempotency keys are unique, like the database's unique index.
+ *   Other filters scan the id index and read fixed-offset fields in place, decoding only the matches.
+ * - With a directory, every mutation is appended to {@code tasks.log} before it is applied. When the log
+ *   outgrows {@code checkpointLogBytes} the live records are written to {@code tasks.snapshot} and the
+ *   log is emptied; opening the store replays the snapshot, then the log.
+ * - Replaced and deleted records are reclaimed by copying the live ones into a fresh arena, at each
+ *   checkpoint or once more than half the arena is garbage.
+ *
+ * One writer at a time, concurrent readers (a read-write lock around everything).
+ */
+public class OffHeapTaskStore implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapTaskStore.class);
+
+    static final String SNAPSHOT_FILE = "tasks.snapshot";
+    static final String LOG_FILE = "tasks.log";
+
+    /**
+     * Tests a record in place.
+     */
+    @FunctionalInterface
+    public interface RecordFilter {
+        boolean test(ByteBuffer chunk, int offset);
+
+        static RecordFilter all() {
+            return (chunk, offset) -> true;
+        }
+
+        static RecordFilter completed(boolean completed) {
+            return (chunk, offset) -> (chunk.get(offset + TaskRecord.COMPLETED) != 0) == completed;
+        }
+
+        /** Case-insensitive substring match on the title, like {@code LOWER(title) LIKE LOWER('%kw%')}. */
+        static RecordFilter titleContains(String keyword) {
+            String needle = keyword.toLowerCase(Locale.ROOT);
+            byte[] asciiNeedle = needle.chars().allMatch(c -> c < 0x80) ? needle.getBytes(StandardCharsets.US_ASCII) : null;
+            return (chunk, offset) -> TaskRecord.titleContains(chunk, offset, needle, asciiNeedle);
+        }
+
+        static RecordFilter idBetween(long fromId, long toId) {
+            return (chunk, offset) -> {
+                long id = chunk.getLong(offset + TaskRecord.ID);
+                return id >= fromId && id <= toId;
+            };
+        }
+
+        default RecordFilter and(RecordFilter other) {
+            return (chunk, offset) -> test(chunk, offset) && other.test(chunk, offset);
+        }
+    }
+
+    private record TimeKey(long createdAt, long id) implements Comparable<TimeKey> {
+        @Override
+        public int compareTo(TimeKey other) {
+            int byTime = Long.compare(createdAt, other.createdAt);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int chunkSize;
+    private final Path directory;
+    private final long checkpointLogBytes;
+
+    // Guarded by lock
+    private OffHeapArena arena;
+    private final LongLongHashMap index = new LongLongHashMap(1 << 16);
+    private final ConcurrentSkipListSet<TimeKey> byCreatedAt = new ConcurrentSkipListSet<>();
+    private final Map<String, Long> byIdempotencyKey = new HashMap<>();
+    private long liveBytes;
+    private long nextId = 1;
+    private TaskLog log;
+
+    private OffHeapTaskStore(Path directory, int chunkSize, long checkpointLogBytes) {
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+        this.checkpointLogBytes = checkpointLogBytes;
+        this.arena = new OffHeapArena(chunkSize);
+    }
+
+    /**
+     * A store that lives only as long as the process.
+     */
+    public static OffHeapTaskStore inMemory(int chunkSize) {
+        return new OffHeapTaskStore(null, chunkSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * Opens (or creates) the store persisted in {@code directory}.
+     *
+     * @param syncWrites force each log entry to disk before the write returns
+     */
+    public static OffHeapTaskStore open(Path directory, int chunkSize, long checkpointLogBytes,
+                                        boolean syncWrites) throws IOException {
+        Files.createDirectories(directory);
+        OffHeapTaskStore store = new OffHeapTaskStore(directory, chunkSize, checkpointLogBytes);
+        long start = System.nanoTime();
+        TaskLog.Replay replay = new TaskLog.Replay() {
+            @Override
+            public void put(ByteBuffer record) {
+                store.apply(record);
+            }
+
+            @Override
+            public void delete(long id) {
+                store.unlink(id);
+            }
+
+            @Override
+            public void clear() {
+                store.truncate();
+            }
+        };
+        TaskLog.replay(directory.resolve(SNAPSHOT_FILE), replay);
+        long validLog = TaskLog.replay(directory.resolve(LOG_FILE), replay);
+        store.log = TaskLog.open(directory.resolve(LOG_FILE), validLog, syncWrites);
+        logger.info("Off-heap task store opened from {}: {} tasks in {} ms",
+            directory, store.index.size(), (System.nanoTime() - start) / 1_000_000);
+        return store;
+    }
+
+    /**
+     * Inserts the task, or replaces the stored one with the same id. A task without an id gets the
+     * next one in sequence, set on the instance passed in.
+     *
+     * @throws DuplicateKeyException if another task already has this task's idempotency key
+     */
+    public Task save(Task task) {
+        Objects.requireNonNull(task.getTitle(), "title");
+        Objects.requireNonNull(task.getOwner(), "owner");
+        lock.writeLock().lock();
+        try {
+            Long holder = task.getIdempotencyKey() == null ? null : byIdempotencyKey.get(task.getIdempotencyKey());
+            if (holder != null && !holder.equals(task.getId())) {
+                throw new DuplicateKeyException("Idempotency key " + task.getIdempotencyKey() + " belongs to task " + holder);
+            }
+            if (task.getId() == null) {
+                task.setId(nextId);
+            }
+            ByteBuffer record = TaskRecord.encode(task);
+            if (log != null) {
+                log.put(record);
+            }
+            apply(record);
+            maintain();
+            return task;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write task " + task.getId(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean delete(long id) {
+        lock.writeLock().lock();
+        try {
+            if (index.get(id) == LongLongHashMap.MISSING) {
+                return false;
+            }
+            if (log != null) {
+                log.delete(id);
+            }
+            unlink(id);
+            maintain();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete task " + id, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void deleteAll() {
+        lock.writeLock().lock();
+        try {
+            if (log != null) {
+                log.clear();
+            }
+            truncate();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not clear the task store", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Task> findById(long id) {
+        lock.readLock().lock();
+        try {
+            long address = index.get(id);
+            return address == LongLongHashMap.MISSING ? Optional.empty() : Optional.of(decode(address));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Task> findByIdempotencyKey(String key) {
+        lock.readLock().lock();
+        try {
+            Long id = byIdempotencyKey.get(key);
+            return id == null ? Optional.empty() : Optional.of(decode(index.get(id)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Matching tasks in id order, at most {@code limit} of them.
+     */
+    public List<Task> find(RecordFilter filter, int limit) {
+        lock.readLock().lock();
+        try {
+            long[][] matches = {new long[64]};
+            int[] found = {0};
+            index.forEach((id, address) -> {
+                if (filter.test(arena.chunk(address), OffHeapArena.offset(address))) {
+                    if (found[0] == matches[0].length) {
+                        matches[0] = Arrays.copyOf(matches[0], found[0] * 2);
+                    }
+                    matches[0][found[0]++] = id;
+                }
+            });
+            long[] ids = matches[0];
+            Arrays.sort(ids, 0, found[0]);
+            int size = Math.min(found[0], limit);
+            List<Task> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(decode(index.get(ids[i])));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tasks created strictly after {@code timestamp} that also pass {@code filter}, in createdAt order.
+     */
+    public List<Task> findCreatedAfter(LocalDateTime timestamp, RecordFilter filter) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<TimeKey> tail = byCreatedAt.tailSet(new TimeKey(TaskRecord.toMicros(timestamp), Long.MAX_VALUE), false);
+            List<Task> result = new ArrayList<>();
+            for (TimeKey key : tail) {
+                long address = index.get(key.id());
+                if (filter.test(arena.chunk(address), OffHeapArena.offset(address))) {
+                    result.add(decode(address));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts tasks created strictly after {@code timestamp} (or all, if null) that pass {@code filter}.
+     */
+    public long count(LocalDateTime timestamp, RecordFilter filter) {
+        lock.readLock().lock();
+        try {
+            long[] count = {0};
+            if (timestamp == null) {
+                index.forEach((id, address) -> {
+                    if (filter.test(arena.chunk(address), OffHeapArena.offset(address))) {
+                        count[0]++;
+                    }
+                });
+                return count[0];
+            }
+            for (TimeKey key : byCreatedAt.tailSet(new TimeKey(TaskRecord.toMicros(timestamp), Long.MAX_VALUE), false)) {
+                long address = index.get(key.id());
+                if (filter.test(arena.chunk(address), OffHeapArena.offset(address))) {
+                    count[0]++;
+                }
+            }
+            return count[0];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return {min id, max id}, or null when the store is empty
+     */
+    public long[] idBounds() {
+        lock.readLock().lock();
+        try {
+            if (index.size() == 0) {
+                return null;
+            }
+            long[] bounds = {Long.MAX_VALUE, Long.MIN_VALUE};
+            index.forEach((id, address) -> {
+                bounds[0] = Math.min(bounds[0], id);
+                bounds[1] = Math.max(bounds[1], id);
+            });
+            return bounds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes all live tasks to the snapshot file, empties the log and compacts the arena.
+     */
+    public void checkpoint() {
+        lock.writeLock().lock();
+        try {
+            compact();
+            if (directory != null) {
+                List<ByteBuffer> records = new ArrayList<>(index.size());
+                index.forEach((id, address) -> records.add(slice(address)));
+                TaskLog.writeSnapshot(directory.resolve(SNAPSHOT_FILE), records);
+                log.reset();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not checkpoint the task store", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Off-heap bytes reserved by the arena. */
+    public long reservedBytes() {
+        lock.readLock().lock();
+        try {
+            return arena.reservedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (log != null) {
+                checkpoint();
+                log.close();
+                log = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close the task store", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Write lock held (or single-threaded replay) from here on
+
+    private void apply(ByteBuffer record) {
+        long id = record.getLong(record.position() + TaskRecord.ID);
+        unlink(id);
+        long address = arena.append(record.duplicate());
+        index.put(id, address);
+        liveBytes += record.remaining();
+        long createdAt = record.getLong(record.position() + TaskRecord.CREATED_AT);
+        if (createdAt != TaskRecord.NO_TIME) {
+            byCreatedAt.add(new TimeKey(createdAt, id));
+        }
+        String key = TaskRecord.idempotencyKey(record, record.position());
+        if (key != null) {
+            byIdempotencyKey.put(key, id);
+        }
+        nextId = Math.max(nextId, id + 1);
+    }
+
+    private void unlink(long id) {
+        long address = index.remove(id);
+        if (address == LongLongHashMap.MISSING) {
+            return;
+        }
+        ByteBuffer chunk = arena.chunk(address);
+        int offset = OffHeapArena.offset(address);
+        liveBytes -= TaskRecord.length(chunk, offset);
+        long createdAt = chunk.getLong(offset + TaskRecord.CREATED_AT);
+        if (createdAt != TaskRecord.NO_TIME) {
+            byCreatedAt.remove(new TimeKey(createdAt, id));
+        }
+        String key = TaskRecord.idempotencyKey(chunk, offset);
+        if (key != null) {
+            byIdempotencyKey.remove(key);
+        }
+    }
+
+    private void truncate() {
+        index.clear();
+        byCreatedAt.clear();
+        byIdempotencyKey.clear();
+        arena = new OffHeapArena(chunkSize);
+        liveBytes = 0;
+    }
+
+    private void maintain() throws IOException {
+        if (log != null && log.size() > checkpointLogBytes) {
+            checkpoint();
+        } else if (arena.allocatedBytes() - liveBytes > Math.max(liveBytes, chunkSize)) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        OffHeapArena fresh = new OffHeapArena(chunkSize);
+        List<long[]> moved = new ArrayList<>(index.size());
+        index.forEach((id, address) -> moved.add(new long[] {id, fresh.append(slice(address))}));
+        moved.forEach(entry -> index.put(entry[0], entry[1]));
+        arena = fresh;
+    }
+
+    private ByteBuffer slice(long address) {
+        ByteBuffer chunk = arena.chunk(address);
+        int offset = OffHeapArena.offset(address);
+        return chunk.slice(offset, TaskRecord.length(chunk, offset));
+    }
+
+    private Task decode(long address) {
+        return TaskRecord.decode(arena.chunk(address), OffHeapArena.offset(address));
+    }
+}
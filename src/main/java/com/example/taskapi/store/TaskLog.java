@@ -0,0 +1,163 @@
+package com.example.taskapi.store;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of store mutations. Each entry is
+ * {@code [byte op][int payload length][payload][int CRC32 of op and payload]}.
+ *
+ * The snapshot file uses the same format with PUT entries only, so loading is "replay the snapshot,
+ * then replay the log". Replay stops at the first torn or corrupt entry, which is where a crash
+ * interrupted the last write; the log is truncated there before new entries are appended.
+ */
+final class TaskLog implements AutoCloseable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    static final byte CLEAR = 3;
+
+    interface Replay {
+        void put(ByteBuffer record);
+
+        void delete(long id);
+
+        void clear();
+    }
+
+    private final FileChannel channel;
+    private final boolean sync;
+    private final CRC32 crc = new CRC32();
+
+    private TaskLog(FileChannel channel, boolean sync) {
+        this.channel = channel;
+        this.sync = sync;
+    }
+
+    /**
+     * Opens {@code file} for appending after its first {@code validLength} bytes, dropping anything beyond.
+     *
+     * @param sync force every entry to disk before returning from {@link #append}
+     */
+    static TaskLog open(Path file, long validLength, boolean sync) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(validLength);
+        channel.position(validLength);
+        return new TaskLog(channel, sync);
+    }
+
+    void put(ByteBuffer record) throws IOException {
+        append(PUT, record.duplicate());
+    }
+
+    void delete(long id) throws IOException {
+        append(DELETE, ByteBuffer.allocate(Long.BYTES).putLong(0, id));
+    }
+
+    void clear() throws IOException {
+        append(CLEAR, ByteBuffer.allocate(0));
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    /** Empties the log once a snapshot holds everything it recorded. */
+    void reset() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+    }
+
+    private void append(byte op, ByteBuffer payload) throws IOException {
+        int length = payload.remaining();
+        ByteBuffer entry = ByteBuffer.allocate(1 + 4 + length + 4);
+        entry.put(op).putInt(length).put(payload.duplicate());
+        crc.reset();
+        crc.update(entry.array(), 0, 5 + length);
+        entry.putInt((int) crc.getValue()).flip();
+        while (entry.hasRemaining()) {
+            channel.write(entry);
+        }
+        if (sync) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.force(true);
+        channel.close();
+    }
+
+    /**
+     * Feeds every intact entry of {@code file} to {@code replay}.
+     *
+     * @return the length of the intact prefix; 0 if the file does not exist
+     */
+    static long replay(Path file, Replay replay) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long valid = 0;
+        CRC32 crc = new CRC32();
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 1 << 16))) {
+            while (true) {
+                byte[] header = new byte[5];
+                byte[] payload;
+                int checksum;
+                try {
+                    in.readFully(header);
+                    int length = ByteBuffer.wrap(header, 1, 4).getInt();
+                    if (length < 0 || length > 64 << 20) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    checksum = in.readInt();
+                } catch (EOFException torn) {
+                    break;
+                }
+                crc.reset();
+                crc.update(header);
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                switch (header[0]) {
+                    case PUT -> replay.put(ByteBuffer.wrap(payload));
+                    case DELETE -> replay.delete(ByteBuffer.wrap(payload).getLong());
+                    case CLEAR -> replay.clear();
+                    default -> throw new IOException("Unknown log entry type " + header[0] + " in " + file);
+                }
+                valid += header.length + payload.length + 4;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Writes {@code records} as a new snapshot: to a temporary file first, synced, then renamed over
+     * {@code file} so a crash leaves either the old snapshot or the new one.
+     */
+    static void writeSnapshot(Path file, Iterable<ByteBuffer> records) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (TaskLog snapshot = open(temporary, 0, false)) {
+            for (ByteBuffer record : records) {
+                snapshot.put(record);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
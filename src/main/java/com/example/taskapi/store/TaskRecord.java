@@ -0,0 +1,211 @@
+package com.example.taskapi.store;
+
+import com.example.taskapi.entity.Task;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Binary layout of one task, shared by the arena and the on-disk log:
+ *
+ * <pre>
+ *  0  int   length of the rest of the record
+ *  4  long  id
+ * 12  long  createdAt, epoch microseconds (UTC), or NO_TIME
+ * 20  long  updatedAt, same encoding
+ * 28  byte  completed
+ * 29  short owner length, then UTF-8 bytes
+ *     int   title length, then UTF-8 bytes
+ *     int   description length or -1 for null, then UTF-8 bytes
+ *     short idempotency key length or -1 for null, then UTF-8 bytes
+ *     short label count, then per label a short length and UTF-8 bytes
+ *     long  dueAt, same encoding as createdAt
+ *     byte  overdue
+ * </pre>
+ *
+ * The fixed-offset fields can be read in place, so filters on id, time and completed decode nothing.
+ * Records written before labels existed end after the idempotency key and decode with no labels;
+ * records written before due dates end after the labels and decode with no due date.
+ */
+final class TaskRecord {
+
+    static final long NO_TIME = Long.MIN_VALUE;
+
+    static final int ID = 4;
+    static final int CREATED_AT = 12;
+    static final int UPDATED_AT = 20;
+    static final int COMPLETED = 28;
+    static final int OWNER = 29;
+
+    private TaskRecord() {}
+
+    static ByteBuffer encode(Task task) {
+        byte[] owner = task.getOwner().getBytes(StandardCharsets.UTF_8);
+        byte[] title = task.getTitle().getBytes(StandardCharsets.UTF_8);
+        byte[] description = task.getDescription() == null ? null : task.getDescription().getBytes(StandardCharsets.UTF_8);
+        byte[] key = task.getIdempotencyKey() == null ? null : task.getIdempotencyKey().getBytes(StandardCharsets.UTF_8);
+        if (owner.length > Short.MAX_VALUE || (key != null && key.length > Short.MAX_VALUE)) {
+            throw new IllegalArgumentException("Owner or idempotency key too long");
+        }
+        List<byte[]> labels = new ArrayList<>(task.getLabels().size());
+        int labelBytes = 0;
+        for (String label : task.getLabels()) {
+            byte[] bytes = label.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Label too long");
+            }
+            labels.add(bytes);
+            labelBytes += 2 + bytes.length;
+        }
+        int length = OWNER + 2 + owner.length + 4 + title.length + 4 + (description == null ? 0 : description.length)
+            + 2 + (key == null ? 0 : key.length) + 2 + labelBytes + 8 + 1;
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(length - 4)
+            .putLong(task.getId())
+            .putLong(toMicros(task.getCreatedAt()))
+            .putLong(toMicros(task.getUpdatedAt()))
+            .put((byte) (task.isCompleted() ? 1 : 0))
+            .putShort((short) owner.length).put(owner)
+            .putInt(title.length).put(title);
+        if (description == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(description.length).put(description);
+        }
+        if (key == null) {
+            buffer.putShort((short) -1);
+        } else {
+            buffer.putShort((short) key.length).put(key);
+        }
+        buffer.putShort((short) labels.size());
+        for (byte[] label : labels) {
+            buffer.putShort((short) label.length).put(label);
+        }
+        buffer.putLong(toMicros(task.getDueAt()))
+            .put((byte) (task.isOverdue() ? 1 : 0));
+        return buffer.flip();
+    }
+
+    static Task decode(ByteBuffer chunk, int offset) {
+        Task task = new Task();
+        task.setId(chunk.getLong(offset + ID));
+        task.setCreatedAt(fromMicros(chunk.getLong(offset + CREATED_AT)));
+        task.setUpdatedAt(fromMicros(chunk.getLong(offset + UPDATED_AT)));
+        task.setCompleted(chunk.get(offset + COMPLETED) != 0);
+        int position = offset + OWNER;
+        int ownerLength = chunk.getShort(position);
+        task.setOwner(string(chunk, position + 2, ownerLength));
+        position += 2 + ownerLength;
+        int titleLength = chunk.getInt(position);
+        task.setTitle(string(chunk, position + 4, titleLength));
+        position += 4 + titleLength;
+        int descriptionLength = chunk.getInt(position);
+        task.setDescription(descriptionLength < 0 ? null : string(chunk, position + 4, descriptionLength));
+        position += 4 + Math.max(descriptionLength, 0);
+        int keyLength = chunk.getShort(position);
+        task.setIdempotencyKey(keyLength < 0 ? null : string(chunk, position + 2, keyLength));
+        position += 2 + Math.max(keyLength, 0);
+        task.setLabels(new LinkedHashSet<>());
+        int end = offset + length(chunk, offset);
+        if (position < end) {
+            int count = chunk.getShort(position);
+            position += 2;
+            for (int i = 0; i < count; i++) {
+                int labelLength = chunk.getShort(position);
+                task.getLabels().add(string(chunk, position + 2, labelLength));
+                position += 2 + labelLength;
+            }
+        }
+        if (position < end) {
+            task.setDueAt(fromMicros(chunk.getLong(position)));
+            task.setOverdue(chunk.get(position + 8) != 0);
+        }
+        return task;
+    }
+
+    static String idempotencyKey(ByteBuffer chunk, int offset) {
+        int position = offset + OWNER;
+        position += 2 + chunk.getShort(position);
+        position += 4 + chunk.getInt(position);
+        position += 4 + Math.max(chunk.getInt(position), 0);
+        int keyLength = chunk.getShort(position);
+        return keyLength < 0 ? null : string(chunk, position + 2, keyLength);
+    }
+
+    static String title(ByteBuffer chunk, int offset) {
+        int position = offset + OWNER;
+        position += 2 + chunk.getShort(position);
+        return string(chunk, position + 4, chunk.getInt(position));
+    }
+
+    /**
+     * Case-insensitive substring test on the title. When both are ASCII the UTF-8 bytes are compared
+     * in place; otherwise the title is decoded and lower-cased.
+     *
+     * @param asciiNeedle the lower-cased needle as bytes, or null if it is not ASCII
+     */
+    static boolean titleContains(ByteBuffer chunk, int offset, String lowerNeedle, byte[] asciiNeedle) {
+        if (asciiNeedle != null) {
+            int position = offset + OWNER;
+            position += 2 + chunk.getShort(position);
+            int start = position + 4;
+            int end = start + chunk.getInt(position);
+            boolean ascii = true;
+            for (int i = start; i < end && ascii; i++) {
+                ascii = chunk.get(i) >= 0;
+            }
+            if (ascii) {
+                return indexOfIgnoreCase(chunk, start, end, asciiNeedle);
+            }
+        }
+        return title(chunk, offset).toLowerCase(Locale.ROOT).contains(lowerNeedle);
+    }
+
+    private static boolean indexOfIgnoreCase(ByteBuffer chunk, int start, int end, byte[] needle) {
+        outer:
+        for (int i = start; i <= end - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                byte b = chunk.get(i + j);
+                if (b >= 'A' && b <= 'Z') {
+                    b += 'a' - 'A';
+                }
+                if (b != needle[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    static int length(ByteBuffer chunk, int offset) {
+        return 4 + chunk.getInt(offset);
+    }
+
+    static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return NO_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        if (micros == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static String string(ByteBuffer chunk, int position, int length) {
+        byte[] bytes = new byte[length];
+        chunk.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.taskapi.benchmark;
+
+import com.example.taskapi.TaskApiApplication;
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.grpc.GrpcServer;
+import com.example.taskapi.grpc.proto.BulkCreateResponse;
+import com.example.taskapi.grpc.proto.CreateTaskRequest;
+import com.example.taskapi.grpc.proto.GetTaskRequest;
+import com.example.taskapi.grpc.proto.ListTasksRequest;
+import com.example.taskapi.grpc.proto.TaskServiceGrpc;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the gRPC front end against the REST endpoints for the same operations, on localhost,
+ * with {@code threads} callers sharing one HTTP client or one gRPC channel. Each operation decodes the
+ * full response (Jackson on the REST side) so both sides pay for their own wire format.
+ *
+ * - get:    GET /api/tasks/{id} vs GetTask, random ids
+ * - list:   GET /api/tasks vs ListTasks, reported as tasks received per second
+ * - create: POST /api/tasks vs CreateTask vs BulkCreate in batches of 100, reported as tasks per second
+ *
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.taskapi.benchmark.GrpcThroughputBenchmark -Dexec.args="5000 5 4"
+ *
+ * Arguments: rows (default 5,000), seconds per measurement (default 5, after 2 s of warm-up), threads (default 4).
+ */
+public final class GrpcThroughputBenchmark {
+
+    private static final int BULK_BATCH = 100;
+
+    private GrpcThroughputBenchmark() {}
+
+    @FunctionalInterface
+    private interface Operation {
+        // Returns the number of tasks it handled
+        int run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        ConfigurableApplicationContext context = SpringApplication.run(TaskApiApplication.class,
+            "--server.port=0", "--taskapi.grpc.enabled=true", "--taskapi.grpc.port=0",
+            "--taskapi.admission.enabled=false",
+            "--spring.jpa.show-sql=false", "--logging.level.root=WARN", "--logging.level.SLOW_QUERY=ERROR");
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ManagedChannel channel = Grpc.newChannelBuilderForAddress("localhost", context.getBean(GrpcServer.class).getPort(),
+            InsecureChannelCredentials.create()).build();
+        try {
+            context.getBean(JdbcTemplate.class).update(
+                "INSERT INTO tasks (owner, title, description, completed, overdue, created_at, updated_at) "
+                    + "SELECT 'default', CONCAT('Task ', X), 'Seeded for the gRPC benchmark', MOD(X, 3) = 0, FALSE, "
+                    + "DATEADD('SECOND', -X, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)", rows);
+            long minId = context.getBean(JdbcTemplate.class).queryForObject("SELECT MIN(id) FROM tasks", Long.class);
+            String base = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort() + "/api/tasks";
+            HttpClient http = HttpClient.newHttpClient();
+            ObjectMapper json = context.getBean(ObjectMapper.class);
+            TaskServiceGrpc.TaskServiceBlockingStub blocking = TaskServiceGrpc.newBlockingStub(channel);
+            TaskServiceGrpc.TaskServiceStub async = TaskServiceGrpc.newStub(channel);
+
+            System.out.printf("%d rows, %d threads, %d s per measurement%n", rows, threads, seconds);
+            System.out.printf("%-8s %-12s %14s%n", "op", "transport", "tasks/s");
+
+            measure(pool, threads, seconds, "get", "REST", () -> {
+                long id = minId + ThreadLocalRandom.current().nextInt(rows);
+                HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(URI.create(base + "/" + id)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+                json.readValue(response.body(), TaskResponseDTO.class);
+                return 1;
+            });
+            measure(pool, threads, seconds, "get", "gRPC", () -> {
+                long id = minId + ThreadLocalRandom.current().nextInt(rows);
+                blocking.getTask(GetTaskRequest.newBuilder().setId(id).build());
+                return 1;
+            });
+
+            measure(pool, threads, seconds, "list", "REST", () -> {
+                HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(URI.create(base)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+                return json.readValue(response.body(), TaskResponseDTO[].class).length;
+            });
+            measure(pool, threads, seconds, "list", "gRPC", () -> {
+                int received = 0;
+                for (Iterator<?> tasks = blocking.listTasks(ListTasksRequest.getDefaultInstance()); tasks.hasNext(); tasks.next()) {
+                    received++;
+                }
+                return received;
+            });
+
+            byte[] createBody = json.writeValueAsBytes(new TaskRequestDTO("Benchmark task", "Created by the gRPC benchmark"));
+            measure(pool, threads, seconds, "create", "REST", () -> {
+                HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(URI.create(base))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(createBody)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+                json.readValue(response.body(), TaskResponseDTO.class);
+                return 1;
+            });
+            CreateTaskRequest createRequest = CreateTaskRequest.newBuilder()
+                .setTitle("Benchmark task").setDescription("Created by the gRPC benchmark").build();
+            measure(pool, threads, seconds, "create", "gRPC", () -> {
+                blocking.createTask(createRequest);
+                return 1;
+            });
+            measure(pool, threads, seconds, "create", "gRPC bulk", () -> {
+                CompletableFuture<BulkCreateResponse> done = new CompletableFuture<>();
+                StreamObserver<CreateTaskRequest> requests = async.bulkCreate(new StreamObserver<>() {
+                    @Override
+                    public void onNext(BulkCreateResponse response) {
+                        done.complete(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        done.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+                for (int i = 0; i < BULK_BATCH; i++) {
+                    requests.onNext(createRequest);
+                }
+                requests.onCompleted();
+                return done.get().getIdsCount();
+            });
+        } finally {
+            channel.shutdownNow();
+            pool.shutdownNow();
+            context.close();
+        }
+    }
+
+    private static void measure(ExecutorService pool, int threads, int seconds, String op, String transport,
+                                Operation operation) throws Exception {
+        run(pool, threads, 2, operation);
+        long tasks = run(pool, threads, seconds, operation);
+        System.out.printf("%-8s %-12s %14.0f%n", op, transport, tasks / (double) seconds);
+    }
+
+    private static long run(ExecutorService pool, int threads, int seconds, Operation operation) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<Long>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                long tasks = 0;
+                while (System.nanoTime() < deadline) {
+                    tasks += operation.run();
+                }
+                return tasks;
+            }));
+        }
+        long total = 0;
+        for (Future<Long> worker : workers) {
+            total += worker.get();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.taskapi.benchmark;
+
+import com.example.taskapi.TaskApiApplication;
+import com.example.taskapi.labels.LabelFilter;
+import com.example.taskapi.labels.LabelIndex;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.service.TaskService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Label-filter latency of the bitmap index against the SQL query on task_labels, on the embedded H2
+ * database.
+ *
+ * Seeds {@code rows} tasks and gives each the labels whose bit is set in its number modulo 64, plus
+ * "rare" on one task in a thousand, so every common label covers half the tasks and their
+ * combinations quarter, eighth, ... of them. Each filter is timed three ways: the index alone
+ * (candidate ids), the service with the index (ids, then the rows fetched and re-checked), and the
+ * repository's SQL query. Every query returns at most {@code limit} tasks.
+ *
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.taskapi.benchmark.LabelFilterBenchmark -Dexec.args="200000 100"
+ *
+ * Arguments: rows (default 200,000), limit (default 100).
+ */
+public final class LabelFilterBenchmark {
+
+    private static final int RUNS = 15;
+    private static final List<String> LABELS = List.of("backend", "frontend", "urgent", "blocked", "docs", "infra");
+
+    private LabelFilterBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int limit = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        ConfigurableApplicationContext context = SpringApplication.run(TaskApiApplication.class,
+            "--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+            "--logging.level.SLOW_QUERY=ERROR", "--taskapi.labels.index.enabled=true",
+            "--taskapi.resilience.enabled=false");
+        try {
+            TaskRepository repository = context.getBean(TaskRepository.class);
+            TaskService service = context.getBean(TaskService.class);
+            LabelIndex index = context.getBean(LabelIndex.class);
+            seed(context.getBean(JdbcTemplate.class), rows);
+            long start = System.nanoTime();
+            index.rebuild();
+            System.out.printf("%d rows, %d labels, index built in %.0f ms, %d KB%n", rows, index.labels(),
+                (System.nanoTime() - start) / 1e6, index.sizeInBytes() / 1024);
+
+            Map<String, LabelFilter> filters = new LinkedHashMap<>();
+            filters.put("all of 2", new LabelFilter(Set.of("backend", "urgent"), Set.of(), Set.of(), null));
+            filters.put("all of 4, open", new LabelFilter(Set.of("backend", "frontend", "urgent", "docs"), Set.of(), Set.of(), false));
+            filters.put("any of 3, not 1", new LabelFilter(Set.of(), Set.of("docs", "infra", "rare"), Set.of("blocked"), null));
+            filters.put("rare and 2", new LabelFilter(Set.of("rare", "backend", "infra"), Set.of(), Set.of(), null));
+            filters.put("none of 2", new LabelFilter(Set.of(), Set.of(), Set.of("backend", "frontend"), true));
+
+            System.out.printf("%-18s %12s %14s %10s %10s%n", "filter", "index ms", "index+rows ms", "SQL ms", "speedup");
+            for (Map.Entry<String, LabelFilter> entry : filters.entrySet()) {
+                LabelFilter filter = entry.getValue();
+                double bitmap = medianMillis(() -> index.matchingIds(filter, limit));
+                double served = medianMillis(() -> service.filterByLabels(filter, limit));
+                double sql = medianMillis(() -> repository.findByLabels(filter.all(), filter.all().size(), filter.any(),
+                    filter.any().size(), filter.none(), filter.none().size(), filter.completed(), PageRequest.of(0, limit)));
+                System.out.printf("%-18s %12.3f %14.1f %10.1f %9.1fx%n", entry.getKey(), bitmap, served, sql, sql / served);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbc, int rows) {
+        jdbc.update("INSERT INTO tasks (owner, title, description, completed, overdue, created_at, updated_at) "
+            + "SELECT 'default', CONCAT('Task ', X), 'Seeded', MOD(X, 3) = 0, FALSE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP "
+            + "FROM SYSTEM_RANGE(1, ?)", rows);
+        for (int bit = 0; bit < LABELS.size(); bit++) {
+            jdbc.update("INSERT INTO task_labels (task_id, label) SELECT id, CAST(? AS VARCHAR(64)) FROM tasks "
+                + "WHERE BITAND(MOD(id, 64), CAST(? AS INT)) <> 0", LABELS.get(bit), 1 << bit);
+        }
+        jdbc.update("INSERT INTO task_labels (task_id, label) SELECT id, 'rare' FROM tasks WHERE MOD(id, 1000) = 7");
+    }
+
+    private static double medianMillis(Runnable query) {
+        for (int i = 0; i < 3; i++) {
+            query.run();
+        }
+        List<Double> samples = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples.add((System.nanoTime() - start) / 1e6);
+        }
+        double[] sorted = samples.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        return sorted[sorted.length / 2];
+    }
+}
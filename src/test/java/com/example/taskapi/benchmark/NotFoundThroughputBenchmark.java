@@ -0,0 +1,87 @@
+package com.example.taskapi.benchmark;
+
+import com.example.taskapi.TaskApiApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 404 throughput: hammers GET /api/tasks/{missing id} from several client threads and reports
+ * requests per second. Every request goes through TaskNotFoundException and GlobalExceptionHandler,
+ * so the number is dominated by exception construction and error logging.
+ *
+ * Runs the app in-process on the embedded H2 database, with admission control off and the adaptive
+ * limiter pinned well above the client thread count, so neither shapes the rate being measured.
+ * Run on two commits to compare before/after:
+ *
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.taskapi.benchmark.NotFoundThroughputBenchmark -Dexec.args="8 20"
+ *
+ * Arguments: client threads (default 8), measured seconds (default 20; a 5 s warm-up runs first).
+ */
+public final class NotFoundThroughputBenchmark {
+
+    private NotFoundThroughputBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        ConfigurableApplicationContext context = SpringApplication.run(TaskApiApplication.class,
+            "--server.port=0", "--taskapi.admission.enabled=false", "--spring.jpa.show-sql=false",
+            "--taskapi.limiter.initial-limit=100", "--taskapi.limiter.min-limit=100", "--taskapi.limiter.max-limit=100");
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/tasks/987654321");
+
+            run(uri, threads, Duration.ofSeconds(5));
+            long requests = run(uri, threads, Duration.ofSeconds(seconds));
+            System.out.printf("404 throughput: %d requests in %d s with %d threads = %.0f req/s%n",
+                requests, seconds, threads, requests / (double) seconds);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static long run(URI uri, int threads, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        AtomicLong completed = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(pool.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 404) {
+                            throw new IllegalStateException("Expected 404 but got " + response.statusCode());
+                        }
+                        completed.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return completed.get();
+    }
+}
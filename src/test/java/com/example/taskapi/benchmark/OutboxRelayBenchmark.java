@@ -0,0 +1,94 @@
+package com.example.taskapi.benchmark;
+
+import com.example.taskapi.TaskApiApplication;
+import com.example.taskapi.importer.ImportFormat;
+import com.example.taskapi.importer.TaskImporter;
+import com.example.taskapi.outbox.OutboxRelay;
+import com.example.taskapi.outbox.OutboxSink;
+import com.example.taskapi.repository.TaskRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox relay throughput on the embedded H2 database by batch size: the same backlog of change rows
+ * drained by OutboxRelay into a sink that only counts, one pass after another.
+ *
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.taskapi.benchmark.OutboxRelayBenchmark -Dexec.args="100000"
+ *
+ * Argument: backlog rows (default 100,000). Batch size 1, the cost of relaying row by row, runs on a
+ * tenth of them. Each batch size drains once untimed first, to warm up the JIT.
+ */
+public final class OutboxRelayBenchmark {
+
+    private static final String REFILL = "INSERT INTO task_outbox (task_id, owner, type, occurred_at) "
+        + "SELECT id, owner, 'CREATED', created_at FROM tasks WHERE id <= ?";
+
+    private OutboxRelayBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        ConfigurableApplicationContext context = SpringApplication.run(TaskApiApplication.class,
+            "--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+            "--logging.level.SLOW_QUERY=ERROR", "--taskapi.resilience.enabled=false",
+            "--taskapi.outbox.enabled=true", "--taskapi.outbox.relay=false");
+        Path file = Files.createTempFile("outbox", ".csv");
+        try {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            try (BufferedWriter out = Files.newBufferedWriter(file)) {
+                out.write("title,labels\n");
+                for (int i = 0; i < rows; i++) {
+                    out.write("Task " + i + "," + (i % 3 == 0 ? "backend|urgent" : "docs") + "\n");
+                }
+            }
+            context.getBean(TaskImporter.class).importFile(file, ImportFormat.CSV);
+            long firstId = jdbc.queryForObject("SELECT MIN(id) FROM tasks", Long.class);
+
+            AtomicLong received = new AtomicLong();
+            OutboxSink counting = events -> received.addAndGet(events.size());
+            System.out.printf("%-12s %10s %12s%n", "batch size", "seconds", "events/s");
+            for (int batchSize : List.of(1, 10, 100, 500, 2_000)) {
+                int backlog = batchSize == 1 ? Math.max(1, rows / 10) : rows;
+                try (OutboxRelay relay = new OutboxRelay(context.getBean(DataSource.class),
+                        context.getBean(TaskRepository.class), counting, List.of(), batchSize, Duration.ofHours(1),
+                        Duration.ofHours(1), Duration.ofHours(1), Clock.systemDefaultZone())) {
+                    refill(jdbc, firstId, Math.min(backlog, 10_000));
+                    drain(relay);
+                    refill(jdbc, firstId, backlog);
+                    received.set(0);
+                    long start = System.nanoTime();
+                    drain(relay);
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    System.out.printf("%-12d %10.2f %,12.0f%n", batchSize, seconds, received.get() / seconds);
+                }
+            }
+        } finally {
+            context.close();
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(TaskImporter.checkpointFor(file));
+        }
+    }
+
+    // One CREATED row for each of the first rows tasks
+    private static void refill(JdbcTemplate jdbc, long firstId, int rows) {
+        jdbc.update("DELETE FROM task_outbox");
+        jdbc.update(REFILL, firstId + rows - 1);
+    }
+
+    private static void drain(OutboxRelay relay) throws Exception {
+        while (relay.drain() > 0) {
+            // Until empty
+        }
+    }
+}
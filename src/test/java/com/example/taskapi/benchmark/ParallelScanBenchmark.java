@@ -0,0 +1,95 @@
+package com.example.taskapi.benchmark;
+
+import com.example.taskapi.TaskApiApplication;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.limiter.AdaptiveConcurrencyLimiter;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.service.ParallelScanPlanner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Filtered-scan latency of ParallelScanPlanner against the single monolithic query, for 1, 2, 4, ...
+ * slices in flight, on the embedded H2 database.
+ *
+ * Seeds {@code rows} tasks with one title in a thousand containing "needle", then times two queries:
+ * a full scan (keyword "needle", every match returned) and an early-terminating one (keyword "task",
+ * limit 50). The speedup of the full scan is bounded by the number of cores; the limited query gains
+ * from stopping after the first slice whatever the core count.
+ *
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.taskapi.benchmark.ParallelScanBenchmark -Dexec.args="1000000 8"
+ *
+ * Arguments: rows (default 1,000,000), highest parallelism (default 8, at most the pool size of 10).
+ */
+public final class ParallelScanBenchmark {
+
+    private static final int RUNS = 15;
+
+    private ParallelScanBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int maxParallelism = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        ConfigurableApplicationContext context = SpringApplication.run(TaskApiApplication.class,
+            "--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+            "--logging.level.SLOW_QUERY=ERROR");
+        try {
+            TaskRepository repository = context.getBean(TaskRepository.class);
+            seed(context.getBean(JdbcTemplate.class), rows);
+            System.out.printf("%d rows, %d CPUs%n", rows, Runtime.getRuntime().availableProcessors());
+
+            double monolithic = medianMillis(() -> repository.searchTasks("needle", null));
+            System.out.printf("%-12s %12s %12s %14s%n", "parallelism", "full scan ms", "speedup", "limit 50 ms");
+            System.out.printf("%-12s %12.1f %12s %14.1f%n", "monolithic", monolithic, "1.00x",
+                medianMillis(() -> repository.searchTasks("task", null).subList(0, 50)));
+
+            for (int parallelism = 1; parallelism <= maxParallelism; parallelism *= 2) {
+                ExecutorService executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("bench-slice-"));
+                try (ParallelScanPlanner planner = new ParallelScanPlanner(repository, AdaptiveConcurrencyLimiter.unlimited(),
+                        executor, parallelism, 10_000, 4)) {
+                    double full = medianMillis(() -> scan(planner, repository, "needle", null));
+                    double limited = medianMillis(() -> scan(planner, repository, "task", 50));
+                    System.out.printf("%-12d %12.1f %11.2fx %14.1f%n", parallelism, full, monolithic / full, limited);
+                }
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static List<Task> scan(ParallelScanPlanner planner, TaskRepository repository, String keyword, Integer limit) {
+        return planner.scan(() -> repository.searchTasks(keyword, null),
+            (fromId, toId, page) -> repository.searchTasksInIdRange(keyword, null, fromId, toId, page), limit);
+    }
+
+    private static void seed(JdbcTemplate jdbc, int rows) {
+        jdbc.update("INSERT INTO tasks (owner, title, description, completed, overdue, created_at, updated_at) "
+            + "SELECT 'default', CONCAT('Task ', X, CASE WHEN MOD(X, 1000) = 0 THEN ' needle' ELSE '' END), "
+            + "'Seeded', MOD(X, 3) = 0, FALSE, DATEADD('SECOND', -X, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP "
+            + "FROM SYSTEM_RANGE(1, ?)", rows);
+    }
+
+    private static double medianMillis(Supplier<List<Task>> query) {
+        for (int i = 0; i < 3; i++) {
+            query.get();
+        }
+        List<Double> samples = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            samples.add((System.nanoTime() - start) / 1e6);
+        }
+        double[] sorted = samples.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        return sorted[sorted.length / 2];
+    }
+}
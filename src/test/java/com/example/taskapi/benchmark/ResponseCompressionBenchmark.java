@@ -0,0 +1,104 @@
+package com.example.taskapi.benchmark;
+
+import com.example.taskapi.TaskApiApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bytes on the wire and latency of large list responses under the "http2" profile, for each
+ * combination of HTTP/1.1 or HTTP/2 (cleartext h2c) and identity or gzip encoding, on localhost.
+ *
+ * Seeds {@code rows} tasks, then times GET /api/tasks and GET /api/tasks/search?keyword=task (every row
+ * matches). Latency is client-observed and includes gunzip, so it shows the CPU side of the trade;
+ * over a real network the smaller body is where the time is won.
+ *
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.taskapi.benchmark.ResponseCompressionBenchmark -Dexec.args="5000 50"
+ *
+ * Arguments: rows (default 5,000), measured requests per variant (default 50, after 10 warm-up ones).
+ */
+public final class ResponseCompressionBenchmark {
+
+    private static final int WARMUP = 10;
+
+    private ResponseCompressionBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        ConfigurableApplicationContext context = SpringApplication.run(TaskApiApplication.class,
+            "--spring.profiles.active=http2", "--server.port=0", "--taskapi.admission.enabled=false",
+            "--spring.jpa.show-sql=false", "--logging.level.root=WARN", "--logging.level.SLOW_QUERY=ERROR");
+        try {
+            context.getBean(JdbcTemplate.class).update(
+                "INSERT INTO tasks (owner, title, description, completed, overdue, created_at, updated_at) "
+                    + "SELECT 'default', CONCAT('Task ', X), 'Seeded for the compression benchmark', MOD(X, 3) = 0, FALSE, "
+                    + "DATEADD('SECOND', -X, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)", rows);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            System.out.printf("%d rows%n", rows);
+            System.out.printf("%-8s %-9s %-8s %12s %10s %10s%n", "endpoint", "protocol", "encoding", "wire bytes", "p50 ms", "p90 ms");
+            for (String path : new String[] {"/api/tasks", "/api/tasks/search?keyword=task"}) {
+                URI uri = URI.create("http://localhost:" + port + path);
+                for (HttpClient.Version version : HttpClient.Version.values()) {
+                    HttpClient client = HttpClient.newBuilder().version(version).build();
+                    for (boolean gzip : new boolean[] {false, true}) {
+                        measure(client, uri, gzip, runs);
+                    }
+                }
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void measure(HttpClient client, URI uri, boolean gzip, int runs) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).GET();
+        if (gzip) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        HttpRequest request = builder.build();
+        double[] millis = new double[runs];
+        long wireBytes = 0;
+        HttpClient.Version negotiated = null;
+        for (int i = -WARMUP; i < runs; i++) {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            byte[] body = decode(response);
+            long elapsed = System.nanoTime() - start;
+            if (response.statusCode() != 200 || body.length == 0) {
+                throw new IllegalStateException("Unexpected response " + response.statusCode() + " from " + uri);
+            }
+            if (i >= 0) {
+                millis[i] = elapsed / 1e6;
+                wireBytes = response.body().length;
+                negotiated = response.version();
+            }
+        }
+        Arrays.sort(millis);
+        String path = uri.getPath().endsWith("search") ? "search" : "getAll";
+        System.out.printf("%-8s %-9s %-8s %12d %10.2f %10.2f%n", path, negotiated, gzip ? "gzip" : "identity",
+            wireBytes, millis[runs / 2], millis[runs * 9 / 10]);
+    }
+
+    private static byte[] decode(HttpResponse<byte[]> response) throws IOException {
+        if (!response.headers().firstValue("Content-Encoding").orElse("").equals("gzip")) {
+            return response.body();
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            return in.readAllBytes();
+        }
+    }
+}
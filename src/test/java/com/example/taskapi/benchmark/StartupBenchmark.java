@@ -0,0 +1,177 @@
+package com.example.taskapi.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup benchmark: launches the service as a child process and reports
+ *  - time from process start to the first successful GET /api/tasks/{id}
+ *  - resident set size (VmRSS) at that moment.
+ *
+ * Not a JUnit test; run it against the launch commands being compared, each introduced by "--", e.g.
+ * JVM jar versus native executable:
+ *
+ *   mvn -q exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.taskapi.benchmark.StartupBenchmark \
+ *       -Dexec.args="--runs 5 -- java -jar target/task-tracker-rest-1.0.jar -- target/task-tracker-rest"
+ *
+ * "--server.port" is appended to the command. Without a datasource profile the app falls back to embedded H2,
+ * which only a jar built with -Pcds contains.
+ */
+public final class StartupBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private StartupBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int runs = 3;
+        List<List<String>> commands = new ArrayList<>();
+        List<String> current = null;
+        for (int i = 0; i < args.length; i++) {
+            if ("--".equals(args[i])) {
+                current = new ArrayList<>();
+                commands.add(current);
+            } else if (current != null) {
+                current.add(args[i]);
+            } else if ("--runs".equals(args[i])) {
+                runs = Integer.parseInt(args[++i]);
+            }
+        }
+        commands.removeIf(List::isEmpty);
+        if (commands.isEmpty()) {
+            System.err.println("Usage: StartupBenchmark [--runs N] -- <launch command...> [-- <other command...>]");
+            System.exit(2);
+        }
+
+        List<String> summary = new ArrayList<>();
+        for (List<String> command : commands) {
+            List<Long> millis = new ArrayList<>();
+            List<Long> rssKb = new ArrayList<>();
+            System.out.println("command: " + String.join(" ", command));
+            for (int run = 1; run <= runs; run++) {
+                Result result = measure(command, Duration.ofSeconds(120));
+                millis.add(result.millisToFirstGet());
+                rssKb.add(result.rssKb());
+                System.out.printf("  run %d: first GET /api/tasks/{id} after %d ms, RSS %s%n",
+                    run, result.millisToFirstGet(), formatRss(result.rssKb()));
+            }
+            summary.add(String.format("%8d ms  %8s  %s",
+                median(millis), formatRss(median(rssKb)), String.join(" ", command)));
+        }
+        System.out.printf("%nmedian over %d runs:%n", runs);
+        summary.forEach(System.out::println);
+    }
+
+    public record Result(long millisToFirstGet, long rssKb) {}
+
+    /**
+     * Starts the command, waits for the first successful GET /api/tasks/{id}, then stops the process.
+     */
+    public static Result measure(List<String> command, Duration timeout) throws Exception {
+        int port = freePort();
+        List<String> fullCommand = new ArrayList<>(command);
+        fullCommand.add("--server.port=" + port);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(fullCommand)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        try {
+            long deadline = start + timeout.toNanos();
+            Long id = null;
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Process exited with code " + process.exitValue());
+                }
+                try {
+                    if (id == null) {
+                        id = createTask(client, port);
+                    }
+                    if (id != null && getTask(client, port, id)) {
+                        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        return new Result(elapsed, readRssKb(process.pid()));
+                    }
+                } catch (IOException notListeningYet) {
+                    // keep polling
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful GET within " + timeout);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static Long createTask(HttpClient client, int port) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"startup probe\",\"description\":\"benchmark\"}"))
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            return null;
+        }
+        JsonNode body = MAPPER.readTree(response.body());
+        return body.get("id").asLong();
+    }
+
+    private static boolean getTask(HttpClient client, int port, long id) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/" + id))
+            .GET()
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    }
+
+    /**
+     * @return VmRSS in KB, or -1 where /proc is not available
+     */
+    static long readRssKb(long pid) {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not Linux, or the process is gone
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static String formatRss(long kb) {
+        return kb < 0 ? "n/a" : (kb / 1024) + " MB";
+    }
+}
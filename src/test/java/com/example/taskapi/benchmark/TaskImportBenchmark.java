@@ -0,0 +1,117 @@
+package com.example.taskapi.benchmark;
+
+import com.example.taskapi.TaskApiApplication;
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.importer.ImportFormat;
+import com.example.taskapi.importer.TaskImporter;
+import com.example.taskapi.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Import throughput on the embedded H2 database: TaskImporter on a CSV and an NDJSON file at several
+ * parallelism levels, against creating the same tasks one by one through TaskService (the path a
+ * client looping over POST /api/tasks takes, minus HTTP).
+ *
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.taskapi.benchmark.TaskImportBenchmark -Dexec.args="500000"
+ *
+ * Arguments: rows (default 500,000), chunk size in KB (default 1024). The one-by-one baseline runs on
+ * a tenth of the rows. Each file is imported once untimed first, to warm up the JIT.
+ */
+public final class TaskImportBenchmark {
+
+    private TaskImportBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int chunkSize = (args.length > 1 ? Integer.parseInt(args[1]) : 1024) << 10;
+
+        ConfigurableApplicationContext context = SpringApplication.run(TaskApiApplication.class,
+            "--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+            "--logging.level.SLOW_QUERY=ERROR", "--taskapi.resilience.enabled=false",
+            "--taskapi.idempotency.enabled=false", "--spring.datasource.hikari.maximum-pool-size=10");
+        Path directory = Files.createTempDirectory("task-import");
+        try {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            Path csv = write(directory.resolve("tasks.csv"), rows, false);
+            Path ndjson = write(directory.resolve("tasks.ndjson"), rows, true);
+            System.out.printf("%d rows: CSV %d MB, NDJSON %d MB%n", rows, Files.size(csv) >> 20, Files.size(ndjson) >> 20);
+
+            System.out.printf("%-22s %10s %12s%n", "path", "seconds", "rows/s");
+            for (Path file : List.of(csv, ndjson)) {
+                importFile(context, jdbc, file, chunkSize, 4);
+                for (int parallelism : List.of(1, 2, 4, 8)) {
+                    TaskImporter.Result result = importFile(context, jdbc, file, chunkSize, parallelism);
+                    System.out.printf("%-22s %10.2f %,12.0f%n", result.format() + " x" + parallelism,
+                        result.millis() / 1e3, result.rowsPerSecond());
+                }
+            }
+
+            clear(jdbc);
+            TaskService service = context.getBean(TaskService.class);
+            int baselineRows = Math.max(1, rows / 10);
+            long start = System.nanoTime();
+            for (int i = 0; i < baselineRows; i++) {
+                service.createTask(new TaskRequestDTO("Task " + i, "Imported row " + i, null, labels(i)));
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-22s %10.2f %,12.0f%n", "createTask x1", seconds, baselineRows / seconds);
+        } finally {
+            context.close();
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private static TaskImporter.Result importFile(ConfigurableApplicationContext context, JdbcTemplate jdbc, Path file,
+                                                  int chunkSize, int parallelism) throws Exception {
+        TaskImporter importer = new TaskImporter(context.getBean(DataSource.class), null,
+            context.getBean(ObjectMapper.class), context.getBean(Validator.class),
+            chunkSize, parallelism, 1_000, Duration.ofMinutes(1));
+        clear(jdbc);
+        Files.deleteIfExists(TaskImporter.checkpointFor(file));
+        return importer.importFile(file, ImportFormat.of(null, file));
+    }
+
+    private static Path write(Path file, int rows, boolean json) throws Exception {
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            if (!json) {
+                out.write("title,description,owner,labels\n");
+            }
+            for (int i = 0; i < rows; i++) {
+                List<String> labels = labels(i);
+                if (json) {
+                    out.write("{\"title\":\"Task " + i + "\",\"description\":\"Imported row " + i + "\",\"labels\":["
+                        + String.join(",", labels.stream().map(label -> '"' + label + '"').toList()) + "]}\n");
+                } else {
+                    out.write("Task " + i + ",Imported row " + i + ",," + String.join("|", labels) + "\n");
+                }
+            }
+        }
+        return file;
+    }
+
+    private static List<String> labels(int i) {
+        return i % 3 == 0 ? List.of("backend", "urgent") : List.of("docs");
+    }
+
+    private static void clear(JdbcTemplate jdbc) {
+        jdbc.update("DELETE FROM task_labels");
+        jdbc.update("DELETE FROM tasks");
+    }
+}
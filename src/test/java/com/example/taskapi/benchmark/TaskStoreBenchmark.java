@@ -0,0 +1,193 @@
+package com.example.taskapi.benchmark;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.store.OffHeapTaskStore;
+import com.example.taskapi.store.OffHeapTaskStore.RecordFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The off-heap task store against embedded H2 (same table the JPA schema creates, plain JDBC so the
+ * ORM is not what gets measured) for the repository operations the API runs most: lookup by id,
+ * created-after, title contains, and insert.
+ *
+ * Seeds {@code rows} tasks, one title in a thousand containing "needle", created one second apart;
+ * created-after asks for the newest 1%. H2's result reuse is off so every call runs the query.
+ *
+ *   mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *       -Dexec.args="-cp %classpath org.openjdk.jmh.Main TaskStoreBenchmark -p rows=100000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskStoreBenchmark {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Param({"100000"})
+    public int rows;
+
+    private OffHeapTaskStore store;
+    private Connection h2;
+    private PreparedStatement h2FindById;
+    private PreparedStatement h2CreatedAfter;
+    private PreparedStatement h2TitleContains;
+    private PreparedStatement h2Insert;
+    private LocalDateTime newestPercent;
+
+    @Setup(Level.Trial)
+    public void seed() throws SQLException {
+        store = OffHeapTaskStore.inMemory(8 << 20);
+        for (int i = 1; i <= rows; i++) {
+            store.save(task(i));
+        }
+
+        h2 = DriverManager.getConnection("jdbc:h2:mem:storebench;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE", "sa", "");
+        try (Statement ddl = h2.createStatement()) {
+            ddl.execute("CREATE TABLE tasks (id BIGINT AUTO_INCREMENT PRIMARY KEY, owner VARCHAR(64) NOT NULL, "
+                + "title VARCHAR(255) NOT NULL, description VARCHAR(255), completed BOOLEAN NOT NULL, "
+                + "created_at TIMESTAMP(6), updated_at TIMESTAMP(6))");
+        }
+        h2Insert = h2.prepareStatement("INSERT INTO tasks (owner, title, description, completed, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)");
+        h2.setAutoCommit(false);
+        for (int i = 1; i <= rows; i++) {
+            insert(task(i));
+            if (i % 10_000 == 0) {
+                h2Insert.executeBatch();
+            }
+        }
+        h2Insert.executeBatch();
+        h2.commit();
+        h2.setAutoCommit(true);
+
+        String columns = "SELECT id, owner, title, description, completed, created_at, updated_at FROM tasks ";
+        h2FindById = h2.prepareStatement(columns + "WHERE id = ?");
+        h2CreatedAfter = h2.prepareStatement(columns + "WHERE created_at > ?");
+        h2TitleContains = h2.prepareStatement(columns + "WHERE LOWER(title) LIKE LOWER(?)");
+        newestPercent = EPOCH.plusSeconds(rows - rows / 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        store.close();
+        try (Statement drop = h2.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        h2.close();
+    }
+
+    @Benchmark
+    public Object offHeapFindById() {
+        return store.findById(randomId()).orElseThrow();
+    }
+
+    @Benchmark
+    public Object h2FindById() throws SQLException {
+        h2FindById.setLong(1, randomId());
+        return read(h2FindById).get(0);
+    }
+
+    @Benchmark
+    public Object offHeapCreatedAfter() {
+        return store.findCreatedAfter(newestPercent, RecordFilter.all());
+    }
+
+    @Benchmark
+    public Object h2CreatedAfter() throws SQLException {
+        h2CreatedAfter.setObject(1, newestPercent);
+        return read(h2CreatedAfter);
+    }
+
+    @Benchmark
+    public Object offHeapTitleContains() {
+        return store.find(RecordFilter.titleContains("NEEDLE"), Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Object h2TitleContains() throws SQLException {
+        h2TitleContains.setString(1, "%NEEDLE%");
+        return read(h2TitleContains);
+    }
+
+    @Benchmark
+    public Object offHeapInsert() {
+        return store.save(task(rows));
+    }
+
+    @Benchmark
+    public int h2Insert() throws SQLException {
+        insert(task(rows));
+        return h2Insert.executeUpdate();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+
+    private void insert(Task task) throws SQLException {
+        h2Insert.setString(1, task.getOwner());
+        h2Insert.setString(2, task.getTitle());
+        h2Insert.setString(3, task.getDescription());
+        h2Insert.setBoolean(4, task.isCompleted());
+        h2Insert.setObject(5, task.getCreatedAt());
+        h2Insert.setObject(6, task.getUpdatedAt());
+        if (!h2.getAutoCommit()) {
+            h2Insert.addBatch();
+        }
+    }
+
+    private static List<Task> read(PreparedStatement query) throws SQLException {
+        List<Task> tasks = new ArrayList<>();
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                Task task = new Task();
+                task.setId(rs.getLong(1));
+                task.setOwner(rs.getString(2));
+                task.setTitle(rs.getString(3));
+                task.setDescription(rs.getString(4));
+                task.setCompleted(rs.getBoolean(5));
+                task.setCreatedAt(rs.getObject(6, LocalDateTime.class));
+                task.setUpdatedAt(rs.getObject(7, LocalDateTime.class));
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    private static Task task(int i) {
+        Task task = new Task();
+        task.setTitle("Task " + i + (i % 1_000 == 0 ? " needle" : ""));
+        task.setDescription("Seeded");
+        task.setCompleted(i % 3 == 0);
+        task.setCreatedAt(EPOCH.plusSeconds(i));
+        task.setUpdatedAt(task.getCreatedAt());
+        return task;
+    }
+}
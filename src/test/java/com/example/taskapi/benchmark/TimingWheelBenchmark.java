@@ -0,0 +1,89 @@
+package com.example.taskapi.benchmark;
+
+import com.example.taskapi.due.TimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moving a due date with {@code timers} pending: the TimingWheel behind OverdueScheduler against a
+ * ScheduledThreadPoolExecutor with remove-on-cancel (a binary heap, so O(log n) per schedule and per
+ * cancel). Due dates are spread over 30 days at a one-second tick; none fire during the run.
+ *
+ *   mvn -q test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *       -Dexec.args="-cp %classpath org.openjdk.jmh.Main TimingWheelBenchmark -p timers=1000000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TimingWheelBenchmark {
+
+    private static final long SPREAD_MILLIS = Duration.ofDays(30).toMillis();
+
+    @Param({"1000000"})
+    public int timers;
+
+    private TimingWheel wheel;
+    private ScheduledThreadPoolExecutor executor;
+    private ScheduledFuture<?>[] futures;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        wheel = new TimingWheel(Duration.ofSeconds(1), 0, timers);
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        futures = new ScheduledFuture<?>[timers + 1];
+        for (int id = 1; id <= timers; id++) {
+            long deadline = randomDeadline();
+            wheel.schedule(id, deadline);
+            futures[id] = executor.schedule(() -> { }, deadline, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int wheelReschedule() {
+        int id = randomId();
+        wheel.schedule(id, randomDeadline());
+        return wheel.size();
+    }
+
+    @Benchmark
+    public Object executorReschedule() {
+        int id = randomId();
+        futures[id].cancel(false);
+        futures[id] = executor.schedule(() -> { }, randomDeadline(), TimeUnit.MILLISECONDS);
+        return futures[id];
+    }
+
+    private int randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(timers);
+    }
+
+    private static long randomDeadline() {
+        return Duration.ofDays(1).toMillis() + ThreadLocalRandom.current().nextLong(SPREAD_MILLIS);
+    }
+}
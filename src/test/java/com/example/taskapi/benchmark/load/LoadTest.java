@@ -0,0 +1,152 @@
+package com.example.taskapi.benchmark.load;
+
+import com.example.taskapi.TaskApiApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Load-test suite: seeds the tasks table, drives a fixed-rate request mix against the API and
+ * checks the latency percentiles against the objectives in {@code loadtest/slo.properties}.
+ * Breaching an objective throws, which fails the Maven build when run through the "loadtest" profile.
+ *
+ * By default the app is started in-process on embedded H2 with admission control off (all load comes
+ * from one client, so the per-client token buckets would otherwise be what is measured). To test a
+ * deployed instance instead, e.g. the jar against MySQL, pass its URL and the database to seed:
+ *
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.taskapi.benchmark.load.LoadTest \
+ *       -Dexec.args="--base-url http://localhost:8080 --jdbc-url jdbc:mysql://localhost:3306/taskdb
+ *                    --jdbc-user root --jdbc-password secret --rps 5000 --duration 120"
+ *
+ * Options (defaults in brackets):
+ *   --tasks N          tasks to seed; 0 seeds nothing and uses what is there [1000000]
+ *   --rps N            scheduled requests per second [5000]
+ *   --duration S       measured seconds [60]; a --warmup S run [10] precedes it and is discarded
+ *   --mix SPEC         scenario weights [getById=70,search=5,createdAfter=10,create=15]
+ *   --max-in-flight N  cap on outstanding requests [1000]
+ *   --seed N           random seed; equal seeds send equal request sequences [42]
+ *   --slo PATH         objectives file or classpath resource, or "none" [loadtest/slo.properties]
+ *   --report-dir DIR   where the per-scenario .hgrm percentile files go [target/loadtest]
+ */
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int tasks = Integer.parseInt(options.getOrDefault("tasks", "1000000"));
+        int rps = Integer.parseInt(options.getOrDefault("rps", "5000"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        WorkloadMix mix = WorkloadMix.parse(options.getOrDefault("mix", WorkloadMix.DEFAULT));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "1000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String slo = options.getOrDefault("slo", SloGate.DEFAULT_RESOURCE);
+        Path reportDir = Path.of(options.getOrDefault("report-dir", "target/loadtest"));
+
+        ConfigurableApplicationContext context = null;
+        try {
+            URI baseUri;
+            DataSource dataSource;
+            if (options.containsKey("base-url")) {
+                baseUri = URI.create(options.get("base-url"));
+                if (!options.containsKey("jdbc-url")) {
+                    throw new IllegalArgumentException("--base-url needs --jdbc-url to seed and find task ids");
+                }
+                dataSource = new DriverManagerDataSource(options.get("jdbc-url"),
+                    options.getOrDefault("jdbc-user", ""), options.getOrDefault("jdbc-password", ""));
+            } else {
+                context = SpringApplication.run(TaskApiApplication.class,
+                    "--server.port=0", "--taskapi.admission.enabled=false", "--spring.jpa.show-sql=false",
+                    "--logging.level.com.example.taskapi=WARN",
+                    "--logging.level.com.example.taskapi.SLOW_QUERY=ERROR");
+                baseUri = URI.create("http://localhost:"
+                    + ((ServletWebServerApplicationContext) context).getWebServer().getPort());
+                dataSource = context.getBean(DataSource.class);
+            }
+
+            Random random = new Random(seed);
+            TitleGenerator titles = new TitleGenerator();
+            TaskSeeder seeder = new TaskSeeder(dataSource, titles);
+            long seedStart = System.nanoTime();
+            TaskSeeder.IdRange ids = tasks > 0 ? seeder.seed(tasks, random) : seeder.idRange();
+            if (ids.rows() == 0) {
+                throw new IllegalStateException("No tasks to read; seed some with --tasks");
+            }
+            System.out.printf("seeded %d tasks in %.1f s, table has %d rows%n",
+                tasks, (System.nanoTime() - seedStart) / 1e9, ids.rows());
+
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+            OpenLoopDriver driver = new OpenLoopDriver(client, new Scenario.Target(baseUri, ids, titles), mix, maxInFlight);
+
+            System.out.printf("warm-up: %d req/s for %d s, mix %s%n", rps, warmup.toSeconds(), mix);
+            driver.run(rps, warmup, random);
+            System.out.printf("measuring: %d req/s for %d s%n", rps, duration.toSeconds());
+            Map<Scenario, OpenLoopDriver.Result> results = driver.run(rps, duration, random);
+
+            report(results, reportDir, System.out);
+            if (!"none".equals(slo)) {
+                List<String> violations = SloGate.load(slo).violations(results);
+                if (!violations.isEmpty()) {
+                    throw new IllegalStateException("SLO breached:\n  " + String.join("\n  ", violations));
+                }
+                System.out.println("all SLOs met (" + slo + ")");
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static void report(Map<Scenario, OpenLoopDriver.Result> results, Path reportDir, PrintStream out)
+            throws Exception {
+        Files.createDirectories(reportDir);
+        out.printf("%n%-14s %9s %9s %9s %9s %9s %9s  %s%n",
+            "scenario", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        for (Map.Entry<Scenario, OpenLoopDriver.Result> entry : results.entrySet()) {
+            OpenLoopDriver.Result result = entry.getValue();
+            Histogram histogram = result.latencyMicros();
+            out.printf("%-14s %9d %9.0f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                entry.getKey().key(), result.requests(), result.throughput(),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                result.errors().isEmpty() ? "-" : result.errors());
+            try (PrintStream file = new PrintStream(reportDir.resolve(entry.getKey().key() + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(file, 1000.0);
+            }
+        }
+        out.println("percentile distributions (ms) written to " + reportDir.toAbsolutePath());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got '" + args[i] + "'");
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.taskapi.benchmark.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are scheduled at a fixed rate whether or not earlier ones have
+ * completed, and latency is measured from each request's scheduled start. When the service (or the
+ * in-flight cap) falls behind, the time a request spent waiting to be sent counts against it, so
+ * the percentiles are free of coordinated omission.
+ */
+final class OpenLoopDriver {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+    private final Scenario.Target target;
+    private final WorkloadMix mix;
+    private final int maxInFlight;
+
+    OpenLoopDriver(HttpClient client, Scenario.Target target, WorkloadMix mix, int maxInFlight) {
+        this.client = client;
+        this.target = target;
+        this.mix = mix;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Sends {@code ratePerSecond} requests per second for {@code duration} and waits for the stragglers.
+     */
+    Map<Scenario, Result> run(int ratePerSecond, Duration duration, Random random) throws InterruptedException {
+        Map<Scenario, Stats> stats = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : mix.scenarios()) {
+            stats.put(scenario, new Stats());
+        }
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long total = duration.toSeconds() * ratePerSecond;
+        long start = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = mix.next(random);
+            Stats scenarioStats = stats.get(scenario);
+            inFlight.acquire();
+            client.sendAsync(scenario.request(target, random), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    inFlight.release();
+                    scenarioStats.record(scenario, scheduled, response, failure);
+                });
+        }
+        if (!inFlight.tryAcquire(maxInFlight, Scenario.TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Requests still in flight after the timeout");
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<Scenario, Result> results = new EnumMap<>(Scenario.class);
+        stats.forEach((scenario, s) -> results.put(scenario, s.result(elapsedSeconds)));
+        return results;
+    }
+
+    /**
+     * Latency histogram (microseconds, from scheduled start) and outcome counts for one scenario.
+     */
+    record Result(Histogram latencyMicros, long requests, Map<String, Long> errors, double throughput) {
+
+        long errorCount() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errorCount() / requests;
+        }
+    }
+
+    private static final class Stats {
+
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder requests = new LongAdder();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        void record(Scenario scenario, long scheduledNanos, HttpResponse<?> response, Throwable failure) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledNanos);
+            recorder.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            requests.increment();
+            if (failure != null) {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+                errors.computeIfAbsent(cause.getClass().getSimpleName(), k -> new LongAdder()).increment();
+            } else if (!scenario.isSuccess(response.statusCode())) {
+                errors.computeIfAbsent(Integer.toString(response.statusCode()), k -> new LongAdder()).increment();
+            }
+        }
+
+        Result result(double elapsedSeconds) {
+            Map<String, Long> errorCounts = new TreeMap<>();
+            errors.forEach((kind, count) -> errorCounts.put(kind, count.sum()));
+            long count = requests.sum();
+            return new Result(recorder.getIntervalHistogram(), count, errorCounts, count / elapsedSeconds);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.taskapi.benchmark.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * The request types in the load mix. Each builds its next request from the shared random stream,
+ * so a run with the same seed sends the same sequence of requests.
+ */
+enum Scenario {
+
+    GET_BY_ID("getById", 200) {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            return get(target, "/api/tasks/" + target.ids().pick(random));
+        }
+    },
+
+    SEARCH("search", 200) {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            String query = "keyword=" + URLEncoder.encode(target.titles().searchKeyword(random), StandardCharsets.UTF_8);
+            if (random.nextBoolean()) {
+                query += "&completed=" + random.nextBoolean();
+            }
+            return get(target, "/api/tasks/search?" + query);
+        }
+    },
+
+    CREATED_AFTER("createdAfter", 200) {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            LocalDateTime since = LocalDateTime.now().minusSeconds(random.nextInt((int) RECENT.toSeconds()));
+            return get(target, "/api/tasks/filter/created-after?date="
+                + since.withNano(0).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        }
+    },
+
+    CREATE("create", 201) {
+        @Override
+        HttpRequest request(Target target, Random random) {
+            String body = "{\"title\":\"" + target.titles().title(random) + "\",\"description\":\"load test\"}";
+            return HttpRequest.newBuilder(target.uri("/api/tasks"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        }
+    };
+
+    /** created-after queries look back at most this far, which keeps their result sets small. */
+    static final Duration RECENT = Duration.ofHours(1);
+
+    static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String key;
+    private final int expectedStatus;
+
+    Scenario(String key, int expectedStatus) {
+        this.key = key;
+        this.expectedStatus = expectedStatus;
+    }
+
+    abstract HttpRequest request(Target target, Random random);
+
+    /** Name used in --mix, the SLO file and the report. */
+    String key() {
+        return key;
+    }
+
+    boolean isSuccess(int status) {
+        return status == expectedStatus;
+    }
+
+    static Scenario fromKey(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equals(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario '" + key + "'");
+    }
+
+    private static HttpRequest get(Target target, String pathAndQuery) {
+        return HttpRequest.newBuilder(target.uri(pathAndQuery)).timeout(TIMEOUT).GET().build();
+    }
+
+    /**
+     * What the scenarios need to know about the system under test.
+     */
+    record Target(URI baseUri, TaskSeeder.IdRange ids, TitleGenerator titles) {
+
+        URI uri(String pathAndQuery) {
+            return baseUri.resolve(pathAndQuery);
+        }
+    }
+}
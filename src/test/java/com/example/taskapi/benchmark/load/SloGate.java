@@ -0,0 +1,79 @@
+package com.example.taskapi.benchmark.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Latency and error-rate objectives per scenario, read from a properties file:
+ *
+ *   getById.p99=50        # milliseconds, at the 50th/99th/99.9th percentile (p50, p99, p999)
+ *   getById.errorRate=0.001
+ *
+ * Scenarios or percentiles without an entry are not gated.
+ */
+final class SloGate {
+
+    static final String DEFAULT_RESOURCE = "loadtest/slo.properties";
+
+    private final Properties objectives;
+
+    private SloGate(Properties objectives) {
+        this.objectives = objectives;
+    }
+
+    static SloGate load(String location) throws IOException {
+        Properties properties = new Properties();
+        Path file = Path.of(location);
+        if (Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            }
+        } else {
+            try (InputStream in = SloGate.class.getClassLoader().getResourceAsStream(location)) {
+                if (in == null) {
+                    throw new IOException("SLO file not found: " + location);
+                }
+                properties.load(in);
+            }
+        }
+        return new SloGate(properties);
+    }
+
+    /**
+     * @return one line per breached objective; empty when every objective is met
+     */
+    List<String> violations(Map<Scenario, OpenLoopDriver.Result> results) {
+        List<String> violations = new ArrayList<>();
+        results.forEach((scenario, result) -> {
+            checkPercentile(scenario, result, "p50", 50.0, violations);
+            checkPercentile(scenario, result, "p99", 99.0, violations);
+            checkPercentile(scenario, result, "p999", 99.9, violations);
+
+            String maxErrorRate = objectives.getProperty(scenario.key() + ".errorRate");
+            if (maxErrorRate != null && result.errorRate() > Double.parseDouble(maxErrorRate)) {
+                violations.add(String.format("%s error rate %.4f > %s %s",
+                    scenario.key(), result.errorRate(), maxErrorRate, result.errors()));
+            }
+        });
+        return violations;
+    }
+
+    private void checkPercentile(Scenario scenario, OpenLoopDriver.Result result, String name, double percentile,
+                                 List<String> violations) {
+        String limit = objectives.getProperty(scenario.key() + "." + name);
+        if (limit == null || result.requests() == 0) {
+            return;
+        }
+        double actualMillis = result.latencyMicros().getValueAtPercentile(percentile) / 1000.0;
+        if (actualMillis > Double.parseDouble(limit)) {
+            violations.add(String.format("%s %s %.1f ms > %s ms", scenario.key(), name, actualMillis, limit));
+        }
+    }
+}
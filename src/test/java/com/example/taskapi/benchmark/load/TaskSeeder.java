@@ -0,0 +1,96 @@
+package com.example.taskapi.benchmark.load;
+
+import com.example.taskapi.entity.Task;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Bulk-loads tasks straight into the tasks table with batched JDBC inserts; seeding a million rows
+ * through POST /api/tasks would take longer than the test itself.
+ *
+ * createdAt is spread uniformly over the past year, so "created after an hour ago" stays a narrow
+ * range scan; roughly a third of the tasks are completed.
+ */
+final class TaskSeeder {
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final Duration HISTORY = Duration.ofDays(365);
+
+    private final DataSource dataSource;
+    private final TitleGenerator titles;
+
+    TaskSeeder(DataSource dataSource, TitleGenerator titles) {
+        this.dataSource = dataSource;
+        this.titles = titles;
+    }
+
+    /**
+     * Inserts {@code count} tasks and returns the id range of the whole table afterwards.
+     */
+    IdRange seed(int count, Random random) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        long historySeconds = HISTORY.toSeconds();
+        String sql = "INSERT INTO tasks (owner, title, description, completed, overdue, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, FALSE, ?, ?)";
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(sql)) {
+                for (int i = 1; i <= count; i++) {
+                    Timestamp createdAt = Timestamp.valueOf(now.minusSeconds((long) (random.nextDouble() * historySeconds)));
+                    insert.setString(1, Task.DEFAULT_OWNER);
+                    insert.setString(2, titles.title(random));
+                    String description = titles.description(random);
+                    if (description == null) {
+                        insert.setNull(3, Types.VARCHAR);
+                    } else {
+                        insert.setString(3, description);
+                    }
+                    insert.setBoolean(4, random.nextInt(3) == 0);
+                    insert.setTimestamp(5, createdAt);
+                    insert.setTimestamp(6, createdAt);
+                    insert.addBatch();
+                    if (i % BATCH_SIZE == 0 || i == count) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return idRange(connection);
+        }
+    }
+
+    IdRange idRange() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return idRange(connection);
+        }
+    }
+
+    private static IdRange idRange(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT MIN(id), MAX(id), COUNT(*) FROM tasks")) {
+            rs.next();
+            return new IdRange(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+        }
+    }
+
+    record IdRange(long min, long max, long rows) {
+
+        long pick(Random random) {
+            return min + (long) (random.nextDouble() * (max - min + 1));
+        }
+    }
+}
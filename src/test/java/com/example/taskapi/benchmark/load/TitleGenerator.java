@@ -0,0 +1,105 @@
+package com.example.taskapi.benchmark.load;
+
+import java.util.Random;
+
+/**
+ * Generates task titles shaped like a real tracker's: "<verb> <component> <noun>", with a ticket key
+ * on most titles. Words are drawn from Zipf distributions, so a handful of verbs and components dominate
+ * and the vocabulary has a long tail, as in real backlogs.
+ *
+ * Search keywords come from the selective end of the same vocabulary (ticket keys and tail components),
+ * so a /search call matches a bounded number of rows however many tasks are seeded.
+ */
+final class TitleGenerator {
+
+    private static final String[] VERBS = {
+        "Fix", "Add", "Update", "Refactor", "Remove", "Investigate", "Document", "Review", "Migrate",
+        "Optimize", "Test", "Deploy", "Upgrade", "Rename", "Revert", "Split", "Automate", "Monitor",
+    };
+
+    private static final String[] COMPONENTS = {
+        "login", "checkout", "search", "billing", "dashboard", "onboarding", "notification", "profile",
+        "payment", "export", "import", "settings", "report", "admin", "api", "cache", "scheduler", "invoice",
+        "audit", "upload", "webhook", "sso", "inventory", "shipping", "pricing", "analytics", "i18n",
+        "sitemap", "captcha", "feed", "chat", "calendar", "comments", "tagging", "archive", "backup",
+        "quota", "sandbox", "telemetry", "ledger", "refund", "coupon", "wishlist", "loyalty", "kiosk",
+        "barcode", "geofence", "escrow", "payroll", "timesheet",
+    };
+
+    private static final String[] NOUNS = {
+        "bug", "page", "endpoint", "test", "flow", "query", "timeout", "layout", "validation", "migration",
+        "index", "job", "email", "config", "permissions", "docs", "alert", "dependency", "logging", "crash",
+    };
+
+    private static final String[] PROJECTS = {"CORE", "WEB", "OPS", "PAY", "MOB"};
+
+    /** Components from this rank on are rare enough to be selective search terms. */
+    private static final int TAIL_START = COMPONENTS.length * 3 / 5;
+
+    private static final int MAX_TICKET = 99_999;
+
+    private final Zipf verbs = new Zipf(VERBS.length, 1.1);
+    private final Zipf components = new Zipf(COMPONENTS.length, 1.0);
+    private final Zipf nouns = new Zipf(NOUNS.length, 1.2);
+
+    String title(Random random) {
+        StringBuilder title = new StringBuilder(48)
+            .append(VERBS[verbs.sample(random)]).append(' ')
+            .append(COMPONENTS[components.sample(random)]).append(' ')
+            .append(NOUNS[nouns.sample(random)]);
+        if (random.nextInt(10) < 8) {
+            title.append(" (").append(ticketKey(random)).append(')');
+        }
+        return title.toString();
+    }
+
+    String description(Random random) {
+        return random.nextInt(4) == 0 ? null : "Reported by " + PROJECTS[random.nextInt(PROJECTS.length)] + " team";
+    }
+
+    String searchKeyword(Random random) {
+        if (random.nextInt(10) < 8) {
+            return ticketKey(random);
+        }
+        return COMPONENTS[TAIL_START + random.nextInt(COMPONENTS.length - TAIL_START)];
+    }
+
+    private static String ticketKey(Random random) {
+        return PROJECTS[random.nextInt(PROJECTS.length)] + "-" + (1 + random.nextInt(MAX_TICKET));
+    }
+
+    /**
+     * Zipf(n, s) sampler over ranks 0..n-1 by inverse CDF lookup.
+     */
+    static final class Zipf {
+
+        private final double[] cdf;
+
+        Zipf(int n, double exponent) {
+            cdf = new double[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                sum += 1.0 / Math.pow(rank + 1, exponent);
+                cdf[rank] = sum;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cdf[rank] /= sum;
+            }
+        }
+
+        int sample(Random random) {
+            double u = random.nextDouble();
+            int low = 0;
+            int high = cdf.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cdf[mid] < u) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.taskapi.benchmark.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted choice between scenarios, parsed from e.g. "getById=70,search=5,createdAfter=10,create=15".
+ */
+final class WorkloadMix {
+
+    static final String DEFAULT = "getById=70,search=5,createdAfter=10,create=15";
+
+    private final Scenario[] scenarios;
+    private final int[] cumulative;
+
+    private WorkloadMix(Map<Scenario, Integer> weights) {
+        scenarios = weights.keySet().toArray(Scenario[]::new);
+        cumulative = new int[scenarios.length];
+        int sum = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            sum += weights.get(scenarios[i]);
+            cumulative[i] = sum;
+        }
+    }
+
+    static WorkloadMix parse(String spec) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected scenario=weight, got '" + part + "'");
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + pair[0]);
+            }
+            if (weight > 0) {
+                weights.put(Scenario.fromKey(pair[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Workload mix has no scenarios: " + spec);
+        }
+        return new WorkloadMix(weights);
+    }
+
+    Scenario next(Random random) {
+        int pick = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (pick < cumulative[i]) {
+                return scenarios[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    Scenario[] scenarios() {
+        return scenarios.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            out.append(i == 0 ? "" : ",").append(scenarios[i].key()).append('=').append(cumulative[i] - previous);
+            previous = cumulative[i];
+        }
+        return out.toString();
+    }
+}
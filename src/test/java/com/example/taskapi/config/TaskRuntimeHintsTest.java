@@ -0,0 +1,73 @@
+package com.example.taskapi.config;
+
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.entity.OutboxEvent;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.exception.ErrorResponse;
+import com.example.taskapi.exception.GlobalExceptionHandler;
+import com.example.taskapi.exception.TaskNotFoundException;
+import com.example.taskapi.outbox.TaskChangeEvent;
+import com.example.taskapi.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.interceptor.TransactionalProxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new TaskRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void entitiesAreReflectivelyConstructible() {
+        for (Class<?> entity : new Class<?>[] {Task.class, OutboxEvent.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(entity).withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints), entity.getName());
+        }
+        assertTrue(RuntimeHintsPredicates.reflection().onField(Task.class, "title").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onField(OutboxEvent.class, "taskId").test(hints));
+    }
+
+    @Test
+    void payloadTypesAreRegisteredForJackson() throws NoSuchMethodException {
+        for (Class<?> type : new Class<?>[] {TaskRequestDTO.class, TaskResponseDTO.class, ErrorResponse.class,
+                TaskChangeEvent.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(type).withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints), type.getName());
+        }
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onMethod(TaskResponseDTO.class.getMethod("title")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onMethod(TaskChangeEvent.class.getMethod("sequence")).test(hints));
+    }
+
+    @Test
+    void repositoryProxyAndDerivedQueriesAreRegistered() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(
+            TaskRepository.class, Repository.class, TransactionalProxy.class,
+            SpringProxy.class, Advised.class, DecoratingProxy.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onMethod(TaskRepository.class.getMethod("findByCompleted", boolean.class)).test(hints));
+    }
+
+    @Test
+    void exceptionHandlerMethodsAreInvocable() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onMethod(GlobalExceptionHandler.class.getMethod("handleTaskNotFound", TaskNotFoundException.class))
+            .test(hints));
+    }
+}
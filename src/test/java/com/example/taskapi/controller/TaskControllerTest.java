@@ -1,15 +1,21 @@
 package com.example.taskapi.controller;
 
+import com.example.taskapi.dto.TaskBatchResponseDTO;
+import com.example.taskapi.dto.TaskCountResponseDTO;
 import com.example.taskapi.dto.TaskRequestDTO;
 import com.example.taskapi.dto.TaskResponseDTO;
 import com.example.taskapi.exception.TaskNotFoundException;
+import com.example.taskapi.labels.LabelFilter;
 import com.example.taskapi.service.TaskService;
+import com.example.taskapi.sorting.TaskSort;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -45,6 +51,7 @@ class TaskControllerTest {
     void setUp() {
         sampleResponse = new TaskResponseDTO(
             1L,
+            "default",
             "Test Task",
             "Sample Description",
             false,
@@ -65,6 +72,26 @@ class TaskControllerTest {
             .andExpect(jsonPath("$.title", is("Test Task")));
     }
 
+    @Test
+    void testCreateTask_WithIdempotencyKey() throws Exception {
+        TaskRequestDTO request = new TaskRequestDTO("Test Task", "Sample Description");
+
+        Mockito.when(taskService.createTask(any(), eq("retry-1"))).thenReturn(sampleResponse);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id", is(1)));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks")
+                .header("Idempotency-Key", " ")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testCreateTask_ValidationError() throws Exception {
         TaskRequestDTO invalidRequest = new TaskRequestDTO("", "desc");
@@ -87,6 +114,57 @@ class TaskControllerTest {
             .andExpect(jsonPath("$[0].title", is("Test Task")));
     }
 
+    @Test
+    void testGetTasksByIds() throws Exception {
+        Mockito.when(taskService.getTasksByIds(List.of(1L, 99L)))
+            .thenReturn(new TaskBatchResponseDTO(List.of(sampleResponse), List.of(99L)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks").param("ids", "1,99"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks[0].id", is(1)))
+            .andExpect(jsonPath("$.missing[0]", is(99)));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 99]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks", hasSize(1)));
+    }
+
+    @Test
+    void testBatchGetRejectsEmptyAndOversizedBatches() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+            .andExpect(status().isBadRequest());
+
+        String tooMany = objectMapper.writeValueAsString(
+            LongStream.rangeClosed(1, TaskController.MAX_BATCH_IDS + 1).boxed().toList());
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/tasks/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(tooMany))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testFilterByLabels() throws Exception {
+        LabelFilter filter = new LabelFilter(Set.of("backend", "urgent"), Set.of(), Set.of("blocked"), false);
+        Mockito.when(taskService.filterByLabels(filter, 10)).thenReturn(List.of(sampleResponse));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/filter/labels")
+                .param("all", "Backend,urgent")
+                .param("none", "blocked")
+                .param("completed", "false")
+                .param("limit", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id", is(1)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/filter/labels").param("completed", "false"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/filter/labels").param("any", " "))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetTaskById_Found() throws Exception {
         Mockito.when(taskService.getTaskById(1L)).thenReturn(sampleResponse);
@@ -125,6 +203,18 @@ class TaskControllerTest {
             .andExpect(jsonPath("$[0].completed", is(false)));
     }
 
+    @Test
+    void testGetOverdue() throws Exception {
+        TaskResponseDTO late = new TaskResponseDTO(2L, "default", "Late", null, false, LocalDateTime.now(),
+            List.of(), LocalDateTime.now().minusDays(1), true);
+        Mockito.when(taskService.getOverdue()).thenReturn(List.of(late));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/filter/overdue"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].overdue", is(true)))
+            .andExpect(jsonPath("$[0].dueAt").exists());
+    }
+
     @Test
     void testGetByCreatedAfter() throws Exception {
         Mockito.when(taskService.getByCreatedAfter(any())).thenReturn(List.of(sampleResponse));
@@ -164,7 +254,7 @@ class TaskControllerTest {
     @Test
     void testSearchFlexible_WithKeywordOnly() throws Exception {
         Mockito.when(taskService.search(eq("test"), isNull()))
-            .thenReturn(List.of(new TaskResponseDTO(1L, "test", "desc", false, LocalDateTime.now())));
+            .thenReturn(List.of(new TaskResponseDTO(1L, "default", "test", "desc", false, LocalDateTime.now())));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/search")
                 .param("keyword", "test"))
@@ -176,7 +266,7 @@ class TaskControllerTest {
     @Test
     void testSearchFlexible_WithCompletedOnly() throws Exception {
         Mockito.when(taskService.search(isNull(), eq(true)))
-            .thenReturn(List.of(new TaskResponseDTO(1L, "done", "desc", true, LocalDateTime.now())));
+            .thenReturn(List.of(new TaskResponseDTO(1L, "default", "done", "desc", true, LocalDateTime.now())));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/search")
                 .param("completed", "true"))
@@ -189,7 +279,8 @@ class TaskControllerTest {
     void testSearchFlexibleThrowsValidationExceptionWhenBothParamsMissing() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/search"))
             .andExpect(status().isBadRequest())
-            .andExpect(jsonPath("$.error", containsString("At least one of 'keyword' or 'completed' must be provided")));
+            .andExpect(jsonPath("$.error").value("Validation Error"))
+            .andExpect(jsonPath("$.message").value("At least one of 'keyword' or 'completed' must be provided."));
     }
 
     // This is a test for the search endpoint where keyword is empty and completed is null
@@ -199,7 +290,8 @@ class TaskControllerTest {
                 .param("keyword", "")
                 .param("completed", (String) null))
             .andExpect(status().isBadRequest())
-            .andExpect(jsonPath("$.error", containsString("At least one of 'keyword' or 'completed' must be provided")));
+            .andExpect(jsonPath("$.error").value("Validation Error"))
+            .andExpect(jsonPath("$.message").value("At least one of 'keyword' or 'completed' must be provided."));
     }
 
     // This is a test for the search endpoint where keyword is null and completed is null
@@ -209,6 +301,61 @@ class TaskControllerTest {
                 .param("keyword", (String) null)
                 .param("completed", (String) null))
             .andExpect(status().isBadRequest())
-            .andExpect(jsonPath("$.error", containsString("Validation Error: At least one of 'keyword' or 'completed' must be provided")));
+            .andExpect(jsonPath("$.error").value("Validation Error"))
+            .andExpect(jsonPath("$.message").value("At least one of 'keyword' or 'completed' must be provided."));
+    }
+
+    @Test
+    void testSearchFlexible_WithLimit() throws Exception {
+        Mockito.when(taskService.search("test", null, 1))
+            .thenReturn(List.of(sampleResponse));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/search")
+                .param("keyword", "test")
+                .param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].title", is("Test Task")));
+    }
+
+    @Test
+    void testSearchFlexible_WithSortAndLimit() throws Exception {
+        Mockito.when(taskService.search("test", false, 5, new TaskSort(TaskSort.Property.CREATED_AT, true)))
+            .thenReturn(List.of(sampleResponse));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/search")
+                .param("keyword", "test")
+                .param("completed", "false")
+                .param("sort", "createdAt,desc")
+                .param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].title", is("Test Task")));
+    }
+
+    @Test
+    void testGetByCompletedRejectsUnknownSort() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/filter/completed")
+                .param("status", "true")
+                .param("sort", "title"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearchByTitleAndCompletedRejectsNonPositiveLimit() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/filter/title-and-completed")
+                .param("keyword", "test")
+                .param("completed", "false")
+                .param("limit", "0"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message", is("'limit' must be at least 1.")));
+    }
+
+    @Test
+    void testCount() throws Exception {
+        Mockito.when(taskService.count(true, null)).thenReturn(new TaskCountResponseDTO(7));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/tasks/count")
+                .param("completed", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count", is(7)));
     }
 }
@@ -0,0 +1,155 @@
+package com.example.taskapi.due;
+
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.recent.RecentTasksWindow;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.service.TaskService;
+import com.example.taskapi.snapshot.ColumnarTaskSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "taskapi.due.tick=50ms",
+    "taskapi.snapshot.enabled=true",
+    "taskapi.recent-tasks.enabled=true",
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OverdueIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private OverdueScheduler scheduler;
+
+    @Autowired
+    private ColumnarTaskSnapshot snapshot;
+
+    @Autowired
+    private RecentTasksWindow recentTasks;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void flagsATaskCreatedHereOnceItsDueDatePasses() throws Exception {
+        long soon = create("Due soon", LocalDateTime.now().plusNanos(300_000_000));
+        long tomorrow = create("Due tomorrow", LocalDateTime.now().plusDays(1));
+        create("No due date", null);
+
+        await(() -> taskService.getOverdue().size() == 1);
+
+        assertEquals(soon, taskService.getOverdue().get(0).id());
+        mockMvc.perform(get("/api/tasks/filter/overdue"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(soon))
+            .andExpect(jsonPath("$[0].overdue").value(true));
+        mockMvc.perform(get("/api/tasks/" + tomorrow))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.overdue").value(false));
+    }
+
+    @Test
+    void flagsTheInMemoryCopiesToo() throws Exception {
+        snapshot.rebuild();
+        recentTasks.reload();
+        long soon = create("Due soon", LocalDateTime.now().plusNanos(300_000_000));
+
+        // The views are flagged right after the UPDATE commits
+        await(() -> snapshot.findByIds(List.of(soon)).get(soon).overdue()
+            && recentTasks.findCreatedAfter(LocalDateTime.now().minusMinutes(1)).orElseThrow().get(0).overdue());
+
+        assertEquals(soon, taskService.getOverdue().get(0).id());
+        assertEquals(soon, recentTasks.findCreatedAfter(LocalDateTime.now().minusMinutes(1)).orElseThrow().get(0).id());
+    }
+
+    @Test
+    void picksUpTasksWrittenElsewhereAtTheNextReload() {
+        Task missed = save("Came due while this instance was down", LocalDateTime.now().minusHours(1), false);
+        save("Completed before it came due", LocalDateTime.now().minusHours(1), true);
+        Task later = save("Due later", LocalDateTime.now().plusNanos(400_000_000), false);
+
+        scheduler.reload();
+        await(() -> taskService.getOverdue().size() == 2);
+
+        List<Long> overdue = taskService.getOverdue().stream().map(TaskResponseDTO::id).toList();
+        assertEquals(List.of(missed.getId(), later.getId()), overdue);
+    }
+
+    @Test
+    void leavesATaskCompletedAfterItsTimerWasSet() throws InterruptedException {
+        Task task = save("Completed in time", LocalDateTime.now().plusNanos(200_000_000), false);
+        scheduler.reload();
+        task.setCompleted(true);
+        taskRepository.save(task);
+        long flagged = scheduler.marked();
+
+        // Well past the due date plus a tick
+        Thread.sleep(500);
+
+        assertFalse(taskRepository.findById(task.getId()).orElseThrow().isOverdue());
+        assertEquals(flagged, scheduler.marked());
+    }
+
+    private long create(String title, LocalDateTime dueAt) throws Exception {
+        String body = mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskRequestDTO(title, null, null, null, dueAt))))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, TaskResponseDTO.class).id();
+    }
+
+    private Task save(String title, LocalDateTime dueAt, boolean completed) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDueAt(dueAt);
+        task.setCompleted(completed);
+        task.setCreatedAt(LocalDateTime.now());
+        return taskRepository.save(task);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.taskapi.due;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long TICK = 10;
+
+    private final TimingWheel wheel = new TimingWheel(Duration.ofMillis(TICK), 0, 16);
+
+    @Test
+    void firesEachTimerAtTheFirstTickAtOrAfterItsDeadline() {
+        Random random = new Random(42);
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (long id = 1; id <= 5_000; id++) {
+            // Spread over every level, with a few beyond the top wheel (2^24 ticks)
+            long deadline = switch ((int) (id % 5)) {
+                case 0 -> random.nextInt(640);
+                case 1 -> random.nextInt(40_960);
+                case 2 -> random.nextInt(2_621_440);
+                case 3 -> random.nextInt(167_772_160);
+                default -> 167_772_160L + random.nextInt(100_000_000);
+            };
+            deadlines.put(id, deadline);
+            wheel.schedule(id, deadline);
+        }
+
+        long now = 0;
+        while (!deadlines.isEmpty()) {
+            long previous = now;
+            now += 1 + random.nextInt(150_000);
+            List<Long> fired = new ArrayList<>();
+            wheel.advance(now, fired::add);
+
+            Set<Long> expected = new HashSet<>();
+            for (Map.Entry<Long, Long> timer : deadlines.entrySet()) {
+                // Timers due before the wheel started fire at its first tick
+                long fireTick = Math.max(1, Math.floorDiv(timer.getValue() + TICK - 1, TICK));
+                if (fireTick > previous / TICK && fireTick <= now / TICK) {
+                    expected.add(timer.getKey());
+                }
+            }
+            assertEquals(expected, new HashSet<>(fired), "advancing to " + now);
+            for (int i = 1; i < fired.size(); i++) {
+                assertTrue(deadlines.get(fired.get(i - 1)) / TICK <= (deadlines.get(fired.get(i)) + TICK - 1) / TICK,
+                    "fired out of order");
+            }
+            fired.forEach(deadlines::remove);
+            assertEquals(deadlines.size(), wheel.size());
+        }
+    }
+
+    @Test
+    void cancelledAndRescheduledTimersDoNotFireAtTheOldDeadline() {
+        for (long id = 1; id <= 1_000; id++) {
+            wheel.schedule(id, 1_000 + id);
+        }
+        for (long id = 1; id <= 1_000; id += 2) {
+            assertTrue(wheel.cancel(id));
+        }
+        assertFalse(wheel.cancel(1));
+        wheel.schedule(2, 50_000);
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advance(10_000, fired::add);
+        assertEquals(499, fired.size());
+        assertTrue(fired.stream().allMatch(id -> id % 2 == 0 && id != 2));
+
+        fired.clear();
+        wheel.advance(50_000, fired::add);
+        assertEquals(List.of(2L), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void timersAlreadyDueFireAtTheNextTick() {
+        TimingWheel restarted = new TimingWheel(Duration.ofSeconds(1), 1_000_000, 16);
+        restarted.schedule(7, 5_000);
+        restarted.schedule(8, 1_000_000);
+        restarted.schedule(9, 1_000_500);
+
+        List<Long> fired = new ArrayList<>();
+        restarted.advance(1_000_999, fired::add);
+        assertTrue(fired.isEmpty());
+        restarted.advance(1_001_000, fired::add);
+        assertEquals(Set.of(7L, 8L, 9L), new HashSet<>(fired));
+    }
+
+    @Test
+    void reusesRowsOfFiredTimers() {
+        for (int round = 0; round < 3; round++) {
+            long start = round * 1_000_000L;
+            for (long id = 1; id <= 100_000; id++) {
+                wheel.schedule(id, start + id % 50_000);
+            }
+            assertEquals(100_000, wheel.size());
+            assertEquals(100_000, wheel.advance(start + 60_000, id -> { }));
+        }
+        assertEquals(0, wheel.size());
+    }
+}
@@ -65,6 +65,34 @@ class GlobalExceptionHandlerTest {
         assertEquals("ID 5 not found", response.getBody().getMessage());
     }
 
+    @Test
+    void testAppExceptionsAreStackless() {
+        assertEquals(0, new TaskNotFoundException("x").getStackTrace().length);
+        assertEquals(0, new ValidationException("x").getStackTrace().length);
+        assertEquals(0, new ServiceOverloadedException("x").getStackTrace().length);
+    }
+
+    @Test
+    void testHandleTaskNotFound_WhenLogIsSampledOut() {
+        handler = new GlobalExceptionHandler(new LogSampler(0, 1_000, () -> 0L));
+
+        ResponseEntity<ErrorResponse> response = handler.handleTaskNotFound(new TaskNotFoundException("ID 7 not found"));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("ID 7 not found", response.getBody().getMessage());
+    }
+
+    @Test
+    void testHandleServiceOverloaded() {
+        ServiceOverloadedException ex = new ServiceOverloadedException("Service is overloaded");
+
+        ResponseEntity<ErrorResponse> response = handler.handleServiceOverloaded(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        assertEquals("Service overloaded", response.getBody().getError());
+    }
+
     @Test
     void testHandleGeneric() {
         Exception ex = new Exception("Something broke");
@@ -83,7 +111,7 @@ class GlobalExceptionHandlerTest {
         ResponseEntity<ErrorResponse> response = handler.handleAppExceptions(ex);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        assertEquals("Validation Error: At least one of 'keyword' or 'completed' must be provided", response.getBody().getError());
+        assertEquals("Validation Error", response.getBody().getError());
         assertEquals("Missing title", response.getBody().getMessage());
     }
 
@@ -110,9 +138,7 @@ class GlobalExceptionHandlerTest {
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        assertEquals(
-            "Validation Error: At least one of 'keyword' or 'completed' must be provided", 
-            response.getBody().getError());
+        assertEquals("Validation Error", response.getBody().getError());
         assertEquals("Missing title", response.getBody().getMessage());
     }    
 
@@ -127,9 +153,7 @@ class GlobalExceptionHandlerTest {
         ResponseEntity<ErrorResponse> resp = handler.handleAppExceptions(ex);
 
         assertEquals(HttpStatus.BAD_REQUEST, resp.getStatusCode());
-        assertEquals(
-            "Validation Error: At least one of 'keyword' or 'completed' must be provided", 
-            resp.getBody().getError());
+        assertEquals("Validation Error", resp.getBody().getError());
         assertEquals("Missing title", resp.getBody().getMessage());
     }    
 
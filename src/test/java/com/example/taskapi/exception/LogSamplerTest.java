@@ -0,0 +1,35 @@
+package com.example.taskapi.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplerTest {
+
+    private final AtomicLong now = new AtomicLong(10_000L);
+
+    @Test
+    void logsBurstThenSamplesAndReportsSuppressedCount() {
+        LogSampler sampler = new LogSampler(2, 5, now::get);
+
+        assertEquals(0, sampler.tryAcquire("not_found"));
+        assertEquals(0, sampler.tryAcquire("not_found"));
+        assertEquals(-1, sampler.tryAcquire("not_found"));   // 3
+        assertEquals(-1, sampler.tryAcquire("not_found"));   // 4
+        assertEquals(2, sampler.tryAcquire("not_found"));    // 5th is sampled, 2 were dropped before it
+    }
+
+    @Test
+    void keysAreIndependentAndWindowsReset() {
+        LogSampler sampler = new LogSampler(1, 1_000, now::get);
+
+        assertEquals(0, sampler.tryAcquire("a"));
+        assertEquals(-1, sampler.tryAcquire("a"));
+        assertEquals(0, sampler.tryAcquire("b"));
+
+        now.addAndGet(1_000L);
+        assertEquals(1, sampler.tryAcquire("a"));
+    }
+}
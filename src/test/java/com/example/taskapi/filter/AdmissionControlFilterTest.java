@@ -0,0 +1,142 @@
+package com.example.taskapi.filter;
+
+import com.example.taskapi.config.AdmissionControlProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private final AtomicLong now = new AtomicLong(0L);
+    private final AtomicReference<Double> poolWait = new AtomicReference<>(0.0);
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private AdmissionControlFilter filter(int maxConcurrent) {
+        AdmissionControlProperties properties = new AdmissionControlProperties(
+            true, "X-API-Key", List.of("a", "b"), 1, 2, 100, 100, maxConcurrent, 250, 3, 100);
+        return new AdmissionControlFilter(properties, poolWait::get, now::get, new ObjectMapper(), registry);
+    }
+
+    private MockHttpServletResponse perform(AdmissionControlFilter filter, String method, String uri, String apiKey)
+            throws Exception {
+        return perform(filter, method, uri, apiKey, "127.0.0.1");
+    }
+
+    private MockHttpServletResponse perform(AdmissionControlFilter filter, String method, String uri, String apiKey,
+                                            String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void expensiveEndpointIsRateLimitedPerClient() throws Exception {
+        AdmissionControlFilter filter = filter(10);
+
+        assertEquals(200, perform(filter, "GET", "/api/tasks", "a").getStatus());
+        assertEquals(200, perform(filter, "GET", "/api/tasks/search", "a").getStatus());
+        MockHttpServletResponse rejected = perform(filter, "GET", "/api/tasks/filter/title", "a");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Rate limit exceeded"));
+
+        // Another client and the cheap budget are unaffected
+        assertEquals(200, perform(filter, "GET", "/api/tasks", "b").getStatus());
+        assertEquals(200, perform(filter, "GET", "/api/tasks/1", "a").getStatus());
+
+        assertEquals(1.0, registry.get(AdmissionControlFilter.REJECTIONS_METRIC)
+            .tag("reason", "rate_limited").tag("cost", "expensive").counter().count());
+    }
+
+    @Test
+    void unknownApiKeysShareTheirAddressBucket() throws Exception {
+        AdmissionControlFilter filter = filter(10);
+
+        assertEquals(200, perform(filter, "GET", "/api/tasks", "made-up-1").getStatus());
+        assertEquals(200, perform(filter, "GET", "/api/tasks", "made-up-2").getStatus());
+        assertEquals(429, perform(filter, "GET", "/api/tasks", "made-up-3").getStatus());
+
+        assertEquals(200, perform(filter, "GET", "/api/tasks", "made-up-4", "10.0.0.2").getStatus());
+        assertEquals(200, perform(filter, "GET", "/api/tasks", "a").getStatus());
+    }
+
+    @Test
+    void keepsABoundedNumberOfClients() throws Exception {
+        AdmissionControlFilter filter = filter(10);
+
+        for (int i = 0; i < 1_000; i++) {
+            perform(filter, "GET", "/api/tasks", null, "10.0." + (i >> 8) + "." + (i & 255));
+        }
+
+        assertTrue(filter.trackedClients(EndpointCost.EXPENSIVE) <= 100);
+        // The most recent client is still tracked, so its spent budget holds
+        perform(filter, "GET", "/api/tasks", null, "10.0.3.231");
+        assertEquals(429, perform(filter, "GET", "/api/tasks", null, "10.0.3.231").getStatus());
+    }
+
+    @Test
+    void shedsExpensiveRequestsUnderPoolPressure() throws Exception {
+        AdmissionControlFilter filter = filter(10);
+        poolWait.set(1_000.0);
+
+        MockHttpServletResponse shed = perform(filter, "GET", "/api/tasks", null);
+        assertEquals(503, shed.getStatus());
+        assertEquals("3", shed.getHeader("Retry-After"));
+
+        assertEquals(200, perform(filter, "GET", "/api/tasks/7", null).getStatus());
+        assertEquals(1.0, registry.get(AdmissionControlFilter.REJECTIONS_METRIC)
+            .tag("reason", "db_pool_pressure").counter().count());
+    }
+
+    @Test
+    void rejectsWhenConcurrencyCapIsReached() throws Exception {
+        AdmissionControlFilter filter = filter(1);
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+
+        FilterChain chain = (req, res) -> {
+            try {
+                nested.set(perform(filter, "GET", "/api/tasks/2", "other"));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1");
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals(503, nested.get().getStatus());
+        assertEquals(200, perform(filter, "GET", "/api/tasks/3", "other").getStatus());
+    }
+
+    @Test
+    void classifiesEndpoints() {
+        assertEquals(EndpointCost.EXPENSIVE, EndpointCost.classify("GET", "/api/tasks"));
+        assertEquals(EndpointCost.EXPENSIVE, EndpointCost.classify("GET", "/api/tasks/search"));
+        assertEquals(EndpointCost.EXPENSIVE, EndpointCost.classify("GET", "/api/tasks/filter/completed"));
+        assertEquals(EndpointCost.EXPENSIVE, EndpointCost.classify("GET", "/api/tasks/count"));
+        assertEquals(EndpointCost.CHEAP, EndpointCost.classify("GET", "/api/tasks/42"));
+        assertEquals(EndpointCost.CHEAP, EndpointCost.classify("POST", "/api/tasks"));
+        assertEquals(EndpointCost.EXPENSIVE, EndpointCost.classify("POST", "/api/tasks/batch-get"));
+    }
+}
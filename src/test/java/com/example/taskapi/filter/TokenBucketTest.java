@@ -0,0 +1,40 @@
+package com.example.taskapi.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void grantsBurstThenRejects() {
+        TokenBucket bucket = new TokenBucket(1, 3, now::get);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(2, 1, now::get);
+
+        assertEquals(0, bucket.tryAcquire());
+        long wait = bucket.tryAcquire();
+        assertEquals(500_000_000L, wait);
+
+        now.addAndGet(wait);
+        assertEquals(0, bucket.tryAcquire());
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, now::get));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, now::get));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.taskapi.grpc;
+
+import com.example.taskapi.grpc.proto.CreateTaskRequest;
+import com.example.taskapi.grpc.proto.ListTasksRequest;
+import com.example.taskapi.grpc.proto.Task;
+import com.example.taskapi.grpc.proto.TaskServiceGrpc;
+import com.example.taskapi.repository.TaskRepository;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"taskapi.grpc.enabled=true", "taskapi.grpc.port=0"})
+@ActiveProfiles("test")
+class GrpcServerIntegrationTest {
+
+    @Autowired
+    private GrpcServer grpcServer;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void servesTheSameTasksAsTheRepository() {
+        taskRepository.deleteAll();
+        ManagedChannel channel = Grpc.newChannelBuilderForAddress("localhost", grpcServer.getPort(),
+            InsecureChannelCredentials.create()).build();
+        try {
+            TaskServiceGrpc.TaskServiceBlockingStub stub = TaskServiceGrpc.newBlockingStub(channel);
+            Task created = stub.createTask(CreateTaskRequest.newBuilder()
+                .setTitle("Over gRPC").setDescription("Created through the gRPC port").build());
+
+            List<Task> listed = new ArrayList<>();
+            stub.listTasks(ListTasksRequest.getDefaultInstance()).forEachRemaining(listed::add);
+
+            assertEquals(1, listed.size());
+            assertEquals(created.getId(), listed.get(0).getId());
+            assertEquals("Created through the gRPC port",
+                taskRepository.findById(created.getId()).orElseThrow().getDescription());
+        } finally {
+            channel.shutdownNow();
+        }
+    }
+}
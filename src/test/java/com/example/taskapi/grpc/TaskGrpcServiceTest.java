@@ -0,0 +1,226 @@
+package com.example.taskapi.grpc;
+
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.grpc.proto.BulkCreateResponse;
+import com.example.taskapi.grpc.proto.CreateTaskRequest;
+import com.example.taskapi.grpc.proto.GetTaskRequest;
+import com.example.taskapi.grpc.proto.ListTasksRequest;
+import com.example.taskapi.grpc.proto.SearchTasksRequest;
+import com.example.taskapi.grpc.proto.Task;
+import com.example.taskapi.grpc.proto.TaskServiceGrpc;
+import com.example.taskapi.service.TaskServiceFixture;
+import com.example.taskapi.service.TaskServiceImpl;
+import com.example.taskapi.store.OffHeapTaskRepository;
+import com.example.taskapi.store.OffHeapTaskStore;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskGrpcServiceTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    private final AtomicInteger pageReads = new AtomicInteger();
+    private Server server;
+    private ManagedChannel channel;
+    private TaskServiceGrpc.TaskServiceBlockingStub blocking;
+    private TaskServiceGrpc.TaskServiceStub async;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TaskServiceImpl taskService = TaskServiceFixture.withRepository(new OffHeapTaskRepository(OffHeapTaskStore.inMemory(4_096)) {
+            @Override
+            public List<com.example.taskapi.entity.Task> searchTasksInIdRange(String keyword, Boolean completed,
+                                                                              Long fromId, Long toId, Pageable page) {
+                pageReads.incrementAndGet();
+                return super.searchTasksInIdRange(keyword, completed, fromId, toId, page);
+            }
+        });
+        TaskGrpcService service = new TaskGrpcService(taskService,
+            Validation.buildDefaultValidatorFactory().getValidator(), PAGE_SIZE);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        blocking = TaskServiceGrpc.newBlockingStub(channel);
+        async = TaskServiceGrpc.newStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void createsAndGetsATaskWithoutADescription() {
+        Task created = blocking.createTask(CreateTaskRequest.newBuilder().setTitle("Write the report").build());
+
+        Task fetched = blocking.getTask(GetTaskRequest.newBuilder().setId(created.getId()).build());
+
+        // Stored with microsecond precision, like the timestamp(6) column
+        assertEquals(created.getCreatedAt().getNanos() / 1_000, fetched.getCreatedAt().getNanos() / 1_000);
+        assertEquals(created.toBuilder().clearCreatedAt().build(), fetched.toBuilder().clearCreatedAt().build());
+        assertEquals("Write the report", fetched.getTitle());
+        assertEquals("default", fetched.getOwner());
+        assertFalse(fetched.hasDescription());
+        assertEquals(TaskMessages.toDTO(fetched), TaskMessages.toDTO(TaskMessages.toMessage(TaskMessages.toDTO(fetched))));
+    }
+
+    @Test
+    void mapsApplicationErrorsToStatusCodes() {
+        StatusRuntimeException missing = assertThrows(StatusRuntimeException.class,
+            () -> blocking.getTask(GetTaskRequest.newBuilder().setId(404).build()));
+        assertEquals(Status.Code.NOT_FOUND, missing.getStatus().getCode());
+
+        StatusRuntimeException invalid = assertThrows(StatusRuntimeException.class,
+            () -> blocking.createTask(CreateTaskRequest.newBuilder().setTitle(" ").build()));
+        assertEquals(Status.Code.INVALID_ARGUMENT, invalid.getStatus().getCode());
+        assertEquals("title is mandatory", invalid.getStatus().getDescription());
+
+        StatusRuntimeException noFilter = assertThrows(StatusRuntimeException.class,
+            () -> blocking.searchTasks(SearchTasksRequest.getDefaultInstance()).hasNext());
+        assertEquals(Status.Code.INVALID_ARGUMENT, noFilter.getStatus().getCode());
+    }
+
+    @Test
+    void bulkCreateReturnsIdsInOrderAndHonoursIdempotencyKeys() throws Exception {
+        CompletableFuture<BulkCreateResponse> response = new CompletableFuture<>();
+        StreamObserver<CreateTaskRequest> requests = async.bulkCreate(observer(response));
+        for (int i = 0; i < 5; i++) {
+            requests.onNext(CreateTaskRequest.newBuilder().setTitle("Bulk " + i).setIdempotencyKey("bulk-" + i).build());
+        }
+        // A retried message creates nothing new
+        requests.onNext(CreateTaskRequest.newBuilder().setTitle("Bulk 0").setIdempotencyKey("bulk-0").build());
+        requests.onCompleted();
+
+        List<Long> ids = response.get(5, TimeUnit.SECONDS).getIdsList();
+        assertEquals(6, ids.size());
+        assertEquals(ids.get(0), ids.get(5));
+        assertEquals(ids.subList(0, 5), ids.subList(0, 5).stream().sorted().toList());
+    }
+
+    @Test
+    void bulkCreateStopsAtTheFirstInvalidTask() {
+        CompletableFuture<BulkCreateResponse> response = new CompletableFuture<>();
+        StreamObserver<CreateTaskRequest> requests = async.bulkCreate(observer(response));
+        requests.onNext(CreateTaskRequest.newBuilder().setTitle("Fine").build());
+        requests.onNext(CreateTaskRequest.newBuilder().setTitle("").build());
+        requests.onNext(CreateTaskRequest.newBuilder().setTitle("Never created").build());
+        requests.onCompleted();
+
+        Exception failure = assertThrows(Exception.class, () -> response.get(5, TimeUnit.SECONDS));
+        Status status = Status.fromThrowable(failure.getCause());
+        assertEquals(Status.Code.INVALID_ARGUMENT, status.getCode());
+        assertTrue(status.getDescription().startsWith("Task 2: title is mandatory"), status.getDescription());
+        assertEquals(1, countAll());
+    }
+
+    @Test
+    void listAndSearchStreamEveryMatchInIdOrderAcrossPages() {
+        List<Long> created = createTasks(35);
+
+        List<Long> listed = new ArrayList<>();
+        blocking.listTasks(ListTasksRequest.getDefaultInstance()).forEachRemaining(task -> listed.add(task.getId()));
+        assertEquals(created, listed);
+
+        List<Long> limited = new ArrayList<>();
+        blocking.listTasks(ListTasksRequest.newBuilder().setLimit(12).build()).forEachRemaining(task -> limited.add(task.getId()));
+        assertEquals(created.subList(0, 12), limited);
+
+        List<String> found = new ArrayList<>();
+        blocking.searchTasks(SearchTasksRequest.newBuilder().setKeyword("task 1").build())
+            .forEachRemaining(task -> found.add(task.getTitle()));
+        assertEquals(List.of("Task 1", "Task 10", "Task 11", "Task 12", "Task 13", "Task 14", "Task 15", "Task 16",
+            "Task 17", "Task 18", "Task 19"), found);
+    }
+
+    @Test
+    void readsAheadOnlyAsFarAsTheCallerHasAskedFor() throws Exception {
+        createTasks(100);
+        List<Long> received = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        ClientCallStreamObserver<?>[] call = new ClientCallStreamObserver<?>[1];
+
+        async.listTasks(ListTasksRequest.getDefaultInstance(), new ClientResponseObserver<ListTasksRequest, Task>() {
+            @Override
+            public void beforeStart(ClientCallStreamObserver<ListTasksRequest> requestStream) {
+                call[0] = requestStream;
+                requestStream.disableAutoRequestWithInitial(5);
+            }
+
+            @Override
+            public void onNext(Task task) {
+                received.add(task.getId());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                done.countDown();
+            }
+
+            @Override
+            public void onCompleted() {
+                done.countDown();
+            }
+        });
+
+        assertEquals(5, received.size());
+        assertEquals(1, pageReads.get());
+
+        call[0].request(Integer.MAX_VALUE);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(100, received.size());
+        assertEquals(11, pageReads.get());
+    }
+
+    private List<Long> createTasks(int count) {
+        return LongStream.range(0, count)
+            .mapToObj(i -> blocking.createTask(CreateTaskRequest.newBuilder().setTitle("Task " + i).build()).getId())
+            .toList();
+    }
+
+    private int countAll() {
+        int[] count = {0};
+        blocking.listTasks(ListTasksRequest.getDefaultInstance()).forEachRemaining(task -> count[0]++);
+        return count[0];
+    }
+
+    private static <T> StreamObserver<T> observer(CompletableFuture<T> result) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(T value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                result.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        };
+    }
+}
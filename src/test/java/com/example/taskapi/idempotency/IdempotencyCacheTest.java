@@ -0,0 +1,113 @@
+package com.example.taskapi.idempotency;
+
+import com.example.taskapi.exception.IdempotencyConflictException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final IdempotencyCache<String> cache =
+        new IdempotencyCache<>(4, 8, Duration.ofMinutes(10), Duration.ofSeconds(5), now::get);
+
+    @Test
+    void concurrentRequestsWithTheSameKeyWaitForTheFirst() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = pool.submit(() -> cache.execute("key", 1, () -> {
+                firstStarted.countDown();
+                await(release);
+                return "task-" + runs.incrementAndGet();
+            }));
+            assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+            List<Future<String>> retries = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                retries.add(pool.submit(() -> cache.execute("key", 1, () -> "task-" + runs.incrementAndGet())));
+            }
+            release.countDown();
+
+            assertEquals("task-1", first.get(5, TimeUnit.SECONDS));
+            for (Future<String> retry : retries) {
+                assertEquals("task-1", retry.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, runs.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsAKeyReusedForADifferentRequest() {
+        cache.execute("key", 1, () -> "first");
+
+        IdempotencyConflictException ex =
+            assertThrows(IdempotencyConflictException.class, () -> cache.execute("key", 2, () -> "second"));
+        assertFalse(ex.inProgress());
+    }
+
+    @Test
+    void comparesRequestsRatherThanTheirHashes() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        cache.execute("key", "Aa", () -> "first");
+
+        assertThrows(IdempotencyConflictException.class, () -> cache.execute("key", "BB", () -> "second"));
+        assertEquals("first", cache.execute("key", "Aa", () -> "second"));
+    }
+
+    @Test
+    void forgetsAFailedAttemptSoTheRetryRuns() {
+        assertThrows(IllegalStateException.class, () -> cache.execute("key", 1, () -> {
+            throw new IllegalStateException("database timeout");
+        }));
+
+        assertEquals("second", cache.execute("key", 1, () -> "second"));
+    }
+
+    @Test
+    void dropsKeysAfterTheTtlAndBeyondTheCapacity() {
+        cache.execute("old", 1, () -> "old result");
+        now.addAndGet(Duration.ofMinutes(11).toNanos());
+        assertEquals("new result", cache.execute("old", 1, () -> "new result"));
+
+        for (int i = 0; i < 100; i++) {
+            String key = "key-" + i;
+            cache.execute(key, 1, () -> key);
+        }
+        assertTrue(cache.size() <= 8, "size " + cache.size());
+    }
+
+    @Test
+    void disabledCacheRunsEveryCall() {
+        IdempotencyCache<String> disabled = IdempotencyCache.disabled();
+        AtomicInteger runs = new AtomicInteger();
+
+        disabled.execute("key", 1, () -> "run " + runs.incrementAndGet());
+        disabled.execute("key", 2, () -> "run " + runs.incrementAndGet());
+
+        assertEquals(2, runs.get());
+        assertEquals(0, disabled.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.taskapi.importer;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.sharding.ConsistentHashRing;
+import com.example.taskapi.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "taskapi.import.chunk-size=2KB",
+    "taskapi.import.parallelism=3",
+    "taskapi.import.batch-size=50",
+    "management.endpoints.web.exposure.include=taskimport"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskImportIntegrationTest {
+
+    private static final int ROWS = 600;
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskImporter importer;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void importsValidCsvRowsAndReportsTheRest() throws Exception {
+        StringBuilder csv = new StringBuilder("title,description,owner,labels,dueAt\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("Imported ").append(i).append(",\"Row, number ").append(i).append("\",")
+                .append(i % 2 == 0 ? "alice" : "").append(',')
+                .append(i % 3 == 0 ? "Backend| urgent" : "").append(',')
+                .append(i == 5 ? "2030-01-01T09:00:00" : "").append('\n');
+        }
+        csv.append(",no title,,,\n");
+        csv.append("Too many labels,,,").append("x|".repeat(17)).append("x,\n");
+        Path file = Files.writeString(directory.resolve("tasks.csv"), csv);
+
+        TaskImporter.Result result = importer.importFile(file, ImportFormat.CSV);
+
+        assertTrue(result.chunks() > 5, "chunks " + result.chunks());
+        assertEquals(ROWS, result.imported());
+        assertEquals(2, result.rejected());
+        assertEquals(List.of("title is mandatory", "at most 16 labels"),
+            result.errors().stream().map(TaskImporter.RowError::reason).toList());
+        assertEquals(ROWS, taskRepository.count());
+
+        Task fifth = taskRepository.findByTitleContainingIgnoreCase("Imported 5").stream()
+            .filter(task -> task.getTitle().equals("Imported 5")).findFirst().orElseThrow();
+        assertEquals("Row, number 5", fifth.getDescription());
+        assertEquals(Task.DEFAULT_OWNER, fifth.getOwner());
+        assertNotNull(fifth.getDueAt());
+        assertFalse(fifth.isCompleted());
+        Task sixth = taskRepository.findByTitleContainingIgnoreCase("Imported 6").get(0);
+        assertEquals("alice", sixth.getOwner());
+        assertEquals(Set.of("backend", "urgent"), sixth.getLabels());
+    }
+
+    @Test
+    void resumesFromTheCheckpoint() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            ndjson.append("{\"title\":\"Resumed ").append(i).append("\",\"labels\":[\"l").append(i % 4).append("\"]}\n");
+        }
+        Path file = Files.writeString(directory.resolve("tasks.ndjson"), ndjson);
+
+        TaskImporter.Result first = importer.importFile(file, ImportFormat.NDJSON);
+        assertEquals(ROWS, first.imported());
+
+        // As if the first run had stopped after every other chunk
+        Path checkpoint = TaskImporter.checkpointFor(file);
+        List<String> lines = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+        List<String> kept = new ArrayList<>(List.of(lines.get(0)));
+        lines.stream().skip(1).filter(line -> Integer.parseInt(line) % 2 == 0).forEach(kept::add);
+        Files.write(checkpoint, kept, StandardCharsets.UTF_8);
+        taskRepository.deleteAll();
+
+        TaskImporter.Result second = importer.importFile(file, ImportFormat.NDJSON);
+        assertEquals(kept.size() - 1, second.skippedChunks());
+        assertTrue(second.imported() > 0 && second.imported() < ROWS, "imported " + second.imported());
+        assertEquals(second.imported(), taskRepository.count());
+
+        TaskImporter.Result third = importer.importFile(file, ImportFormat.NDJSON);
+        assertEquals(third.chunks(), third.skippedChunks());
+        assertEquals(0, third.imported());
+    }
+
+    @Test
+    void resumesAShardedChunkWithoutInsertingItsCommittedShardsAgain() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            ndjson.append("{\"title\":\"Sharded ").append(i).append("\",\"owner\":\"owner").append(i % 40).append("\"}\n");
+        }
+        Path file = Files.writeString(directory.resolve("sharded.ndjson"), ndjson);
+        // Both shards write to the test database; the second shard of the only chunk fails once
+        AtomicInteger calls = new AtomicInteger();
+        List<String> committed = new ArrayList<>();
+        ShardRouter router = new ShardRouter(List.of("s0", "s1"), new ConsistentHashRing(List.of("s0", "s1"), 64),
+                Executors.newSingleThreadExecutor()) {
+            @Override
+            public <T> T callOn(String shard, Callable<T> call) throws Exception {
+                if (calls.incrementAndGet() == 2) {
+                    throw new IllegalStateException("shard " + shard + " is down");
+                }
+                T result = super.callOn(shard, call);
+                committed.add(shard);
+                return result;
+            }
+        };
+        TaskImporter sharded = new TaskImporter(dataSource, router, objectMapper, validator,
+            1 << 20, 1, 50, Duration.ofMinutes(1));
+
+        try (router) {
+            assertThrows(IllegalStateException.class, () -> sharded.importFile(file, ImportFormat.NDJSON));
+            long firstShardRows = taskRepository.count();
+            assertTrue(firstShardRows > 0 && firstShardRows < ROWS, "first shard rows " + firstShardRows);
+
+            TaskImporter.Result resumed = sharded.importFile(file, ImportFormat.NDJSON);
+            assertEquals(ROWS - firstShardRows, resumed.imported());
+            assertEquals(2, committed.size(), "each shard committed once: " + committed);
+        }
+        assertEquals(ROWS, taskRepository.count());
+        assertEquals(ROWS, taskRepository.findAll().stream().map(Task::getTitle).distinct().count());
+    }
+
+    @Test
+    void endpointImportsAFileOnTheServer() throws Exception {
+        Path file = Files.writeString(directory.resolve("tasks.jsonl"),
+            "{\"title\":\"From the endpoint\"}\n{\"description\":\"no title\"}\n");
+
+        mockMvc.perform(post("/actuator/taskimport")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"path\":\"" + file.toString().replace("\\", "\\\\") + "\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.format").value("NDJSON"))
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.errors", hasSize(1)));
+
+        assertEquals(1, taskRepository.findByTitleContainingIgnoreCase("From the endpoint").size());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.taskapi.importer;
+
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskRowParserTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void csvReadsQuotedFieldsInAnyColumnOrder() {
+        TaskRowParser parser = TaskRowParser.csv(bytes("labels,Title,ignored,due_at,description\n"));
+        Rows rows = parse(parser, "backend|Urgent,Plain title,x,2030-01-02T03:04:05,\n"
+            + ",\"Quoted, with \"\"quotes\"\"\",x,,\"line two\"\r\n"
+            + "\n");
+
+        assertEquals(List.of(), rows.rejected);
+        assertEquals(2, rows.rows.size());
+        TaskRequestDTO first = rows.rows.get(0);
+        assertEquals("Plain title", first.title());
+        assertNull(first.description());
+        assertEquals(List.of("backend", "Urgent"), first.labels());
+        assertEquals(LocalDateTime.of(2030, 1, 2, 3, 4, 5), first.dueAt());
+        TaskRequestDTO second = rows.rows.get(1);
+        assertEquals("Quoted, with \"quotes\"", second.title());
+        assertEquals("line two", second.description());
+        assertNull(second.labels());
+        assertNull(second.owner());
+    }
+
+    @Test
+    void csvRejectsMalformedLinesAndCarriesOn() {
+        TaskRowParser parser = TaskRowParser.csv(bytes("title,dueAt\n"));
+        Rows rows = parse(parser, """
+            "unterminated,
+            "quoted"junk,
+            Bad date,tomorrow
+            Fine,
+            """);
+
+        assertEquals(1, rows.rows.size());
+        assertEquals("Fine", rows.rows.get(0).title());
+        assertEquals(3, rows.rejected.size());
+        assertTrue(rows.rejected.get(0).contains("unterminated"));
+        assertTrue(rows.rejected.get(2).contains("dueAt"));
+    }
+
+    @Test
+    void ndjsonReadsOneObjectPerLine() {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        TaskRowParser parser = TaskRowParser.ndjson(mapper.readerFor(TaskRequestDTO.class));
+        Rows rows = parse(parser, """
+            {"title":"First","owner":"alice","labels":["a","b"],"dueAt":"2030-01-02T03:04:05"}
+
+            {"title":
+            {"title":"Last"}""");
+
+        assertEquals(List.of("First", "Last"), rows.rows.stream().map(TaskRequestDTO::title).toList());
+        assertEquals("alice", rows.rows.get(0).owner());
+        assertEquals(1, rows.rejected.size());
+    }
+
+    @Test
+    void chunksEndAtLineFeedsAndCoverTheFile() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            text.append("task number ").append(i).append(i % 7 == 0 ? " with a longer tail" : "").append('\n');
+        }
+        text.append("no final line feed");
+        Path file = Files.writeString(directory.resolve("tasks.txt"), text);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            List<LineChunks.Chunk> chunks = LineChunks.split(channel, 0, channel.size(), 1_000);
+            assertTrue(chunks.size() > 10);
+            long expectedStart = 0;
+            for (LineChunks.Chunk chunk : chunks) {
+                assertEquals(expectedStart, chunk.start());
+                ByteBuffer last = ByteBuffer.allocate(1);
+                channel.read(last, chunk.end() - 1);
+                assertTrue(last.get(0) == '\n' || chunk.end() == channel.size());
+                expectedStart = chunk.end();
+            }
+            assertEquals(channel.size(), expectedStart);
+        }
+    }
+
+    private static Rows parse(TaskRowParser parser, String text) {
+        Rows rows = new Rows();
+        Map<Long, Object> byOffset = new TreeMap<>();
+        parser.parse(bytes(text), 100, new TaskRowParser.Sink() {
+            @Override
+            public void row(long offset, TaskRequestDTO row) {
+                byOffset.put(offset, row);
+            }
+
+            @Override
+            public void reject(long offset, String reason) {
+                assertTrue(offset >= 100);
+                byOffset.put(offset, reason);
+            }
+        });
+        byOffset.values().forEach(value -> {
+            if (value instanceof TaskRequestDTO row) {
+                rows.rows.add(row);
+            } else {
+                rows.rejected.add((String) value);
+            }
+        });
+        return rows;
+    }
+
+    private static ByteBuffer bytes(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class Rows {
+        final List<TaskRequestDTO> rows = new ArrayList<>();
+        final List<String> rejected = new ArrayList<>();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.taskapi.instrumentation;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryInstrumentationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Task saved;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task();
+            task.setTitle("Instrumented " + i);
+            task.setCreatedAt(LocalDateTime.now());
+            task.setUpdatedAt(LocalDateTime.now());
+            saved = taskRepository.save(task);
+        }
+    }
+
+    private DistributionSummary summary(String name, String endpoint) {
+        return meterRegistry.get(name).tag("endpoint", endpoint).summary();
+    }
+
+    @Test
+    void attributesStatementsRowsAndEntitiesToTheEndpoint() throws Exception {
+        mockMvc.perform(get("/api/tasks/" + saved.getId())).andExpect(status().isOk());
+
+        DistributionSummary statements = summary("taskapi.request.sql.statements", "GET /api/tasks/{id}");
+        assertTrue(statements.count() >= 1);
+        assertEquals(1.0, statements.max());
+        assertEquals(1.0, summary("taskapi.request.sql.rows", "GET /api/tasks/{id}").max());
+        assertEquals(1.0, summary("taskapi.request.sql.entities", "GET /api/tasks/{id}").max());
+        assertTrue(meterRegistry.get("taskapi.request.sql.time").tag("endpoint", "GET /api/tasks/{id}")
+            .timer().totalTime(java.util.concurrent.TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void countsEveryRowOfAListEndpoint() throws Exception {
+        mockMvc.perform(get("/api/tasks")).andExpect(status().isOk());
+
+        assertEquals(1.0, summary("taskapi.request.sql.statements", "GET /api/tasks").max());
+        assertEquals(3.0, summary("taskapi.request.sql.rows", "GET /api/tasks").max());
+        assertEquals(3.0, summary("taskapi.request.sql.entities", "GET /api/tasks").max());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.taskapi.instrumentation;
+
+import com.example.taskapi.config.QueryInstrumentationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryStatsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private static FilterChain chainRunningStatements(int count) {
+        return (request, response) -> {
+            ((MockHttpServletRequest) request)
+                .setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tasks/{id}");
+            RequestQueryStats stats = QueryStatsContext.current();
+            for (int i = 0; i < count; i++) {
+                stats.queryStarted(0);
+                stats.queryFinished(1_000, 1);
+            }
+            response.getWriter().write("{\"id\":1}");
+            response.flushBuffer();
+        };
+    }
+
+    private QueryStatsFilter filter(boolean failOnBudgetExceeded) {
+        return new QueryStatsFilter(
+            new QueryInstrumentationProperties(true, 200, 2, failOnBudgetExceeded, false), registry);
+    }
+
+    @Test
+    void failsRequestAboveStatementBudgetWhenConfigured() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        StatementBudgetExceededException ex = assertThrows(StatementBudgetExceededException.class, () ->
+            filter(true).doFilter(new MockHttpServletRequest("GET", "/api/tasks/1"),
+                response, chainRunningStatements(3)));
+
+        assertTrue(ex.getMessage().contains("GET /api/tasks/{id} executed 3 SQL statements (budget 2)"));
+        assertNull(QueryStatsContext.current());
+        // Rejected before anything was sent, so the error can still be reported
+        assertFalse(response.isCommitted());
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void onlyRecordsWhenBudgetIsRespectedOrNotEnforced() throws Exception {
+        MockHttpServletResponse withinBudget = new MockHttpServletResponse();
+        filter(true).doFilter(new MockHttpServletRequest("GET", "/api/tasks/1"),
+            withinBudget, chainRunningStatements(2));
+        filter(false).doFilter(new MockHttpServletRequest("GET", "/api/tasks/1"),
+            new MockHttpServletResponse(), chainRunningStatements(5));
+
+        assertEquals("{\"id\":1}", withinBudget.getContentAsString());
+
+        assertEquals(7.0, registry.get("taskapi.request.sql.statements")
+            .tag("endpoint", "GET /api/tasks/{id}").summary().totalAmount());
+    }
+
+    @Test
+    void unmappedRequestsShareOneEndpointTag() throws Exception {
+        FilterChain unmapped = (request, response) -> QueryStatsContext.current().queryFinished(1_000, 1);
+        for (String uri : List.of("/api/tasks/abc", "/no/such/path", "/api/tasks/1/x")) {
+            filter(false).doFilter(new MockHttpServletRequest("GET", uri), new MockHttpServletResponse(), unmapped);
+        }
+
+        assertEquals(1, registry.find("taskapi.request.sql.statements").summaries().size());
+        assertEquals(3.0, registry.get("taskapi.request.sql.statements")
+            .tag("endpoint", QueryStatsFilter.UNMAPPED).summary().totalAmount());
+    }
+
+    @Test
+    void slowQueryParametersAreRedactedToTypes() throws Exception {
+        QueryInfo queryInfo = new QueryInfo("select * from tasks where title like ? and completed = ?");
+        queryInfo.getParametersList().add(List.of(
+            new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                new Object[] {1, "%secret%"}),
+            new ParameterSetOperation(PreparedStatement.class.getMethod("setBoolean", int.class, boolean.class),
+                new Object[] {2, true})));
+
+        String params = QueryStatsListener.redactedParameters(List.of(queryInfo));
+
+        assertEquals("[String, Boolean]", params);
+        assertFalse(params.contains("secret"));
+    }
+
+    @Test
+    void statementInspectorTagsSqlWithEndpoint() {
+        QueryStatsContext.begin(() -> "GET /api/tasks/search");
+        try {
+            assertEquals("/* GET /api/tasks/search */ select 1", new EndpointStatementInspector().inspect("select 1"));
+        } finally {
+            QueryStatsContext.end();
+        }
+        assertEquals("select 1", new EndpointStatementInspector().inspect("select 1"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.taskapi.integration;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "taskapi.admission.enabled=false")
+@ActiveProfiles({"test", "http2"})
+class Http2CompressionIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Task task = new Task();
+            task.setTitle("Compressible task " + i);
+            task.setDescription("Same description on every row");
+            task.setCreatedAt(LocalDateTime.now());
+            task.setUpdatedAt(LocalDateTime.now());
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @Test
+    void upgradesToH2cAndGzipsLargeJsonResponses() throws Exception {
+        HttpResponse<byte[]> response = get("/api/tasks");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+        assertEquals(Optional.of("gzip"), response.headers().firstValue("Content-Encoding"));
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            String json = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(json.startsWith("[") && json.contains("Compressible task 199"));
+        }
+    }
+
+    @Test
+    void leavesResponsesBelowTheThresholdUncompressed() throws Exception {
+        long id = taskRepository.findAll().get(0).getId();
+
+        HttpResponse<byte[]> response = get("/api/tasks/" + id);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+    }
+
+    private HttpResponse<byte[]> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Accept-Encoding", "gzip")
+            .GET()
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -20,6 +20,7 @@ import java.time.LocalDateTime;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
@@ -74,6 +75,16 @@ class TaskIntegrationTest {
             .andExpect(jsonPath("$.title").value("Integration Task"));
     }
 
+    @Test
+    void testBatchGetKeepsRequestOrderAndReportsMissingIds() throws Exception {
+        long id = taskRepository.findAll().get(0).getId();
+
+        mockMvc.perform(get("/api/tasks").param("ids", (id + 1000) + "," + id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks[0].title").value("Integration Task"))
+            .andExpect(jsonPath("$.missing[0]").value(id + 1000));
+    }
+
     @Test
     void testSearchByTitle() throws Exception {
         mockMvc.perform(get("/api/tasks/filter/title")
@@ -136,5 +147,48 @@ class TaskIntegrationTest {
             .andExpect(jsonPath("$.error", containsString("Task creation/update validation error")));
     }
 
-}
+    @Test
+    void testIdempotentCreateReturnsTheFirstTask() throws Exception {
+        String body = objectMapper.writeValueAsString(new TaskRequestDTO("Retried task", "Sent twice"));
+
+        String first = mockMvc.perform(post("/api/tasks")
+                .header("Idempotency-Key", "create-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(post("/api/tasks")
+                .header("Idempotency-Key", "create-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isCreated())
+            .andExpect(content().json(first));
 
+        assertEquals(1, taskRepository.findByTitleContainingIgnoreCase("Retried task").size());
+
+        mockMvc.perform(post("/api/tasks")
+                .header("Idempotency-Key", "create-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskRequestDTO("Another task", null))))
+            .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void testIdempotentCreateFindsAKeyStoredBeforeARestart() throws Exception {
+        // Created by an earlier run of the service, so the in-memory cache has never seen the key
+        Task earlier = new Task();
+        earlier.setTitle("Created before restart");
+        earlier.setIdempotencyKey("create-before-restart");
+        earlier.setCreatedAt(LocalDateTime.now());
+        taskRepository.save(earlier);
+
+        mockMvc.perform(post("/api/tasks")
+                .header("Idempotency-Key", "create-before-restart")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskRequestDTO("Created before restart", null))))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id").value(earlier.getId()));
+
+        assertEquals(1, taskRepository.findByTitleContainingIgnoreCase("Created before restart").size());
+    }
+}
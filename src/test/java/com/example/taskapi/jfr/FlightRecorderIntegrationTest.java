@@ -0,0 +1,118 @@
+package com.example.taskapi.jfr;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "taskapi.jfr.recording=true",
+    "management.endpoints.web.exposure.include=flightrecording"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FlightRecorderIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        for (int i = 0; i < 5; i++) {
+            Task task = new Task();
+            task.setTitle(i < 3 ? "Recorded task " + i : "Other task " + i);
+            task.setCreatedAt(LocalDateTime.now());
+            task.setUpdatedAt(LocalDateTime.now());
+            taskRepository.save(task);
+        }
+    }
+
+    @Test
+    void searchRequestIsRecordedWithItsRepositoryCallMappingAndSerialization() throws Exception {
+        Path file = Files.createTempFile("taskapi-test", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("Request", "RepositoryCall", "DtoMapping", "Serialization")) {
+                recording.enable("com.example.taskapi." + name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            mockMvc.perform(get("/api/tasks/search?keyword=Recorded"))
+                .andExpect(status().isOk());
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            RecordedEvent request = only(events, "Request");
+            assertEquals("GET", request.getString("method"));
+            assertEquals("/api/tasks/search", request.getString("endpoint"));
+            assertTrue(request.getString("parameters").contains("keyword=Recorded"));
+            assertEquals(200, request.getInt("status"));
+            assertEquals(3, request.getInt("resultSize"));
+
+            long searchedRows = named(events, "RepositoryCall").stream()
+                .filter(event -> event.getString("method").startsWith("searchTasks"))
+                .mapToLong(event -> event.getLong("rows"))
+                .sum();
+            assertEquals(3, searchedRows);
+            assertTrue(named(events, "DtoMapping").stream().anyMatch(event -> event.getInt("tasks") == 3));
+
+            RecordedEvent serialization = only(events, "Serialization");
+            assertEquals(3, serialization.getInt("resultSize"));
+            assertTrue(serialization.getLong("bytes") > 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void endpointDumpsTheContinuousRecording() throws Exception {
+        mockMvc.perform(get("/api/tasks/count")).andExpect(status().isOk());
+
+        byte[] dump = mockMvc.perform(get("/actuator/flightrecording"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+
+        Path file = Files.createTempFile("taskapi-dump", ".jfr");
+        try {
+            Files.write(file, dump);
+            assertTrue(named(RecordingFile.readAllEvents(file), "Request").stream()
+                .anyMatch(event -> "/api/tasks/count".equals(event.getString("endpoint"))));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+            .filter(event -> event.getEventType().getName().equals("com.example.taskapi." + name))
+            .toList();
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = named(events, name);
+        assertEquals(1, matching.size(), name + " events");
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.taskapi.labels;
+
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "taskapi.labels.index.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LabelIndexIntegrationTest {
+
+    private static final List<String> LABELS = List.of("backend", "frontend", "urgent", "blocked", "docs");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private LabelIndex index;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        for (int i = 0; i < 60; i++) {
+            Task task = new Task();
+            task.setTitle("Labelled task " + i);
+            task.setCompleted(i % 4 == 0);
+            task.setCreatedAt(LocalDateTime.now());
+            task.setUpdatedAt(LocalDateTime.now());
+            // Label j on every task whose number has bit j set
+            for (int j = 0; j < LABELS.size(); j++) {
+                if ((i >> j & 1) == 1) {
+                    task.getLabels().add(LABELS.get(j));
+                }
+            }
+            taskRepository.save(task);
+        }
+        index.rebuild();
+    }
+
+    @Test
+    void answersLikeTheSqlQuery() {
+        assertTrue(index.isServing());
+        List<LabelFilter> filters = List.of(
+            new LabelFilter(Set.of("backend", "urgent"), Set.of(), Set.of(), false),
+            new LabelFilter(Set.of(), Set.of("docs", "blocked"), Set.of(), null),
+            new LabelFilter(Set.of("frontend"), Set.of(), Set.of("backend"), true),
+            new LabelFilter(Set.of(), Set.of(), Set.of("urgent"), null),
+            new LabelFilter(Set.of("backend"), Set.of("urgent", "docs"), Set.of("blocked"), false),
+            new LabelFilter(Set.of("no-such-label"), Set.of(), Set.of(), null));
+
+        for (LabelFilter filter : filters) {
+            List<Long> sql = taskRepository.findByLabels(filter.all(), filter.all().size(), filter.any(),
+                filter.any().size(), filter.none(), filter.none().size(), filter.completed(), Pageable.unpaged())
+                .stream().map(Task::getId).toList();
+            List<Long> expected = taskRepository.findAll().stream()
+                .filter(task -> filter.matches(task.getLabels(), task.isCompleted()))
+                .map(Task::getId).sorted().toList();
+
+            assertEquals(expected, sql, "SQL for " + filter);
+            assertEquals(expected, taskService.filterByLabels(filter, null).stream().map(TaskResponseDTO::id).toList(),
+                "index for " + filter);
+        }
+    }
+
+    @Test
+    void concurrentQueriesAgreeWithASingleReader() throws Exception {
+        List<LabelFilter> filters = List.of(
+            new LabelFilter(Set.of("backend", "urgent"), Set.of(), Set.of(), false),
+            new LabelFilter(Set.of("frontend", "docs"), Set.of("blocked", "urgent"), Set.of(), true),
+            new LabelFilter(Set.of("blocked"), Set.of(), Set.of("docs"), null));
+        List<long[]> expected = filters.stream().map(filter -> index.matchingIds(filter, Integer.MAX_VALUE)).toList();
+        index.rebuild();
+
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(readers.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        int f = i % filters.size();
+                        assertArrayEquals(expected.get(f), index.matchingIds(filters.get(f), Integer.MAX_VALUE));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+
+    @Test
+    void seesCreatesAtOnceAndOtherWritesAfterARebuild() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new TaskRequestDTO("Created through the API", null, null, List.of("Release", "urgent")))))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.labels[0]").value("release"));
+        mockMvc.perform(get("/api/tasks/filter/labels").param("all", "RELEASE"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].labels", hasSize(2)));
+
+        Task outside = new Task();
+        outside.setTitle("Written behind the index's back");
+        outside.setCreatedAt(LocalDateTime.now());
+        outside.getLabels().add("release");
+        taskRepository.save(outside);
+        LabelFilter release = new LabelFilter(Set.of("release"), Set.of(), Set.of(), null);
+        assertEquals(1, taskService.filterByLabels(release, null).size());
+
+        index.rebuild();
+        assertEquals(2, taskService.filterByLabels(release, null).size());
+    }
+
+    @Test
+    void dropsCandidatesThatNoLongerMatch() {
+        LabelFilter open = new LabelFilter(Set.of("backend"), Set.of(), Set.of(), false);
+        TaskResponseDTO first = taskService.filterByLabels(open, 1).get(0);
+
+        Task task = taskRepository.findById(first.id()).orElseThrow();
+        task.setCompleted(true);
+        taskRepository.save(task);
+
+        assertFalse(taskService.filterByLabels(open, null).stream().anyMatch(dto -> dto.id().equals(first.id())));
+    }
+
+    @Test
+    void fillsTheLimitPastCandidatesThatNoLongerMatch() {
+        LabelFilter open = new LabelFilter(Set.of("backend"), Set.of(), Set.of(), false);
+        List<Long> before = taskService.filterByLabels(open, null).stream().map(TaskResponseDTO::id).toList();
+
+        Task completed = taskRepository.findById(before.get(0)).orElseThrow();
+        completed.setCompleted(true);
+        taskRepository.save(completed);
+        taskRepository.deleteById(before.get(2));
+
+        // Both are still candidates in the index, among its first six
+        List<Long> expected = before.stream()
+            .filter(id -> !id.equals(before.get(0)) && !id.equals(before.get(2))).limit(6).toList();
+        assertEquals(expected, taskService.filterByLabels(open, 6).stream().map(TaskResponseDTO::id).toList());
+    }
+
+    @Test
+    void returnsTheLowestIdsUpToTheLimit() {
+        LabelFilter anyBackend = new LabelFilter(Set.of("backend"), Set.of(), Set.of(), null);
+        List<Long> all = taskService.filterByLabels(anyBackend, null).stream().map(TaskResponseDTO::id).toList();
+
+        assertEquals(all.subList(0, 5), taskService.filterByLabels(anyBackend, 5).stream().map(TaskResponseDTO::id).toList());
+    }
+}
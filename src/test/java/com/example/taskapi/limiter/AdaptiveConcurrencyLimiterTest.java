@@ -0,0 +1,142 @@
+package com.example.taskapi.limiter;
+
+import com.example.taskapi.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Simulated database: up to {@code capacity} concurrent queries run at the base latency,
+     * anything beyond that queues and stretches every query proportionally.
+     */
+    private int simulateRound(AdaptiveConcurrencyLimiter limiter, int demand, int capacity, long baseLatencyNanos) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < demand; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(Priority.READ);
+            if (permit == null) {
+                break;
+            }
+            permits.add(permit);
+        }
+        int admitted = permits.size();
+        clock.addAndGet(baseLatencyNanos * Math.max(capacity, admitted) / capacity);
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+        return admitted;
+    }
+
+    @Test
+    void limitConvergesNearCapacityAndShrinksUnderInjectedLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(5, 2, 500, 0.8, 20_000, MILLIS, clock::get);
+        int capacity = 20;
+
+        for (int round = 0; round < 300; round++) {
+            simulateRound(limiter, 200, capacity, 10 * MILLIS);
+        }
+        int steadyLimit = limiter.getLimit();
+        assertTrue(steadyLimit >= capacity && steadyLimit <= 3 * capacity,
+            "limit should settle just above DB capacity, was " + steadyLimit);
+
+        // DB slowdown: every query now takes 5x longer.
+        for (int round = 0; round < 5; round++) {
+            simulateRound(limiter, 200, capacity, 50 * MILLIS);
+        }
+        assertTrue(limiter.getLimit() < steadyLimit / 2,
+            "limit should back off under injected latency, was " + limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limitRecoversAfterBaselineIsReprobed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 500, 1.0, 200, MILLIS, clock::get);
+
+        for (int round = 0; round < 20; round++) {
+            simulateRound(limiter, 200, 20, 10 * MILLIS);
+        }
+        for (int round = 0; round < 5; round++) {
+            simulateRound(limiter, 200, 20, 50 * MILLIS);
+        }
+        int depressed = limiter.getLimit();
+
+        // Latency stays high; once minRtt is re-probed the new level becomes the baseline.
+        for (int round = 0; round < 400; round++) {
+            simulateRound(limiter, 200, 20, 50 * MILLIS);
+        }
+        assertTrue(limiter.getLimit() > depressed, "limit should recover from " + depressed);
+        assertTrue(limiter.getLimit() >= 20);
+    }
+
+    @Test
+    void jitterBelowTheRttFloorDoesNotShrinkTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 20, 1.0, 10_000, MILLIS, clock::get);
+
+        // In-memory database: 20us to 900us per call, far below the 1 ms floor.
+        for (int round = 0; round < 200; round++) {
+            simulateRound(limiter, 20, 20, (round % 2 == 0 ? 20 : 900) * 1_000L);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void writesKeepHeadroomWhenReadsAreAtTheirShare() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 10, 0.5, 1_000, MILLIS, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(limiter.tryAcquire(Priority.READ));
+        }
+        assertNull(limiter.tryAcquire(Priority.READ));
+        assertNotNull(limiter.tryAcquire(Priority.WRITE));
+    }
+
+    @Test
+    void executeThrowsWhenOverloadedAndReleasesOnFailure() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 2, 0.5, 1_000, MILLIS, clock::get);
+
+        assertThrows(IllegalStateException.class, () -> limiter.execute(Priority.READ, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(0, limiter.getInFlight());
+
+        assertNotNull(limiter.tryAcquire(Priority.READ));
+        assertThrows(ServiceOverloadedException.class, () -> limiter.execute(Priority.READ, () -> "x"));
+        assertEquals("y", limiter.execute(Priority.WRITE, () -> "y"));
+    }
+
+    @Test
+    void timeoutsAndConnectionFailuresShrinkTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 2, 100, 1.0, 1_000, MILLIS, clock::get);
+
+        assertThrows(DataIntegrityViolationException.class, () -> limiter.execute(Priority.WRITE, () -> {
+            throw new DataIntegrityViolationException("duplicate key");
+        }));
+        assertEquals(50, limiter.getLimit());
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(QueryTimeoutException.class, () -> limiter.execute(Priority.READ, () -> {
+                throw new QueryTimeoutException("statement timeout");
+            }));
+        }
+        int afterTimeouts = limiter.getLimit();
+        assertTrue(afterTimeouts < 35, "limit should be cut on timeouts, was " + afterTimeouts);
+
+        for (int i = 0; i < 50; i++) {
+            assertThrows(CannotGetJdbcConnectionException.class, () -> limiter.execute(Priority.READ, () -> {
+                throw new CannotGetJdbcConnectionException("pool exhausted");
+            }));
+        }
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
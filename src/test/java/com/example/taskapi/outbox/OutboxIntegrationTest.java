@@ -0,0 +1,191 @@
+package com.example.taskapi.outbox;
+
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.entity.OutboxEvent;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.importer.ImportFormat;
+import com.example.taskapi.importer.TaskImporter;
+import com.example.taskapi.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Hour-long poll intervals keep the background relay out of the way; the tests drain by hand
+@SpringBootTest(properties = {
+    "taskapi.outbox.enabled=true",
+    "taskapi.outbox.min-poll-interval=1h",
+    "taskapi.outbox.max-poll-interval=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OutboxIntegrationTest {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @Autowired
+    private TaskImporter importer;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbc = new JdbcTemplate(dataSource);
+        taskRepository.deleteAll();
+        relay.drain();
+        memory().clear();
+    }
+
+    @Test
+    void deliversCreatedTasksAndDeletesTheirRows() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TaskRequestDTO("Published " + i, null))))
+                .andExpect(status().isCreated());
+        }
+        assertEquals(3, outboxRows());
+        long deliveredBefore = relay.delivered();
+
+        assertEquals(3, relay.drain());
+
+        List<TaskChangeEvent> events = memory().events();
+        assertEquals(List.of("Published 0", "Published 1", "Published 2"),
+            events.stream().map(event -> event.task().title()).toList());
+        assertTrue(events.stream().allMatch(event -> event.type() == OutboxEvent.Type.CREATED));
+        assertEquals(0, outboxRows());
+        assertEquals(deliveredBefore + 3, relay.delivered());
+        assertEquals(0, relay.drain());
+        assertEquals(0, relay.lagMillis());
+    }
+
+    @Test
+    void deliversEachTasksChangesInTheOrderTheyHappened() throws Exception {
+        Task task = new Task();
+        task.setTitle("Changing");
+        task.setCreatedAt(LocalDateTime.now());
+        task.setDueAt(LocalDateTime.now().minusMinutes(1));
+        Task saved = taskRepository.save(task);
+        assertEquals(1, taskRepository.markOverdue(List.of(saved.getId()), LocalDateTime.now()));
+        Task flagged = taskRepository.findById(saved.getId()).orElseThrow();
+        flagged.setCompleted(true);
+        taskRepository.save(flagged);
+        // Nothing to flag, so nothing recorded
+        assertEquals(0, taskRepository.markOverdue(List.of(saved.getId()), LocalDateTime.now()));
+
+        relay.drain();
+
+        List<TaskChangeEvent> events = memory().events();
+        assertEquals(List.of(OutboxEvent.Type.CREATED, OutboxEvent.Type.OVERDUE, OutboxEvent.Type.UPDATED),
+            events.stream().map(TaskChangeEvent::type).toList());
+        assertTrue(events.get(0).sequence() < events.get(1).sequence()
+            && events.get(1).sequence() < events.get(2).sequence());
+        // Each event carries the task as it is at delivery
+        assertTrue(events.stream().allMatch(event -> event.task().completed() && event.task().overdue()));
+    }
+
+    @Test
+    void rollsTheEventBackWithTheWrite() {
+        taskRepository.save(keyed("first"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> taskRepository.save(keyed("second")));
+
+        assertEquals(1, outboxRows());
+    }
+
+    @Test
+    void sendsARejectedBatchAgain() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            taskRepository.save(keyed("retry-" + i));
+        }
+        AtomicInteger calls = new AtomicInteger();
+        List<TaskChangeEvent> received = new ArrayList<>();
+        OutboxSink flaky = events -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            received.addAll(events);
+        };
+        try (OutboxRelay manual = new OutboxRelay(dataSource, taskRepository, flaky, List.of(), 2,
+                Duration.ofHours(1), Duration.ofHours(1), Duration.ofHours(1), Clock.systemDefaultZone())) {
+            assertThrows(IllegalStateException.class, manual::drain);
+            assertEquals(3, outboxRows());
+
+            assertEquals(2, manual.drain());
+            assertEquals(1, manual.drain());
+            assertEquals(0, manual.drain());
+        }
+        assertEquals(List.of("retry-0", "retry-1", "retry-2"),
+            received.stream().map(event -> event.task().title()).toList());
+        assertEquals(0, outboxRows());
+    }
+
+    @Test
+    void recordsImportedTasksInTheSameTransaction() throws Exception {
+        Path file = Files.writeString(directory.resolve("tasks.csv"), "title\nImported a\nImported b\n");
+
+        assertEquals(2, importer.importFile(file, ImportFormat.CSV).imported());
+
+        assertEquals(2, outboxRows());
+        relay.drain();
+        assertEquals(List.of("Imported a", "Imported b"),
+            memory().events().stream().map(event -> event.task().title()).toList());
+    }
+
+    private InMemoryOutboxSink memory() {
+        return (InMemoryOutboxSink) sink;
+    }
+
+    private long outboxRows() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM task_outbox", Long.class);
+    }
+
+    private static Task keyed(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setIdempotencyKey(title.startsWith("retry") ? title : "same-key");
+        return task;
+    }
+}
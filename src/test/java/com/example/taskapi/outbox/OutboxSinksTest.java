@@ -0,0 +1,93 @@
+package com.example.taskapi.outbox;
+
+import com.example.taskapi.entity.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxSinksTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void fileSinkAppendsOneLinePerEventAndTrimsALineCutShort() throws Exception {
+        Path file = directory.resolve("events/tasks.ndjson");
+        try (FileOutboxSink sink = new FileOutboxSink(file, objectMapper)) {
+            sink.deliver(List.of(event(1), event(2)));
+        }
+        // A crash part way through the next batch
+        Files.writeString(file, "{\"sequence\":3,\"ta", StandardOpenOption.APPEND);
+
+        try (FileOutboxSink sink = new FileOutboxSink(file, objectMapper)) {
+            sink.deliver(List.of(event(3)));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + 1, objectMapper.readTree(lines.get(i)).get("sequence").asLong());
+        }
+    }
+
+    @Test
+    void httpSinkPostsNdjsonAndFailsOnAnErrorStatus() throws Exception {
+        AtomicReference<String> body = new AtomicReference<>();
+        AtomicInteger status = new AtomicInteger(204);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/events", exchange -> {
+            body.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            HttpOutboxSink sink = new HttpOutboxSink(
+                URI.create("http://localhost:" + server.getAddress().getPort() + "/events"), Duration.ofSeconds(5), objectMapper);
+
+            sink.deliver(List.of(event(1), event(2)));
+            assertEquals(2, body.get().lines().count());
+            assertEquals("CREATED", objectMapper.readTree(body.get().lines().findFirst().orElseThrow()).get("type").asText());
+
+            status.set(503);
+            assertThrows(IOException.class, () -> sink.deliver(List.of(event(3))));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void memorySinkKeepsTheNewestEvents() {
+        InMemoryOutboxSink sink = new InMemoryOutboxSink(2);
+
+        sink.deliver(List.of(event(1), event(2), event(3)));
+
+        assertEquals(List.of(2L, 3L), sink.events().stream().map(TaskChangeEvent::sequence).toList());
+    }
+
+    private static TaskChangeEvent event(long sequence) {
+        return new TaskChangeEvent(sequence, 10 + sequence, "default", OutboxEvent.Type.CREATED,
+            LocalDateTime.of(2024, 1, 1, 9, 0), null);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.taskapi.recent;
+
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"taskapi.recent-tasks.enabled=true", "taskapi.recent-tasks.window=10m"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RecentTasksIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private RecentTasksWindow window;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        window.reload();
+    }
+
+    @Test
+    void answersRecentTimestampsFromMemoryAndOlderOnesFromTheDatabase() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskRequestDTO("Created through the API", null))))
+            .andExpect(status().isCreated());
+        // Written behind the service's back: only the database has these two
+        taskRepository.save(task("Recent, not in the window", LocalDateTime.now()));
+        taskRepository.save(task("An hour old", LocalDateTime.now().minusHours(1)));
+
+        mockMvc.perform(get("/api/tasks/filter/created-after").param("date", LocalDateTime.now().minusMinutes(1).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].title").value("Created through the API"));
+
+        mockMvc.perform(get("/api/tasks/filter/created-after").param("date", LocalDateTime.now().minusHours(2).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(3)));
+
+        window.reload();
+        mockMvc.perform(get("/api/tasks/filter/created-after").param("date", LocalDateTime.now().minusMinutes(1).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    private static Task task(String title, LocalDateTime createdAt) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setCreatedAt(createdAt);
+        return task;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.taskapi.recent;
+
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.entity.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentTasksWindowTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private final AtomicReference<LocalDateTime> now = new AtomicReference<>(START);
+    private final List<Task> database = new ArrayList<>();
+    private final RecentTasksWindow window = new RecentTasksWindow(4, Duration.ofMinutes(10), clock(),
+        after -> database.stream().filter(task -> task.getCreatedAt().isAfter(after)).toList());
+
+    @Test
+    void servesTimestampsFromTheHorizonOnAndLeavesOlderOnesToTheDatabase() {
+        database.add(task(1, START.minusMinutes(20)));
+        database.add(task(2, START.minusMinutes(5)));
+        assertEquals(Optional.empty(), window.findCreatedAfter(START.minusMinutes(1)));
+
+        window.reload();
+        LocalDateTime horizon = START.minusMinutes(10);
+
+        assertEquals(List.of(2L), ids(window.findCreatedAfter(horizon)));
+        assertEquals(Optional.empty(), window.findCreatedAfter(horizon.minusNanos(1000)));
+        // Strictly after: a task created at the timestamp itself is not included
+        assertEquals(List.of(), ids(window.findCreatedAfter(START.minusMinutes(5))));
+        assertEquals(List.of(2L), ids(window.findCreatedAfter(START.minusMinutes(5).minusNanos(1000))));
+    }
+
+    @Test
+    void keepsTasksInCreationOrderWhenCreatesArriveOutOfOrder() {
+        window.reload();
+        window.append(task(3, START.minusSeconds(1)));
+        window.append(task(1, START.minusSeconds(3)));
+        window.append(task(2, START.minusSeconds(2)));
+        // Older than the horizon; a query that could include it goes to the database anyway
+        window.append(task(9, START.minusMinutes(11)));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(window.findCreatedAfter(START.minusMinutes(10))));
+        assertEquals(3, window.size());
+    }
+
+    @Test
+    void aFullRingMovesTheHorizonToTheNewestDroppedTask() {
+        window.reload();
+        for (int i = 1; i <= 6; i++) {
+            window.append(task(i, START.minusMinutes(7 - i)));
+        }
+        LocalDateTime newestDropped = START.minusMinutes(5);
+
+        assertEquals(4, window.size());
+        assertEquals(List.of(3L, 4L, 5L, 6L), ids(window.findCreatedAfter(newestDropped)));
+        assertEquals(Optional.empty(), window.findCreatedAfter(newestDropped.minusNanos(1000)));
+    }
+
+    @Test
+    void tasksOlderThanTheWindowExpire() {
+        window.reload();
+        window.append(task(1, START.minusMinutes(1)));
+        window.append(task(2, START));
+
+        now.set(START.plusMinutes(8).plusSeconds(59));
+        assertEquals(List.of(1L, 2L), ids(window.findCreatedAfter(START.minusMinutes(1).minusSeconds(1))));
+
+        now.set(START.plusMinutes(9).plusSeconds(1));
+        assertEquals(Optional.empty(), window.findCreatedAfter(START.minusMinutes(1).minusSeconds(1)));
+        assertEquals(List.of(2L), ids(window.findCreatedAfter(START.minusMinutes(1))));
+    }
+
+    @Test
+    void aReloadKeepsTasksCreatedWhileItRan() {
+        RecentTasksWindow[] self = new RecentTasksWindow[1];
+        self[0] = new RecentTasksWindow(4, Duration.ofMinutes(10), clock(), after -> {
+            // Committed after the load's query ran
+            self[0].append(task(2, START));
+            return List.of(task(1, START.minusMinutes(1)));
+        });
+
+        self[0].reload();
+
+        assertEquals(List.of(1L, 2L), ids(self[0].findCreatedAfter(START.minusMinutes(10))));
+    }
+
+    @Test
+    void flagsOpenTasksThatAreDueIncludingDuringAReload() {
+        Task due = task(1, START.minusMinutes(2));
+        due.setDueAt(START.minusMinutes(1));
+        Task later = task(2, START.minusMinutes(2));
+        later.setDueAt(START.plusMinutes(1));
+        database.add(due);
+        database.add(later);
+        window.reload();
+
+        window.markOverdue(List.of(1L, 2L), START);
+
+        assertEquals(List.of(true, false), overdue(window.findCreatedAfter(START.minusMinutes(10))));
+
+        RecentTasksWindow[] self = new RecentTasksWindow[1];
+        self[0] = new RecentTasksWindow(4, Duration.ofMinutes(10), clock(), after -> {
+            List<Task> loaded = List.of(task(1, due.getCreatedAt()), task(2, later.getCreatedAt()));
+            loaded.get(0).setDueAt(due.getDueAt());
+            loaded.get(1).setDueAt(later.getDueAt());
+            // Flagged after the load's query ran
+            self[0].markOverdue(List.of(1L), START);
+            return loaded;
+        });
+        self[0].reload();
+
+        assertEquals(List.of(true, false), overdue(self[0].findCreatedAfter(START.minusMinutes(10))));
+    }
+
+    @Test
+    void disabledWindowNeverServes() {
+        RecentTasksWindow disabled = RecentTasksWindow.disabled();
+        disabled.reload();
+        disabled.append(task(1, START));
+
+        assertFalse(disabled.isServing());
+        assertEquals(Optional.empty(), disabled.findCreatedAfter(START.minusDays(1)));
+    }
+
+    private Clock clock() {
+        return new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(java.time.ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get().toInstant(ZoneOffset.UTC);
+            }
+        };
+    }
+
+    private static Task task(long id, LocalDateTime createdAt) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setCreatedAt(createdAt);
+        return task;
+    }
+
+    private static List<Boolean> overdue(Optional<List<TaskResponseDTO>> tasks) {
+        return tasks.orElseThrow().stream().map(TaskResponseDTO::overdue).toList();
+    }
+
+    private static List<Long> ids(Optional<List<TaskResponseDTO>> tasks) {
+        return tasks.orElseThrow().stream().map(TaskResponseDTO::id).toList();
+    }
+}
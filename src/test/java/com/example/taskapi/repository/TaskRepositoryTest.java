@@ -5,6 +5,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -66,4 +69,46 @@ class TaskRepositoryTest {
         assertEquals(1, result.size());
         assertTrue(result.get(0).getDescription().contains("controller"));
     }
+
+    @Test
+    void testIdRangeSlicesMatchTheWholeTableQueries() {
+        List<Object[]> bounds = taskRepository.findIdBounds();
+        long min = ((Number) bounds.get(0)[0]).longValue();
+        long max = ((Number) bounds.get(0)[1]).longValue();
+        assertEquals(1, max - min);
+
+        List<Task> search = taskRepository.searchTasksInIdRange("write", null, min, max, Pageable.unpaged());
+        assertEquals(List.of(min, max), search.stream().map(Task::getId).toList());
+        assertEquals(1, taskRepository.searchTasksInIdRange("write", null, min, max, PageRequest.of(0, 1)).size());
+        assertTrue(taskRepository.searchTasksInIdRange("write", null, max + 1, max + 10, Pageable.unpaged()).isEmpty());
+
+        List<Task> done = taskRepository.findByTitleContainingIgnoreCaseAndCompletedAndIdBetweenOrderByIdAsc(
+            "WRITE", true, min, max, Pageable.unpaged());
+        assertEquals(1, done.size());
+        assertEquals("Write integration tests", done.get(0).getTitle());
+    }
+
+    @Test
+    void testCountTasks() {
+        assertEquals(2, taskRepository.countTasks(null, null));
+        assertEquals(1, taskRepository.countTasks(true, null));
+        assertEquals(1, taskRepository.countTasks(null, LocalDateTime.now().minusDays(1).minusHours(1)));
+        assertEquals(0, taskRepository.countTasks(true, LocalDateTime.now().minusDays(1).minusHours(1)));
+    }
+
+    @Test
+    void testIdempotencyKeyIsUnique() {
+        Task first = new Task();
+        first.setTitle("Created with a key");
+        first.setIdempotencyKey("key-1");
+        taskRepository.saveAndFlush(first);
+        assertEquals(List.of(first.getId()),
+            taskRepository.findByIdempotencyKey("key-1").stream().map(Task::getId).toList());
+
+        Task duplicate = new Task();
+        duplicate.setTitle("Retry of the same request");
+        duplicate.setIdempotencyKey("key-1");
+
+        assertThrows(DataIntegrityViolationException.class, () -> taskRepository.saveAndFlush(duplicate));
+    }
 }
@@ -0,0 +1,73 @@
+package com.example.taskapi.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, Duration.ofSeconds(5), 2, now::get);
+
+    @Test
+    void opensOnceEnoughOfTheRecentCallsFailed() {
+        fail(3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(), "below minimumCalls");
+        fail(1);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void staysClosedWhileFailuresAreBelowTheThreshold() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(breaker.tryAcquire());
+            if (i % 3 == 2) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void letsALimitedNumberOfTrialCallsThroughAfterTheOpenDuration() {
+        fail(4);
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire(), "only two trial calls");
+        breaker.release();
+        assertTrue(breaker.tryAcquire(), "a released trial can be reused");
+
+        assertFalse(breaker.onSuccess());
+        assertTrue(breaker.onSuccess(), "the last trial success closes the breaker");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void aFailedTrialReopensTheBreaker() {
+        fail(4);
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertFalse(breaker.tryAcquire(), "open for another full period");
+    }
+
+    private void fail(int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+    }
+}
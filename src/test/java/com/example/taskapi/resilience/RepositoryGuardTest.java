@@ -0,0 +1,222 @@
+package com.example.taskapi.resilience;
+
+import com.example.taskapi.exception.ServiceOverloadedException;
+import com.example.taskapi.exception.TaskNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Failure injection: the "database" is a supplier that can be made to fail or stall.
+ */
+class RepositoryGuardTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(4, 2, 0.5, Duration.ofSeconds(10), 1, now::get);
+    private final LastKnownGoodCache cache = new LastKnownGoodCache(100, 3, Duration.ofHours(1), now::get);
+    private final RepositoryGuard guard = new RepositoryGuard(Map.of(
+        QueryType.BY_ID, new RepositoryGuard.Bulkhead(1, 1, Duration.ofMillis(200)),
+        QueryType.FILTER, new RepositoryGuard.Bulkhead(2, 2, Duration.ofSeconds(5)),
+        QueryType.COUNT, new RepositoryGuard.Bulkhead(1, 1, Duration.ofSeconds(5))), breaker, cache);
+
+    private final FaultyDatabase database = new FaultyDatabase();
+
+    @AfterEach
+    void tearDown() {
+        database.heal();
+        guard.close();
+    }
+
+    @Test
+    void answersFromTheLastGoodResultWhileTheDatabaseFails() {
+        assertEquals("task 1 v1", guard.read(QueryType.BY_ID, "task 1", database.query("task 1 v1")));
+
+        database.fail();
+
+        assertEquals("task 1 v1", guard.read(QueryType.BY_ID, "task 1", database.query("task 1 v2")));
+        assertEquals(1, guard.staleResponses());
+        ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+            () -> guard.read(QueryType.BY_ID, "task 2", database.query("task 2")));
+        assertTrue(ex.getMessage().startsWith("Task database unavailable"), ex.getMessage());
+    }
+
+    @Test
+    void givesUpOnAStalledQueryAfterItsTimeout() {
+        guard.read(QueryType.BY_ID, "task 1", database.query("task 1 v1"));
+        database.stall();
+
+        long start = System.nanoTime();
+        assertEquals("task 1 v1", guard.read(QueryType.BY_ID, "task 1", database.query("task 1 v2")));
+        // Queued behind the stalled one on the single BY_ID thread
+        assertEquals("task 1 v1", guard.read(QueryType.BY_ID, "task 1", database.query("task 1 v3")));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertEquals(CircuitBreaker.State.OPEN, guard.state());
+        assertEquals("task 1 v1", guard.read(QueryType.BY_ID, "task 1", database.query("task 1 v4")));
+        assertEquals(3, guard.staleResponses());
+    }
+
+    @Test
+    void stopsCallingTheDatabaseOnceTheBreakerOpens() {
+        database.fail();
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ServiceOverloadedException.class, () -> guard.read(QueryType.COUNT, "count", database.query(0L)));
+        }
+        int calls = database.calls.get();
+
+        assertThrows(ServiceOverloadedException.class, () -> guard.read(QueryType.COUNT, "count", database.query(0L)));
+        assertThrows(ServiceOverloadedException.class, () -> guard.call(database.query("insert")));
+        assertEquals(calls, database.calls.get());
+    }
+
+    @Test
+    void revalidatesStaleResultsOnceTheDatabaseRecovers() throws Exception {
+        AtomicReference<List<String>> rows = new AtomicReference<>(List.of("a"));
+        guard.read(QueryType.FILTER, "completed", database.query(rows::get));
+        database.fail();
+        assertEquals(List.of("a"), guard.read(QueryType.FILTER, "completed", database.query(rows::get)));
+        assertEquals(CircuitBreaker.State.OPEN, guard.state());
+
+        database.heal();
+        rows.set(List.of("a", "b"));
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        // The trial call closes the breaker, which re-reads "completed" in the background
+        assertEquals(7L, guard.read(QueryType.COUNT, "count", database.query(7L)));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!List.of("a", "b").equals(cache.get("completed").value()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("a", "b"), cache.get("completed").value());
+    }
+
+    @Test
+    void servesABurstLargerThanTheThreadsOfTheDefaultBulkhead() throws Exception {
+        RepositoryGuard defaults = new RepositoryGuard(Map.of(
+            QueryType.BY_ID, new RepositoryGuard.Bulkhead(16, 200, Duration.ofSeconds(2)),
+            QueryType.FILTER, new RepositoryGuard.Bulkhead(8, 100, Duration.ofSeconds(10)),
+            QueryType.COUNT, new RepositoryGuard.Bulkhead(4, 50, Duration.ofSeconds(10))), breaker, cache);
+        int callers = 64;
+        ExecutorService requests = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> answers = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                String task = "task " + i;
+                answers.add(requests.submit(() -> {
+                    start.await();
+                    return defaults.read(QueryType.BY_ID, task, () -> {
+                        sleep(50);
+                        return task;
+                    });
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < callers; i++) {
+                assertEquals("task " + i, answers.get(i).get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(0, defaults.staleResponses());
+        } finally {
+            requests.shutdownNow();
+            defaults.close();
+        }
+    }
+
+    @Test
+    void doesNotCountApplicationErrorsAgainstTheDatabase() {
+        for (int i = 0; i < 5; i++) {
+            assertThrows(TaskNotFoundException.class, () -> guard.read(QueryType.BY_ID, "missing", () -> {
+                throw new TaskNotFoundException("Task not found: 1");
+            }));
+            assertThrows(DataIntegrityViolationException.class, () -> guard.call(() -> {
+                throw new DataIntegrityViolationException("duplicate key");
+            }));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state());
+    }
+
+    @Test
+    void doesNotKeepResultsWithTooManyRows() {
+        guard.read(QueryType.FILTER, "all", database.query(List.of(1, 2, 3, 4)));
+        database.fail();
+
+        assertThrows(ServiceOverloadedException.class, () -> guard.read(QueryType.FILTER, "all", database.query(List.of())));
+        assertEquals(0, guard.cachedResults());
+    }
+
+    @Test
+    void disabledGuardRunsQueriesInline() {
+        RepositoryGuard disabled = RepositoryGuard.disabled();
+        Thread caller = Thread.currentThread();
+
+        assertSame(caller, disabled.read(QueryType.BY_ID, "key", Thread::currentThread));
+        assertThrows(DataAccessResourceFailureException.class, () -> disabled.read(QueryType.BY_ID, "key", () -> {
+            throw new DataAccessResourceFailureException("down");
+        }));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stand-in for the datasource: answers queries unless told to fail or stall.
+     */
+    private static final class FaultyDatabase {
+        final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean failing;
+        private volatile CountDownLatch stalled = new CountDownLatch(0);
+
+        <T> Supplier<T> query(T value) {
+            return query(() -> value);
+        }
+
+        <T> Supplier<T> query(Supplier<T> answer) {
+            return () -> {
+                calls.incrementAndGet();
+                try {
+                    stalled.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (failing) {
+                    throw new DataAccessResourceFailureException("Connection refused");
+                }
+                return answer.get();
+            };
+        }
+
+        void fail() {
+            failing = true;
+        }
+
+        void stall() {
+            stalled = new CountDownLatch(1);
+        }
+
+        void heal() {
+            failing = false;
+            stalled.countDown();
+        }
+    }
+}
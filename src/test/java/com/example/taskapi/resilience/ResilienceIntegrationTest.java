@@ -0,0 +1,183 @@
+package com.example.taskapi.resilience;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "taskapi.admission.enabled=false",
+    "taskapi.resilience.by-id-timeout=300ms",
+    "taskapi.resilience.window-size=4",
+    "taskapi.resilience.minimum-calls=2",
+    "taskapi.resilience.open-duration=500ms",
+    "taskapi.resilience.half-open-calls=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ResilienceIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private RepositoryGuard guard;
+
+    @Autowired
+    private FaultyDataSource dataSource;
+
+    private long id;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        taskRepository.deleteAll();
+        Task task = new Task();
+        task.setTitle("Written before the outage");
+        task.setCreatedAt(LocalDateTime.now());
+        task.setUpdatedAt(LocalDateTime.now());
+        id = taskRepository.save(task).getId();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        dataSource.heal();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (guard.state() != CircuitBreaker.State.CLOSED && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            mockMvc.perform(get("/api/tasks/count"));
+        }
+    }
+
+    @Test
+    void servesTheLastGoodAnswerMarkedStaleWhileTheDatabaseIsDown() throws Exception {
+        mockMvc.perform(get("/api/tasks/{id}", id))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Warning"));
+
+        dataSource.fail();
+
+        mockMvc.perform(get("/api/tasks/{id}", id))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Warning", StaleResponseAdvice.STALE_WARNING))
+            .andExpect(header().exists("Age"))
+            .andExpect(jsonPath("$.title").value("Written before the outage"));
+        mockMvc.perform(get("/api/tasks/filter/completed").param("status", "true"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void answersWithinTheTimeoutWhenTheDatabaseStalls() throws Exception {
+        mockMvc.perform(get("/api/tasks/{id}", id)).andExpect(status().isOk());
+
+        dataSource.stall();
+        long start = System.nanoTime();
+
+        mockMvc.perform(get("/api/tasks/{id}", id))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Warning", StaleResponseAdvice.STALE_WARNING));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3));
+    }
+
+    @Test
+    void servesFreshDataAgainOnceTheDatabaseRecovers() throws Exception {
+        mockMvc.perform(get("/api/tasks/{id}", id)).andExpect(status().isOk());
+        dataSource.fail();
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/tasks/{id}", id)).andExpect(header().exists("Warning"));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.state());
+
+        dataSource.heal();
+        Task task = taskRepository.findById(id).orElseThrow();
+        task.setTitle("Written after the outage");
+        taskRepository.save(task);
+        Thread.sleep(600);
+
+        mockMvc.perform(get("/api/tasks/{id}", id))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Warning"))
+            .andExpect(jsonPath("$.title").value("Written after the outage"));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.state());
+    }
+
+    /**
+     * Wraps the real DataSource so tests can make it refuse or hold up new connections.
+     */
+    static class FaultyDataSource extends DelegatingDataSource {
+
+        private volatile boolean failing;
+        private volatile CountDownLatch stalled = new CountDownLatch(0);
+
+        FaultyDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            try {
+                stalled.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing) {
+                throw new SQLException("Injected failure: connection refused", "08001");
+            }
+            return super.getConnection();
+        }
+
+        void fail() {
+            failing = true;
+        }
+
+        void stall() {
+            stalled = new CountDownLatch(1);
+        }
+
+        void heal() {
+            failing = false;
+            stalled.countDown();
+        }
+    }
+
+    @TestConfiguration
+    static class FaultInjection {
+
+        @Bean
+        static BeanPostProcessor faultyDataSourceWrapper() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof FaultyDataSource)
+                        ? new FaultyDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.taskapi.service;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.exception.ServiceOverloadedException;
+import com.example.taskapi.limiter.AdaptiveConcurrencyLimiter;
+import com.example.taskapi.limiter.Priority;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.sorting.TaskSort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class ParallelScanPlannerTest {
+
+    private static final long ROWS = 1_000;
+
+    private final TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+    private final List<Task> table = LongStream.rangeClosed(1, ROWS).mapToObj(ParallelScanPlannerTest::task).toList();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        when(taskRepository.findIdBounds()).thenReturn(List.<Object[]>of(new Object[] {1L, ROWS}));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void splitsTheIdRangeIntoContiguousSlices() {
+        ParallelScanPlanner planner = planner(AdaptiveConcurrencyLimiter.unlimited(), 4, 100);
+
+        List<ParallelScanPlanner.IdSlice> slices = planner.plan(List.<Object[]>of(new Object[] {1L, ROWS}));
+
+        assertEquals(8, slices.size());
+        assertEquals(1, slices.get(0).fromId());
+        assertEquals(ROWS, slices.get(slices.size() - 1).toId());
+        for (int i = 1; i < slices.size(); i++) {
+            assertEquals(slices.get(i - 1).toId() + 1, slices.get(i).fromId());
+        }
+        assertEquals(1, planner(AdaptiveConcurrencyLimiter.unlimited(), 4, 10_000).plan(
+            List.<Object[]>of(new Object[] {1L, ROWS})).size(), "small tables are not split");
+        assertTrue(planner.plan(List.<Object[]>of(new Object[] {null, null})).isEmpty());
+    }
+
+    @Test
+    void returnsEveryMatchInIdOrderEvenWhenLaterSlicesFinishFirst() {
+        ParallelScanPlanner planner = planner(AdaptiveConcurrencyLimiter.unlimited(), 4, 100);
+
+        List<Task> result = planner.scan(List::of, (from, to, page) -> {
+            // Earlier slices are slower
+            sleep(Math.max(0, 20 - from / 50));
+            return evenIds(from, to, page.isPaged() ? page.getPageSize() : Integer.MAX_VALUE);
+        }, null);
+
+        assertEquals(evenIds(1, ROWS, Integer.MAX_VALUE), result);
+    }
+
+    @Test
+    void stopsOnceTheLimitIsReachedAndReleasesEveryPermit() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.unlimited();
+        ParallelScanPlanner planner = planner(limiter, 2, 50);
+
+        List<Task> result = planner.scan(List::of,
+            (from, to, page) -> evenIds(from, to, page.getPageSize()), 30);
+
+        assertTrue(fetches.get() <= 2, "only the slices already in flight ran");
+        assertEquals(evenIds(1, 60, 30), result);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void continuesWithFewerSlicesWhenPermitsRunShortAndRejectsWhenThereAreNone() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 2, 1.0, 100, 0L, System::nanoTime);
+        ParallelScanPlanner planner = planner(limiter, 4, 100);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.tryAcquire(Priority.READ);
+
+        assertEquals(evenIds(1, ROWS, Integer.MAX_VALUE),
+            planner.scan(List::of, (from, to, page) -> evenIds(from, to, Integer.MAX_VALUE), null));
+
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire(Priority.READ);
+        assertThrows(ServiceOverloadedException.class,
+            () -> planner.scan(List::of, (from, to, page) -> evenIds(from, to, Integer.MAX_VALUE), null));
+        held.releaseWithoutSample();
+        second.releaseWithoutSample();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void mergesSortedSlicesIntoTheFirstKOfTheWholeTable() {
+        ParallelScanPlanner planner = planner(AdaptiveConcurrencyLimiter.unlimited(), 4, 100);
+        TaskSort newestFirst = TaskSort.parse("createdAt,desc");
+        List<Task> expected = table.stream().sorted(newestFirst.tasks()).limit(25).toList();
+
+        List<Task> result = planner.scan(page -> fail("sliced"), (from, to, page) -> {
+            fetches.incrementAndGet();
+            // Each slice sorts and limits its own rows, as the database would
+            return table.subList((int) from - 1, (int) to).stream()
+                .sorted(TaskSort.tasks(page.getSort())).limit(page.getPageSize()).toList();
+        }, 25, newestFirst);
+
+        assertEquals(expected, result);
+        assertEquals(8, fetches.get());
+    }
+
+    @Test
+    void serialPlannerRunsTheWholeTableQuery() {
+        ParallelScanPlanner planner = ParallelScanPlanner.serial(AdaptiveConcurrencyLimiter.unlimited());
+
+        List<Task> result = planner.scan(() -> table, (from, to, page) -> fail("no slices"), 3);
+
+        assertEquals(table.subList(0, 3), result);
+    }
+
+    @Test
+    void serialPlannerKeepsTheLowestIdsOfAnUnorderedResult() {
+        ParallelScanPlanner planner = ParallelScanPlanner.serial(AdaptiveConcurrencyLimiter.unlimited());
+        List<Task> shuffled = new ArrayList<>(table);
+        Collections.shuffle(shuffled, new Random(7));
+
+        assertEquals(table.subList(0, 3), planner.scan(() -> shuffled, (from, to, page) -> fail("no slices"), 3));
+        assertEquals(table, planner.scan(() -> shuffled, (from, to, page) -> fail("no slices"), null));
+    }
+
+    private ParallelScanPlanner planner(AdaptiveConcurrencyLimiter limiter, int parallelism, long minSliceSpan) {
+        return new ParallelScanPlanner(taskRepository, limiter, executor, parallelism, minSliceSpan, 2);
+    }
+
+    private List<Task> evenIds(long from, long to, int limit) {
+        fetches.incrementAndGet();
+        List<Task> rows = new ArrayList<>();
+        for (Task task : table.subList((int) from - 1, (int) to)) {
+            if (task.getId() % 2 == 0 && rows.size() < limit) {
+                rows.add(task);
+            }
+        }
+        return rows;
+    }
+
+    private static Task task(long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        // Creation order unrelated to id order
+        task.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id * 37 % 101));
+        return task;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
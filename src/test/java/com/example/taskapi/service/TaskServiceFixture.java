@@ -0,0 +1,29 @@
+package com.example.taskapi.service;
+
+import com.example.taskapi.due.OverdueScheduler;
+import com.example.taskapi.idempotency.IdempotencyCache;
+import com.example.taskapi.labels.LabelIndex;
+import com.example.taskapi.limiter.AdaptiveConcurrencyLimiter;
+import com.example.taskapi.recent.RecentTasksWindow;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.resilience.RepositoryGuard;
+import com.example.taskapi.snapshot.ColumnarTaskSnapshot;
+
+/**
+ * TaskServiceImpl for unit tests: every read and write goes straight to the given repository.
+ */
+public final class TaskServiceFixture {
+
+    private TaskServiceFixture() {
+    }
+
+    /**
+     * A service with no limit, a serial planner and every in-memory view, cache and guard disabled.
+     */
+    public static TaskServiceImpl withRepository(TaskRepository taskRepository) {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.unlimited();
+        return new TaskServiceImpl(taskRepository, limiter, ParallelScanPlanner.serial(limiter),
+            ColumnarTaskSnapshot.disabled(), IdempotencyCache.disabled(), RecentTasksWindow.disabled(),
+            RepositoryGuard.disabled(), LabelIndex.disabled(), OverdueScheduler.disabled());
+    }
+}
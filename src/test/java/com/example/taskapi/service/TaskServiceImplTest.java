@@ -1,20 +1,26 @@
 package com.example.taskapi.service;
 
+import com.example.taskapi.dto.TaskBatchResponseDTO;
 import com.example.taskapi.dto.TaskRequestDTO;
 import com.example.taskapi.dto.TaskResponseDTO;
 import com.example.taskapi.entity.Task;
 import com.example.taskapi.exception.TaskNotFoundException;
+import com.example.taskapi.labels.LabelFilter;
 import com.example.taskapi.repository.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.Mockito.*;
 
 class TaskServiceImplTest {
@@ -27,7 +33,7 @@ class TaskServiceImplTest {
     @BeforeEach
     void setUp() {
         taskRepository = mock(TaskRepository.class);
-        taskService = new TaskServiceImpl(taskRepository);
+        taskService = TaskServiceFixture.withRepository(taskRepository);
 
         task = new Task();
         task.setId(1L);
@@ -75,6 +81,30 @@ class TaskServiceImplTest {
         assertEquals("Test Title", result.get(0).title());
     }
 
+    @Test
+    void testGetTasksByIds_InRequestOrderWithMissingIds() {
+        Task other = new Task();
+        other.setId(3L);
+        other.setTitle("Other");
+        when(taskRepository.findAllById(List.of(3L, 2L, 1L))).thenReturn(List.of(task, other));
+
+        TaskBatchResponseDTO result = taskService.getTasksByIds(List.of(3L, 2L, 1L, 3L));
+
+        assertEquals(List.of(3L, 1L), result.tasks().stream().map(TaskResponseDTO::id).toList());
+        assertEquals(List.of(2L), result.missing());
+    }
+
+    @Test
+    void testGetTasksByIds_ChunksLargeBatches() {
+        List<Long> ids = LongStream.rangeClosed(1, TaskServiceImpl.IN_LIST_SIZE * 2L + 1).boxed().toList();
+        when(taskRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        TaskBatchResponseDTO result = taskService.getTasksByIds(ids);
+
+        assertEquals(ids, result.missing());
+        verify(taskRepository, times(3)).findAllById(anyIterable());
+    }
+
     @Test
     void testGetTaskById() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
@@ -137,4 +167,26 @@ class TaskServiceImplTest {
 
         assertEquals(1, result.size());
     }
+
+    @Test
+    void testFilterByLabels_UsesSqlWhileTheIndexIsOff() {
+        task.getLabels().addAll(List.of("backend", "urgent"));
+        LabelFilter filter = new LabelFilter(Set.of("Backend"), Set.of(), Set.of("blocked"), false);
+        when(taskRepository.findByLabels(Set.of("backend"), 1, Set.of(), 0, Set.of("blocked"), 1, false,
+            PageRequest.of(0, 5))).thenReturn(List.of(task));
+
+        List<TaskResponseDTO> result = taskService.filterByLabels(filter, 5);
+
+        assertEquals(List.of("backend", "urgent"), result.get(0).labels());
+    }
+
+    @Test
+    void testCreateTask_NormalizesLabels() {
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaskResponseDTO response = taskService.createTask(
+            new TaskRequestDTO("Labelled", null, null, List.of(" Urgent", "backend", "urgent ")));
+
+        assertEquals(List.of("backend", "urgent"), response.labels());
+    }
 }
@@ -0,0 +1,68 @@
+package com.example.taskapi.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 20_000;
+
+    private final ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+
+    @Test
+    void spreadsKeysEvenlyWithVirtualNodes() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.shardFor("owner-" + i), 1, Integer::sum);
+        }
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertEquals(KEYS / 4.0, count, KEYS / 4.0 * 0.2));
+    }
+
+    @Test
+    void addingAShardOnlyMovesKeysToIt() {
+        ConsistentHashRing grown = ring.withMembers(List.of("a", "b", "c", "d", "e"));
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "owner-" + i;
+            String before = ring.shardFor(key);
+            String after = grown.shardFor(key);
+            if (!before.equals(after)) {
+                assertEquals("e", after);
+                moved++;
+            }
+        }
+        assertEquals(KEYS / 5.0, moved, KEYS / 5.0 * 0.25);
+    }
+
+    @Test
+    void movesCoverExactlyTheKeysThatChangeShard() {
+        ConsistentHashRing shrunk = ring.withMembers(List.of("a", "b", "d"));
+        List<ConsistentHashRing.Move> moves = ring.movesTo(shrunk);
+
+        assertEquals(0.25, moves.stream().mapToDouble(ConsistentHashRing.Move::share).sum(), 0.06);
+        for (int i = 0; i < 2_000; i++) {
+            String key = "owner-" + i;
+            boolean changes = !ring.shardFor(key).equals(shrunk.shardFor(key));
+            List<ConsistentHashRing.Move> containing = moves.stream().filter(move -> move.contains(key)).toList();
+            assertEquals(changes ? 1 : 0, containing.size(), key);
+            if (changes) {
+                assertEquals("c", containing.get(0).from());
+                assertEquals(shrunk.shardFor(key), containing.get(0).to());
+            }
+        }
+    }
+
+    @Test
+    void isDeterministicAcrossInstances() {
+        ConsistentHashRing same = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(ring.shardFor("owner-" + i), same.shardFor("owner-" + i));
+        }
+    }
+}
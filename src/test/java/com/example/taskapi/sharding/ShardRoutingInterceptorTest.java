@@ -0,0 +1,71 @@
+package com.example.taskapi.sharding;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.sorting.TaskSort;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRoutingInterceptorTest {
+
+    interface PagedTaskRepository extends TaskRepository {
+        Page<Task> findByOwner(String owner, Pageable page);
+    }
+
+    interface OptionalTaskRepository extends TaskRepository {
+        List<Task> findByOwner(String owner);
+
+        boolean existsByOwner(String owner);
+    }
+
+    @Test
+    void mergesPagedResultsInThePageOrderAndKeepsOnePage() {
+        List<Object> perShard = List.of(
+            List.of(task(4, 3), task(1, 9), task(7, 1)),
+            List.of(task(2, 5), task(8, 7)));
+
+        List<?> byDueAtDesc = ShardRoutingInterceptor.merge(perShard,
+            new Object[] {"keyword", TaskSort.parse("dueAt,desc").page(3)});
+        List<?> byId = ShardRoutingInterceptor.merge(perShard, new Object[] {PageRequest.of(0, 4)});
+        List<?> unpaged = ShardRoutingInterceptor.merge(perShard, new Object[] {Pageable.unpaged()});
+
+        assertEquals(List.of(1L, 8L, 2L), ids(byDueAtDesc));
+        assertEquals(List.of(1L, 2L, 4L, 7L), ids(byId));
+        assertEquals(List.of(1L, 2L, 4L, 7L, 8L), ids(unpaged));
+        assertThrows(UnsupportedOperationException.class,
+            () -> ShardRoutingInterceptor.merge(perShard, new Object[] {PageRequest.of(1, 2)}));
+    }
+
+    @Test
+    void acceptsEveryMethodOfTheTaskRepository() {
+        assertDoesNotThrow(() -> ShardRoutingInterceptor.checkRoutable(TaskRepository.class));
+        assertDoesNotThrow(() -> ShardRoutingInterceptor.checkRoutable(OptionalTaskRepository.class));
+    }
+
+    @Test
+    void rejectsAFinderWhoseResultCannotBeCombined() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> ShardRoutingInterceptor.checkRoutable(PagedTaskRepository.class));
+
+        assertEquals("PagedTaskRepository.findByOwner returns Page, which cannot be combined across shards",
+            ex.getMessage());
+    }
+
+    private static Task task(long id, int dueInDays) {
+        Task task = new Task();
+        task.setId(id);
+        task.setDueAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusDays(dueInDays));
+        return task;
+    }
+
+    private static List<Long> ids(List<?> tasks) {
+        return tasks.stream().map(task -> ((Task) task).getId()).toList();
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.taskapi.sharding;
+
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "taskapi.sharding.enabled=true",
+    "taskapi.sharding.create-schema=true",
+    "taskapi.sharding.ring=s0,s1,s2",
+    "taskapi.sharding.reshard-settle-millis=10",
+    "taskapi.sharding.shards[0].name=s0",
+    "taskapi.sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+    "taskapi.sharding.shards[0].username=sa",
+    "taskapi.sharding.shards[1].name=s1",
+    "taskapi.sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+    "taskapi.sharding.shards[1].username=sa",
+    "taskapi.sharding.shards[2].name=s2",
+    "taskapi.sharding.shards[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1",
+    "taskapi.sharding.shards[2].username=sa",
+    "taskapi.sharding.shards[3].name=s3",
+    "taskapi.sharding.shards[3].url=jdbc:h2:mem:shard3;DB_CLOSE_DELAY=-1",
+    "taskapi.sharding.shards[3].username=sa",
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardingIntegrationTest {
+
+    private static final int OWNERS = 24;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ShardRouter router;
+
+    @Autowired
+    private Resharder resharder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private ConsistentHashRing initialRing;
+    private final Map<Long, String> ownerById = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        initialRing = router.ring();
+        taskRepository.deleteAll();
+        for (int i = 0; i < OWNERS * 2; i++) {
+            String owner = "owner-" + (i % OWNERS);
+            TaskRequestDTO request = new TaskRequestDTO("Sharded task " + i, "desc", owner);
+            String body = mockMvc.perform(post("/api/tasks")
+                    .header("Idempotency-Key", UUID.randomUUID().toString())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode created = objectMapper.readTree(body);
+            assertEquals(owner, created.get("owner").asText());
+            ownerById.put(created.get("id").asLong(), owner);
+        }
+    }
+
+    @AfterEach
+    void restoreRing() {
+        router.useRing(initialRing);
+    }
+
+    @Test
+    void storesEachTaskOnlyOnItsOwnersShardWithAnIdNamingThatShard() throws Exception {
+        Map<String, List<Long>> idsByShard = idsByShard();
+        assertTrue(idsByShard.get("s3").isEmpty(), "s3 is not on the ring yet");
+        assertTrue(idsByShard.values().stream().filter(ids -> !ids.isEmpty()).count() > 1, "owners spread over shards");
+
+        for (Map.Entry<Long, String> entry : ownerById.entrySet()) {
+            String shard = router.shardForOwner(entry.getValue());
+            assertTrue(idsByShard.get(shard).contains(entry.getKey()));
+            assertEquals(shard, router.homeShardOf(entry.getKey()));
+        }
+    }
+
+    @Test
+    void getAllAndSearchScatterOverShardsAndMergeByCreatedAtThenId() throws Exception {
+        mockMvc.perform(get("/api/tasks"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(OWNERS * 2)));
+        mockMvc.perform(get("/api/tasks/search").param("keyword", "sharded task 1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(11)));   // 1, 10..19
+
+        List<Task> all = taskRepository.findAll();
+        List<Task> sorted = new ArrayList<>(all);
+        sorted.sort(ShardRoutingInterceptor.CREATED_AT_THEN_ID);
+        assertEquals(sorted, all);
+        assertEquals(OWNERS * 2, taskRepository.count());
+    }
+
+    @Test
+    void routesInheritedQueriesWithoutAShardCaseByReturnType() {
+        Task probe = new Task();
+        probe.setOwner("owner-7");
+        Example<Task> byOwner = Example.of(probe, ExampleMatcher.matching()
+            .withIgnorePaths("completed", "overdue").withIgnoreNullValues());
+
+        assertEquals(2, taskRepository.findAll(byOwner).size());
+        assertEquals(2, taskRepository.count(byOwner));
+        assertTrue(taskRepository.exists(byOwner));
+        assertEquals("owner-7", taskRepository.findAll(byOwner, Sort.by("id")).get(0).getOwner());
+    }
+
+    @Test
+    void getByIdFindsTasksOnEveryShard() throws Exception {
+        for (Long id : ownerById.keySet()) {
+            mockMvc.perform(get("/api/tasks/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.owner").value(ownerById.get(id)));
+        }
+        mockMvc.perform(get("/api/tasks/999999")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void reshardingMovesOnlyTheOwnersOfChangedArcsAndKeepsEveryTaskReachable() throws Exception {
+        Map<String, List<Long>> before = idsByShard();
+
+        Resharder.Result result = resharder.reshard(List.of("s0", "s1", "s2", "s3"));
+
+        Map<String, List<Long>> after = idsByShard();
+        assertFalse(after.get("s3").isEmpty(), "the new shard took over some owners");
+        assertEquals(OWNERS * 2, after.values().stream().mapToInt(List::size).sum(), "no task lost or duplicated");
+        for (String shard : List.of("s0", "s1", "s2")) {
+            assertTrue(before.get(shard).containsAll(after.get(shard)), "only moves towards the new shard");
+        }
+        for (Map.Entry<Long, String> entry : ownerById.entrySet()) {
+            assertTrue(after.get(router.shardForOwner(entry.getValue())).contains(entry.getKey()));
+        }
+        assertEquals((long) after.get("s3").size(), result.movedRows().values().stream().mapToLong(Long::longValue).sum());
+        assertTrue(result.movedKeySpace() > 0.1 && result.movedKeySpace() < 0.4, "about a quarter of the ring");
+
+        for (Long id : after.get("s3")) {
+            mockMvc.perform(get("/api/tasks/" + id)).andExpect(status().isOk());
+        }
+        // Moved rows keep their idempotency keys, so a retry still finds the first task
+        String key = taskRepository.findById(after.get("s3").get(0)).orElseThrow().getIdempotencyKey();
+        assertNotNull(key);
+        assertEquals(1, taskRepository.findByIdempotencyKey(key).size());
+        TaskRequestDTO request = new TaskRequestDTO("After reshard", null, ownerById.get(after.get("s3").get(0)));
+        String body = mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        assertEquals("s3", router.homeShardOf(objectMapper.readTree(body).get("id").asLong()));
+    }
+
+    @Test
+    void reshardingCarriesOverRowsFlaggedAfterTheyWereCopied() throws Exception {
+        List<String> members = List.of("s0", "s1", "s2", "s3");
+        ConsistentHashRing to = router.ring().withMembers(members);
+        Long id = ownerById.entrySet().stream()
+            .filter(entry -> to.shardFor(entry.getValue()).equals("s3"))
+            .map(Map.Entry::getKey).findFirst().orElseThrow();
+        String from = router.homeShardOf(id);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        // As if an earlier copy had reached s3 before the overdue scheduler flagged the task
+        List<Map<String, Object>> row = ShardContext.callOn(from,
+            () -> jdbc.queryForList("SELECT * FROM tasks WHERE id = ?", id));
+        ShardContext.callOn("s3", () -> jdbc.update(
+            "INSERT INTO tasks (id, owner, title, completed, created_at, overdue) VALUES (?, ?, ?, false, ?, false)",
+            id, row.get(0).get("OWNER"), row.get(0).get("TITLE"), row.get(0).get("CREATED_AT")));
+        ShardContext.callOn(from, () -> jdbc.update("UPDATE tasks SET overdue = true WHERE id = ?", id));
+
+        resharder.reshard(members);
+
+        assertTrue(ShardContext.callOn("s3",
+            () -> jdbc.queryForObject("SELECT overdue FROM tasks WHERE id = ?", Boolean.class, id)));
+        assertTrue(taskRepository.findById(id).orElseThrow().isOverdue());
+    }
+
+    private Map<String, List<Long>> idsByShard() throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Map<String, List<Long>> ids = new HashMap<>();
+        for (String shard : router.shards()) {
+            ids.put(shard, ShardContext.callOn(shard, () -> jdbc.queryForList("SELECT id FROM tasks", Long.class)));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.taskapi.snapshot;
+
+import com.example.taskapi.dto.TaskBatchResponseDTO;
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "taskapi.snapshot.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ColumnarSnapshotIntegrationTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ColumnarTaskSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        for (int i = 0; i < 30; i++) {
+            Task task = new Task();
+            task.setTitle("Report task " + i % 4);
+            task.setDescription(i % 2 == 0 ? "even" : null);
+            task.setCompleted(i % 3 == 0);
+            task.setCreatedAt(NOW.minusDays(i));
+            task.setUpdatedAt(NOW);
+            if (i % 5 == 0) {
+                task.getLabels().addAll(Set.of("weekly", "report-" + i % 2));
+            }
+            taskRepository.save(task);
+        }
+        snapshot.rebuild();
+    }
+
+    @Test
+    void servesFiltersAndCountsLikeTheDatabase() throws Exception {
+        assertTrue(snapshot.isServing());
+        assertEquals(30, snapshot.size());
+        LocalDateTime weekAgo = NOW.minusDays(7).minusHours(1);
+
+        mockMvc.perform(get("/api/tasks/filter/completed").param("status", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(10)));
+        mockMvc.perform(get("/api/tasks/filter/created-after").param("date", weekAgo.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(8)));
+        mockMvc.perform(get("/api/tasks/count").param("completed", "false").param("createdAfter", weekAgo.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(taskRepository.countTasks(false, weekAgo)));
+
+        assertEquals(taskRepository.findByCreatedAtAfter(weekAgo).stream().map(Task::getId).toList(),
+            taskService.getByCreatedAfter(weekAgo).stream().map(dto -> dto.id()).toList());
+        assertEquals(taskRepository.findByCompleted(false).get(0).getCreatedAt(),
+            taskService.getByCompleted(false).get(0).createdAt());
+        assertEquals(taskRepository.findByCompleted(true).stream().sorted(Comparator.comparing(Task::getId))
+                .map(task -> task.getLabels().stream().sorted().toList()).toList(),
+            taskService.getByCompleted(true).stream().map(TaskResponseDTO::labels).toList());
+    }
+
+    @Test
+    void seesTasksCreatedThroughTheServiceAtOnceAndOtherWritesAfterARebuild() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskRequestDTO("Fresh task", null))))
+            .andExpect(status().isCreated());
+        assertEquals(31, taskService.count(null, null).count());
+        assertTrue(taskService.getByCreatedAfter(NOW.minusSeconds(1)).stream()
+            .anyMatch(dto -> dto.title().equals("Fresh task")));
+
+        Task outside = new Task();
+        outside.setTitle("Inserted behind the service's back");
+        outside.setCreatedAt(NOW);
+        taskRepository.save(outside);
+        assertEquals(31, taskService.count(null, null).count());
+
+        snapshot.rebuild();
+        assertEquals(32, taskService.count(null, null).count());
+        assertEquals(32, snapshot.size());
+    }
+
+    @Test
+    void batchGetFallsBackToTheDatabaseOnlyForTasksTheSnapshotLacks() {
+        Task outside = new Task();
+        outside.setTitle("Not in the snapshot yet");
+        outside.setCreatedAt(NOW);
+        long outsideId = taskRepository.save(outside).getId();
+        long firstId = taskRepository.findAll().get(0).getId();
+
+        TaskBatchResponseDTO result = taskService.getTasksByIds(List.of(outsideId, firstId, outsideId + 1));
+
+        assertEquals(List.of(outsideId, firstId), result.tasks().stream().map(TaskResponseDTO::id).toList());
+        assertEquals("Not in the snapshot yet", result.tasks().get(0).title());
+        assertEquals(List.of(outsideId + 1), result.missing());
+        assertEquals(30, snapshot.size());
+    }
+}
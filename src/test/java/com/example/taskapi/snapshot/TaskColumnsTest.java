@@ -0,0 +1,113 @@
+package com.example.taskapi.snapshot;
+
+import com.example.taskapi.dto.TaskResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskColumnsTest {
+
+    // Spills into a second, partly filled segment
+    private static final int ROWS = TaskColumns.SEGMENT_ROWS + 1_000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final TaskColumns columns = new TaskColumns();
+    private final List<TaskResponseDTO> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= ROWS; i++) {
+            LocalDateTime createdAt = i % 500 == 0 ? null : EPOCH.plusSeconds(i * 7L % 10_000).plusNanos(123_456_000L);
+            TaskResponseDTO row = new TaskResponseDTO((long) i, "owner-" + i % 3, "Title " + i % 100,
+                i % 2 == 0 ? null : "Description " + i, i % 3 == 0, createdAt,
+                i % 4 == 0 ? List.of("backend", "label-" + i % 5) : List.of(),
+                i % 7 == 0 ? EPOCH.plusDays(i % 30) : null, i % 14 == 0);
+            rows.add(row);
+            columns.append(row.id(), row.owner(), row.title(), row.description(), row.completed(), row.createdAt(),
+                row.labels(), row.dueAt(), row.overdue());
+        }
+    }
+
+    @Test
+    void roundTripsEveryColumn() {
+        List<TaskResponseDTO> all = new ArrayList<>(columns.findByCompleted(false));
+        all.addAll(columns.findByCompleted(true));
+        all.sort((a, b) -> Long.compare(a.id(), b.id()));
+        assertEquals(rows, all);
+        assertEquals(100, columns.distinctTitles());
+    }
+
+    @Test
+    void filtersMatchABruteForceScan() {
+        LocalDateTime after = EPOCH.plusSeconds(5_000);
+        assertEquals(rows.stream().filter(TaskResponseDTO::completed).toList(), columns.findByCompleted(true));
+        assertEquals(rows.stream().filter(row -> row.createdAt() != null && row.createdAt().isAfter(after)).toList(),
+            columns.findCreatedAfter(after));
+    }
+
+    @Test
+    void countsMatchABruteForceScan() {
+        LocalDateTime after = EPOCH.plusSeconds(2_500);
+        assertEquals(ROWS, columns.count(null, null));
+        for (Boolean completed : new Boolean[] {null, true, false}) {
+            for (LocalDateTime createdAfter : new LocalDateTime[] {null, after}) {
+                long expected = rows.stream()
+                    .filter(row -> completed == null || row.completed() == completed)
+                    .filter(row -> createdAfter == null || (row.createdAt() != null && row.createdAt().isAfter(createdAfter)))
+                    .count();
+                assertEquals(expected, columns.count(completed, createdAfter), completed + " / " + createdAfter);
+            }
+        }
+    }
+
+    @Test
+    void findsRowsByIdEitherByBinarySearchOrByScan() {
+        List<Long> ids = List.of(ROWS + 5L, 1L, (long) TaskColumns.SEGMENT_ROWS + 1, 42L);
+        Map<Long, TaskResponseDTO> sorted = columns.findByIds(ids);
+        assertEquals(3, sorted.size());
+        assertEquals(rows.get(TaskColumns.SEGMENT_ROWS), sorted.get((long) TaskColumns.SEGMENT_ROWS + 1));
+        assertEquals(rows.get(41), sorted.get(42L));
+
+        // An out-of-order id (as from a sharded load) switches lookups to a scan
+        columns.append(3L, "owner-x", "Duplicate", null, false, EPOCH, List.of(), null, false);
+        columns.append(ROWS + 5L, "owner-y", "Late", null, true, EPOCH, List.of(), null, false);
+        Map<Long, TaskResponseDTO> scanned = columns.findByIds(ids);
+        assertEquals(4, scanned.size());
+        assertEquals("Late", scanned.get(ROWS + 5L).title());
+        assertEquals(sorted.get(42L), scanned.get(42L));
+    }
+
+    @Test
+    void flagsOnlyOpenRowsDueByTheGivenTime() {
+        // Due after 7, 21, 5 and 19 days; 21 is completed and 1 has no due date
+        LocalDateTime now = EPOCH.plusDays(10);
+        columns.markOverdue(List.of(7L, 21L, 35L, 49L, 1L), now);
+
+        Map<Long, TaskResponseDTO> found = columns.findByIds(List.of(7L, 21L, 35L, 49L, 1L));
+        assertTrue(found.get(7L).overdue());
+        assertFalse(found.get(21L).overdue());
+        assertTrue(found.get(35L).overdue());
+        assertFalse(found.get(49L).overdue());
+        assertFalse(found.get(1L).overdue());
+
+        // Same by scan once ids are out of order
+        columns.append(2L, "owner-x", "Late", null, false, EPOCH, List.of(), EPOCH, false);
+        columns.markOverdue(List.of(2L, 49L), now.plusDays(10));
+        assertTrue(columns.findByIds(List.of(49L)).get(49L).overdue());
+        assertEquals(List.of(false, true), columns.findByCompleted(false).stream()
+            .filter(row -> row.id() == 2L).map(TaskResponseDTO::overdue).toList());
+    }
+
+    @Test
+    void keepsMicrosecondPrecision() {
+        LocalDateTime time = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000);
+        assertEquals(time, TaskColumns.fromMicros(TaskColumns.toMicros(time)));
+        assertNull(TaskColumns.fromMicros(TaskColumns.toMicros(null)));
+    }
+}
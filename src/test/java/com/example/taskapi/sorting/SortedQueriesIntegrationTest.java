@@ -0,0 +1,109 @@
+package com.example.taskapi.sorting;
+
+import com.example.taskapi.dto.TaskResponseDTO;
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.repository.TaskRepository;
+import com.example.taskapi.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SortedQueriesIntegrationTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        for (int i = 0; i < 40; i++) {
+            Task task = new Task();
+            task.setTitle("Sorted task " + i);
+            task.setCompleted(i % 3 == 0);
+            // Neither creation nor due order follows insertion order
+            task.setCreatedAt(NOW.minusHours(i * 7 % 40));
+            task.setUpdatedAt(NOW);
+            task.setDueAt(i % 4 == 0 ? null : NOW.plusDays(i * 11 % 40));
+            taskRepository.save(task);
+        }
+    }
+
+    @Test
+    void returnsTheNewestOpenTasks() throws Exception {
+        List<Long> newest = taskService.search("Sorted", false, null, TaskSort.ID).stream()
+            .sorted(TaskSort.parse("createdAt,desc").dtos()).limit(3).map(TaskResponseDTO::id).toList();
+
+        mockMvc.perform(get("/api/tasks/search?keyword=sorted&completed=false&sort=createdAt,desc&limit=3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(3)))
+            .andExpect(jsonPath("$[0].id").value(newest.get(0)))
+            .andExpect(jsonPath("$[1].id").value(newest.get(1)))
+            .andExpect(jsonPath("$[2].id").value(newest.get(2)));
+    }
+
+    @Test
+    void everyFilterAgreesWithAFullSort() {
+        for (String spec : List.of("id", "id,desc", "createdAt", "createdAt,desc", "dueAt", "dueAt,desc")) {
+            TaskSort sort = TaskSort.parse(spec);
+            List<TaskResponseDTO> open = taskService.getByCompleted(false);
+            List<TaskResponseDTO> expected = open.stream().sorted(sort.dtos()).limit(5).toList();
+
+            assertEquals(ids(expected), ids(taskService.getByCompleted(false, 5, sort)), spec);
+            assertEquals(ids(expected), ids(taskService.search(null, false, 5, sort)), spec);
+            assertEquals(ids(expected), ids(taskService.searchByTitleAndCompleted("task", false, 5, sort)), spec);
+            assertEquals(ids(taskService.getByCreatedAfter(NOW.minusDays(1)).stream().sorted(sort.dtos()).toList()),
+                ids(taskService.getByCreatedAfter(NOW.minusDays(1), null, sort)), spec);
+        }
+    }
+
+    @Test
+    void defaultsToTheFiltersOwnOrderWhenOnlyALimitIsGiven() throws Exception {
+        List<Long> oldest = taskService.getByCreatedAfter(NOW.minusDays(1)).stream()
+            .sorted(TaskSort.CREATED_AT.dtos()).limit(2).map(TaskResponseDTO::id).toList();
+
+        mockMvc.perform(get("/api/tasks/filter/created-after")
+                .param("date", NOW.minusDays(1).toString()).param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(oldest.get(0)))
+            .andExpect(jsonPath("$[1].id").value(oldest.get(1)));
+    }
+
+    @Test
+    void rejectsAnUnknownSortProperty() throws Exception {
+        mockMvc.perform(get("/api/tasks/filter/title").param("keyword", "Sorted").param("sort", "title,desc"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/filter/overdue").param("sort", "dueAt,sideways"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/filter/completed").param("status", "true").param("limit", "0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static List<Long> ids(List<TaskResponseDTO> tasks) {
+        return tasks.stream().map(TaskResponseDTO::id).toList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.taskapi.sorting;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+
+    @Test
+    void keepsTheSameItemsAsAFullSort() {
+        Random random = new Random(42);
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            items.add(random.nextInt(1_000));
+        }
+        for (Comparator<Integer> order : List.of(Comparator.<Integer>naturalOrder(), Comparator.<Integer>reverseOrder())) {
+            for (int k : new int[] {0, 1, 7, 100, 10_000, 20_000}) {
+                List<Integer> sorted = new ArrayList<>(items);
+                sorted.sort(order);
+                assertEquals(sorted.subList(0, Math.min(k, sorted.size())), TopK.select(items, order, k), "k=" + k);
+            }
+        }
+    }
+
+    @Test
+    void holdsAtMostKItems() {
+        TopK<Integer> top = new TopK<>(Comparator.naturalOrder(), 3);
+        for (int i = 100; i > 0; i--) {
+            top.offer(i);
+            assertTrue(top.size() <= 3);
+        }
+        assertEquals(List.of(1, 2, 3), top.toList());
+        // Reading does not drain the heap
+        assertEquals(List.of(1, 2, 3), top.toList());
+    }
+
+    @Test
+    void rejectsANegativeK() {
+        assertThrows(IllegalArgumentException.class, () -> new TopK<>(Comparator.<Integer>naturalOrder(), -1));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.taskapi.store;
+
+import com.example.taskapi.dto.TaskRequestDTO;
+import com.example.taskapi.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("offheap")
+class OffHeapStoreIntegrationTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void storeDirectory(DynamicPropertyRegistry registry) {
+        registry.add("taskapi.store.offheap.directory", () -> directory.toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void runsTheApiWithoutADatabase() throws Exception {
+        assertInstanceOf(OffHeapTaskRepository.class, taskRepository);
+        assertTrue(context.getBeansOfType(DataSource.class).isEmpty());
+
+        for (String title : new String[] {"Write report", "Review report", "Plan sprint"}) {
+            mockMvc.perform(post("/api/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TaskRequestDTO(title, "Offheap"))))
+                .andExpect(status().isCreated());
+        }
+        long id = taskRepository.findByTitleContainingIgnoreCase("plan").get(0).getId();
+
+        mockMvc.perform(get("/api/tasks/search").param("keyword", "REPORT"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)));
+        mockMvc.perform(get("/api/tasks/" + id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Plan sprint"));
+        mockMvc.perform(get("/api/tasks/filter/completed").param("status", "false"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(3)));
+        mockMvc.perform(get("/api/tasks/count"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(3));
+
+        taskRepository.deleteById(id);
+        mockMvc.perform(get("/api/tasks/" + id))
+            .andExpect(status().isNotFound());
+    }
+}
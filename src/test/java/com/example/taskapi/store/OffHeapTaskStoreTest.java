@@ -0,0 +1,188 @@
+package com.example.taskapi.store;
+
+import com.example.taskapi.entity.Task;
+import com.example.taskapi.store.OffHeapTaskStore.RecordFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapTaskStoreTest {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int CHUNK = 4_096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void findersMatchTheDerivedQuerySemantics() {
+        OffHeapTaskStore store = OffHeapTaskStore.inMemory(CHUNK);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tasks.add(store.save(task("Task " + i + (i % 7 == 0 ? " URGENT" : ""), i % 3 == 0, EPOCH.plusMinutes(i % 50))));
+        }
+        OffHeapTaskRepository repository = new OffHeapTaskRepository(store);
+
+        assertEquals(ids(tasks.stream().filter(t -> t.getTitle().contains("URGENT")).toList()),
+            ids(repository.findByTitleContainingIgnoreCase("urgent")));
+        Task umlaut = store.save(task("Überprüfung der Berichte", false, EPOCH));
+        assertEquals(List.of(umlaut.getId()), ids(repository.findByTitleContainingIgnoreCase("ÜBERPRÜF")));
+        assertEquals(List.of(umlaut.getId()), ids(repository.findByTitleContainingIgnoreCase("BERICHTE")));
+        store.delete(umlaut.getId());
+        assertEquals(ids(tasks.stream().filter(Task::isCompleted).toList()), ids(repository.findByCompletedTrue()));
+        assertEquals(ids(tasks.stream().filter(t -> !t.isCompleted() && t.getTitle().contains("URGENT")).toList()),
+            ids(repository.searchTasks("Urgent", false)));
+
+        LocalDateTime after = EPOCH.plusMinutes(40);
+        List<Task> createdAfter = repository.findByCreatedAtAfter(after);
+        assertEquals(tasks.stream().filter(t -> t.getCreatedAt().isAfter(after)).count(), createdAfter.size());
+        for (int i = 1; i < createdAfter.size(); i++) {
+            assertFalse(createdAfter.get(i).getCreatedAt().isBefore(createdAfter.get(i - 1).getCreatedAt()));
+        }
+        assertEquals(tasks.stream().filter(t -> t.isCompleted() && t.getCreatedAt().isAfter(after)).count(),
+            repository.countTasks(true, after));
+        assertEquals(500, repository.countTasks(null, null));
+
+        Object[] bounds = repository.findIdBounds().get(0);
+        assertEquals(1L, bounds[0]);
+        assertEquals(500L, bounds[1]);
+        assertEquals(List.of(8L, 15L),
+            ids(repository.searchTasksInIdRange("urgent", null, 2L, 100L, PageRequest.of(0, 2))));
+    }
+
+    @Test
+    void replacesAndDeletesRecordsAndReclaimsTheSpace() {
+        OffHeapTaskStore store = OffHeapTaskStore.inMemory(CHUNK);
+        Task task = store.save(task("Original", false, EPOCH));
+        for (int i = 0; i < 2_000; i++) {
+            task.setTitle("Rewrite " + i);
+            task.setCreatedAt(EPOCH.plusSeconds(i));
+            store.save(task);
+        }
+        assertEquals(1, store.count());
+        assertEquals("Rewrite 1999", store.findById(task.getId()).orElseThrow().getTitle());
+        // Only the newest createdAt is indexed
+        assertEquals(1, store.findCreatedAfter(EPOCH.minusDays(1), RecordFilter.all()).size());
+        assertTrue(store.reservedBytes() <= 4L * CHUNK, "garbage was not compacted: " + store.reservedBytes());
+
+        assertTrue(store.delete(task.getId()));
+        assertFalse(store.delete(task.getId()));
+        assertTrue(store.findById(task.getId()).isEmpty());
+        assertNull(store.idBounds());
+    }
+
+    @Test
+    void reopensFromTheSnapshotAndLog() throws IOException {
+        Map<Long, String> expected = new HashMap<>();
+        try (OffHeapTaskStore store = OffHeapTaskStore.open(directory, CHUNK, 16_384, false)) {
+            for (int i = 0; i < 300; i++) {
+                Task saved = store.save(task("Task " + i, i % 2 == 0, EPOCH.plusSeconds(i)));
+                expected.put(saved.getId(), saved.getTitle());
+            }
+            for (long id = 1; id <= 300; id += 3) {
+                store.delete(id);
+                expected.remove(id);
+            }
+            // A small log threshold forces checkpoints along the way
+            assertTrue(Files.exists(directory.resolve(OffHeapTaskStore.SNAPSHOT_FILE)));
+        }
+
+        try (OffHeapTaskStore store = OffHeapTaskStore.open(directory, CHUNK, 16_384, false)) {
+            assertEquals(expected.size(), store.count());
+            expected.forEach((id, title) -> assertEquals(title, store.findById(id).orElseThrow().getTitle()));
+            // Ids keep increasing after a restart
+            Task keyed = task("After restart", false, EPOCH);
+            keyed.setIdempotencyKey("restart-key");
+            keyed.setDueAt(EPOCH.plusDays(1));
+            keyed.setOverdue(true);
+            assertEquals(301L, store.save(keyed).getId());
+        }
+
+        try (OffHeapTaskStore store = OffHeapTaskStore.open(directory, CHUNK, 16_384, false)) {
+            Task keyed = store.findByIdempotencyKey("restart-key").orElseThrow();
+            assertEquals(301L, keyed.getId());
+            assertEquals(EPOCH.plusDays(1), keyed.getDueAt());
+            assertTrue(keyed.isOverdue());
+            Task duplicate = task("Retry", false, EPOCH);
+            duplicate.setIdempotencyKey("restart-key");
+            assertThrows(DuplicateKeyException.class, () -> store.save(duplicate));
+        }
+    }
+
+    @Test
+    void dropsATornEntryAtTheEndOfTheLog() throws IOException {
+        try (OffHeapTaskStore store = OffHeapTaskStore.open(directory, CHUNK, Long.MAX_VALUE, false)) {
+            store.save(task("Kept", false, EPOCH));
+            store.save(task("Torn", false, EPOCH));
+            // Simulate a crash: copy the log before close() checkpoints it away
+            Files.copy(directory.resolve(OffHeapTaskStore.LOG_FILE), directory.resolve("crashed.log"));
+        }
+        Files.delete(directory.resolve(OffHeapTaskStore.SNAPSHOT_FILE));
+        Files.move(directory.resolve("crashed.log"), directory.resolve(OffHeapTaskStore.LOG_FILE),
+            StandardCopyOption.REPLACE_EXISTING);
+        try (FileChannel log = FileChannel.open(directory.resolve(OffHeapTaskStore.LOG_FILE), StandardOpenOption.WRITE)) {
+            log.truncate(log.size() - 3);
+        }
+
+        try (OffHeapTaskStore store = OffHeapTaskStore.open(directory, CHUNK, Long.MAX_VALUE, false)) {
+            assertEquals(1, store.count());
+            assertEquals("Kept", store.findById(1).orElseThrow().getTitle());
+            // The torn tail is overwritten, so later entries replay cleanly
+            store.save(task("Written after recovery", false, EPOCH));
+        }
+        try (OffHeapTaskStore store = OffHeapTaskStore.open(directory, CHUNK, Long.MAX_VALUE, false)) {
+            assertEquals(List.of("Kept", "Written after recovery"),
+                store.find(RecordFilter.all(), 10).stream().map(Task::getTitle).toList());
+        }
+    }
+
+    @Test
+    void hashMapSurvivesRandomPutsAndRemoves() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        Map<Long, Long> reference = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.getOrDefault(key, LongLongHashMap.MISSING), map.remove(key));
+                reference.remove(key);
+            } else {
+                map.put(key, i);
+                reference.put(key, (long) i);
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        reference.forEach((key, value) -> assertEquals(value, map.get(key)));
+        map.forEach((key, value) -> assertEquals(reference.get(key), value));
+    }
+
+    private static Task task(String title, boolean completed, LocalDateTime createdAt) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(completed ? null : "Description of " + title);
+        task.setCompleted(completed);
+        task.setCreatedAt(createdAt);
+        task.setUpdatedAt(createdAt);
+        return task;
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}